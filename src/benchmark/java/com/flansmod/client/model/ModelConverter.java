@@ -0,0 +1,101 @@
+package com.flansmod.client.model;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+import net.minecraft.client.model.ModelBase;
+
+/** Converts model classes to the {@link BinaryModelFormat}. Each model is built by running its class, just as the game
+ * would, and the result is written out beside its class file and read back to check it. Models with methods of their
+ * own, such as custom render code, are left as classes. Needs the dev environment classpath, with the models to convert
+ * on it, but not a running game. The convertModels task runs it on the compiled mod classes and the jar takes the model
+ * files from there. It can also be run by hand with the directory of compiled classes to look through and, optionally, a
+ * different directory to write the model files to */
+public class ModelConverter
+{
+	public static void main(String[] args) throws Exception
+	{
+		if(args.length < 1)
+		{
+			System.out.println("Usage: ModelConverter <classes directory> [output directory]");
+			return;
+		}
+		File classes = new File(args[0]);
+		File output = args.length > 1 ? new File(args[1]) : classes;
+		List<String> classNames = new ArrayList<String>();
+		findModelClasses(classes, "", classNames);
+
+		int converted = 0, skipped = 0;
+		long totalBytes = 0;
+		for(String className : classNames)
+		{
+			Class<?> modelClass;
+			try
+			{
+				modelClass = Class.forName(className);
+			}
+			catch(Throwable e)
+			{
+				System.out.println("Skipped " + className + ": could not load class (" + e + ")");
+				skipped++;
+				continue;
+			}
+			if(!BinaryModelFormat.canConvert(modelClass))
+			{
+				skipped++;
+				continue;
+			}
+			try
+			{
+				ModelBase model = (ModelBase)modelClass.getConstructor().newInstance();
+				ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+				BinaryModelFormat.write(model, bytes);
+				byte[] data = bytes.toByteArray();
+				ModelBase check = BinaryModelFormat.read(new ByteArrayInputStream(data));
+				if(check.boxList.size() < model.boxList.size())
+					throw new IllegalStateException("read back " + check.boxList.size() + " of " + model.boxList.size() + " shapes");
+
+				File file = new File(output, BinaryModelFormat.getPath(className));
+				file.getParentFile().mkdirs();
+				FileOutputStream out = new FileOutputStream(file);
+				try
+				{
+					out.write(data);
+				}
+				finally
+				{
+					out.close();
+				}
+				System.out.println(String.format("%-60s : %5d shapes, %8d bytes", className, model.boxList.size(), data.length));
+				converted++;
+				totalBytes += data.length;
+			}
+			catch(Exception e)
+			{
+				System.out.println("Skipped " + className + ": " + e);
+				skipped++;
+			}
+		}
+		System.out.println("Converted " + converted + " models into " + totalBytes + " bytes, left " + skipped + " as classes");
+	}
+
+	/** Finds the classes below this directory whose names start with "Model", ignoring inner classes */
+	private static void findModelClasses(File directory, String packageName, List<String> classNames)
+	{
+		File[] files = directory.listFiles();
+		if(files == null)
+			return;
+		for(File file : files)
+		{
+			String name = file.getName();
+			if(file.isDirectory())
+				findModelClasses(file, packageName + name + ".", classNames);
+			else if(name.startsWith("Model") && name.endsWith(".class") && !name.contains("$"))
+				classNames.add(packageName + name.substring(0, name.length() - ".class".length()));
+		}
+	}
+}
@@ -0,0 +1,126 @@
+package com.flansmod.common.guns.raytracing;
+
+import java.util.ArrayList;
+import java.util.Random;
+
+/** Compares the legacy linear entity scan against the {@link SpatialHashGrid} broadphase.
+ * Runs outside of Minecraft, using plain boxes in place of entities. Run it with gradle raytraceBenchmark */
+public class RaytraceBroadphaseBenchmark
+{
+	private static final int[] ENTITY_COUNTS = new int[] { 100, 500, 2000 };
+	/** Bullets per simulated tick. Roughly a large firefight */
+	private static final int RAYS = 200;
+	private static final int TICKS = 200;
+	private static final float WORLD_SIZE = 512F;
+	private static final float WORLD_HEIGHT = 64F;
+
+	public static void main(String[] args)
+	{
+		for(int count : ENTITY_COUNTS)
+		{
+			Random rand = new Random(count);
+			Box[] boxes = new Box[count];
+			for(int i = 0; i < count; i++)
+			{
+				boxes[i] = new Box(rand.nextFloat() * WORLD_SIZE, rand.nextFloat() * WORLD_HEIGHT, rand.nextFloat() * WORLD_SIZE, 0.6F, 1.8F);
+			}
+			float[][] rays = new float[RAYS][6];
+			for(int i = 0; i < RAYS; i++)
+			{
+				rays[i][0] = rand.nextFloat() * WORLD_SIZE;
+				rays[i][1] = rand.nextFloat() * WORLD_HEIGHT;
+				rays[i][2] = rand.nextFloat() * WORLD_SIZE;
+				//Somewhere between a fast bullet and an instant shot
+				float length = 10F + rand.nextFloat() * 190F;
+				float yaw = rand.nextFloat() * (float)Math.PI * 2F;
+				float pitch = (rand.nextFloat() - 0.5F) * 0.5F;
+				rays[i][3] = (float)(Math.cos(yaw) * Math.cos(pitch)) * length;
+				rays[i][4] = (float)Math.sin(pitch) * length;
+				rays[i][5] = (float)(Math.sin(yaw) * Math.cos(pitch)) * length;
+			}
+
+			//Warm up both paths before timing them
+			runLinear(boxes, rays, TICKS / 4);
+			runGrid(boxes, rays, TICKS / 4);
+
+			long start = System.nanoTime();
+			int linearHits = runLinear(boxes, rays, TICKS);
+			long linearTime = System.nanoTime() - start;
+
+			start = System.nanoTime();
+			int gridHits = runGrid(boxes, rays, TICKS);
+			long gridTime = System.nanoTime() - start;
+
+			System.out.println(String.format("%5d entities : linear %8.3f ms/tick, broadphase %8.3f ms/tick (incl. rebuild), hits %d / %d",
+					count, linearTime / 1000000D / TICKS, gridTime / 1000000D / TICKS, linearHits, gridHits));
+		}
+	}
+
+	private static int runLinear(Box[] boxes, float[][] rays, int ticks)
+	{
+		int hits = 0;
+		for(int t = 0; t < ticks; t++)
+			for(float[] ray : rays)
+				for(Box box : boxes)
+					if(box.intersects(ray))
+						hits++;
+		return hits;
+	}
+
+	private static int runGrid(Box[] boxes, float[][] rays, int ticks)
+	{
+		SpatialHashGrid<Box> grid = new SpatialHashGrid<Box>(16F);
+		ArrayList<Box> candidates = new ArrayList<Box>();
+		int hits = 0;
+		for(int t = 0; t < ticks; t++)
+		{
+			grid.clear();
+			for(Box box : boxes)
+				grid.insert(box, box.minX - 1F, box.minY - 1F, box.minZ - 1F, box.maxX + 1F, box.maxY + 1F, box.maxZ + 1F);
+			for(float[] ray : rays)
+			{
+				candidates.clear();
+				grid.query(ray[0], ray[1], ray[2], ray[3], ray[4], ray[5], candidates);
+				for(int i = 0; i < candidates.size(); i++)
+					if(candidates.get(i).intersects(ray))
+						hits++;
+			}
+		}
+		return hits;
+	}
+
+	private static class Box
+	{
+		private final float minX, minY, minZ, maxX, maxY, maxZ;
+
+		private Box(float x, float y, float z, float width, float height)
+		{
+			minX = x - width / 2F; minY = y; minZ = z - width / 2F;
+			maxX = x + width / 2F; maxY = y + height; maxZ = z + width / 2F;
+		}
+
+		/** Slab test, standing in for the entity narrow phase */
+		private boolean intersects(float[] ray)
+		{
+			float tMin = 0F, tMax = 1F;
+			float[] min = new float[] { minX, minY, minZ };
+			float[] max = new float[] { maxX, maxY, maxZ };
+			for(int axis = 0; axis < 3; axis++)
+			{
+				float o = ray[axis], d = ray[axis + 3];
+				if(d == 0F)
+				{
+					if(o < min[axis] || o > max[axis])
+						return false;
+					continue;
+				}
+				float t1 = (min[axis] - o) / d, t2 = (max[axis] - o) / d;
+				tMin = Math.max(tMin, Math.min(t1, t2));
+				tMax = Math.min(tMax, Math.max(t1, t2));
+				if(tMin > tMax)
+					return false;
+			}
+			return true;
+		}
+	}
+}
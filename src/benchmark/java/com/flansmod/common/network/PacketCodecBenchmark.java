@@ -0,0 +1,122 @@
+package com.flansmod.common.network;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+
+import java.util.ArrayList;
+import java.util.LinkedList;
+import java.util.List;
+
+import com.flansmod.common.guns.BulletType;
+import com.flansmod.common.guns.ShotData;
+import com.flansmod.common.guns.ShotData.InstantShotData;
+import com.flansmod.common.guns.raytracing.FlansModRaytracer.BulletHit;
+import com.flansmod.common.types.EnumType;
+import com.flansmod.common.types.TypeFile;
+import com.flansmod.common.vector.Vector3f;
+
+/** Compares the old packet codec (a growing buffer that is then copied, a linear search for the discriminator and reflection
+ * to create packets) with the current {@link PacketHandler} codec, for the packets sent most often.
+ * Needs the dev environment classpath but not a running game. Run it with gradle packetCodecBenchmark */
+public class PacketCodecBenchmark
+{
+	private static final int ITERATIONS = 200000;
+	/** Packets registered in front of the hot ones, so that the old linear search is about as long as in game */
+	private static final int OTHER_PACKETS = 25;
+
+	public static void main(String[] args) throws Exception
+	{
+		BulletType bullet = createBullet();
+
+		PacketVehicleControl vehicle = new PacketVehicleControl();
+		fillDriveableControl(vehicle);
+		vehicle.doors = true;
+
+		PacketPlaneControl plane = new PacketPlaneControl();
+		fillDriveableControl(plane);
+		plane.gear = true;
+
+		List<ShotData> shots = new ArrayList<ShotData>();
+		for(int i = 0; i < 8; i++)
+		{
+			shots.add(new InstantShotData(0, bullet, bullet, 1, new Vector3f(10F, 64F, 10F), (BulletHit)null,
+					new Vector3f(20F + i, 64F, 10F), 5F, i > 0, false));
+		}
+		PacketShotData shotData = new PacketShotData(shots);
+
+		PacketHandler handler = new PacketHandler();
+		LinkedList<Class<? extends PacketBase>> legacyPackets = new LinkedList<Class<? extends PacketBase>>();
+		for(int i = 0; i < OTHER_PACKETS; i++)
+			legacyPackets.add(PacketBase.class);
+		legacyPackets.add(PacketVehicleControl.class);
+		legacyPackets.add(PacketPlaneControl.class);
+		legacyPackets.add(PacketShotData.class);
+		handler.registerPacket(PacketVehicleControl.class, new PacketHandler.PacketFactory() { @Override public PacketBase create() { return new PacketVehicleControl(); } });
+		handler.registerPacket(PacketPlaneControl.class, new PacketHandler.PacketFactory() { @Override public PacketBase create() { return new PacketPlaneControl(); } });
+		handler.registerPacket(PacketShotData.class, new PacketHandler.PacketFactory() { @Override public PacketBase create() { return new PacketShotData(); } });
+		handler.postInitialise();
+
+		PacketBase[] hotPackets = new PacketBase[] { vehicle, plane, shotData };
+		for(PacketBase packet : hotPackets)
+		{
+			//Warm up both paths before timing them
+			runLegacy(legacyPackets, packet, ITERATIONS / 4);
+			runCurrent(handler, packet, ITERATIONS / 4);
+
+			long start = System.nanoTime();
+			runLegacy(legacyPackets, packet, ITERATIONS);
+			long legacyTime = System.nanoTime() - start;
+
+			start = System.nanoTime();
+			runCurrent(handler, packet, ITERATIONS);
+			long currentTime = System.nanoTime() - start;
+
+			System.out.println(String.format("%-22s : old %7.1f ns/packet, new %7.1f ns/packet (encode + decode)",
+					packet.getClass().getSimpleName(), legacyTime / (double)ITERATIONS, currentTime / (double)ITERATIONS));
+		}
+	}
+
+	/** The codec as it was, minus the Forge packet wrapping */
+	private static void runLegacy(LinkedList<Class<? extends PacketBase>> packets, PacketBase packet, int iterations) throws Exception
+	{
+		for(int i = 0; i < iterations; i++)
+		{
+			ByteBuf encodedData = Unpooled.buffer();
+			encodedData.writeByte((byte)packets.indexOf(packet.getClass()));
+			packet.encodeInto(null, encodedData);
+			ByteBuf sent = encodedData.copy();
+
+			Class<? extends PacketBase> cl = packets.get(sent.readByte());
+			PacketBase decoded = cl.newInstance();
+			decoded.decodeInto(null, sent.slice());
+		}
+	}
+
+	private static void runCurrent(PacketHandler handler, PacketBase packet, int iterations)
+	{
+		for(int i = 0; i < iterations; i++)
+		{
+			ByteBuf sent = handler.encodePayload(null, packet);
+			handler.decodePayload(null, sent);
+		}
+	}
+
+	private static void fillDriveableControl(PacketDriveableControl packet)
+	{
+		packet.entityId = 1234;
+		packet.posX = 100.5D;
+		packet.posY = 70D;
+		packet.posZ = -250.25D;
+		packet.yaw = 45F;
+		packet.pitch = 2F;
+		packet.motX = 0.5D;
+		packet.throttle = 0.8F;
+		packet.fuelInTank = 500F;
+	}
+
+	/** Shot data writes the IDs of its types. This one is never numbered, so it decodes as null, which is fine here */
+	private static BulletType createBullet()
+	{
+		return new BulletType(new TypeFile("benchmark", EnumType.bullet, "benchmarkBullet", false));
+	}
+}
@@ -12,6 +12,7 @@ import org.lwjgl.input.Keyboard;
 import org.lwjgl.input.Mouse;
 
 import net.minecraft.client.Minecraft;
+import net.minecraft.client.model.ModelBase;
 import net.minecraft.client.renderer.entity.RenderManager;
 import net.minecraft.client.resources.model.ModelBakery;
 import net.minecraft.client.resources.model.ModelResourceLocation;
@@ -50,6 +51,8 @@ import com.flansmod.client.gui.GuiGunModTable;
 import com.flansmod.client.gui.GuiMechaInventory;
 import com.flansmod.client.gui.GuiPaintjobTable;
 import com.flansmod.client.gui.teams.GuiLandingPage;
+import com.flansmod.client.model.BinaryModelFormat;
+import com.flansmod.client.model.ModelDriveable;
 import com.flansmod.client.model.RenderAAGun;
 import com.flansmod.client.model.RenderBullet;
 import com.flansmod.client.model.RenderFlag;
@@ -64,6 +67,7 @@ import com.flansmod.client.model.RenderNull;
 import com.flansmod.client.model.RenderParachute;
 import com.flansmod.client.model.RenderPlane;
 import com.flansmod.client.model.RenderVehicle;
+import com.flansmod.client.tmt.ModelRendererTurbo;
 import com.flansmod.common.CommonProxy;
 import com.flansmod.common.EntityItemCustomRender;
 import com.flansmod.common.FlansMod;
@@ -104,12 +108,15 @@ import com.flansmod.common.teams.EntityFlagpole;
 import com.flansmod.common.teams.TileEntitySpawner;
 import com.flansmod.common.tools.EntityParachute;
 import com.flansmod.common.types.EnumType;
+import com.flansmod.common.types.ContentCache;
 import com.flansmod.common.types.InfoType;
 import com.flansmod.common.types.PaintableType;
 
 public class ClientProxy extends CommonProxy
 {
 	public static String modelDir = "com.flansmod.client.model.";
+	/** Roughly what each vertex of a model costs, counting its texture coordinates and its share of the polygon holding it */
+	private static final long BYTES_PER_VERTEX = 128;
 	
 	/* These renderers handle rendering in hand items */
 	public static RenderGun gunRenderer;
@@ -130,7 +137,7 @@ public class ClientProxy extends CommonProxy
 		flansModClient.load();
 		
 		//Register a null vanilla renderer to avoid error messages spamming chat - doesn't work.
-		for(InfoType type : InfoType.infoTypes.values())
+		for(InfoType type : InfoType.infoTypes)
 		{
 			if(type != null && type.item != null)
 			{
@@ -208,7 +215,7 @@ public class ClientProxy extends CommonProxy
 		contentPacks = new ArrayList<File>();
 		for (File file : FlansMod.flanDir.listFiles())
 		{
-			if (file.isDirectory() || zipJar.matcher(file.getName()).matches())
+			if ((file.isDirectory() && !ContentCache.isCacheFolder(file)) || zipJar.matcher(file.getName()).matches())
 			{
 				try
 				{
@@ -365,7 +372,12 @@ public class ClientProxy extends CommonProxy
 			return null;
 		try 
 		{	
-			return typeClass.cast(Class.forName(modelDir + getModelName(s)).getConstructor().newInstance());
+			String className = modelDir + getModelName(s);
+			//Models converted to the binary format are read from their file rather than built by running their class
+			ModelBase model = BinaryModelFormat.load(className);
+			if(model != null)
+				return typeClass.cast(model);
+			return typeClass.cast(Class.forName(className).getConstructor().newInstance());
 		}
 		catch(Exception e)
 		{
@@ -375,6 +387,36 @@ public class ClientProxy extends CommonProxy
 		return null;
 	}
 	
+	@Override
+	public long getModelSize(Object model)
+	{
+		long vertices = 0;
+		if(model instanceof ModelBase)
+		{
+			for(Object box : ((ModelBase)model).boxList)
+			{
+				if(box instanceof ModelRendererTurbo)
+					vertices += ((ModelRendererTurbo)box).getVertexCount();
+			}
+		}
+		return vertices * BYTES_PER_VERTEX;
+	}
+	
+	@Override
+	public void unloadModel(Object model)
+	{
+		if(model instanceof ModelDriveable)
+			((ModelDriveable)model).deleteBakedParts();
+		if(model instanceof ModelBase)
+		{
+			for(Object box : ((ModelBase)model).boxList)
+			{
+				if(box instanceof ModelRendererTurbo)
+					((ModelRendererTurbo)box).deleteDisplayLists();
+			}
+		}
+	}
+	
 	/** Sound loading method. Defers to FlansModResourceHandler */
 	@Override
 	public void loadSound(String contentPack, String type, String sound)
@@ -413,7 +455,7 @@ public class ClientProxy extends CommonProxy
 		//Craft it this side (so the inventory updates immediately) and then send a packet to the server so that it is crafted that side too
 		super.craftDriveable(player, type);
 		if(player.worldObj.isRemote)
-			FlansMod.getPacketHandler().sendToServer(new PacketCraftDriveable(type.shortName));
+			FlansMod.getPacketHandler().sendToServer(new PacketCraftDriveable(type));
 	}
 	
 	@Override
@@ -465,9 +507,9 @@ public class ClientProxy extends CommonProxy
 	}
 	
 	@Override
-	public void addMissingJSONs(HashMap<Integer, InfoType> types)
+	public void addMissingJSONs(List<InfoType> types)
 	{
-		for(InfoType type : types.values())
+		for(InfoType type : types)
 		{
 			try
 			{
@@ -496,7 +538,7 @@ public class ClientProxy extends CommonProxy
 								"\", \"east\": \"flansmod:blocks/" + box.sideTexturePath + "\", \"south\": \"flansmod:blocks/" + box.sideTexturePath + "\", \"west\": \"flansmod:blocks/" + box.sideTexturePath + "\" } } ");
 						createJSONFile(new File(blockstatesDir, type.shortName + ".json"), "{ \"variants\": { \"normal\": { \"model\": \"flansmod:" + type.shortName + "\" } } }");
 					}
-					else if(type instanceof PaintableType && type.GetModel() != null)
+					else if(type instanceof PaintableType && type.getModelHandle() != null)
 					{
 						for(Paintjob paintjob : ((PaintableType)type).paintjobs)
 						{
@@ -63,6 +63,7 @@ import com.flansmod.common.driveables.EntitySeat;
 import com.flansmod.common.guns.GunType;
 import com.flansmod.common.guns.ItemGun;
 import com.flansmod.common.guns.Paintjob;
+import com.flansmod.common.guns.raytracing.PlayerSnapshot;
 import com.flansmod.common.network.PacketTeamInfo;
 import com.flansmod.common.network.PacketTeamInfo.PlayerScoreData;
 import com.flansmod.common.teams.ItemTeamArmour;
@@ -95,7 +96,7 @@ public class ClientRenderHooks
 		if(event.item.getItem() instanceof ItemGun)
 		{
 			GunType type = ((ItemGun)event.item.getItem()).GetType();
-			if(type.model != null)
+			if(type.GetModel() != null)
 			{
 				event.setCanceled(true);
 				
@@ -117,7 +118,7 @@ public class ClientRenderHooks
 	public void renderHeldItem(RenderHandEvent event)
 	{
 		EntityPlayer player = mc.thePlayer;
-		if(itemToRender != null && itemToRender.getItem() instanceof ItemGun && ((ItemGun)itemToRender.getItem()).GetType().model != null)
+		if(itemToRender != null && itemToRender.getItem() instanceof ItemGun && ((ItemGun)itemToRender.getItem()).GetType().GetModel() != null)
 		{
 			//Cancel the hand render event so that we can do our own.
 			event.setCanceled(true);
@@ -365,8 +366,9 @@ public class ClientRenderHooks
 	        PlayerData data = PlayerHandler.getPlayerData(thePlayer);
 			if(FlansMod.DEBUG && data != null)
 			{
-				if(data.snapshots[0] != null)
-					data.snapshots[0].renderSnapshot();
+				PlayerSnapshot snapshot = data.snapshots.getSnapshot(0);
+				if(snapshot != null)
+					snapshot.renderSnapshot();
 			}
         }
     }
@@ -386,9 +388,9 @@ public class ClientRenderHooks
 			ModelBiped biped = (ModelBiped)mainModel;
 			ItemStack stack = entity.getEquipmentInSlot(0);
 			GunType type = ((ItemGun)stack.getItem()).GetType();
-			if(type.model == null)
+			if(type.GetModel() == null)
 				return;
-			ModelGun gunModel = type.model;
+			ModelGun gunModel = type.GetModel();
 			
 			GlStateManager.pushMatrix();
 	        GlStateManager.disableCull();
@@ -0,0 +1,220 @@
+package com.flansmod.client;
+
+import java.io.File;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+import net.minecraft.client.Minecraft;
+import net.minecraft.client.renderer.texture.DynamicTexture;
+import net.minecraft.client.renderer.texture.TextureManager;
+import net.minecraft.util.ResourceLocation;
+import net.minecraftforge.fml.relauncher.Side;
+import net.minecraftforge.fml.relauncher.SideOnly;
+
+import com.flansmod.common.FlansMod;
+import com.flansmod.common.network.PacketCustomPaint;
+import com.flansmod.common.paintjob.CustomPaint;
+import com.flansmod.common.paintjob.CustomPaintStore;
+import com.flansmod.common.types.ContentCache;
+
+/** The textures of custom paints. The first time a paint is drawn, it is read from the paint cache in the Flan folder, or
+ * asked for from the server if it is not there, and turned into pixels on a background thread. Only the upload of the
+ * finished pixels happens on the client thread. Once more than the configured number of paints are loaded, the ones not
+ * drawn for longest are freed, and read from the cache again if they are needed again */
+@SideOnly(Side.CLIENT)
+public class CustomPaintTextures
+{
+	private static final String CACHE_FOLDER = "paints";
+
+	private static class Entry
+	{
+		private ResourceLocation skin, icon;
+		private boolean loaded;
+	}
+
+	/** Every paint asked for, in order of last use. Ones still loading, or that the server does not have, stay in here so
+	 * that they are not asked for again */
+	private static final LinkedHashMap<String, Entry> entries = new LinkedHashMap<String, Entry>(16, 0.75F, true);
+	private static int numLoaded;
+	private static ExecutorService loader;
+
+	/** Gets the skin texture for this paint, or null if it is not loaded yet or does not exist */
+	public static ResourceLocation getSkin(String hash)
+	{
+		Entry entry = getEntry(hash);
+		return entry == null ? null : entry.skin;
+	}
+
+	/** Gets the icon texture for this paint, or null if it is not loaded yet or does not exist */
+	public static ResourceLocation getIcon(String hash)
+	{
+		Entry entry = getEntry(hash);
+		return entry == null ? null : entry.icon;
+	}
+
+	private static Entry getEntry(final String hash)
+	{
+		if(!CustomPaint.isValidHash(hash))
+			return null;
+		Entry entry = entries.get(hash);
+		if(entry == null)
+		{
+			entries.put(hash, new Entry());
+			getLoader().execute(new Runnable()
+			{
+				@Override
+				public void run()
+				{
+					loadFromCache(hash);
+				}
+			});
+			return null;
+		}
+		return entry.loaded ? entry : null;
+	}
+
+	/** Called with the server's answer to a request for a paint. The data is null if the server does not have the paint */
+	public static void receive(final String hash, final byte[] data)
+	{
+		if(!entries.containsKey(hash))
+			return;
+		if(data == null)
+		{
+			FlansMod.log("Server does not have custom paint " + hash);
+			return;
+		}
+		getLoader().execute(new Runnable()
+		{
+			@Override
+			public void run()
+			{
+				if(!hash.equals(CustomPaint.hash(data)))
+				{
+					FlansMod.log("Custom paint from server does not match its hash " + hash);
+					return;
+				}
+				try
+				{
+					CustomPaint paint = CustomPaint.decode(data);
+					File file = getCacheFile(hash);
+					file.getParentFile().mkdirs();
+					CustomPaintStore.writeFile(file, data);
+					prepare(hash, paint);
+				}
+				catch(Exception e)
+				{
+					FlansMod.log("Failed to load custom paint " + hash);
+					e.printStackTrace();
+				}
+			}
+		});
+	}
+
+	/** Runs on the loader thread. Reads the paint from the cache if it is there, and asks the server for it if not */
+	private static void loadFromCache(final String hash)
+	{
+		File file = getCacheFile(hash);
+		if(file.isFile())
+		{
+			try
+			{
+				byte[] data = CustomPaintStore.readFile(file);
+				if(hash.equals(CustomPaint.hash(data)))
+				{
+					prepare(hash, CustomPaint.decode(data));
+					return;
+				}
+				FlansMod.log("Cached custom paint " + hash + " is damaged. Asking the server for it again");
+			}
+			catch(Exception e)
+			{
+				FlansMod.log("Failed to read cached custom paint " + hash + ". Asking the server for it again");
+			}
+			file.delete();
+		}
+		Minecraft.getMinecraft().addScheduledTask(new Runnable()
+		{
+			@Override
+			public void run()
+			{
+				FlansMod.packetHandler.sendToServer(new PacketCustomPaint(hash));
+			}
+		});
+	}
+
+	/** Runs on the loader thread. Turns the paint into pixels and hands them to the client thread to upload */
+	private static void prepare(final String hash, final CustomPaint paint)
+	{
+		final int[] skinPixels = paint.getSkinPixels();
+		final int[] iconPixels = paint.getIconPixels();
+		Minecraft.getMinecraft().addScheduledTask(new Runnable()
+		{
+			@Override
+			public void run()
+			{
+				upload(hash, paint.skinWidth, paint.skinHeight, skinPixels, paint.iconWidth, paint.iconHeight, iconPixels);
+			}
+		});
+	}
+
+	private static void upload(String hash, int skinWidth, int skinHeight, int[] skinPixels, int iconWidth, int iconHeight, int[] iconPixels)
+	{
+		Entry entry = entries.get(hash);
+		if(entry == null || entry.loaded)
+			return;
+		TextureManager textureManager = Minecraft.getMinecraft().getTextureManager();
+		entry.skin = new ResourceLocation("flansmod", "customs/skin_" + hash);
+		textureManager.loadTexture(entry.skin, createTexture(skinWidth, skinHeight, skinPixels));
+		entry.icon = new ResourceLocation("flansmod", "customs/icon_" + hash);
+		textureManager.loadTexture(entry.icon, createTexture(iconWidth, iconHeight, iconPixels));
+		entry.loaded = true;
+		numLoaded++;
+
+		//Free the paints that have gone longest without being drawn
+		for(Iterator<Entry> iterator = entries.values().iterator(); iterator.hasNext() && numLoaded > FlansMod.customPaintCacheSize; )
+		{
+			Entry oldest = iterator.next();
+			if(!oldest.loaded)
+				continue;
+			textureManager.deleteTexture(oldest.skin);
+			textureManager.deleteTexture(oldest.icon);
+			iterator.remove();
+			numLoaded--;
+		}
+	}
+
+	private static DynamicTexture createTexture(int width, int height, int[] pixels)
+	{
+		DynamicTexture texture = new DynamicTexture(width, height);
+		System.arraycopy(pixels, 0, texture.getTextureData(), 0, pixels.length);
+		texture.updateDynamicTexture();
+		return texture;
+	}
+
+	private static File getCacheFile(String hash)
+	{
+		return new File(new File(new File(FlansMod.flanDir, ContentCache.CACHE_FOLDER), CACHE_FOLDER), hash + ".paint");
+	}
+
+	private static synchronized ExecutorService getLoader()
+	{
+		if(loader == null)
+		{
+			loader = Executors.newSingleThreadExecutor(new ThreadFactory()
+			{
+				@Override
+				public Thread newThread(Runnable runnable)
+				{
+					Thread thread = new Thread(runnable, "Flan's Mod Paint Loader");
+					thread.setDaemon(true);
+					thread.setPriority(Thread.MIN_PRIORITY);
+					return thread;
+				}
+			});
+		}
+		return loader;
+	}
+}
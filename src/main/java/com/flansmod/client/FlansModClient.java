@@ -115,7 +115,9 @@ import com.flansmod.common.network.PacketTeamInfo;
 import com.flansmod.common.network.PacketTeamInfo.PlayerScoreData;
 import com.flansmod.common.teams.Team;
 import com.flansmod.common.types.EnumType;
+import com.flansmod.common.types.IFlanItem;
 import com.flansmod.common.types.InfoType;
+import com.flansmod.common.types.ModelHandle;
 import com.flansmod.common.types.TypeFile;
 import com.flansmod.common.vector.Vector3i;
 import com.mojang.authlib.minecraft.MinecraftProfileTexture.Type;
@@ -169,6 +171,9 @@ public class FlansModClient extends FlansMod
 	public static ArrayList<Vector3i> blockLightOverrides = new ArrayList<Vector3i>();
 	public static int lightOverrideRefreshRate = 5;
 	
+	/** How long a model must go undrawn, in milliseconds, before it may be dropped to keep within the model memory budget */
+	private static final long MODEL_IDLE_TIME = 60000L;
+	
 	public void load()
 	{		
 		log("Loading Flan's mod client side.");
@@ -190,6 +195,8 @@ public class FlansModClient extends FlansMod
 		
 		ClientTeamsData.Tick();
 		
+		updateModels();
+		
 		// Guns
 		if(scopeTime > 0)
 			scopeTime--;
@@ -362,9 +369,43 @@ public class FlansModClient extends FlansMod
 		return true;
 	}
 	
+	/** Once a second, starts building the models of whatever the player is carrying, so that they are ready before they
+	 * are first drawn, and drops models that have not been drawn for a while if the built ones are over the memory budget */
+	private static void updateModels()
+	{
+		if(minecraft.thePlayer.ticksExisted % 20 != 0)
+			return;
+		for(ItemStack stack : minecraft.thePlayer.inventory.mainInventory)
+			prefetchModels(stack);
+		for(ItemStack stack : minecraft.thePlayer.inventory.armorInventory)
+			prefetchModels(stack);
+		if(FlansMod.modelMemoryBudget > 0)
+			ModelHandle.evictUnused(FlansMod.modelMemoryBudget * 1024L * 1024L, MODEL_IDLE_TIME);
+	}
+	
+	private static void prefetchModels(ItemStack stack)
+	{
+		if(stack == null || !(stack.getItem() instanceof IFlanItem))
+			return;
+		InfoType type = ((IFlanItem)stack.getItem()).getInfoType();
+		prefetchModel(type);
+		if(type instanceof GunType)
+		{
+			for(AttachmentType attachment : ((GunType)type).getCurrentAttachments(stack))
+				prefetchModel(attachment);
+		}
+	}
+	
+	private static void prefetchModel(InfoType type)
+	{
+		ModelHandle<?> handle = type == null ? null : type.getModelHandle();
+		if(handle != null)
+			handle.prefetch();
+	}
+	
 	public static void reloadModels(boolean reloadSkins)
 	{
-		for(InfoType type : InfoType.infoTypes.values())
+		for(InfoType type : InfoType.infoTypes)
 		{
 			type.reloadModel();
 		}
@@ -1,23 +1,9 @@
 package com.flansmod.client;
 
-import java.awt.image.ColorModel;
-import java.awt.image.ComponentColorModel;
-import java.awt.image.DataBuffer;
-import java.awt.image.DataBufferByte;
-import java.awt.image.Raster;
-import java.awt.Point;
-import java.awt.Transparency;
-import java.awt.image.BufferedImage;
-import java.awt.image.WritableRaster;
-import java.io.File;
-import java.io.IOException;
 import java.util.HashMap;
 
-import javax.imageio.ImageIO;
-
 import net.minecraft.util.ResourceLocation;
 
-import com.flansmod.common.FlansMod;
 import com.flansmod.common.guns.BulletType;
 import com.flansmod.common.guns.GunType;
 import com.flansmod.common.guns.Paintjob;
@@ -144,75 +130,15 @@ public class FlansModResourceHandler
 		return resLoc;
 	}
 	
-	private static HashMap<Integer, ResourceLocation> customPaintjobSkins = new HashMap<Integer, ResourceLocation>();
-	private static HashMap<Integer, ResourceLocation> customPaintjobIcons = new HashMap<Integer, ResourceLocation>();
-	private static final int BYTES_PER_PIXEL = 4;
-	
-	public static boolean HasResourceForHash(int customPaintHash)
-	{
-		return customPaintjobSkins.containsKey(customPaintHash) && customPaintjobIcons.containsKey(customPaintHash);
-	}
-
-	public static void CreateSkinResourceFromByteArray(byte[] byteArray, int textureWidth, int textureHeight, int customPaintHash)
-	{
-		String internalLocation =  "skins/skin_" + customPaintHash + ".png";
-		String fileLocation = "Flan/Customs/assets/flansmod/" + internalLocation;
-		
-		try
-		{
-			DataBuffer buffer = new DataBufferByte(byteArray, byteArray.length);
-			
-			WritableRaster raster = Raster.createInterleavedRaster(buffer, textureWidth, textureHeight, BYTES_PER_PIXEL * textureWidth, BYTES_PER_PIXEL, new int[] {0, 1, 2}, (Point)null);
-			ColorModel cm = new ComponentColorModel(ColorModel.getRGBdefault().getColorSpace(), false, true, Transparency.OPAQUE, DataBuffer.TYPE_BYTE); 
-			BufferedImage image = new BufferedImage(cm, raster, true, null);
-			File file = new File(fileLocation);
-		
-			if(!file.exists())
-			{
-				file.mkdirs();
-				file.createNewFile();
-			}
-			ImageIO.write(image, "png", file);
-			
-			customPaintjobSkins.put(customPaintHash, new ResourceLocation("flansmod", internalLocation));
-		}
-		catch(IOException e)
-		{
-			FlansMod.log("Failed to create custom skin!");
-			return;
-		}
-	}
-		
-	public static void CreateIconResourceFromByteArray(byte[] byteArray, int textureWidth, int textureHeight, int customPaintHash)
-	{
-		String location = "customs/icon_" + customPaintHash + ".png";
-		 
-		try
-		{
-			DataBuffer buffer = new DataBufferByte(byteArray, byteArray.length);
-			
-			WritableRaster raster = Raster.createInterleavedRaster(buffer, textureWidth, textureHeight, BYTES_PER_PIXEL * textureWidth, BYTES_PER_PIXEL, new int[] {0, 1, 2, 3}, (Point)null);
-			ColorModel cm = new ComponentColorModel(ColorModel.getRGBdefault().getColorSpace(), false, true, Transparency.OPAQUE, DataBuffer.TYPE_BYTE); 
-			BufferedImage image = new BufferedImage(cm, raster, true, null);
-	
-			ImageIO.write(image, "png", new File(location));
-			
-			customPaintjobIcons.put(customPaintHash, new ResourceLocation("flansmod", location));
-		}
-		catch(IOException e)
-		{
-			FlansMod.log("Failed to create custom icon!");
-			return;
-		}	
-	}
-
-	public static ResourceLocation GetSkinResourceFromHash(int customPaintHash)
+	/** The skin texture of a custom paint, or null if it is still loading */
+	public static ResourceLocation getCustomPaintSkin(String hash)
 	{
-		return customPaintjobSkins.get(customPaintHash);
+		return CustomPaintTextures.getSkin(hash);
 	}
 	
-	public static ResourceLocation GetIconResourceFromHash(int customPaintHash)
+	/** The icon texture of a custom paint, or null if it is still loading */
+	public static ResourceLocation getCustomPaintIcon(String hash)
 	{
-		return customPaintjobIcons.get(customPaintHash);
+		return CustomPaintTextures.getIcon(hash);
 	}
 }
@@ -131,8 +131,8 @@ public class KeyInputHandler
 						
 						GunAnimations animations = FlansModClient.getGunAnimations(player, false);
 		
-						int pumpDelay = type.model == null ? 0 : type.model.pumpDelayAfterReload;
-						int pumpTime = type.model == null ? 1 : type.model.pumpTime;
+						int pumpDelay = type.GetModel() == null ? 0 : type.GetModel().pumpDelayAfterReload;
+						int pumpTime = type.GetModel() == null ? 1 : type.GetModel().pumpTime;
 						animations.doReload(type.reloadTime, pumpDelay, pumpTime);
 						
 						data.reloadingRight = true;
@@ -55,7 +55,7 @@ public class GuiGunModTable extends GuiContainer
 			if(hoveringOver != null)
 				tempStack.setItemDamage(hoveringOver.ID);
 			GunType gunType = ((ItemGun)gunStack.getItem()).GetType();
-			if(gunType.model != null)
+			if(gunType.GetModel() != null)
 			{
 				GL11.glPushMatrix();
 				GL11.glColor4f(1F, 1F, 1F, 1F);
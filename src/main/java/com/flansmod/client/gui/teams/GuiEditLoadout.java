@@ -12,6 +12,7 @@ import com.flansmod.common.FlansMod;
 import com.flansmod.common.driveables.DriveableType;
 import com.flansmod.common.guns.AttachmentType;
 import com.flansmod.common.guns.EnumAttachmentType;
+import com.flansmod.common.guns.GunStats;
 import com.flansmod.common.guns.GunType;
 import com.flansmod.common.guns.ItemGun;
 import com.flansmod.common.guns.ItemShootable;
@@ -477,6 +478,7 @@ public class GuiEditLoadout extends GuiTeamsBase
 						}
 						
 						stack.getTagCompound().setTag("attachments", attachmentTags);
+						GunStats.invalidate(stack);
 					}
 					else FlansMod.log("Applying attachment to null item!");
 				}
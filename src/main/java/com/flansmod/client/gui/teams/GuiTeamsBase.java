@@ -125,7 +125,7 @@ public class GuiTeamsBase extends GuiScreen
 		if(stack != null && stack.getItem() instanceof ItemGun)
 		{
 			GunType gunType = ((ItemGun)stack.getItem()).GetType();
-			if(gunType.model != null)
+			if(gunType.GetModel() != null)
 			{
 				GL11.glPushMatrix();
 				GL11.glColor4f(1F, 1F, 1F, 1F);
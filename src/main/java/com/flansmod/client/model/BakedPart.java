@@ -0,0 +1,118 @@
+package com.flansmod.client.model;
+
+import java.util.ArrayList;
+
+import org.lwjgl.opengl.GL11;
+
+import net.minecraft.client.renderer.GLAllocation;
+
+import com.flansmod.client.tmt.ModelRendererTurbo;
+
+/** One part array of a model with all of its unmoving shapes merged into a single display list, so that drawing them
+ * takes one call rather than a push, translate, rotate and call for each. Shapes whose position, rotation or visibility
+ * changes between frames are noticed, taken out of the merged list and drawn on their own from then on */
+public class BakedPart
+{
+	/** Each shape's rotation point, rotation angles and visibility, as they were when the list was built */
+	private static final int STATE_SIZE = 7;
+
+	private final ModelRendererTurbo[] part;
+	private final float[] bakedState;
+	/** Shapes that are drawn on their own, either because they move or because they cannot share a list */
+	private final boolean[] separate;
+	private int displayList;
+	private float bakedScale;
+	private boolean bakedRotateOrder;
+
+	public BakedPart(ModelRendererTurbo[] part)
+	{
+		this(part, 0F);
+	}
+
+	/** Bakes only the shapes of a part that are at least minSize model units across, as a low detail silhouette of it */
+	public BakedPart(ModelRendererTurbo[] part, float minSize)
+	{
+		if(minSize > 0F)
+		{
+			ArrayList<ModelRendererTurbo> large = new ArrayList<ModelRendererTurbo>();
+			for(ModelRendererTurbo shape : part)
+			{
+				if(shape != null && shape.getSize() >= minSize)
+					large.add(shape);
+			}
+			part = large.toArray(new ModelRendererTurbo[large.size()]);
+		}
+		this.part = part;
+		bakedState = new float[part.length * STATE_SIZE];
+		separate = new boolean[part.length];
+		for(int i = 0; i < part.length; i++)
+			separate[i] = part[i] == null || !part[i].canBake();
+	}
+
+	public void render(float worldScale, boolean oldRotateOrder)
+	{
+		boolean changed = displayList == 0 || worldScale != bakedScale || oldRotateOrder != bakedRotateOrder;
+		for(int i = 0; i < part.length; i++)
+		{
+			if(!separate[i] && !matchesBakedState(i))
+			{
+				separate[i] = true;
+				changed = true;
+			}
+		}
+		if(changed)
+			rebuild(worldScale, oldRotateOrder);
+
+		GL11.glCallList(displayList);
+		for(int i = 0; i < part.length; i++)
+		{
+			if(separate[i] && part[i] != null)
+				part[i].render(worldScale, oldRotateOrder);
+		}
+	}
+
+	/** Frees the display list. The part will be rebuilt if it is rendered again */
+	public void delete()
+	{
+		if(displayList != 0)
+		{
+			GLAllocation.deleteDisplayLists(displayList);
+			displayList = 0;
+		}
+	}
+
+	private void rebuild(float worldScale, boolean oldRotateOrder)
+	{
+		delete();
+		displayList = GLAllocation.generateDisplayLists(1);
+		GL11.glNewList(displayList, GL11.GL_COMPILE);
+		for(int i = 0; i < part.length; i++)
+		{
+			if(separate[i])
+				continue;
+			ModelRendererTurbo shape = part[i];
+			shape.bake(worldScale, oldRotateOrder);
+			int offset = i * STATE_SIZE;
+			bakedState[offset] = shape.rotationPointX;
+			bakedState[offset + 1] = shape.rotationPointY;
+			bakedState[offset + 2] = shape.rotationPointZ;
+			bakedState[offset + 3] = shape.rotateAngleX;
+			bakedState[offset + 4] = shape.rotateAngleY;
+			bakedState[offset + 5] = shape.rotateAngleZ;
+			bakedState[offset + 6] = shape.showModel ? 1F : 0F;
+		}
+		GL11.glEndList();
+		bakedScale = worldScale;
+		bakedRotateOrder = oldRotateOrder;
+	}
+
+	private boolean matchesBakedState(int i)
+	{
+		ModelRendererTurbo shape = part[i];
+		int offset = i * STATE_SIZE;
+		return bakedState[offset] == shape.rotationPointX && bakedState[offset + 1] == shape.rotationPointY
+				&& bakedState[offset + 2] == shape.rotationPointZ && bakedState[offset + 3] == shape.rotateAngleX
+				&& bakedState[offset + 4] == shape.rotateAngleY && bakedState[offset + 5] == shape.rotateAngleZ
+				&& bakedState[offset + 6] == (shape.showModel ? 1F : 0F);
+	}
+}
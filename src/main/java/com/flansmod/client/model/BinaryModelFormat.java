@@ -0,0 +1,316 @@
+package com.flansmod.client.model;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.lang.reflect.GenericArrayType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import net.minecraft.client.model.ModelBase;
+import net.minecraft.client.model.ModelRenderer;
+
+import com.flansmod.client.tmt.ModelRendererTurbo;
+import com.flansmod.common.FlansMod;
+import com.flansmod.common.vector.Vector3f;
+
+/** A compact binary form of models made of {@link ModelRendererTurbo} shapes. Most models are classes whose constructors
+ * do nothing but add hundreds or thousands of shapes, all of which have to be loaded, verified and run at startup. A model
+ * file holds the finished result instead: the model class the original extends, the polygons of every shape and the value
+ * of every public field, so loading one is a single pass over the file. Files are made by ModelConverter when the mod is
+ * built and sit beside the class they were made from, named after it with the extension {@value #EXTENSION} */
+public class BinaryModelFormat
+{
+	public static final String EXTENSION = ".fmb";
+	private static final int MAGIC = 0x464D4D46;
+	private static final int VERSION = 1;
+
+	/** Reads the model file for this model class, or returns null if there is none or it cannot be read, in which case the
+	 * class should be used */
+	public static ModelBase load(String className)
+	{
+		InputStream stream = BinaryModelFormat.class.getClassLoader().getResourceAsStream(getPath(className));
+		if(stream == null)
+			return null;
+		try
+		{
+			return read(stream);
+		}
+		catch(Exception e)
+		{
+			FlansMod.log("Failed to read model file for " + className + ", using the model class instead");
+			e.printStackTrace();
+			return null;
+		}
+		finally
+		{
+			try
+			{
+				stream.close();
+			}
+			catch(IOException e)
+			{
+			}
+		}
+	}
+
+	/** The path of the model file for a model class, relative to the root of the classpath or content pack */
+	public static String getPath(String className)
+	{
+		return className.replace('.', '/') + EXTENSION;
+	}
+
+	/** Whether models of this class can be written to a file. The class must only build shapes, so its only methods may
+	 * be the init methods generated models split their constructors into, and it must directly extend one of the mod's
+	 * model classes, which is what renders it once it has been read back */
+	public static boolean canConvert(Class<?> modelClass)
+	{
+		if(!ModelBase.class.isAssignableFrom(modelClass) || Modifier.isAbstract(modelClass.getModifiers()))
+			return false;
+		Class<?> base = modelClass.getSuperclass();
+		if(!base.getName().startsWith("com.flansmod.") || Modifier.isAbstract(base.getModifiers()))
+			return false;
+		try
+		{
+			modelClass.getConstructor();
+			base.getConstructor();
+		}
+		catch(NoSuchMethodException e)
+		{
+			return false;
+		}
+		for(Method method : modelClass.getDeclaredMethods())
+		{
+			if(!method.getName().startsWith("init"))
+				return false;
+		}
+		return true;
+	}
+
+	/** Writes a model built by a class that {@link #canConvert} accepts. Throws an IllegalArgumentException if it has a
+	 * shape or field value that cannot be written */
+	public static void write(ModelBase model, OutputStream stream) throws IOException
+	{
+		Class<?> base = model.getClass().getSuperclass();
+
+		//Shapes are numbered in the order they were made, and are made again in that order when read
+		IdentityHashMap<ModelRenderer, Integer> shapes = new IdentityHashMap<ModelRenderer, Integer>();
+		List<ModelRendererTurbo> shapeList = new ArrayList<ModelRendererTurbo>();
+		for(Object box : model.boxList)
+		{
+			if(box instanceof ModelRendererTurbo)
+			{
+				if(!((ModelRendererTurbo)box).canWrite())
+					throw new IllegalArgumentException("Shape " + shapeList.size() + " has children or bones");
+				shapes.put((ModelRenderer)box, shapeList.size());
+				shapeList.add((ModelRendererTurbo)box);
+			}
+		}
+
+		DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new GZIPOutputStream(stream)));
+		out.writeInt(MAGIC);
+		out.writeShort(VERSION);
+		out.writeUTF(base.getName());
+		out.writeInt(shapeList.size());
+		for(ModelRendererTurbo shape : shapeList)
+		{
+			out.writeBoolean(shape.boxName != null);
+			if(shape.boxName != null)
+				out.writeUTF(shape.boxName);
+			shape.writeShape(out);
+		}
+
+		List<Field> fields = getFields(base);
+		out.writeShort(fields.size());
+		for(Field field : fields)
+		{
+			out.writeUTF(field.getDeclaringClass().getName());
+			out.writeUTF(field.getName());
+			try
+			{
+				writeValue(out, field.get(model), field.getGenericType(), shapes);
+			}
+			catch(IllegalAccessException e)
+			{
+				throw new IOException(e);
+			}
+			catch(IllegalArgumentException e)
+			{
+				throw new IllegalArgumentException("Field " + field.getName() + ": " + e.getMessage());
+			}
+		}
+		out.flush();
+		out.close();
+	}
+
+	/** Reads a model file, creating the model class it names and filling it in */
+	public static ModelBase read(InputStream stream) throws Exception
+	{
+		DataInputStream in = new DataInputStream(new BufferedInputStream(new GZIPInputStream(stream)));
+		if(in.readInt() != MAGIC)
+			throw new IOException("Not a model file");
+		int version = in.readShort();
+		if(version != VERSION)
+			throw new IOException("Model file version " + version + " is not supported");
+		ModelBase model = (ModelBase)Class.forName(in.readUTF()).getConstructor().newInstance();
+
+		ModelRendererTurbo[] shapes = new ModelRendererTurbo[in.readInt()];
+		for(int i = 0; i < shapes.length; i++)
+		{
+			shapes[i] = new ModelRendererTurbo(model, in.readBoolean() ? in.readUTF() : null);
+			shapes[i].readShape(in);
+		}
+
+		int numFields = in.readShort();
+		for(int i = 0; i < numFields; i++)
+		{
+			Field field = Class.forName(in.readUTF()).getDeclaredField(in.readUTF());
+			field.set(model, readValue(in, field.getGenericType(), shapes));
+		}
+		return model;
+	}
+
+	/** The public fields of a model class and the mod's model classes above it, which are the ones that can be set on a
+	 * model from outside it */
+	private static List<Field> getFields(Class<?> base)
+	{
+		List<Field> fields = new ArrayList<Field>();
+		for(Class<?> c = base; c != null && c.getName().startsWith("com.flansmod."); c = c.getSuperclass())
+		{
+			for(Field field : c.getDeclaredFields())
+			{
+				int modifiers = field.getModifiers();
+				if(Modifier.isPublic(modifiers) && !Modifier.isStatic(modifiers) && !Modifier.isFinal(modifiers) && !Modifier.isTransient(modifiers))
+					fields.add(field);
+			}
+		}
+		return fields;
+	}
+
+	private static void writeValue(DataOutputStream out, Object value, Type type, Map<ModelRenderer, Integer> shapes) throws IOException
+	{
+		Class<?> raw = getRawClass(type);
+		if(raw == boolean.class)
+			out.writeBoolean((Boolean)value);
+		else if(raw == int.class)
+			out.writeInt((Integer)value);
+		else if(raw == float.class)
+			out.writeFloat((Float)value);
+		else if(raw == double.class)
+			out.writeDouble((Double)value);
+		else if(raw.isPrimitive())
+			throw new IllegalArgumentException("Cannot write " + raw.getName());
+		else
+		{
+			out.writeBoolean(value != null);
+			if(value == null)
+				return;
+			if(raw == String.class)
+				out.writeUTF((String)value);
+			else if(raw.isEnum())
+				out.writeUTF(((Enum<?>)value).name());
+			else if(raw == Vector3f.class)
+			{
+				Vector3f vector = (Vector3f)value;
+				out.writeFloat(vector.x);
+				out.writeFloat(vector.y);
+				out.writeFloat(vector.z);
+			}
+			else if(ModelRenderer.class.isAssignableFrom(raw))
+			{
+				Integer index = shapes.get(value);
+				if(index == null)
+					throw new IllegalArgumentException("Shape is not a ModelRendererTurbo of this model");
+				out.writeInt(index);
+			}
+			else if(raw.isArray())
+			{
+				Type component = type instanceof GenericArrayType ? ((GenericArrayType)type).getGenericComponentType() : raw.getComponentType();
+				int length = Array.getLength(value);
+				out.writeInt(length);
+				for(int i = 0; i < length; i++)
+					writeValue(out, Array.get(value, i), component, shapes);
+			}
+			else if(raw.isAssignableFrom(HashMap.class) && type instanceof ParameterizedType)
+			{
+				Type[] arguments = ((ParameterizedType)type).getActualTypeArguments();
+				Map<?, ?> map = (Map<?, ?>)value;
+				out.writeInt(map.size());
+				for(Map.Entry<?, ?> entry : map.entrySet())
+				{
+					writeValue(out, entry.getKey(), arguments[0], shapes);
+					writeValue(out, entry.getValue(), arguments[1], shapes);
+				}
+			}
+			else throw new IllegalArgumentException("Cannot write " + type);
+		}
+	}
+
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	private static Object readValue(DataInputStream in, Type type, ModelRendererTurbo[] shapes) throws IOException
+	{
+		Class<?> raw = getRawClass(type);
+		if(raw == boolean.class)
+			return in.readBoolean();
+		if(raw == int.class)
+			return in.readInt();
+		if(raw == float.class)
+			return in.readFloat();
+		if(raw == double.class)
+			return in.readDouble();
+		if(!in.readBoolean())
+			return null;
+		if(raw == String.class)
+			return in.readUTF();
+		if(raw.isEnum())
+			return Enum.valueOf((Class<Enum>)raw, in.readUTF());
+		if(raw == Vector3f.class)
+			return new Vector3f(in.readFloat(), in.readFloat(), in.readFloat());
+		if(ModelRenderer.class.isAssignableFrom(raw))
+			return shapes[in.readInt()];
+		if(raw.isArray())
+		{
+			Type component = type instanceof GenericArrayType ? ((GenericArrayType)type).getGenericComponentType() : raw.getComponentType();
+			Object array = Array.newInstance(getRawClass(component), in.readInt());
+			for(int i = 0; i < Array.getLength(array); i++)
+				Array.set(array, i, readValue(in, component, shapes));
+			return array;
+		}
+		if(raw.isAssignableFrom(HashMap.class) && type instanceof ParameterizedType)
+		{
+			Type[] arguments = ((ParameterizedType)type).getActualTypeArguments();
+			HashMap map = new HashMap();
+			int size = in.readInt();
+			for(int i = 0; i < size; i++)
+				map.put(readValue(in, arguments[0], shapes), readValue(in, arguments[1], shapes));
+			return map;
+		}
+		throw new IOException("Cannot read " + type);
+	}
+
+	private static Class<?> getRawClass(Type type)
+	{
+		if(type instanceof Class)
+			return (Class<?>)type;
+		if(type instanceof ParameterizedType)
+			return getRawClass(((ParameterizedType)type).getRawType());
+		if(type instanceof GenericArrayType)
+			return Array.newInstance(getRawClass(((GenericArrayType)type).getGenericComponentType()), 0).getClass();
+		throw new IllegalArgumentException("Cannot write " + type);
+	}
+}
@@ -1,17 +1,30 @@
 package com.flansmod.client.model;
 
+import java.util.EnumSet;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
 
 import net.minecraft.client.model.ModelBase;
+import net.minecraft.client.renderer.culling.ICamera;
+import net.minecraft.util.AxisAlignedBB;
 
 import com.flansmod.client.tmt.ModelRendererTurbo;
+import com.flansmod.common.FlansMod;
+import com.flansmod.common.driveables.CollisionBox;
 import com.flansmod.common.driveables.DriveableType;
 import com.flansmod.common.driveables.EntityDriveable;
+import com.flansmod.common.driveables.EnumDriveablePart;
+import com.flansmod.common.vector.Vector3f;
 
 public class ModelDriveable extends ModelBase 
 {
 	public static final float pi = 3.14159265F;
 	public static final float tau = 2 * pi;
+	/** Shapes smaller than this, in model units, are left out of the silhouettes drawn beyond the silhouette distance */
+	public static final float SILHOUETTE_MIN_SIZE = 8F;
+	/** How far, in blocks, the model may reach outside the collision box of a part before that part is culled */
+	private static final float CULL_MARGIN = 2F;
 	
 	public HashMap<String, ModelRendererTurbo[][]> gunModels = new HashMap<String, ModelRendererTurbo[][]>();
 	public ModelRendererTurbo bodyModel[] = new ModelRendererTurbo[0];
@@ -21,6 +34,16 @@ public class ModelDriveable extends ModelBase
 	/** Set to true to use the old rotation order (ZYX) rather than (YZX) */
 	public boolean oldRotateOrder = false;
 	
+	/** The distance from the camera to the driveable being rendered, set by {@link #setupRender}. 0 when not rendering one in the world */
+	public float renderDistance = 0F;
+	/** The parts of the driveable being rendered whose collision boxes are out of view, set by {@link #setupRender} */
+	public EnumSet<EnumDriveablePart> culledParts = EnumSet.noneOf(EnumDriveablePart.class);
+	
+	/** The baked version of each part array that has been rendered through renderPart */
+	private IdentityHashMap<ModelRendererTurbo[], BakedPart> bakedParts = new IdentityHashMap<ModelRendererTurbo[], BakedPart>();
+	/** The low detail version of each part array, drawn beyond the silhouette distance */
+	private IdentityHashMap<ModelRendererTurbo[], BakedPart> silhouetteParts = new IdentityHashMap<ModelRendererTurbo[], BakedPart>();
+	
 	/** For rendering a specific entity */
 	public void render(EntityDriveable driveable, float f1)
 	{
@@ -39,10 +62,97 @@ public class ModelDriveable extends ModelBase
 	/** Renders the specified parts */
 	public void renderPart(ModelRendererTurbo[] part)
 	{
-		for(ModelRendererTurbo bit : part)
+		renderBaked(part, 0.0625F, oldRotateOrder);
+	}
+	
+	/** Works out how far away the driveable is and which of its parts are in view, using the collision boxes of its type,
+	 * ready for it to be rendered. Returns false if none of it is in view, in which case it need not be rendered at all.
+	 * The camera must already be set to the camera position, and x, y and z are where the driveable is drawn */
+	public boolean setupRender(EntityDriveable driveable, ICamera camera, double x, double y, double z, float distance)
+	{
+		renderDistance = distance;
+		culledParts.clear();
+		if(!FlansMod.cullDriveableParts || camera == null)
+			return true;
+		HashMap<EnumDriveablePart, CollisionBox> boxes = driveable.getDriveableType().health;
+		if(boxes.isEmpty())
+			return true;
+		boolean inView = false;
+		for(Map.Entry<EnumDriveablePart, CollisionBox> entry : boxes.entrySet())
+		{
+			//Test a box around the sphere containing the part, which holds whichever way the driveable is turned
+			CollisionBox box = entry.getValue();
+			Vector3f centre = driveable.axes.findLocalVectorGlobally(box.getCentre());
+			float radius = (float)Math.sqrt(box.w * box.w + box.h * box.h + box.d * box.d) / 2F + CULL_MARGIN;
+			if(camera.isBoundingBoxInFrustum(new AxisAlignedBB(x + centre.x - radius, y + centre.y - radius, z + centre.z - radius, x + centre.x + radius, y + centre.y + radius, z + centre.z + radius)))
+				inView = true;
+			//The body is drawn whenever any of the driveable is, since the core box rarely covers all of it
+			else if(entry.getKey() != EnumDriveablePart.core)
+				culledParts.add(entry.getKey());
+		}
+		return inView;
+	}
+	
+	/** Resets the model after a driveable has been rendered, so that it is drawn in full elsewhere, such as in GUIs */
+	public void finishRender()
+	{
+		renderDistance = 0F;
+		culledParts.clear();
+	}
+	
+	/** Whether this part of the driveable being rendered is intact and in view */
+	protected boolean isPartVisible(EntityDriveable driveable, EnumDriveablePart part)
+	{
+		return driveable.isPartIntact(part) && !culledParts.contains(part);
+	}
+	
+	/** Whether the driveable being rendered is closer than this many blocks. A distance of 0 means any distance */
+	protected boolean isWithin(float distance)
+	{
+		return distance <= 0F || renderDistance < distance;
+	}
+	
+	/** Renders the specified parts, merging the ones that do not move into a single display list if baking is on. Beyond
+	 * the silhouette distance only the larger shapes are drawn */
+	protected void renderBaked(ModelRendererTurbo[] part, float worldScale, boolean rotateOrder)
+	{
+		if(!isWithin(FlansMod.driveableSilhouetteDistance))
 		{
-			bit.render(0.0625F, oldRotateOrder);
+			BakedPart silhouette = silhouetteParts.get(part);
+			if(silhouette == null)
+			{
+				silhouette = new BakedPart(part, SILHOUETTE_MIN_SIZE);
+				silhouetteParts.put(part, silhouette);
+			}
+			silhouette.render(worldScale, rotateOrder);
+			return;
 		}
+		if(!FlansMod.bakeDriveableModels || part.length < 2)
+		{
+			for(ModelRendererTurbo bit : part)
+			{
+				bit.render(worldScale, rotateOrder);
+			}
+			return;
+		}
+		BakedPart baked = bakedParts.get(part);
+		if(baked == null)
+		{
+			baked = new BakedPart(part);
+			bakedParts.put(part, baked);
+		}
+		baked.render(worldScale, rotateOrder);
+	}
+	
+	/** Frees the display lists of every baked part */
+	public void deleteBakedParts()
+	{
+		for(BakedPart baked : bakedParts.values())
+			baked.delete();
+		bakedParts.clear();
+		for(BakedPart silhouette : silhouetteParts.values())
+			silhouette.delete();
+		silhouetteParts.clear();
 	}
 	
 	public void registerGunModel(String name, ModelRendererTurbo[][] gunModel)
@@ -78,11 +78,10 @@ public class ModelMecha extends ModelDriveable
 	{
 		//Rendering the body
 		if(mecha.isPartIntact(EnumDriveablePart.core))
-			for (ModelRendererTurbo aBodyModel : bodyModel) aBodyModel.render(f5);
+			renderBaked(bodyModel, f5, false);
 
 		if(mecha.isPartIntact(EnumDriveablePart.head))
-			for(ModelRendererTurbo model : headModel)
-				model.render(f5);
+			renderBaked(headModel, f5, false);
 
 		float pitch = mecha.seats[0] == null ? 0F : mecha.seats[0].looking.getPitch();
 
@@ -97,104 +96,87 @@ public class ModelMecha extends ModelDriveable
 		
 	public void renderLeftArm(float f5, EntityMecha mecha, float f)
 	{
-			for(ModelRendererTurbo model : leftArmModel)
-				model.render(f5);
+		renderBaked(leftArmModel, f5, false);
 	}
 	
 	public void renderLeftHand(float f5, EntityMecha mecha, float f)
 	{
-			for(ModelRendererTurbo model : leftHandModel)
-				model.render(f5);
+		renderBaked(leftHandModel, f5, false);
 	}
 	
 	public void renderRightArm(float f5, EntityMecha mecha, float f)
 	{
-			for(ModelRendererTurbo model : rightArmModel)
-				model.render(f5);
+		renderBaked(rightArmModel, f5, false);
 	}
 	
 	public void renderRightHand(float f5, EntityMecha mecha, float f)
 	{
-			for(ModelRendererTurbo model : rightHandModel)
-				model.render(f5);
+		renderBaked(rightHandModel, f5, false);
 	}
 	
 	public void renderRightFoot(float f5, EntityMecha mecha, float f)
 	{
-			for(ModelRendererTurbo model : rightFootModel)
-				model.render(f5);
+		renderBaked(rightFootModel, f5, false);
 	}
 	
 	public void renderLeftFoot(float f5, EntityMecha mecha, float f)
 	{
-			for(ModelRendererTurbo model : leftFootModel)
-				model.render(f5);
+		renderBaked(leftFootModel, f5, false);
 	}
 	
 	public void renderRightLeg(float f5, EntityMecha mecha, float f)
 	{
-			for(ModelRendererTurbo model : rightLegModel)
-				model.render(f5);
+		renderBaked(rightLegModel, f5, false);
 	}
 	
 	public void renderLeftLeg(float f5, EntityMecha mecha, float f)
 	{
-			for(ModelRendererTurbo model : leftLegModel)
-				model.render(f5);
+		renderBaked(leftLegModel, f5, false);
 	}
 	
 	public void renderRightRearFoot(float f5, EntityMecha mecha, float f)
 	{
-			for(ModelRendererTurbo model : rightRearFootModel)
-				model.render(f5);
+		renderBaked(rightRearFootModel, f5, false);
 	}
 	
 	public void renderLeftRearFoot(float f5, EntityMecha mecha, float f)
 	{
-			for(ModelRendererTurbo model : leftRearFootModel)
-				model.render(f5);
+		renderBaked(leftRearFootModel, f5, false);
 	}
 	
 	public void renderRightRearLeg(float f5, EntityMecha mecha, float f)
 	{
-			for(ModelRendererTurbo model : rightRearLegModel)
-				model.render(f5);
+		renderBaked(rightRearLegModel, f5, false);
 	}
 	
 	public void renderLeftRearLeg(float f5, EntityMecha mecha, float f)
 	{
-			for(ModelRendererTurbo model : leftRearLegModel)
-				model.render(f5);
+		renderBaked(leftRearLegModel, f5, false);
 	}
 	
 	public void renderRightFrontFoot(float f5, EntityMecha mecha, float f)
 	{
-			for(ModelRendererTurbo model : rightFrontFootModel)
-				model.render(f5);
+		renderBaked(rightFrontFootModel, f5, false);
 	}
 	
 	public void renderLeftFrontFoot(float f5, EntityMecha mecha, float f)
 	{
-			for(ModelRendererTurbo model : leftFrontFootModel)
-				model.render(f5);
+		renderBaked(leftFrontFootModel, f5, false);
 	}
 	
 	public void renderRightFrontLeg(float f5, EntityMecha mecha, float f)
 	{
-			for(ModelRendererTurbo model : rightFrontLegModel)
-				model.render(f5);
+		renderBaked(rightFrontLegModel, f5, false);
 	}
 	
 	public void renderLeftFrontLeg(float f5, EntityMecha mecha, float f)
 	{
-			for(ModelRendererTurbo model : leftFrontLegModel)
-				model.render(f5);
+		renderBaked(leftFrontLegModel, f5, false);
 	}
 	
 	public void renderHips(float f5, EntityMecha mecha, float f)
 	{
-			for(ModelRendererTurbo model : hipsModel)
-				model.render(f5);
+		renderBaked(hipsModel, f5, false);
 	}
 	
 	@Override
@@ -1,6 +1,7 @@
 package com.flansmod.client.model;
 
 import com.flansmod.client.tmt.ModelRendererTurbo;
+import com.flansmod.common.FlansMod;
 import com.flansmod.common.driveables.DriveableType;
 import com.flansmod.common.driveables.EntityDriveable;
 import com.flansmod.common.driveables.EntityPlane;
@@ -106,7 +107,7 @@ public class ModelPlane extends ModelDriveable
 		float angle = plane.propAngle;
 		for(Propeller propeller : plane.getPlaneType().propellers)
 		{
-			if(plane.isPartIntact(propeller.planePart) && propellerModels.length > propeller.ID)
+			if(isPartVisible(plane, propeller.planePart) && propellerModels.length > propeller.ID)
 			{
 				int numParts = propellerModels[propeller.ID].length;
 				for(int j = 0; j < numParts; j++)
@@ -117,35 +118,24 @@ public class ModelPlane extends ModelDriveable
 			}
 		}
 				
-		if(plane.isPartIntact(EnumDriveablePart.nose))
+		if(isPartVisible(plane, EnumDriveablePart.nose))
 		{
 			//Nose
-			for (ModelRendererTurbo aNoseModel : noseModel) {
-				aNoseModel.render(f5);
-			}
+			renderBaked(noseModel, f5, false);
 		}
-		if(plane.isPartIntact(EnumDriveablePart.bay))
+		if(isPartVisible(plane, EnumDriveablePart.bay))
 		{
 			//Bay
-			for (ModelRendererTurbo aBayModel : bayModel) {
-				aBayModel.render(f5);
-			}
+			renderBaked(bayModel, f5, false);
 		}
-		if(plane.isPartIntact(EnumDriveablePart.tail))
+		if(isPartVisible(plane, EnumDriveablePart.tail))
 		{
 			//Rendering the tail
-			for (ModelRendererTurbo aTailModel : tailModel) {
-				aTailModel.render(f5);
-			}
+			renderBaked(tailModel, f5, false);
 			//Doors
-			for (ModelRendererTurbo aTailDoorOpenModel : tailDoorOpenModel) {
-				if (plane.varDoor)
-					aTailDoorOpenModel.render(f5);
-			}
-			for (ModelRendererTurbo aTailDoorCloseModel : tailDoorCloseModel) {
-				if (!plane.varDoor)
-					aTailDoorCloseModel.render(f5);
-			}
+			if(plane.varDoor)
+				renderBaked(tailDoorOpenModel, f5, false);
+			else renderBaked(tailDoorCloseModel, f5, false);
 			//Rotating the yaw flap
 			for (ModelRendererTurbo aYawFlapModel : yawFlapModel) {
 				aYawFlapModel.rotateAngleY = plane.flapsYaw * 3.14159265F / 180F;
@@ -162,7 +152,7 @@ public class ModelPlane extends ModelDriveable
 				aPitchFlapRightModel.render(f5);
 			}
 		}
-		if(plane.isPartIntact(EnumDriveablePart.skids))
+		if(isPartVisible(plane, EnumDriveablePart.skids))
 		{
 			//Skids
 			for (ModelRendererTurbo aSkidsModel : skidsModel) {
@@ -170,7 +160,7 @@ public class ModelPlane extends ModelDriveable
 					aSkidsModel.render(f5);
 			}
 		}
-		if(plane.isPartIntact(EnumDriveablePart.tailWheel))
+		if(isPartVisible(plane, EnumDriveablePart.tailWheel))
 		{
 			//Gear
 			for (ModelRendererTurbo aTailWheelModel : tailWheelModel) {
@@ -178,12 +168,10 @@ public class ModelPlane extends ModelDriveable
 					aTailWheelModel.render(f5);
 			}
 		}
-		if(plane.isPartIntact(EnumDriveablePart.leftWing))
+		if(isPartVisible(plane, EnumDriveablePart.leftWing))
 		{
 			//Rendering the left wing
-			for (ModelRendererTurbo aLeftWingModel : leftWingModel) {
-				aLeftWingModel.render(f5);
-			}
+			renderBaked(leftWingModel, f5, false);
 			//Changeable Wings
 			for (ModelRendererTurbo aLeftWingPos1Model : leftWingPos1Model) {
 				if (plane.varWing)
@@ -199,12 +187,10 @@ public class ModelPlane extends ModelDriveable
 				aPitchFlapLeftWingModel.render(f5);
 			}
 		}
-		if(plane.isPartIntact(EnumDriveablePart.rightWing))
+		if(isPartVisible(plane, EnumDriveablePart.rightWing))
 		{
 			//Rendering the right wing
-			for (ModelRendererTurbo aRightWingModel : rightWingModel) {
-				aRightWingModel.render(f5);
-			}
+			renderBaked(rightWingModel, f5, false);
 			//Changeable Wings
 			for (ModelRendererTurbo aRightWingPos1Model : rightWingPos1Model) {
 				if (plane.varWing)
@@ -220,7 +206,7 @@ public class ModelPlane extends ModelDriveable
 				aPitchFlapRightWingModel.render(f5);
 			}
 		}
-		if(plane.isPartIntact(EnumDriveablePart.leftWingWheel))
+		if(isPartVisible(plane, EnumDriveablePart.leftWingWheel))
 		{
 			//Gear
 			for (ModelRendererTurbo aLeftWingWheelModel : leftWingWheelModel) {
@@ -228,7 +214,7 @@ public class ModelPlane extends ModelDriveable
 					aLeftWingWheelModel.render(f5);
 			}
 		}
-		if(plane.isPartIntact(EnumDriveablePart.rightWingWheel))
+		if(isPartVisible(plane, EnumDriveablePart.rightWingWheel))
 		{
 			//Gear
 			for (ModelRendererTurbo aRightWingWheelModel : rightWingWheelModel) {
@@ -236,24 +222,20 @@ public class ModelPlane extends ModelDriveable
 					aRightWingWheelModel.render(f5);
 			}
 		}
-		if(plane.isPartIntact(EnumDriveablePart.core))
+		if(isPartVisible(plane, EnumDriveablePart.core))
 		{
 			//Rendering the body
-			for (ModelRendererTurbo aBodyModel : bodyModel) {
-				aBodyModel.render(f5);
-			}
+			renderBaked(bodyModel, f5, false);
 			//Doors
-			for (ModelRendererTurbo aBodyDoorOpenModel : bodyDoorOpenModel) {
-				if (plane.varDoor)
-					aBodyDoorOpenModel.render(f5);
-			}
-			for (ModelRendererTurbo aBodyDoorCloseModel : bodyDoorCloseModel) {
-				if (!plane.varDoor)
-					aBodyDoorCloseModel.render(f5);
-			}
-			for (ModelRendererTurbo aHudModel : hudModel) {
-				aHudModel.rotateAngleX = -(plane.axes.getRoll() * 3.14159265F / 180F);
-				aHudModel.render(f5);
+			if(plane.varDoor)
+				renderBaked(bodyDoorOpenModel, f5, false);
+			else renderBaked(bodyDoorCloseModel, f5, false);
+			if(isWithin(FlansMod.driveableInteriorDistance))
+			{
+				for (ModelRendererTurbo aHudModel : hudModel) {
+					aHudModel.rotateAngleX = -(plane.axes.getRoll() * 3.14159265F / 180F);
+					aHudModel.render(f5);
+				}
 			}
 			//VTOL bits
 			if(plane.mode == EnumPlaneMode.HELI)
@@ -262,7 +244,7 @@ public class ModelPlane extends ModelDriveable
 			}
 			else renderPart(planeModeParts);
 		}
-		if(plane.isPartIntact(EnumDriveablePart.coreWheel))
+		if(isPartVisible(plane, EnumDriveablePart.coreWheel))
 		{
 			//Gear
 			for (ModelRendererTurbo aBodyWheelModel : bodyWheelModel) {
@@ -270,18 +252,16 @@ public class ModelPlane extends ModelDriveable
 					aBodyWheelModel.render(f5);
 			}
 		}
-		if(plane.isPartIntact(EnumDriveablePart.topWing))
+		if(isPartVisible(plane, EnumDriveablePart.topWing))
 		{
 			//Rendering the top wing
-			for (ModelRendererTurbo aTopWingModel : topWingModel) {
-				aTopWingModel.render(f5);
-			}
+			renderBaked(topWingModel, f5, false);
 		}
 		//Render guns
 		for(EntitySeat seat : plane.seats)
 		{
 			//If the seat has a gun model attached
-			if(seat != null && seat.seatInfo != null && seat.seatInfo.gunName != null && gunModels.get(seat.seatInfo.gunName) != null && plane.isPartIntact(seat.seatInfo.part))
+			if(isWithin(FlansMod.driveableDetailDistance) && seat != null && seat.seatInfo != null && seat.seatInfo.gunName != null && gunModels.get(seat.seatInfo.gunName) != null && isPartVisible(plane, seat.seatInfo.part))
 			{
 				float yaw = seat.prevLooking.getYaw() + (seat.looking.getYaw() - seat.prevLooking.getYaw()) * f;
 				float pitch = seat.prevLooking.getPitch() + (seat.looking.getPitch() - seat.prevLooking.getPitch()) * f;
@@ -334,7 +314,7 @@ public class ModelPlane extends ModelDriveable
 	{
 		PlaneType type = plane.getPlaneType();
 		//If its not covered by the plane type heli propellers, render it. Otherwise, see if the part is intact
-		if(i >= type.heliPropellers.size() || plane.isPartIntact(type.heliPropellers.get(i).planePart))
+		if(i >= type.heliPropellers.size() || isPartVisible(plane, type.heliPropellers.get(i).planePart))
 		{
 			for(int j = 0; j < heliMainRotorModels[i].length; j++)
 			{
@@ -348,7 +328,7 @@ public class ModelPlane extends ModelDriveable
 	{
 		PlaneType type = plane.getPlaneType();
 		//If its not covered by the plane type heli propellers, render it. Otherwise, see if the part is intact
-		if(i >= type.heliTailPropellers.size() || plane.isPartIntact(type.heliTailPropellers.get(i).planePart))
+		if(i >= type.heliTailPropellers.size() || isPartVisible(plane, type.heliTailPropellers.get(i).planePart))
 		{
 			for(int j = 0; j < heliTailRotorModels[i].length; j++)
 			{
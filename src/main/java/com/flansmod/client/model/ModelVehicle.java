@@ -1,6 +1,7 @@
 package com.flansmod.client.model;
 
 import com.flansmod.client.tmt.ModelRendererTurbo;
+import com.flansmod.common.FlansMod;
 import com.flansmod.common.driveables.DriveableType;
 import com.flansmod.common.driveables.EntityDriveable;
 import com.flansmod.common.driveables.EntitySeat;
@@ -80,41 +81,37 @@ public class ModelVehicle extends ModelDriveable
 		animFrame = vehicle.animFrame;
 
 		//Rendering the body
-		if(vehicle.isPartIntact(EnumDriveablePart.core))
+		if(isPartVisible(vehicle, EnumDriveablePart.core))
 		{
-			for (ModelRendererTurbo aBodyModel : bodyModel) {
-				aBodyModel.render(f5, oldRotateOrder);
-			}
-			for (ModelRendererTurbo aBodyDoorOpenModel : bodyDoorOpenModel) {
-				if (vehicle.varDoor)
-					aBodyDoorOpenModel.render(f5, oldRotateOrder);
-			}
-			for (ModelRendererTurbo aBodyDoorCloseModel : bodyDoorCloseModel) {
-				if (!vehicle.varDoor)
-					aBodyDoorCloseModel.render(f5, oldRotateOrder);
-			}
-			for (ModelRendererTurbo aSteeringWheelModel : steeringWheelModel) {
-				aSteeringWheelModel.rotateAngleX = vehicle.wheelsYaw * 3.14159265F / 180F * 3F;
-				aSteeringWheelModel.render(f5, oldRotateOrder);
+			renderBaked(bodyModel, f5, oldRotateOrder);
+			if(vehicle.varDoor)
+				renderBaked(bodyDoorOpenModel, f5, oldRotateOrder);
+			else renderBaked(bodyDoorCloseModel, f5, oldRotateOrder);
+			if(isWithin(FlansMod.driveableInteriorDistance))
+			{
+				for (ModelRendererTurbo aSteeringWheelModel : steeringWheelModel) {
+					aSteeringWheelModel.rotateAngleX = vehicle.wheelsYaw * 3.14159265F / 180F * 3F;
+					aSteeringWheelModel.render(f5, oldRotateOrder);
+				}
 			}
 		}
 		
 		//Wheels
-		if(vehicle.isPartIntact(EnumDriveablePart.backLeftWheel))
+		if(isPartVisible(vehicle, EnumDriveablePart.backLeftWheel))
 		{
 			for (ModelRendererTurbo aLeftBackWheelModel : leftBackWheelModel) {
 				aLeftBackWheelModel.rotateAngleZ = rotateWheels ? -vehicle.wheelsAngle : 0;
 				aLeftBackWheelModel.render(f5, oldRotateOrder);
 			}
 		}
-		if(vehicle.isPartIntact(EnumDriveablePart.backRightWheel))
+		if(isPartVisible(vehicle, EnumDriveablePart.backRightWheel))
 		{
 			for (ModelRendererTurbo aRightBackWheelModel : rightBackWheelModel) {
 				aRightBackWheelModel.rotateAngleZ = rotateWheels ? -vehicle.wheelsAngle : 0;
 				aRightBackWheelModel.render(f5, oldRotateOrder);
 			}
 		}
-		if(vehicle.isPartIntact(EnumDriveablePart.frontLeftWheel))
+		if(isPartVisible(vehicle, EnumDriveablePart.frontLeftWheel))
 		{
 			for (ModelRendererTurbo aLeftFrontWheelModel : leftFrontWheelModel) {
 				aLeftFrontWheelModel.rotateAngleZ = rotateWheels ? -vehicle.wheelsAngle : 0;
@@ -122,7 +119,7 @@ public class ModelVehicle extends ModelDriveable
 				aLeftFrontWheelModel.render(f5, oldRotateOrder);
 			}
 		}
-		if(vehicle.isPartIntact(EnumDriveablePart.frontRightWheel))
+		if(isPartVisible(vehicle, EnumDriveablePart.frontRightWheel))
 		{
 			for (ModelRendererTurbo aRightFrontWheelModel : rightFrontWheelModel) {
 				aRightFrontWheelModel.rotateAngleZ = rotateWheels ? -vehicle.wheelsAngle : 0;
@@ -130,7 +127,7 @@ public class ModelVehicle extends ModelDriveable
 				aRightFrontWheelModel.render(f5, oldRotateOrder);
 			}
 		}
-		if(vehicle.isPartIntact(EnumDriveablePart.frontWheel))
+		if(isPartVisible(vehicle, EnumDriveablePart.frontWheel))
 		{
 			for (ModelRendererTurbo aFrontWheelModel : frontWheelModel) {
 				aFrontWheelModel.rotateAngleZ = rotateWheels ? -vehicle.wheelsAngle : 0;
@@ -138,7 +135,7 @@ public class ModelVehicle extends ModelDriveable
 				aFrontWheelModel.render(f5, oldRotateOrder);
 			}
 		}
-		if(vehicle.isPartIntact(EnumDriveablePart.backWheel))
+		if(isPartVisible(vehicle, EnumDriveablePart.backWheel))
 		{
 			for (ModelRendererTurbo aBackWheelModel : backWheelModel) {
 				aBackWheelModel.rotateAngleZ = rotateWheels ? -vehicle.wheelsAngle : 0;
@@ -146,61 +143,52 @@ public class ModelVehicle extends ModelDriveable
 			}
 		}
 
-		if(vehicle.isPartIntact(EnumDriveablePart.leftTrack))
+		if(isPartVisible(vehicle, EnumDriveablePart.leftTrack))
 		{
-			for (ModelRendererTurbo aLeftTrackModel : leftTrackModel) {
-				aLeftTrackModel.render(f5, oldRotateOrder);
-			}
+			renderBaked(leftTrackModel, f5, oldRotateOrder);
 			for (ModelRendererTurbo leftTrackWheelModel : leftTrackWheelModels) {
 				leftTrackWheelModel.rotateAngleZ = rotateWheels ? -vehicle.wheelsAngle : 0;
 				leftTrackWheelModel.render(f5, oldRotateOrder);
 			}
 			
-			for(int i = 0; i < leftAnimTrackModel.length; i++)
+			//Animated track links are too small to see from further away
+			for(int i = 0; i < leftAnimTrackModel.length && isWithin(FlansMod.driveableDetailDistance); i++)
 			{
 				if(i == animFrame)
 				{
-					for (ModelRendererTurbo aLeftAnimTrackModel : leftAnimTrackModel[i]) {
-						aLeftAnimTrackModel.render(f5, oldRotateOrder);
-					}
+					renderBaked(leftAnimTrackModel[i], f5, oldRotateOrder);
 				}
 			}
 
 		}
 
-		if(vehicle.isPartIntact(EnumDriveablePart.rightTrack))
+		if(isPartVisible(vehicle, EnumDriveablePart.rightTrack))
 		{
-			for (ModelRendererTurbo aRightTrackModel : rightTrackModel) {
-				aRightTrackModel.render(f5, oldRotateOrder);
-			}
+			renderBaked(rightTrackModel, f5, oldRotateOrder);
 			for (ModelRendererTurbo rightTrackWheelModel : rightTrackWheelModels) {
 				rightTrackWheelModel.rotateAngleZ = rotateWheels ? -vehicle.wheelsAngle : 0;
 				rightTrackWheelModel.render(f5, oldRotateOrder);
 			}
 			
-			for(int i = 0; i < rightAnimTrackModel.length; i++)
+			for(int i = 0; i < rightAnimTrackModel.length && isWithin(FlansMod.driveableDetailDistance); i++)
 			{
 				if(i == animFrame)
 				{
-					for (ModelRendererTurbo aRightAnimTrackModel : rightAnimTrackModel[i]) {
-						aRightAnimTrackModel.render(f5, oldRotateOrder);
-					}
+					renderBaked(rightAnimTrackModel[i], f5, oldRotateOrder);
 				}
 			}
 		}
 
-		if(vehicle.isPartIntact(EnumDriveablePart.trailer))
+		if(isPartVisible(vehicle, EnumDriveablePart.trailer))
 		{
-			for (ModelRendererTurbo aTrailerModel : trailerModel) {
-				aTrailerModel.render(f5, oldRotateOrder);
-			}
+			renderBaked(trailerModel, f5, oldRotateOrder);
 		}
 
 		//Render guns
 		for(EntitySeat seat : vehicle.seats)
 		{
 			//If the seat has a gun model attached
-			if(seat != null && seat.seatInfo != null && seat.seatInfo.gunName != null && gunModels.get(seat.seatInfo.gunName) != null && vehicle.isPartIntact(seat.seatInfo.part) && !vehicle.rotateWithTurret(seat.seatInfo))
+			if(isWithin(FlansMod.driveableDetailDistance) && seat != null && seat.seatInfo != null && seat.seatInfo.gunName != null && gunModels.get(seat.seatInfo.gunName) != null && isPartVisible(vehicle, seat.seatInfo.part) && !vehicle.rotateWithTurret(seat.seatInfo))
 			{
 				float yaw = seat.prevLooking.getYaw() + (seat.looking.getYaw() - seat.prevLooking.getYaw()) * f;
 				float pitch = seat.prevLooking.getPitch() + (seat.looking.getPitch() - seat.prevLooking.getPitch()) * f;
@@ -245,9 +233,7 @@ public class ModelVehicle extends ModelDriveable
 			float yaw = vehicle.seats[0].looking.getYaw();
 			float pitch = vehicle.seats[0].looking.getPitch();
 
-			for (ModelRendererTurbo aTurretModel : turretModel) {
-				aTurretModel.render(f5, oldRotateOrder);
-			}
+			renderBaked(turretModel, f5, oldRotateOrder);
 			for (ModelRendererTurbo aBarrelModel : barrelModel) {
 				aBarrelModel.rotateAngleZ = -pitch * 3.14159265F / 180F;
 				aBarrelModel.render(f5, oldRotateOrder);
@@ -269,7 +255,7 @@ public class ModelVehicle extends ModelDriveable
 		for(EntitySeat seat : vehicle.seats)
 		{
 			//If the seat has a gun model attached
-			if(seat != null && seat.seatInfo != null && seat.seatInfo.gunName != null && gunModels.get(seat.seatInfo.gunName) != null && vehicle.isPartIntact(seat.seatInfo.part) && vehicle.rotateWithTurret(seat.seatInfo))
+			if(isWithin(FlansMod.driveableDetailDistance) && seat != null && seat.seatInfo != null && seat.seatInfo.gunName != null && gunModels.get(seat.seatInfo.gunName) != null && isPartVisible(vehicle, seat.seatInfo.part) && vehicle.rotateWithTurret(seat.seatInfo))
 			{
 				EntitySeat driverSeat = vehicle.seats[0];
 
@@ -310,11 +296,9 @@ public class ModelVehicle extends ModelDriveable
 	
 	public void renderDrillBit(EntityVehicle vehicle, float f) 
 	{
-		if(vehicle.isPartIntact(EnumDriveablePart.harvester))
+		if(isPartVisible(vehicle, EnumDriveablePart.harvester))
 		{
-			for (ModelRendererTurbo adrillHeadModel : drillHeadModel) {
-				adrillHeadModel.render(0.0625F, oldRotateOrder);
-			}
+			renderBaked(drillHeadModel, 0.0625F, oldRotateOrder);
 		}
 	}
 	
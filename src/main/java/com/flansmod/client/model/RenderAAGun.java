@@ -30,7 +30,7 @@ public class RenderAAGun extends Render
 		for(; dYaw > 180F; dYaw -= 360F) {}
 		for(; dYaw <= -180F; dYaw += 360F) {}
 		
-		ModelAAGun modelAAGun = aa.type.model;
+		ModelAAGun modelAAGun = aa.type.GetModel();
 		if(modelAAGun != null)
 		{
 			modelAAGun.renderBase(0.0F, 0.0F, -0.1F, 0.0F, 0.0F, 0.0625F, aa);
@@ -50,7 +50,7 @@ public class RenderGrenade extends Render implements IItemRenderer
 			GL11.glRotatef(grenade.prevRotationPitch + dPitch * f1, 0.0F, 0.0F, 1.0F);
 			GL11.glRotatef(grenade.prevRotationRoll + dRoll * f1, 1.0F, 0.0F, 0.0F);
 		}
-		ModelBase model = grenade.type.model;
+		ModelBase model = grenade.type.GetModel();
 		if(model != null)
 			model.render(grenade, 0.0F, 0.0F, -0.1F, 0.0F, 0.0F, 0.0625F);
 		GL11.glPopMatrix();
@@ -76,7 +76,7 @@ public class RenderGrenade extends Render implements IItemRenderer
 	{
 		switch(type)
 		{
-		case EQUIPPED : case EQUIPPED_FIRST_PERSON : return item != null && item.getItem() instanceof ItemGrenade && ((ItemGrenade)item.getItem()).type.model != null;
+		case EQUIPPED : case EQUIPPED_FIRST_PERSON : return item != null && item.getItem() instanceof ItemGrenade && ((ItemGrenade)item.getItem()).type.GetModel() != null;
 		default : break;
 		}
 		return false;
@@ -95,7 +95,7 @@ public class RenderGrenade extends Render implements IItemRenderer
 		if(item != null && item.getItem() instanceof ItemGrenade)
 		{
 			GrenadeType grenadeType = ((ItemGrenade)item.getItem()).type;
-			if(grenadeType.model != null)
+			if(grenadeType.GetModel() != null)
 			{
 				switch(type)
 				{
@@ -119,7 +119,7 @@ public class RenderGrenade extends Render implements IItemRenderer
 				}
 				
 				Minecraft.getMinecraft().renderEngine.bindTexture(FlansModResourceHandler.getTexture(grenadeType));
-				ModelBase model = grenadeType.model;
+				ModelBase model = grenadeType.GetModel();
 				model.render(null, 0F, 0F, 0F, 0F, 0F, 1F / 16F);
 			}
 		}
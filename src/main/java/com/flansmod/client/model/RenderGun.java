@@ -56,7 +56,7 @@ public class RenderGun implements IItemRenderer
 		case ENTITY : if(!Minecraft.getMinecraft().gameSettings.fancyGraphics) return false;
 		case EQUIPPED : case EQUIPPED_FIRST_PERSON :  /*case INVENTORY : */return item != null 
 				&& item.getItem() instanceof ItemGun 
-				&& ((ItemGun)item.getItem()).GetType().model != null;
+				&& ((ItemGun)item.getItem()).GetType().GetModel() != null;
 		default : break;
 		}
 		return false;
@@ -79,7 +79,7 @@ public class RenderGun implements IItemRenderer
 		if(gunType == null)
 			return;
 		
-		ModelGun model = gunType.model;
+		ModelGun model = gunType.GetModel();
 		if(model == null)
 			return;
 
@@ -139,7 +139,7 @@ public class RenderGun implements IItemRenderer
 	{
 		//The model scale
 		float f = 1F / 16F;
-		ModelGun model = gunType.model;
+		ModelGun model = gunType.GetModel();
 		
 		int flip = offHand ? -1 : 1;
 		
@@ -426,9 +426,10 @@ public class RenderGun implements IItemRenderer
 		Paintjob paintjob = type.getPaintjob(item.getItemDamage());
 		if(bindTextures)
 		{
-			if(PaintableType.HasCustomPaintjob(item))
+			ResourceLocation customSkin = PaintableType.HasCustomPaintjob(item) ? PaintableType.GetCustomPaintjobSkinResource(item) : null;
+			if(customSkin != null)
 			{
-				renderEngine.bindTexture(PaintableType.GetCustomPaintjobSkinResource(item));
+				renderEngine.bindTexture(customSkin);
 			}
 			else
 			{
@@ -437,7 +438,7 @@ public class RenderGun implements IItemRenderer
 		}
 		
 		if(scopeAttachment != null)
-			GL11.glTranslatef(0F, -scopeAttachment.model.renderOffset / 16F, 0F);
+			GL11.glTranslatef(0F, -scopeAttachment.GetModel().renderOffset / 16F, 0F);
 		
 		//Render the gun and default attachment models
 		GL11.glPushMatrix();
@@ -717,7 +718,7 @@ public class RenderGun implements IItemRenderer
 				if(model.scopeIsOnSlide)
 					GL11.glTranslatef(-(animations.lastGunSlide + (animations.gunSlide - animations.lastGunSlide) * smoothing) * model.gunSlideDistance, 0F, 0F);
 				GL11.glScalef(scopeAttachment.modelScale, scopeAttachment.modelScale, scopeAttachment.modelScale);
-				ModelAttachment scopeModel = scopeAttachment.model;
+				ModelAttachment scopeModel = scopeAttachment.GetModel();
 				if(scopeModel != null)
 					scopeModel.renderAttachment(f);
 				renderEngine.bindTexture(FlansModResourceHandler.getTexture(type));
@@ -736,7 +737,7 @@ public class RenderGun implements IItemRenderer
 				if(model.gripIsOnPump)
 					GL11.glTranslatef(-(1 - Math.abs(animations.lastPumped + (animations.pumped - animations.lastPumped) * smoothing)) * model.pumpHandleDistance, 0F, 0F);
 				GL11.glScalef(gripAttachment.modelScale, gripAttachment.modelScale, gripAttachment.modelScale);
-				ModelAttachment gripModel = gripAttachment.model;
+				ModelAttachment gripModel = gripAttachment.GetModel();
 				if(gripModel != null)
 					gripModel.renderAttachment(f);
 				renderEngine.bindTexture(FlansModResourceHandler.getTexture(type));
@@ -753,7 +754,7 @@ public class RenderGun implements IItemRenderer
 				renderEngine.bindTexture(FlansModResourceHandler.getPaintjobTexture(barrelpaintjob));
 				GL11.glTranslatef(model.barrelAttachPoint.x * type.modelScale, model.barrelAttachPoint.y * type.modelScale, model.barrelAttachPoint.z * type.modelScale);
 				GL11.glScalef(barrelAttachment.modelScale, barrelAttachment.modelScale, barrelAttachment.modelScale);
-				ModelAttachment barrelModel = barrelAttachment.model;
+				ModelAttachment barrelModel = barrelAttachment.GetModel();
 				if(barrelModel != null)
 					barrelModel.renderAttachment(f);
 				renderEngine.bindTexture(FlansModResourceHandler.getTexture(type));
@@ -770,7 +771,7 @@ public class RenderGun implements IItemRenderer
 				renderEngine.bindTexture(FlansModResourceHandler.getPaintjobTexture(stockpaintjob));
 				GL11.glTranslatef(model.stockAttachPoint.x * type.modelScale, model.stockAttachPoint.y * type.modelScale, model.stockAttachPoint.z * type.modelScale);
 				GL11.glScalef(stockAttachment.modelScale, stockAttachment.modelScale, stockAttachment.modelScale);
-				ModelAttachment stockModel = stockAttachment.model;
+				ModelAttachment stockModel = stockAttachment.GetModel();
 				if(stockModel != null)
 					stockModel.renderAttachment(f);
 				renderEngine.bindTexture(FlansModResourceHandler.getTexture(type));
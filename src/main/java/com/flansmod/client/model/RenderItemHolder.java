@@ -39,7 +39,7 @@ public class RenderItemHolder extends TileEntitySpecialRenderer
 	public void renderTileEntityAt(TileEntity te, double posX, double posY, double posZ, float p_180535_8_, int p_180535_9_) 
 	{
 		TileEntityItemHolder holder = (TileEntityItemHolder)te;
-		ModelItemHolder model = holder.type.model;
+		ModelItemHolder model = holder.type.GetModel();
 		
 		if(model != null)
 		{
@@ -82,7 +82,7 @@ public class RenderItemHolder extends TileEntitySpecialRenderer
 		        GlStateManager.rotate(model.itemRotation.z, 0F, 0F, 1F);
 		        GlStateManager.rotate(model.itemRotation.y, 0F, 1F, 0F);
 		       
-		        if(stack.getItem() instanceof ItemGun && ((ItemGun)stack.getItem()).GetType().model != null)
+		        if(stack.getItem() instanceof ItemGun && ((ItemGun)stack.getItem()).GetType().GetModel() != null)
 		        {
 		        	ClientProxy.gunRenderer.renderItem(ItemRenderType.ENTITY, stack);		        			
 		        }
@@ -25,7 +25,7 @@ public class RenderMG extends Render
         GL11.glTranslatef((float)d, (float)d1, (float)d2);
 
 		GL11.glRotatef(180F - mg.direction * 90F, 0.0F, 1.0F, 0.0F);
-		ModelMG model = mg.type.deployableModel;
+		ModelMG model = mg.type.getDeployableModel();
 		if(model == null)
 			return;
 		//GL11.glScalef(-1F, -1F, 1.0F);
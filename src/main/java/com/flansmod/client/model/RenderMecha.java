@@ -76,7 +76,7 @@ public class RenderMecha extends Render implements IItemRenderer
 		GL11.glRotatef(mecha.prevRotationPitch + dPitch * f1, 0.0F, 0.0F, 1.0F);
 		GL11.glRotatef(mecha.prevRotationRoll + dRoll * f1, 1.0F, 0.0F, 0.0F);
 		float modelScale = mecha.getMechaType().modelScale;	
-		ModelMecha model = (ModelMecha)type.model;
+		ModelMecha model = (ModelMecha)type.GetModel();
 		
 		//Body Render
 		{
@@ -90,13 +90,13 @@ public class RenderMecha extends Render implements IItemRenderer
 			if(hipsSlot != null && hipsSlot.getItem() instanceof ItemMechaAddon)
 			{
 				MechaItemType hipsAddon = ((ItemMechaAddon)hipsSlot.getItem()).type;
-				if(hipsAddon.model != null)
+				if(hipsAddon.GetModel() != null)
 				{
 					GL11.glTranslatef(model.hipsAttachmentPoint.x, model.hipsAttachmentPoint.y, model.hipsAttachmentPoint.z);
 					GL11.glScalef(type.heldItemScale, type.heldItemScale, type.heldItemScale);
 					if(hipsAddon.texture != null)
 						bindTexture(FlansModResourceHandler.getTexture(hipsAddon));
-					hipsAddon.model.render(mecha, f1);
+					hipsAddon.GetModel().render(mecha, f1);
 				}
 			}
 			
@@ -384,23 +384,23 @@ public class RenderMecha extends Render implements IItemRenderer
 			ItemMechaAddon toolItem = (ItemMechaAddon)item;
 			MechaItemType toolType = toolItem.type;
 			bindTexture(FlansModResourceHandler.getTexture(toolType));
-			if(toolType.model != null)
+			if(toolType.GetModel() != null)
 			{
-				toolType.model.render(mecha, dT);
+				toolType.GetModel().render(mecha, dT);
 				GL11.glPushMatrix();
 				if((leftHand && mecha.leftMouseHeld) || (!leftHand && mecha.rightMouseHeld))
 				{
 					GL11.glRotatef(25F * (float)mecha.ticksExisted, 1F, 0F, 0F);
 				}
-				toolType.model.renderDrill(mecha, dT);
+				toolType.GetModel().renderDrill(mecha, dT);
 				GL11.glPopMatrix();
-				toolType.model.renderSaw(mecha, dT, (leftHand && mecha.leftMouseHeld) || (!leftHand && mecha.rightMouseHeld));
+				toolType.GetModel().renderSaw(mecha, dT, (leftHand && mecha.leftMouseHeld) || (!leftHand && mecha.rightMouseHeld));
 			}
 		}
-		else if(item instanceof ItemGun && ((ItemGun)item).GetType().model != null)
+		else if(item instanceof ItemGun && ((ItemGun)item).GetType().GetModel() != null)
 		{
 			GunType gunType = ((ItemGun)item).GetType();
-			ModelGun model = gunType.model;
+			ModelGun model = gunType.GetModel();
 			
 			GL11.glRotatef(-90F, 0F, 0F, 1F);
 			texturemanager.bindTexture(FlansModResourceHandler.getTexture(gunType));
@@ -424,7 +424,7 @@ public class RenderMecha extends Render implements IItemRenderer
 	{
 		switch(type)
 		{
-		case EQUIPPED : case EQUIPPED_FIRST_PERSON : case ENTITY : return Minecraft.getMinecraft().gameSettings.fancyGraphics && item != null && item.getItem() instanceof ItemMecha && ((ItemMecha)item.getItem()).type.model != null;
+		case EQUIPPED : case EQUIPPED_FIRST_PERSON : case ENTITY : return Minecraft.getMinecraft().gameSettings.fancyGraphics && item != null && item.getItem() instanceof ItemMecha && ((ItemMecha)item.getItem()).type.GetModel() != null;
 		default : break;
 		}
 		return false;
@@ -443,7 +443,7 @@ public class RenderMecha extends Render implements IItemRenderer
 		if(item != null && item.getItem() instanceof ItemMecha)
 		{
 			MechaType mechaType = ((ItemMecha)item.getItem()).type;
-			if(mechaType.model != null)
+			if(mechaType.GetModel() != null)
 			{
 				float scale = 2F;
 				switch(type)
@@ -482,7 +482,7 @@ public class RenderMecha extends Render implements IItemRenderer
 				
 				GL11.glScalef(scale / mechaType.cameraDistance, scale / mechaType.cameraDistance, scale / mechaType.cameraDistance);
 				Minecraft.getMinecraft().renderEngine.bindTexture(FlansModResourceHandler.getTexture(mechaType));
-				ModelDriveable model = mechaType.model;
+				ModelDriveable model = mechaType.GetModel();
 				model.render(mechaType);
 			}
 		}
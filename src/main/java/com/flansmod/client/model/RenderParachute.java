@@ -28,7 +28,7 @@ public class RenderParachute extends Render
 		GL11.glTranslatef((float) d0, (float) d1, (float) d2);
 		GL11.glRotatef(-f, 0.0F, 1.0F, 0.0F);
 		GL11.glRotatef(-entity.prevRotationPitch - (entity.rotationPitch - entity.prevRotationPitch) * f1, 1.0F, 0.0F, 0.0F);
-		ModelBase model = ((EntityParachute)entity).type.model;
+		ModelBase model = ((EntityParachute)entity).type.GetModel();
 		model.render(entity, 0.0F, 0.0F, -0.1F, 0.0F, 0.0F, 0.0625F);
 		GL11.glPopMatrix();
 	}
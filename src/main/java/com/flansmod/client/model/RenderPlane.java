@@ -64,7 +64,7 @@ public class RenderPlane extends Render implements IItemRenderer
 
 		float modelScale = type.modelScale;
 		GL11.glScalef(modelScale, modelScale, modelScale);
-		ModelPlane model = (ModelPlane)type.model;
+		ModelPlane model = (ModelPlane)type.GetModel();
 		if(model != null)
 		{
 			model.render(entityPlane, f1);
@@ -158,7 +158,7 @@ public class RenderPlane extends Render implements IItemRenderer
 	{
 		switch(type)
 		{
-		case EQUIPPED : case EQUIPPED_FIRST_PERSON : case ENTITY : return Minecraft.getMinecraft().gameSettings.fancyGraphics && item != null && item.getItem() instanceof ItemPlane && ((ItemPlane)item.getItem()).type.model != null;
+		case EQUIPPED : case EQUIPPED_FIRST_PERSON : case ENTITY : return Minecraft.getMinecraft().gameSettings.fancyGraphics && item != null && item.getItem() instanceof ItemPlane && ((ItemPlane)item.getItem()).type.GetModel() != null;
 		default : break;
 		}
 		return false;
@@ -178,8 +178,8 @@ public class RenderPlane extends Render implements IItemRenderer
         double y = camera.lastTickPosY + (camera.posY - camera.lastTickPosY) * event.partialTicks;
         double z = camera.lastTickPosZ + (camera.posZ - camera.lastTickPosZ) * event.partialTicks;
         
-        //Frustum frustrum = new Frustum();
-        //frustrum.setPosition(x, y, z);
+        Frustum frustrum = new Frustum();
+        frustrum.setPosition(x, y, z);
         
         //Push
         GL11.glPushMatrix();
@@ -197,6 +197,13 @@ public class RenderPlane extends Render implements IItemRenderer
 			if(entity instanceof EntityPlane)
 			{
 				EntityPlane plane = (EntityPlane)entity;
+				double planeX = plane.prevPosX + (plane.posX - plane.prevPosX) * event.partialTicks;
+				double planeY = plane.prevPosY + (plane.posY - plane.prevPosY) * event.partialTicks;
+				double planeZ = plane.prevPosZ + (plane.posZ - plane.prevPosZ) * event.partialTicks;
+				//Skip driveables that are out of view, and work out which parts of the rest to draw and in how much detail
+				ModelPlane model = (ModelPlane)plane.getPlaneType().GetModel();
+				if(model != null && !model.setupRender(plane, frustrum, planeX, planeY, planeZ, (float)Math.sqrt((planeX - x) * (planeX - x) + (planeY - y) * (planeY - y) + (planeZ - z) * (planeZ - z))))
+					continue;
 		        int i = plane.getBrightnessForRender(event.partialTicks);
 
 		        if (plane.isBurning())
@@ -208,7 +215,9 @@ public class RenderPlane extends Render implements IItemRenderer
 		        int k = i / 65536;
 		        OpenGlHelper.setLightmapTextureCoords(OpenGlHelper.lightmapTexUnit, (float)j / 1.0F, (float)k / 1.0F);
 		        GlStateManager.color(1.0F, 1.0F, 1.0F, 1.0F);
-		        render(plane, plane.prevPosX + (plane.posX - plane.prevPosX) * event.partialTicks, plane.prevPosY + (plane.posY - plane.prevPosY) * event.partialTicks, plane.prevPosZ + (plane.posZ - plane.prevPosZ) * event.partialTicks, 0F, event.partialTicks);
+		        render(plane, planeX, planeY, planeZ, 0F, event.partialTicks);
+		        if(model != null)
+		        	model.finishRender();
 			}
 		}
 		
@@ -233,7 +242,7 @@ public class RenderPlane extends Render implements IItemRenderer
 		if(item != null && item.getItem() instanceof ItemPlane)
 		{
 			PlaneType planeType = ((ItemPlane)item.getItem()).type;
-			if(planeType.model != null)
+			if(planeType.GetModel() != null)
 			{
 				float scale = 0.5F;
 				switch(type)
@@ -273,7 +282,7 @@ public class RenderPlane extends Render implements IItemRenderer
 				
 				GL11.glScalef(scale / planeType.cameraDistance, scale / planeType.cameraDistance, scale / planeType.cameraDistance);
 				Minecraft.getMinecraft().renderEngine.bindTexture(FlansModResourceHandler.getTexture(planeType));
-				ModelDriveable model = planeType.model;
+				ModelDriveable model = planeType.GetModel();
 				model.render(planeType);
 			}
 		}
@@ -6,6 +6,7 @@ import net.minecraft.client.Minecraft;
 import net.minecraft.client.renderer.GlStateManager;
 import net.minecraft.client.renderer.OpenGlHelper;
 import net.minecraft.client.renderer.RenderHelper;
+import net.minecraft.client.renderer.culling.Frustum;
 import net.minecraft.client.renderer.entity.Render;
 import net.minecraft.client.renderer.entity.RenderManager;
 import net.minecraft.entity.Entity;
@@ -68,7 +69,7 @@ public class RenderVehicle extends Render implements IItemRenderer
 			GL11.glPushMatrix();
 			{
 				GL11.glScalef(modelScale, modelScale, modelScale);
-				ModelVehicle modVehicle = (ModelVehicle)type.model;
+				ModelVehicle modVehicle = (ModelVehicle)type.GetModel();
 				if(modVehicle != null)
 					modVehicle.render(vehicle, f1);
 				
@@ -84,7 +85,7 @@ public class RenderVehicle extends Render implements IItemRenderer
 					GL11.glRotatef(-yaw, 0.0F, 1.0F, 0.0F);
 					GL11.glTranslatef(-type.turretOrigin.x, -type.turretOrigin.y, -type.turretOrigin.z);
 					
-					if(modVehicle != null)
+					if(modVehicle != null && modVehicle.isPartVisible(vehicle, EnumDriveablePart.turret))
 						modVehicle.renderTurret(0.0F, 0.0F, -0.1F, 0.0F, 0.0F, 0.0625F, vehicle, f1);
 					
 					if(FlansMod.DEBUG)
@@ -178,7 +179,7 @@ public class RenderVehicle extends Render implements IItemRenderer
 	{
 		switch(type)
 		{
-		case EQUIPPED : case EQUIPPED_FIRST_PERSON : case ENTITY : return Minecraft.getMinecraft().gameSettings.fancyGraphics && item != null && item.getItem() instanceof ItemVehicle && ((ItemVehicle)item.getItem()).type.model != null;
+		case EQUIPPED : case EQUIPPED_FIRST_PERSON : case ENTITY : return Minecraft.getMinecraft().gameSettings.fancyGraphics && item != null && item.getItem() instanceof ItemVehicle && ((ItemVehicle)item.getItem()).type.GetModel() != null;
 		default : break;
 		}
 		return false;
@@ -197,7 +198,7 @@ public class RenderVehicle extends Render implements IItemRenderer
 		if(item != null && item.getItem() instanceof ItemVehicle)
 		{
 			VehicleType vehicleType = ((ItemVehicle)item.getItem()).type;
-			if(vehicleType.model != null)
+			if(vehicleType.GetModel() != null)
 			{
 				float scale = 1F;
 				switch(type)
@@ -235,7 +236,7 @@ public class RenderVehicle extends Render implements IItemRenderer
 				
 				GL11.glScalef(scale / vehicleType.cameraDistance, scale / vehicleType.cameraDistance, scale / vehicleType.cameraDistance);
 				Minecraft.getMinecraft().renderEngine.bindTexture(FlansModResourceHandler.getTexture(vehicleType));
-				ModelDriveable model = vehicleType.model;
+				ModelDriveable model = vehicleType.GetModel();
 				model.render(vehicleType);
 			}
 		}
@@ -256,8 +257,8 @@ public class RenderVehicle extends Render implements IItemRenderer
         double y = camera.lastTickPosY + (camera.posY - camera.lastTickPosY) * event.partialTicks;
         double z = camera.lastTickPosZ + (camera.posZ - camera.lastTickPosZ) * event.partialTicks;
         
-        //Frustum frustrum = new Frustum();
-        //frustrum.setPosition(x, y, z);
+        Frustum frustrum = new Frustum();
+        frustrum.setPosition(x, y, z);
         
         //Push
         GL11.glPushMatrix();
@@ -275,6 +276,13 @@ public class RenderVehicle extends Render implements IItemRenderer
 			if(entity instanceof EntityVehicle)
 			{
 				EntityVehicle vehicle = (EntityVehicle)entity;
+				double vehicleX = vehicle.prevPosX + (vehicle.posX - vehicle.prevPosX) * event.partialTicks;
+				double vehicleY = vehicle.prevPosY + (vehicle.posY - vehicle.prevPosY) * event.partialTicks;
+				double vehicleZ = vehicle.prevPosZ + (vehicle.posZ - vehicle.prevPosZ) * event.partialTicks;
+				//Skip driveables that are out of view, and work out which parts of the rest to draw and in how much detail
+				ModelVehicle model = (ModelVehicle)vehicle.getVehicleType().GetModel();
+				if(model != null && !model.setupRender(vehicle, frustrum, vehicleX, vehicleY, vehicleZ, (float)Math.sqrt((vehicleX - x) * (vehicleX - x) + (vehicleY - y) * (vehicleY - y) + (vehicleZ - z) * (vehicleZ - z))))
+					continue;
 		        int i = vehicle.getBrightnessForRender(event.partialTicks);
 
 		        if (vehicle.isBurning())
@@ -286,7 +294,9 @@ public class RenderVehicle extends Render implements IItemRenderer
 		        int k = i / 65536;
 		        OpenGlHelper.setLightmapTextureCoords(OpenGlHelper.lightmapTexUnit, (float)j / 1.0F, (float)k / 1.0F);
 		        GlStateManager.color(1.0F, 1.0F, 1.0F, 1.0F);
-		        render(vehicle, vehicle.prevPosX + (vehicle.posX - vehicle.prevPosX) * event.partialTicks, vehicle.prevPosY + (vehicle.posY - vehicle.prevPosY) * event.partialTicks, vehicle.prevPosZ + (vehicle.posZ - vehicle.prevPosZ) * event.partialTicks, 0F, event.partialTicks);
+		        render(vehicle, vehicleX, vehicleY, vehicleZ, 0F, event.partialTicks);
+		        if(model != null)
+		        	model.finishRender();
 			}
 		}
 		
@@ -1,9 +1,13 @@
 package com.flansmod.client.tmt;
 
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
@@ -2201,6 +2205,246 @@ public class ModelRendererTurbo extends ModelRenderer
 		}
 	}
 	
+	/**
+	 * Whether this shape can be merged with others into a single display list. It must draw with whatever texture is
+	 * bound when it renders and have no children.
+	 */
+	public boolean canBake()
+	{
+		if(useLegacyCompiler || forcedRecompile || field_1402_i || !defaultTexture.equals("") || (childModels != null && !childModels.isEmpty()))
+			return false;
+		for(TextureGroup group : textureGroup.values())
+		{
+			if(!group.texture.equals(""))
+				return false;
+		}
+		return true;
+	}
+	
+	/**
+	 * Draws the shape with its current position and rotation, for recording into a display list shared with other shapes.
+	 * @param worldScale	The scale of the shape
+	 * @param oldRotateOrder	Whether to use the old rotate order (ZYX) instead of the new one (YZX)
+	 */
+	public void bake(float worldScale, boolean oldRotateOrder)
+	{
+		if(!showModel)
+			return;
+		GL11.glPushMatrix();
+		GL11.glTranslatef(rotationPointX * worldScale, rotationPointY * worldScale, rotationPointZ * worldScale);
+		if(!oldRotateOrder && rotateAngleY != 0.0F)
+			GL11.glRotatef(rotateAngleY * 57.29578F, 0.0F, 1.0F, 0.0F);
+		if(rotateAngleZ != 0.0F)
+			GL11.glRotatef((oldRotateOrder ? -1 : 1) * rotateAngleZ * 57.29578F, 0.0F, 0.0F, 1.0F);
+		if(oldRotateOrder && rotateAngleY != 0.0F)
+			GL11.glRotatef(-rotateAngleY * 57.29578F, 0.0F, 1.0F, 0.0F);
+		if(rotateAngleX != 0.0F)
+			GL11.glRotatef(rotateAngleX * 57.29578F, 1.0F, 0.0F, 0.0F);
+		TmtTessellator tessellator = TmtTessellator.instance;
+		for(TextureGroup group : textureGroup.values())
+		{
+			for(TexturedPolygon polygon : group.poly)
+				polygon.draw(tessellator, worldScale);
+		}
+		GL11.glPopMatrix();
+	}
+	
+	/**
+	 * The number of vertices in the shape's polygons, as a measure of how much memory it takes up.
+	 */
+	public int getVertexCount()
+	{
+		int count = 0;
+		for(TexturedPolygon face : faces)
+			count += face.vertexPositions.length;
+		return count;
+	}
+	
+	/**
+	 * The longest side of the box around the shape's vertices, in model units, as a measure of how much it shows from far away.
+	 */
+	public float getSize()
+	{
+		if(vertices.length == 0)
+			return 0F;
+		double minX = Double.MAX_VALUE, minY = Double.MAX_VALUE, minZ = Double.MAX_VALUE;
+		double maxX = -Double.MAX_VALUE, maxY = -Double.MAX_VALUE, maxZ = -Double.MAX_VALUE;
+		for(PositionTextureVertex vertex : vertices)
+		{
+			minX = Math.min(minX, vertex.vector3D.xCoord);
+			minY = Math.min(minY, vertex.vector3D.yCoord);
+			minZ = Math.min(minZ, vertex.vector3D.zCoord);
+			maxX = Math.max(maxX, vertex.vector3D.xCoord);
+			maxY = Math.max(maxY, vertex.vector3D.yCoord);
+			maxZ = Math.max(maxZ, vertex.vector3D.zCoord);
+		}
+		return (float)Math.max(maxX - minX, Math.max(maxY - minY, maxZ - minZ));
+	}
+	
+	/**
+	 * Frees the display lists the shape has been compiled into. They are compiled again if the shape is rendered again.
+	 */
+	public void deleteDisplayLists()
+	{
+		if(!compiled)
+			return;
+		if(useLegacyCompiler)
+		{
+			if(displayList != 0)
+				GLAllocation.deleteDisplayLists(displayList);
+			displayList = 0;
+		}
+		else if(displayListArray != null)
+		{
+			for(int list : displayListArray)
+				GLAllocation.deleteDisplayLists(list);
+			displayListArray = null;
+		}
+		compiled = false;
+	}
+	
+	/**
+	 * Whether this shape can be saved by {@link #writeShape}. Shapes with children or with vertices attached to bones
+	 * cannot, since neither is part of the saved data.
+	 */
+	public boolean canWrite()
+	{
+		if((childModels != null && !childModels.isEmpty()) || (super.childModels != null && !super.childModels.isEmpty()))
+			return false;
+		for(TexturedPolygon face : faces)
+		{
+			if(!face.canWrite())
+				return false;
+		}
+		for(TextureGroup group : textureGroup.values())
+		{
+			for(TexturedPolygon polygon : group.poly)
+			{
+				if(!polygon.canWrite())
+					return false;
+			}
+		}
+		return true;
+	}
+	
+	/**
+	 * Writes the finished shape, that is its position, rotation, flags and polygons, so that it can be read back
+	 * by {@link #readShape} without running the code that built it.
+	 * @param out	The stream to write to
+	 */
+	public void writeShape(DataOutputStream out) throws IOException
+	{
+		out.writeFloat(rotationPointX);
+		out.writeFloat(rotationPointY);
+		out.writeFloat(rotationPointZ);
+		out.writeFloat(rotateAngleX);
+		out.writeFloat(rotateAngleY);
+		out.writeFloat(rotateAngleZ);
+		out.writeFloat(offsetX);
+		out.writeFloat(offsetY);
+		out.writeFloat(offsetZ);
+		out.writeBoolean(mirror);
+		out.writeBoolean(flip);
+		out.writeBoolean(showModel);
+		out.writeBoolean(isHidden);
+		out.writeBoolean(field_1402_i);
+		out.writeBoolean(forcedRecompile);
+		out.writeBoolean(useLegacyCompiler);
+		out.writeUTF(defaultTexture);
+		
+		//The same polygons are in both the face list and the texture groups, so each is written once and referred to by index
+		IdentityHashMap<TexturedPolygon, Integer> indices = new IdentityHashMap<TexturedPolygon, Integer>();
+		List<TexturedPolygon> polygons = new ArrayList<TexturedPolygon>();
+		for(TexturedPolygon face : faces)
+			addPolygonIndex(face, indices, polygons);
+		for(TextureGroup group : textureGroup.values())
+		{
+			for(TexturedPolygon polygon : group.poly)
+				addPolygonIndex(polygon, indices, polygons);
+		}
+		out.writeInt(polygons.size());
+		for(TexturedPolygon polygon : polygons)
+			polygon.write(out);
+		out.writeInt(faces.length);
+		for(TexturedPolygon face : faces)
+			out.writeInt(indices.get(face));
+		
+		String currentName = "0";
+		out.writeShort(textureGroup.size());
+		for(Map.Entry<String, TextureGroup> entry : textureGroup.entrySet())
+		{
+			TextureGroup group = entry.getValue();
+			if(group == currentTextureGroup)
+				currentName = entry.getKey();
+			out.writeUTF(entry.getKey());
+			out.writeUTF(group.texture);
+			out.writeInt(group.poly.size());
+			for(TexturedPolygon polygon : group.poly)
+				out.writeInt(indices.get(polygon));
+		}
+		out.writeUTF(currentName);
+	}
+	
+	/**
+	 * Replaces this shape with one written by {@link #writeShape}.
+	 * @param in	The stream to read from
+	 */
+	public void readShape(DataInputStream in) throws IOException
+	{
+		rotationPointX = in.readFloat();
+		rotationPointY = in.readFloat();
+		rotationPointZ = in.readFloat();
+		rotateAngleX = in.readFloat();
+		rotateAngleY = in.readFloat();
+		rotateAngleZ = in.readFloat();
+		offsetX = in.readFloat();
+		offsetY = in.readFloat();
+		offsetZ = in.readFloat();
+		mirror = in.readBoolean();
+		flip = in.readBoolean();
+		showModel = in.readBoolean();
+		isHidden = in.readBoolean();
+		field_1402_i = in.readBoolean();
+		forcedRecompile = in.readBoolean();
+		useLegacyCompiler = in.readBoolean();
+		defaultTexture = in.readUTF();
+		
+		TexturedPolygon[] polygons = new TexturedPolygon[in.readInt()];
+		for(int i = 0; i < polygons.length; i++)
+			polygons[i] = TexturedPolygon.read(in);
+		faces = new TexturedPolygon[in.readInt()];
+		List<PositionTextureVertex> verts = new ArrayList<PositionTextureVertex>();
+		for(int i = 0; i < faces.length; i++)
+		{
+			faces[i] = polygons[in.readInt()];
+			verts.addAll(Arrays.asList(faces[i].vertexPositions));
+		}
+		vertices = verts.toArray(new PositionTextureVertex[verts.size()]);
+		
+		textureGroup.clear();
+		int numGroups = in.readShort();
+		for(int i = 0; i < numGroups; i++)
+		{
+			TextureGroup group = new TextureGroup();
+			textureGroup.put(in.readUTF(), group);
+			group.texture = in.readUTF();
+			int numPolygons = in.readInt();
+			for(int j = 0; j < numPolygons; j++)
+				group.addPoly(polygons[in.readInt()]);
+		}
+		setTextureGroup(in.readUTF());
+		compiled = false;
+	}
+	
+	private static void addPolygonIndex(TexturedPolygon polygon, IdentityHashMap<TexturedPolygon, Integer> indices, List<TexturedPolygon> polygons)
+	{
+		if(!indices.containsKey(polygon))
+		{
+			indices.put(polygon, polygons.size());
+			polygons.add(polygon);
+		}
+	}
+	
 	private void callDisplayList()
 	{
 		if(useLegacyCompiler)
@@ -1,5 +1,8 @@
 package com.flansmod.client.tmt;
 
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
 import java.util.ArrayList;
 
 import org.lwjgl.opengl.GL11;
@@ -118,6 +121,66 @@ public class TexturedPolygon
 		tessellator.draw();
 	}
 	
+	/** Whether this polygon can be saved by {@link #write}. Vertices that follow bones cannot */
+	public boolean canWrite()
+	{
+		for(PositionTextureVertex vertex : vertexPositions)
+		{
+			if(vertex instanceof PositionTransformVertex)
+				return false;
+		}
+		return true;
+	}
+	
+	/** Writes the vertices, texture coordinates and normals of this polygon for the binary model format */
+	public void write(DataOutputStream out) throws IOException
+	{
+		out.writeShort(vertexPositions.length);
+		out.writeShort(nVertices);
+		for(PositionTextureVertex vertex : vertexPositions)
+		{
+			out.writeFloat((float)vertex.vector3D.xCoord);
+			out.writeFloat((float)vertex.vector3D.yCoord);
+			out.writeFloat((float)vertex.vector3D.zCoord);
+			out.writeFloat(vertex.texturePositionX);
+			out.writeFloat(vertex.texturePositionY);
+			out.writeFloat(vertex.texturePositionW);
+		}
+		out.writeBoolean(invertNormal);
+		out.writeByte(normals.length);
+		for(float normal : normals)
+			out.writeFloat(normal);
+		out.writeShort(iNormals.size());
+		for(Vec3 normal : iNormals)
+		{
+			out.writeFloat((float)normal.xCoord);
+			out.writeFloat((float)normal.yCoord);
+			out.writeFloat((float)normal.zCoord);
+		}
+	}
+	
+	/** Reads a polygon written by {@link #write} */
+	public static TexturedPolygon read(DataInputStream in) throws IOException
+	{
+		PositionTextureVertex[] verts = new PositionTextureVertex[in.readShort()];
+		int numVertices = in.readShort();
+		for(int i = 0; i < verts.length; i++)
+		{
+			Vec3 position = new Vec3(in.readFloat(), in.readFloat(), in.readFloat());
+			verts[i] = new PositionTextureVertex(position, in.readFloat(), in.readFloat(), in.readFloat());
+		}
+		TexturedPolygon polygon = new TexturedPolygon(verts);
+		polygon.nVertices = numVertices;
+		polygon.invertNormal = in.readBoolean();
+		polygon.normals = new float[in.readByte()];
+		for(int i = 0; i < polygon.normals.length; i++)
+			polygon.normals[i] = in.readFloat();
+		int numNormals = in.readShort();
+		for(int i = 0; i < numNormals; i++)
+			polygon.iNormals.add(new Vec3(in.readFloat(), in.readFloat(), in.readFloat()));
+		return polygon;
+	}
+	
 	public PositionTextureVertex[] vertexPositions;
 	public int nVertices;
 	private boolean invertNormal;
@@ -0,0 +1,202 @@
+package com.flansmod.common;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+
+import net.minecraft.block.Block;
+import net.minecraft.block.material.Material;
+import net.minecraft.block.state.IBlockState;
+import net.minecraft.init.Blocks;
+import net.minecraft.util.BlockPos;
+import net.minecraft.util.EnumFacing;
+import net.minecraft.world.ChunkCoordIntPair;
+import net.minecraft.world.Explosion;
+import net.minecraft.world.World;
+import net.minecraft.world.chunk.Chunk;
+
+/** Collects the blocks that explosions and driveables break on the server and removes them together. Blocks are set to
+ * air a chunk at a time, from the bottom of each column up, so that the height map and sky light of a column are only
+ * redone once, when its top block goes. Only then is lighting checked, and only around the edges of the hole, since light
+ * spreads from there into the rest of it. Neighbours are told about the change once each, however many of the blocks
+ * around them went, and the changes reach clients through the usual per chunk batching of block updates */
+public class BlockEditBatcher
+{
+	/** Holes wider than light can spread in one check get extra checks this many blocks apart inside them */
+	private static final int LIGHT_SEED_SPACING = 8;
+	private static final Comparator<BlockPos> BOTTOM_UP = new Comparator<BlockPos>()
+	{
+		@Override
+		public int compare(BlockPos a, BlockPos b)
+		{
+			return a.getY() < b.getY() ? -1 : (a.getY() == b.getY() ? 0 : 1);
+		}
+	};
+
+	private static final HashMap<World, LinkedHashSet<BlockPos>> pendingRemovals = new HashMap<World, LinkedHashSet<BlockPos>>();
+	/** Whether each block class leaves onBlockExploded as it is in Block, which just sets the block to air */
+	private static final HashMap<Class<?>, Boolean> defaultExplosionHandling = new HashMap<Class<?>, Boolean>();
+
+	/** Queues a block to be set to air at the end of the tick. On the client it is removed straight away.
+	 * Returns false if the block was already queued */
+	public static boolean removeBlock(World world, BlockPos pos)
+	{
+		if(world.isRemote)
+		{
+			world.setBlockToAir(pos);
+			return true;
+		}
+		LinkedHashSet<BlockPos> removals = pendingRemovals.get(world);
+		if(removals == null)
+		{
+			removals = new LinkedHashSet<BlockPos>();
+			pendingRemovals.put(world, removals);
+		}
+		return removals.add(pos);
+	}
+
+	/** Does the same as World.destroyBlock without drops, but queues the removal */
+	public static boolean destroyBlock(World world, BlockPos pos)
+	{
+		if(world.isRemote)
+			return world.destroyBlock(pos, false);
+		if(isPending(world, pos))
+			return false;
+		IBlockState state = world.getBlockState(pos);
+		if(state.getBlock().getMaterial() == Material.air)
+			return false;
+		world.playAuxSFX(2001, pos, Block.getStateId(state));
+		return removeBlock(world, pos);
+	}
+
+	/** Does the same as Block.onBlockExploded, queueing the removal if the block does not handle explosions itself */
+	public static void explodeBlock(World world, BlockPos pos, Block block, Explosion explosion)
+	{
+		if(world.isRemote || !usesDefaultExplosionHandling(block))
+		{
+			block.onBlockExploded(world, pos, explosion);
+			return;
+		}
+		removeBlock(world, pos);
+		block.onBlockDestroyedByExplosion(world, pos, explosion);
+	}
+
+	/** Whether this block is already queued for removal, in which case it should be treated as gone */
+	public static boolean isPending(World world, BlockPos pos)
+	{
+		LinkedHashSet<BlockPos> removals = pendingRemovals.get(world);
+		return removals != null && removals.contains(pos);
+	}
+
+	/** Applies the queued removals in every world. Called at the end of each server tick */
+	public static void flushAll()
+	{
+		while(!pendingRemovals.isEmpty())
+			flush(pendingRemovals.keySet().iterator().next());
+	}
+
+	/** Applies the queued removals in one world now */
+	public static void flush(World world)
+	{
+		LinkedHashSet<BlockPos> removals = pendingRemovals.remove(world);
+		if(removals == null || removals.isEmpty())
+			return;
+
+		//Group the blocks by chunk so that each chunk is only looked up once
+		LinkedHashMap<Long, List<BlockPos>> chunks = new LinkedHashMap<Long, List<BlockPos>>();
+		for(BlockPos pos : removals)
+		{
+			long key = ChunkCoordIntPair.chunkXZ2Int(pos.getX() >> 4, pos.getZ() >> 4);
+			List<BlockPos> blocks = chunks.get(key);
+			if(blocks == null)
+			{
+				blocks = new ArrayList<BlockPos>();
+				chunks.put(key, blocks);
+			}
+			blocks.add(pos);
+		}
+
+		LinkedHashMap<BlockPos, Block> removed = new LinkedHashMap<BlockPos, Block>();
+		IBlockState air = Blocks.air.getDefaultState();
+		for(List<BlockPos> blocks : chunks.values())
+		{
+			Chunk chunk = world.getChunkFromBlockCoords(blocks.get(0));
+			//Removing a column's top block makes the chunk relight the column down to the next solid block, so take it last
+			Collections.sort(blocks, BOTTOM_UP);
+			for(BlockPos pos : blocks)
+			{
+				if(pos.getY() < 0 || pos.getY() >= 256)
+					continue;
+				IBlockState previous = chunk.setBlockState(pos, air);
+				if(previous != null)
+					removed.put(pos, previous.getBlock());
+			}
+		}
+
+		//Now that every block is gone, light the hole against the final state and send the changes. Blocks that let light
+		//through and gave none off change nothing, and the middle of the hole is lit by light spreading in from its edges
+		for(Map.Entry<BlockPos, Block> entry : removed.entrySet())
+		{
+			BlockPos pos = entry.getKey();
+			Block block = entry.getValue();
+			if(block.getLightValue() > 0 || (block.getLightOpacity() > 0 && (isEdge(pos, removed) || isLightSeed(pos))))
+				world.checkLight(pos);
+			world.markBlockForUpdate(pos);
+			if(block.hasComparatorInputOverride())
+				world.updateComparatorOutputLevel(pos, block);
+		}
+
+		//Tell each neighbour about the change once, skipping blocks that were removed themselves
+		LinkedHashMap<BlockPos, Block> neighbours = new LinkedHashMap<BlockPos, Block>();
+		for(Map.Entry<BlockPos, Block> entry : removed.entrySet())
+		{
+			for(EnumFacing facing : EnumFacing.values())
+			{
+				BlockPos neighbour = entry.getKey().offset(facing);
+				if(!removed.containsKey(neighbour) && !neighbours.containsKey(neighbour))
+					neighbours.put(neighbour, entry.getValue());
+			}
+		}
+		for(Map.Entry<BlockPos, Block> entry : neighbours.entrySet())
+			world.notifyBlockOfStateChange(entry.getKey(), entry.getValue());
+	}
+
+	/** Whether any block next to this one is still there */
+	private static boolean isEdge(BlockPos pos, Map<BlockPos, Block> removed)
+	{
+		for(EnumFacing facing : EnumFacing.values())
+		{
+			if(!removed.containsKey(pos.offset(facing)))
+				return true;
+		}
+		return false;
+	}
+
+	private static boolean isLightSeed(BlockPos pos)
+	{
+		return pos.getX() % LIGHT_SEED_SPACING == 0 && pos.getY() % LIGHT_SEED_SPACING == 0 && pos.getZ() % LIGHT_SEED_SPACING == 0;
+	}
+
+	private static boolean usesDefaultExplosionHandling(Block block)
+	{
+		Boolean usesDefault = defaultExplosionHandling.get(block.getClass());
+		if(usesDefault == null)
+		{
+			try
+			{
+				usesDefault = block.getClass().getMethod("onBlockExploded", World.class, BlockPos.class, Explosion.class).getDeclaringClass() == Block.class;
+			}
+			catch(NoSuchMethodException e)
+			{
+				usesDefault = false;
+			}
+			defaultExplosionHandling.put(block.getClass(), usesDefault);
+		}
+		return usesDefault;
+	}
+}
@@ -37,6 +37,7 @@ import com.flansmod.common.parts.ItemPart;
 import com.flansmod.common.parts.PartType;
 import com.flansmod.common.teams.ArmourBoxType;
 import com.flansmod.common.types.EnumType;
+import com.flansmod.common.types.ContentCache;
 import com.flansmod.common.types.InfoType;
 
 public class CommonProxy
@@ -50,7 +51,7 @@ public class CommonProxy
 		for (File file : FlansMod.flanDir.listFiles())
 		{
 			//Load folders and valid zip files
-			if (file.isDirectory() || zipJar.matcher(file.getName()).matches())
+			if ((file.isDirectory() && !ContentCache.isCacheFolder(file)) || zipJar.matcher(file.getName()).matches())
 			{
 				//Add the directory to the content pack list
 				FlansMod.log("Loaded content pack : " + file.getName());
@@ -61,7 +62,7 @@ public class CommonProxy
 		return contentPacks;
 	}
 	
-	public void addMissingJSONs(HashMap<Integer, InfoType> types)
+	public void addMissingJSONs(List<InfoType> types)
 	{
 		
 	}
@@ -101,6 +102,17 @@ public class CommonProxy
 		return null;
 	}
 	
+	/** Rough size in bytes of a model built by {@link #loadModel}, for the model memory budget */
+	public long getModelSize(Object model)
+	{
+		return 0;
+	}
+	
+	/** Frees anything a model has been drawn with, before it is dropped */
+	public void unloadModel(Object model)
+	{
+	}
+	
 	public void loadSound(String contentPack, String type, String sound)
 	{
 	}
@@ -14,6 +14,9 @@ import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
 import net.minecraftforge.fml.common.gameevent.TickEvent;
 
 import com.flansmod.common.guns.ItemGun;
+import com.flansmod.common.guns.raytracing.EntityRaytraceIndex;
+import com.flansmod.common.network.ExplosionBroadcaster;
+import com.flansmod.common.network.ShotDataBroadcaster;
 import com.flansmod.common.teams.TeamsManager;
 
 public class CommonTickHandler 
@@ -69,6 +72,11 @@ public class CommonTickHandler
 				TeamsManager.getInstance().tick();
 			}
 			FlansMod.playerHandler.serverTick();
+			//Break the blocks that driveables ran into this tick
+			BlockEditBatcher.flushAll();
+			//Send out this tick's shots and explosions to the players near them
+			ShotDataBroadcaster.sendAll();
+			ExplosionBroadcaster.sendAll();
 			FlansMod.ticker++;
 			break;
 		}		
@@ -88,7 +96,11 @@ public class CommonTickHandler
 				replacementItemEntities.add(new EntityItemCustomRender((EntityItem)event.entity));
 				event.setCanceled(true);
 			}
-		}			
+		}
+		
+		//Make new entities visible to bullets this tick
+		if(!event.isCanceled())
+			EntityRaytraceIndex.onEntityJoinWorld(event.entity);
 	}
 	
     public ItemStack getEntityItem(EntityItem entity)
@@ -0,0 +1,297 @@
+package com.flansmod.common;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import net.minecraft.block.Block;
+import net.minecraft.block.material.Material;
+import net.minecraft.block.state.IBlockState;
+import net.minecraft.entity.Entity;
+import net.minecraft.util.BlockPos;
+import net.minecraft.world.Explosion;
+import net.minecraft.world.World;
+import net.minecraft.world.chunk.Chunk;
+import net.minecraft.world.chunk.storage.ExtendedBlockStorage;
+
+/** Read only copy of the chunk sections around an explosion, with the explosion resistance of every block state in them
+ * worked out up front. The block breaking rays of {@link FlansModExplosion} are cast through this copy rather than the
+ * world, which means they can be split across worker threads. Each ray draws its strength from its own random seed,
+ * so the result does not depend on how the rays were shared out */
+public class ExplosionSnapshot
+{
+	/** Rays are cast from the surface of a cube with this many points along each edge, as in vanilla explosions */
+	private static final int RAY_GRID = 16;
+	/** Explosions smaller than this are not worth handing to other threads */
+	private static final float PARALLEL_RADIUS = 6F;
+	/** Rays lose this much strength per step, and there is a step every STEP_LENGTH blocks */
+	private static final float STEP_DECAY = 0.22500001F;
+	private static final double STEP_LENGTH = 0.30000001192092896D;
+
+	private static ExecutorService executor;
+
+	private final double x, y, z;
+	private final float radius;
+	/** Chunk section coordinates of the first section in the snapshot, and the number of sections along each axis */
+	private final int minCX, minSY, minCZ, sizeX, sizeY, sizeZ;
+	/** Block state IDs of each copied section. Null for sections that are all air */
+	private final char[][] sections;
+	/** Explosion resistance of each block state ID that appears in the snapshot. NaN for air */
+	private final float[] resistances;
+
+	/** Copies the sections any ray could reach and looks up the resistance of each block in them. Must be called on the main thread */
+	public ExplosionSnapshot(World world, Explosion explosion, Entity explosive, double x, double y, double z, float radius)
+	{
+		this.x = x;
+		this.y = y;
+		this.z = z;
+		this.radius = radius;
+
+		//The strongest possible ray loses STEP_DECAY per STEP_LENGTH even through air
+		double reach = radius * 1.3D / STEP_DECAY * STEP_LENGTH + 1D;
+		minCX = floor(x - reach) >> 4;
+		minSY = Math.max(0, floor(y - reach) >> 4);
+		minCZ = floor(z - reach) >> 4;
+		sizeX = (floor(x + reach) >> 4) - minCX + 1;
+		sizeY = Math.max(0, Math.min(15, floor(y + reach) >> 4) - minSY + 1);
+		sizeZ = (floor(z + reach) >> 4) - minCZ + 1;
+		sections = new char[sizeX * sizeY * sizeZ][];
+
+		int maxID = 0;
+		for(int i = 0; i < sizeX; i++)
+		{
+			for(int k = 0; k < sizeZ; k++)
+			{
+				Chunk chunk = world.getChunkFromChunkCoords(minCX + i, minCZ + k);
+				ExtendedBlockStorage[] storage = chunk.getBlockStorageArray();
+				for(int j = 0; j < sizeY; j++)
+				{
+					ExtendedBlockStorage section = storage[minSY + j];
+					if(section == null || section.isEmpty())
+						continue;
+					char[] data = section.getData().clone();
+					sections[(i * sizeY + j) * sizeZ + k] = data;
+					for(char id : data)
+						maxID = Math.max(maxID, id);
+				}
+			}
+		}
+
+		//Look up each block state once, at the first place it appears
+		resistances = new float[maxID + 1];
+		boolean[] found = new boolean[maxID + 1];
+		for(int i = 0; i < sizeX; i++)
+		{
+			for(int j = 0; j < sizeY; j++)
+			{
+				for(int k = 0; k < sizeZ; k++)
+				{
+					char[] data = sections[(i * sizeY + j) * sizeZ + k];
+					if(data == null)
+						continue;
+					for(int n = 0; n < data.length; n++)
+					{
+						char id = data[n];
+						if(found[id])
+							continue;
+						found[id] = true;
+						IBlockState state = (IBlockState)Block.BLOCK_STATE_IDS.getByValue(id);
+						if(state == null || state.getBlock().getMaterial() == Material.air)
+						{
+							resistances[id] = Float.NaN;
+							continue;
+						}
+						BlockPos pos = new BlockPos(((minCX + i) << 4) + (n & 15), ((minSY + j) << 4) + (n >> 8), ((minCZ + k) << 4) + ((n >> 4) & 15));
+						resistances[id] = explosive != null ? explosive.getExplosionResistance(explosion, world, pos, state) : state.getBlock().getExplosionResistance(world, pos, (Entity)null, explosion);
+					}
+				}
+			}
+		}
+	}
+
+	/** Casts every ray and returns the blocks they reach, in a fixed order. Blocks the explosive entity says cannot be
+	 * destroyed are left out. Must be called on the main thread, though the rays themselves may be cast on other threads */
+	public List<BlockPos> getAffectedBlocks(World world, Explosion explosion, Entity explosive, long seed, boolean parallel)
+	{
+		int numRays = RAY_GRID * RAY_GRID * RAY_GRID - (RAY_GRID - 2) * (RAY_GRID - 2) * (RAY_GRID - 2);
+		List<RayHits> results = new ArrayList<RayHits>();
+		int threads = parallel && radius >= PARALLEL_RADIUS ? Runtime.getRuntime().availableProcessors() : 1;
+		if(threads > 1)
+		{
+			List<Future<RayHits>> tasks = new ArrayList<Future<RayHits>>();
+			int batchSize = (numRays + threads - 1) / threads;
+			for(int i = 0; i < numRays; i += batchSize)
+			{
+				final int start = i, end = Math.min(i + batchSize, numRays);
+				final long batchSeed = seed;
+				tasks.add(getExecutor().submit(new Callable<RayHits>()
+				{
+					@Override
+					public RayHits call()
+					{
+						return castRays(start, end, batchSeed);
+					}
+				}));
+			}
+			try
+			{
+				for(Future<RayHits> task : tasks)
+					results.add(task.get());
+			}
+			catch(InterruptedException e)
+			{
+				Thread.currentThread().interrupt();
+				return new ArrayList<BlockPos>();
+			}
+			catch(ExecutionException e)
+			{
+				FlansMod.log("Explosion rays failed. Casting them on the main thread instead");
+				e.getCause().printStackTrace();
+				results.clear();
+				results.add(castRays(0, numRays, seed));
+			}
+		}
+		else results.add(castRays(0, numRays, seed));
+
+		//Keep the strongest ray to reach each block, since that is what the explosive gets asked about
+		HashMap<Long, Float> strongest = new HashMap<Long, Float>();
+		for(RayHits hits : results)
+		{
+			for(int i = 0; i < hits.count; i++)
+			{
+				Float power = strongest.get(hits.positions[i]);
+				if(power == null || power < hits.powers[i])
+					strongest.put(hits.positions[i], hits.powers[i]);
+			}
+		}
+		long[] keys = new long[strongest.size()];
+		int n = 0;
+		for(Long key : strongest.keySet())
+			keys[n++] = key;
+		Arrays.sort(keys);
+
+		List<BlockPos> affected = new ArrayList<BlockPos>(keys.length);
+		for(long key : keys)
+		{
+			BlockPos pos = BlockPos.fromLong(key);
+			if(explosive == null || explosive.func_174816_a(explosion, world, pos, world.getBlockState(pos), strongest.get(key)))
+				affected.add(pos);
+		}
+		return affected;
+	}
+
+	/** Casts rays with indices from start up to end. Only reads the snapshot, so it is safe on any thread */
+	private RayHits castRays(int start, int end, long seed)
+	{
+		RayHits hits = new RayHits();
+		int ray = 0;
+		for(int i = 0; i < RAY_GRID; i++)
+		{
+			for(int j = 0; j < RAY_GRID; j++)
+			{
+				for(int k = 0; k < RAY_GRID; k++)
+				{
+					if(i != 0 && i != RAY_GRID - 1 && j != 0 && j != RAY_GRID - 1 && k != 0 && k != RAY_GRID - 1)
+						continue;
+					if(ray < start || ray >= end)
+					{
+						ray++;
+						continue;
+					}
+					Random rand = new Random(seed ^ (ray * 0x9E3779B97F4A7C15L));
+					ray++;
+
+					double dX = (double)((float)i / (RAY_GRID - 1F) * 2.0F - 1.0F);
+					double dY = (double)((float)j / (RAY_GRID - 1F) * 2.0F - 1.0F);
+					double dZ = (double)((float)k / (RAY_GRID - 1F) * 2.0F - 1.0F);
+					double length = Math.sqrt(dX * dX + dY * dY + dZ * dZ);
+					dX = dX / length * STEP_LENGTH;
+					dY = dY / length * STEP_LENGTH;
+					dZ = dZ / length * STEP_LENGTH;
+					float power = radius * (0.7F + rand.nextFloat() * 0.6F);
+					double posX = x, posY = y, posZ = z;
+					for(; power > 0.0F; power -= STEP_DECAY)
+					{
+						int blockX = floor(posX), blockY = floor(posY), blockZ = floor(posZ);
+						float resistance = getResistance(blockX, blockY, blockZ);
+						if(!Float.isNaN(resistance))
+							power -= (resistance + 0.3F) * 0.3F;
+						if(power > 0.0F)
+							hits.add(new BlockPos(blockX, blockY, blockZ).toLong(), power);
+						posX += dX;
+						posY += dY;
+						posZ += dZ;
+					}
+				}
+			}
+		}
+		return hits;
+	}
+
+	/** The resistance of the block at this position, or NaN for air and anything outside the snapshot */
+	private float getResistance(int blockX, int blockY, int blockZ)
+	{
+		int i = (blockX >> 4) - minCX, j = (blockY >> 4) - minSY, k = (blockZ >> 4) - minCZ;
+		if(blockY < 0 || i < 0 || j < 0 || k < 0 || i >= sizeX || j >= sizeY || k >= sizeZ)
+			return Float.NaN;
+		char[] data = sections[(i * sizeY + j) * sizeZ + k];
+		if(data == null)
+			return Float.NaN;
+		return resistances[data[(blockY & 15) << 8 | (blockZ & 15) << 4 | (blockX & 15)]];
+	}
+
+	private static int floor(double value)
+	{
+		int i = (int)value;
+		return value < i ? i - 1 : i;
+	}
+
+	private static synchronized ExecutorService getExecutor()
+	{
+		if(executor == null)
+		{
+			executor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors(), new ThreadFactory()
+			{
+				private final AtomicInteger count = new AtomicInteger();
+
+				@Override
+				public Thread newThread(Runnable runnable)
+				{
+					Thread thread = new Thread(runnable, "Flan's Mod Explosion " + count.incrementAndGet());
+					thread.setDaemon(true);
+					return thread;
+				}
+			});
+		}
+		return executor;
+	}
+
+	/** Positions reached by a batch of rays and the strength each ray had left there */
+	private static class RayHits
+	{
+		private long[] positions = new long[256];
+		private float[] powers = new float[256];
+		private int count;
+
+		private void add(long position, float power)
+		{
+			if(count == positions.length)
+			{
+				positions = Arrays.copyOf(positions, count * 2);
+				powers = Arrays.copyOf(powers, count * 2);
+			}
+			positions[count] = position;
+			powers[count] = power;
+			count++;
+		}
+	}
+}
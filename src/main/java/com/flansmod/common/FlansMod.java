@@ -1,20 +1,11 @@
 package com.flansmod.common;
 
-import java.io.BufferedReader;
 import java.io.File;
-import java.io.FileInputStream;
-import java.io.FileNotFoundException;
-import java.io.FileReader;
-import java.io.IOException;
-import java.io.InputStreamReader;
 import java.lang.reflect.Method;
 import java.util.ArrayList;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Random;
-import java.util.zip.ZipEntry;
-import java.util.zip.ZipFile;
-import java.util.zip.ZipInputStream;
 
 import net.minecraft.block.material.Material;
 import net.minecraft.command.CommandHandler;
@@ -36,6 +27,8 @@ import net.minecraftforge.event.entity.living.LivingSpawnEvent;
 import net.minecraftforge.event.entity.player.AttackEntityEvent;
 import net.minecraftforge.event.entity.player.PlayerDropsEvent;
 import net.minecraftforge.event.world.BlockEvent;
+import net.minecraftforge.event.world.ChunkEvent;
+import net.minecraftforge.event.world.WorldEvent;
 import net.minecraftforge.fml.client.event.ConfigChangedEvent;
 import net.minecraftforge.fml.common.FMLCommonHandler;
 import net.minecraftforge.fml.common.Mod;
@@ -46,6 +39,7 @@ import net.minecraftforge.fml.common.event.FMLInitializationEvent;
 import net.minecraftforge.fml.common.event.FMLPostInitializationEvent;
 import net.minecraftforge.fml.common.event.FMLPreInitializationEvent;
 import net.minecraftforge.fml.common.event.FMLServerStartedEvent;
+import net.minecraftforge.fml.common.event.FMLServerStoppedEvent;
 import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
 import net.minecraftforge.fml.common.network.NetworkRegistry;
 import net.minecraftforge.fml.common.registry.EntityRegistry;
@@ -61,6 +55,7 @@ import com.flansmod.common.driveables.ItemPlane;
 import com.flansmod.common.driveables.ItemVehicle;
 import com.flansmod.common.driveables.PlaneType;
 import com.flansmod.common.driveables.VehicleType;
+import com.flansmod.common.driveables.mechas.BlockSearchIndex;
 import com.flansmod.common.driveables.mechas.EntityMecha;
 import com.flansmod.common.driveables.mechas.ItemMecha;
 import com.flansmod.common.driveables.mechas.ItemMechaAddon;
@@ -82,6 +77,7 @@ import com.flansmod.common.guns.ItemGrenade;
 import com.flansmod.common.guns.ItemGun;
 import com.flansmod.common.guns.boxes.BlockGunBox;
 import com.flansmod.common.guns.boxes.GunBoxType;
+import com.flansmod.common.guns.raytracing.EntityRaytraceIndex;
 import com.flansmod.common.network.PacketHandler;
 import com.flansmod.common.paintjob.BlockPaintjobTable;
 import com.flansmod.common.paintjob.TileEntityPaintjobTable;
@@ -106,6 +102,7 @@ import com.flansmod.common.teams.RewardBox;
 import com.flansmod.common.teams.Team;
 import com.flansmod.common.teams.TeamsManager;
 import com.flansmod.common.teams.TeamsManagerRanked;
+import com.flansmod.common.teams.TeamsPersistence;
 import com.flansmod.common.teams.TileEntitySpawner;
 import com.flansmod.common.tools.EntityParachute;
 import com.flansmod.common.tools.ItemTool;
@@ -113,6 +110,7 @@ import com.flansmod.common.tools.ToolType;
 import com.flansmod.common.types.EnumType;
 import com.flansmod.common.types.InfoType;
 import com.flansmod.common.types.TypeFile;
+import com.flansmod.common.types.TypeFileLoader;
 import com.flansmod.common.eventhandlers.PlayerDeathEventListener;
 
 @Mod(modid = FlansMod.MODID, name = "Flan's Mod", version = FlansMod.VERSION, acceptableRemoteVersions = "@ALLOWEDVERSIONS@", guiFactory = "com.flansmod.client.gui.config.ModGuiFactory")
@@ -139,6 +137,36 @@ public class FlansMod
 	public static boolean addAllPaintjobsToCreative = false;
 	public static boolean addGunpowderRecipe = true;
 	public static boolean shootOnRightClick = false;
+	/** If false, the raytracer checks every loaded entity rather than using the per-world broadphase */
+	public static boolean useRaytraceBroadphase = true;
+	/** If true, lag compensation blends between the snapshots either side of the shooter's ping instead of rounding to a tick */
+	public static boolean interpolateLagCompensation = true;
+	/** If true, content packs are read and split on worker threads before being registered in order on the main thread */
+	public static boolean parallelContentLoading = true;
+	/** If true, type files are loaded from a binary cache in the Flan folder for content packs that have not changed */
+	public static boolean useContentCache = true;
+	/** If true, the driver's client only sends control packets when the server's view of the driveable has drifted, rather than every tick */
+	public static boolean adaptiveDriveableInput = true;
+	/** Players further than this from an explosion are not sent it, unless it knocked them back */
+	public static float explosionUpdateRange = 128F;
+	/** Players further than this from the path of a shot are not told about it */
+	public static float shotDataRange = 256F;
+	/** If true, the block breaking rays of large explosions are cast on worker threads */
+	public static boolean parallelExplosions = true;
+	/** If true, the parts of driveable models that do not move are merged into one display list each */
+	public static boolean bakeDriveableModels = true;
+	/** Models that have not been drawn for a while are dropped while the built ones take up more than this many megabytes. 0 keeps every model */
+	public static int modelMemoryBudget = 256;
+	/** Beyond this many blocks, steering wheels, HUDs and other parts inside driveables are not drawn. 0 always draws them */
+	public static float driveableInteriorDistance = 32F;
+	/** Beyond this many blocks, animated track links and mounted gun models on driveables are not drawn. 0 always draws them */
+	public static float driveableDetailDistance = 64F;
+	/** Beyond this many blocks, driveables are drawn with only their larger shapes. 0 always draws every shape */
+	public static float driveableSilhouetteDistance = 160F;
+	/** Whether driveables, and the parts of them, whose collision boxes are out of view are skipped when rendering */
+	public static boolean cullDriveableParts = true;
+	/** How many custom paint textures are kept on the graphics card before the ones not drawn for longest are freed */
+	public static int customPaintCacheSize = 32;
 	
 	public static float armourSpawnRate = 0.25F;
 	
@@ -251,7 +279,7 @@ public class FlansMod
 		NetworkRegistry.INSTANCE.registerGuiHandler(this, new CommonGuiHandler());		
 		
 		// Recipes
-		for (InfoType type : InfoType.infoTypes.values())
+		for (InfoType type : InfoType.infoTypes)
 		{
 			type.addRecipe();
 			type.addDungeonLoot();
@@ -360,6 +388,13 @@ public class FlansMod
 		CommandHandler handler = ((CommandHandler)FMLCommonHandler.instance().getSidedDelegate().getServer().getCommandManager());
 		handler.registerCommand(new CommandTeams());
 	}
+	
+	/** Finishes writing teams data before the server goes away */
+	@EventHandler
+	public void serverStopped(FMLServerStoppedEvent e)
+	{
+		TeamsPersistence.flush();
+	}
 
 	@SubscribeEvent
 	public void onConfigChanged(ConfigChangedEvent.OnConfigChangedEvent eventArgs) {
@@ -378,6 +413,26 @@ public class FlansMod
 		}
 	}
 
+	@SubscribeEvent
+	public void onWorldUnload(WorldEvent.Unload event)
+	{
+		EntityRaytraceIndex.onWorldUnload(event.world);
+		BlockSearchIndex.onWorldUnload(event.world);
+	}
+
+	/** A freshly loaded chunk may not match what the block search index remembers of it */
+	@SubscribeEvent
+	public void onChunkLoad(ChunkEvent.Load event)
+	{
+		BlockSearchIndex.onChunkChanged(event.world, event.getChunk());
+	}
+
+	@SubscribeEvent
+	public void onChunkUnload(ChunkEvent.Unload event)
+	{
+		BlockSearchIndex.onChunkChanged(event.world, event.getChunk());
+	}
+
 	@SubscribeEvent
 	public void onLivingSpecialSpawn(EntityJoinWorldEvent event)
 	{
@@ -432,108 +487,6 @@ public class FlansMod
 		}
 	}
 	
-	/** Reads type files from all content packs */
-	private void getTypeFiles(List<File> contentPacks)
-	{
-		for (File contentPack : contentPacks)
-		{
-			if(contentPack.isDirectory())
-			{				
-				for(EnumType typeToCheckFor : EnumType.values())
-				{
-					File typesDir = new File(contentPack, "/" + typeToCheckFor.folderName + "/");
-					if(!typesDir.exists())
-						continue;
-					for(File file : typesDir.listFiles())
-					{
-						try
-						{
-							BufferedReader reader = new BufferedReader(new FileReader(file));
-							String[] splitName = file.getName().split("/");
-							TypeFile typeFile = new TypeFile(contentPack.getName(), typeToCheckFor, splitName[splitName.length - 1].split("\\.")[0]);
-							for(;;)
-							{
-								String line = null;
-								try
-								{
-									line = reader.readLine();
-								} 
-								catch (Exception e)
-								{
-									break;
-								}
-								if (line == null)
-									break;
-								typeFile.lines.add(line);
-							}
-							reader.close();
-						}
-						catch(FileNotFoundException e)
-						{
-							e.printStackTrace();
-						}
-						catch(IOException e)
-						{
-							e.printStackTrace();
-						}
-					}		
-				}
-			}
-			else
-			{
-				try
-				{
-					ZipFile zip = new ZipFile(contentPack);
-					ZipInputStream zipStream = new ZipInputStream(new FileInputStream(contentPack));
-					BufferedReader reader = new BufferedReader(new InputStreamReader(zipStream));
-					ZipEntry zipEntry = zipStream.getNextEntry();
-					do
-					{
-						zipEntry = zipStream.getNextEntry();
-						if(zipEntry == null)
-							continue;
-						TypeFile typeFile = null;
-						for(EnumType type : EnumType.values())
-						{
-							if(zipEntry.getName().startsWith(type.folderName + "/") && zipEntry.getName().split(type.folderName + "/").length > 1 && zipEntry.getName().split(type.folderName + "/")[1].length() > 0)
-							{
-								String[] splitName = zipEntry.getName().split("/");
-								typeFile = new TypeFile(zip.getName(), type, splitName[splitName.length - 1].split("\\.")[0]);
-							}
-						}
-						if(typeFile == null)
-						{
-							continue;
-						}
-						for(;;)
-						{
-							String line = null;
-							try
-							{
-								line = reader.readLine();
-							} 
-							catch (Exception e)
-							{
-								break;
-							}
-							if (line == null)
-								break;
-							typeFile.lines.add(line);
-						}
-					}
-					while(zipEntry != null);
-					reader.close();
-					zip.close();
-					zipStream.close();
-				}
-				catch(IOException e)
-				{
-					e.printStackTrace();
-				}
-			}
-		}
-	}
-	
 	/** Content pack reader method */
 	private void readContentPacks(FMLPreInitializationEvent event)
 	{
@@ -554,7 +507,7 @@ public class FlansMod
 		List<File> contentPacks = proxy.getContentList(method, classloader);
 
 		//TODO : Add gametype loader
-		getTypeFiles(contentPacks);
+		TypeFileLoader.loadTypeFiles(contentPacks, parallelContentLoading, useContentCache);
 		
 		for(EnumType type : EnumType.values())
 		{
@@ -599,6 +552,9 @@ public class FlansMod
 		}		
 		Team.spectators = spectators;
 		
+		//Number the types now that they are all loaded, so that packets can refer to them by ID
+		InfoType.assignTypeIDs();
+		
 		//Automates JSON adding for old content packs
 		proxy.addMissingJSONs(InfoType.infoTypes);
 	}
@@ -613,6 +569,21 @@ public class FlansMod
 		addGunpowderRecipe = configFile.getBoolean("Gunpowder Recipe", Configuration.CATEGORY_GENERAL, addGunpowderRecipe, "Whether or not to add the extra gunpowder recipe (3 charcoal + 1 lightstone)");
 		shootOnRightClick = configFile.getBoolean("ShootOnRightClick", Configuration.CATEGORY_GENERAL, shootOnRightClick, "If true, then shoot will be on right click");
 		addAllPaintjobsToCreative = configFile.getBoolean("Add All Paintjobs to Creative", Configuration.CATEGORY_GENERAL, addAllPaintjobsToCreative, "Whether all paintjobs should appear in creative");
+		useRaytraceBroadphase = configFile.getBoolean("Raytrace Broadphase", Configuration.CATEGORY_GENERAL, useRaytraceBroadphase, "Whether bullets only check entities near their path. Turn off to fall back to checking every loaded entity");
+		interpolateLagCompensation = configFile.getBoolean("Interpolated Lag Compensation", Configuration.CATEGORY_GENERAL, interpolateLagCompensation, "Whether lag compensation blends player hitboxes between snapshots to match the shooter's ping exactly, rather than rounding to the nearest tick");
+		parallelContentLoading = configFile.getBoolean("Parallel Content Loading", Configuration.CATEGORY_GENERAL, parallelContentLoading, "Whether content packs are read on several threads at startup. Types are still registered one at a time, in the same order");
+		useContentCache = configFile.getBoolean("Content Cache", Configuration.CATEGORY_GENERAL, useContentCache, "Whether content packs are cached in the Flan/.cache folder so that unchanged packs load faster. Each pack's cache is rebuilt when the pack changes");
+		explosionUpdateRange = configFile.getFloat("Explosion Update Range", Configuration.CATEGORY_GENERAL, explosionUpdateRange, 16F, 1024F, "How far away, in blocks, players are told about explosions so that they see the particles and block damage straight away");
+		shotDataRange = configFile.getFloat("Shot Data Range", Configuration.CATEGORY_GENERAL, shotDataRange, 16F, 1024F, "How far away, in blocks, players are told about shots so that they see the tracers and hits. The default covers the furthest vanilla view distance");
+		parallelExplosions = configFile.getBoolean("Parallel Explosions", Configuration.CATEGORY_GENERAL, parallelExplosions, "Whether large explosions work out which blocks they break on several threads");
+		bakeDriveableModels = configFile.getBoolean("Bake Driveable Models", Configuration.CATEGORY_GENERAL, bakeDriveableModels, "Whether the unmoving parts of vehicle, plane and mecha models are merged into one display list each, rather than drawn a box at a time");
+		modelMemoryBudget = configFile.getInt("Model Memory Budget", Configuration.CATEGORY_GENERAL, modelMemoryBudget, 0, 65536, "Roughly how many megabytes of models are kept built. Past this, models that have not been drawn for a minute are dropped and built again when next needed. 0 keeps every model once built");
+		driveableInteriorDistance = configFile.getFloat("Driveable Interior Distance", Configuration.CATEGORY_GENERAL, driveableInteriorDistance, 0F, 1024F, "Beyond this many blocks, steering wheels, HUDs and other parts inside vehicles and planes are not drawn. 0 always draws them");
+		driveableDetailDistance = configFile.getFloat("Driveable Detail Distance", Configuration.CATEGORY_GENERAL, driveableDetailDistance, 0F, 1024F, "Beyond this many blocks, animated track links and mounted gun models on vehicles and planes are not drawn. 0 always draws them");
+		driveableSilhouetteDistance = configFile.getFloat("Driveable Silhouette Distance", Configuration.CATEGORY_GENERAL, driveableSilhouetteDistance, 0F, 1024F, "Beyond this many blocks, vehicles and planes are drawn with only their larger shapes. 0 always draws every shape");
+		cullDriveableParts = configFile.getBoolean("Cull Driveable Parts", Configuration.CATEGORY_GENERAL, cullDriveableParts, "Whether vehicles and planes, and the parts of them, whose collision boxes are out of view are skipped when rendering");
+		customPaintCacheSize = configFile.getInt("Custom Paint Cache Size", Configuration.CATEGORY_GENERAL, customPaintCacheSize, 1, 1024, "How many custom paint textures are kept loaded. Past this, the ones not drawn for longest are freed and loaded again from the paint cache when next needed");
+		adaptiveDriveableInput = configFile.getBoolean("Adaptive Driveable Input", Configuration.CATEGORY_GENERAL, adaptiveDriveableInput, "Whether driving only sends updates to the server when the vehicle does something the server would not expect, rather than every tick");
 
 		if(configFile.hasChanged())
 			configFile.save();
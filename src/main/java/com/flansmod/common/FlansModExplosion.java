@@ -1,6 +1,5 @@
 package com.flansmod.common;
 
-import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
@@ -8,11 +7,11 @@ import java.util.Random;
 
 import com.flansmod.common.guns.EntityDamageSourceGun;
 import com.flansmod.common.guns.GrenadeType;
+import com.flansmod.common.network.ExplosionBroadcaster;
 import com.flansmod.common.teams.TeamsManager;
 import com.flansmod.common.types.InfoType;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
-import com.google.common.collect.Sets;
 
 import net.minecraft.block.Block;
 import net.minecraft.block.material.Material;
@@ -22,9 +21,7 @@ import net.minecraft.entity.Entity;
 import net.minecraft.entity.EntityLivingBase;
 import net.minecraft.entity.item.EntityTNTPrimed;
 import net.minecraft.entity.player.EntityPlayer;
-import net.minecraft.entity.player.EntityPlayerMP;
 import net.minecraft.init.Blocks;
-import net.minecraft.network.play.server.S27PacketExplosion;
 import net.minecraft.util.AxisAlignedBB;
 import net.minecraft.util.BlockPos;
 import net.minecraft.util.DamageSource;
@@ -77,8 +74,7 @@ public class FlansModExplosion extends Explosion
         {
 	        this.doExplosionA();
 	        this.doExplosionB(true);
-	        for(Object obj : world.playerEntities)
-	        	FlansMod.getPacketHandler().sendTo(new S27PacketExplosion(x, y, z, radius, func_180343_e(), (Vec3)func_77277_b().get((EntityPlayer)obj)), (EntityPlayerMP)obj);
+	        ExplosionBroadcaster.add(world, x, y, z, radius, affectedBlockPositions, playerMap);
         }
 	}
 
@@ -86,60 +82,18 @@ public class FlansModExplosion extends Explosion
 	@Override
     public void doExplosionA()
     {
-        HashSet hashset = Sets.newHashSet();
-        boolean flag = true;
+        //Apply any blocks broken earlier this tick, so that the rays see the world as it is now
+        BlockEditBatcher.flush(world);
         int j;
         int k;
 
         if(breaksBlocks)
         {
-	        for (int i = 0; i < 16; ++i)
-	        {
-	            for (j = 0; j < 16; ++j)
-	            {
-	                for (k = 0; k < 16; ++k)
-	                {
-	                    if (i == 0 || i == 15 || j == 0 || j == 15 || k == 0 || k == 15)
-	                    {
-	                        double d0 = (double)((float)i / 15.0F * 2.0F - 1.0F);
-	                        double d1 = (double)((float)j / 15.0F * 2.0F - 1.0F);
-	                        double d2 = (double)((float)k / 15.0F * 2.0F - 1.0F);
-	                        double d3 = Math.sqrt(d0 * d0 + d1 * d1 + d2 * d2);
-	                        d0 /= d3;
-	                        d1 /= d3;
-	                        d2 /= d3;
-	                        float f = radius * (0.7F + world.rand.nextFloat() * 0.6F);
-	                        double d4 = x;
-	                        double d6 = y;
-	                        double d8 = z;
-	
-	                        for (float f1 = 0.3F; f > 0.0F; f -= 0.22500001F)
-	                        {
-	                            BlockPos blockpos = new BlockPos(d4, d6, d8);
-	                            IBlockState iblockstate = world.getBlockState(blockpos);
-	
-	                            if (iblockstate.getBlock().getMaterial() != Material.air)
-	                            {
-	                                float f2 = explosive != null ? explosive.getExplosionResistance(this, world, blockpos, iblockstate) : iblockstate.getBlock().getExplosionResistance(world, blockpos, (Entity)null, this);
-	                                f -= (f2 + 0.3F) * 0.3F;
-	                            }
-	
-	                            if (f > 0.0F && (explosive == null || explosive.func_174816_a(this, world, blockpos, iblockstate, f)))
-	                            {
-	                                hashset.add(blockpos);
-	                            }
-	
-	                            d4 += d0 * 0.30000001192092896D;
-	                            d6 += d1 * 0.30000001192092896D;
-	                            d8 += d2 * 0.30000001192092896D;
-	                        }
-	                    }
-	                }
-	            }
-	        }
+            //Cast the rays through a copy of the nearby chunks, which lets them run on several threads
+            ExplosionSnapshot snapshot = new ExplosionSnapshot(world, this, explosive, x, y, z, radius);
+            this.affectedBlockPositions.addAll(snapshot.getAffectedBlocks(world, this, explosive, world.rand.nextLong(), FlansMod.parallelExplosions));
         }
         
-        this.affectedBlockPositions.addAll(hashset);
         float f3 = this.radius * 2.0F;
         j = MathHelper.floor_double(this.x - (double)f3 - 1.0D);
         k = MathHelper.floor_double(this.x + (double)f3 + 1.0D);
@@ -243,9 +197,11 @@ public class FlansModExplosion extends Explosion
                         block.dropBlockAsItemWithChance(this.world, blockpos, this.world.getBlockState(blockpos), 1.0F / this.radius, 0);
                     }
 
-                    block.onBlockExploded(this.world, blockpos, this);
+                    BlockEditBatcher.explodeBlock(this.world, blockpos, block, this);
                 }
             }
+            //Remove the blocks together, before fire is placed in the gaps
+            BlockEditBatcher.flush(world);
         }
 
         if (this.isFlaming)
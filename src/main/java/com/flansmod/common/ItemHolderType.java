@@ -2,7 +2,6 @@ package com.flansmod.common;
 
 import java.util.HashMap;
 
-import net.minecraft.client.model.ModelBase;
 import net.minecraftforge.fml.common.FMLCommonHandler;
 import net.minecraftforge.fml.relauncher.Side;
 import net.minecraftforge.fml.relauncher.SideOnly;
@@ -12,17 +11,25 @@ import com.flansmod.client.model.ModelItemHolder;
 import com.flansmod.client.model.ModelVehicle;
 import com.flansmod.common.guns.ShootableType;
 import com.flansmod.common.types.InfoType;
+import com.flansmod.common.types.ModelHandle;
 import com.flansmod.common.types.TypeFile;
+import com.flansmod.common.types.TypeParser;
 
 public class ItemHolderType extends InfoType 
 {
 	@SideOnly(Side.CLIENT)
-	public ModelItemHolder model;
+	public ModelHandle<ModelItemHolder> model;
 	
 	public BlockItemHolder block;
 	
 	private static HashMap<String, ItemHolderType> itemHolders = new HashMap<String, ItemHolderType>();
 	
+	static
+	{
+		TypeParser.register(ItemHolderType.class)
+			.custom("Model");
+	}
+
 	public ItemHolderType(TypeFile file) 
 	{
 		super(file);
@@ -46,7 +53,7 @@ public class ItemHolderType extends InfoType
 		try
 		{		
 			if(FMLCommonHandler.instance().getSide().isClient() && split[0].equals("Model"))
-				model = FlansMod.proxy.loadModel(split[1], shortName, ModelItemHolder.class);
+				model = new ModelHandle<ModelItemHolder>(split[1], shortName, ModelItemHolder.class);
 		}
 		catch (Exception e)
 		{
@@ -64,12 +71,20 @@ public class ItemHolderType extends InfoType
 	@Override
 	public void reloadModel()
 	{
-		model = FlansMod.proxy.loadModel(modelString, shortName, ModelItemHolder.class);
+		if(model != null)
+			model.unload();
 	}
 
 	@Override
 	@SideOnly(Side.CLIENT)
-	public ModelBase GetModel()
+	public ModelItemHolder GetModel()
+	{
+		return model == null ? null : model.get();
+	}
+	
+	@Override
+	@SideOnly(Side.CLIENT)
+	public ModelHandle<?> getModelHandle()
 	{
 		return model;
 	}
@@ -11,7 +11,7 @@ import com.flansmod.common.guns.EntityGrenade;
 import com.flansmod.common.guns.EntityMG;
 import com.flansmod.common.guns.GunType;
 import com.flansmod.common.guns.ItemGun;
-import com.flansmod.common.guns.raytracing.PlayerSnapshot;
+import com.flansmod.common.guns.raytracing.PlayerSnapshotBuffer;
 import com.flansmod.common.network.PacketSelectOffHandGun;
 import com.flansmod.common.teams.IPlayerClass;
 import com.flansmod.common.teams.ItemTeamArmour;
@@ -30,9 +30,9 @@ public class PlayerData
 	//Movement related fields
 	/** Roll variables */
 	public float prevRotationRoll, rotationRoll;
-	/** Snapshots for bullet hit detection. Array size is set to number of snapshots required. When a new one is taken, 
-	 * each snapshot is moved along one place and new one is added at the start, so that when the array fills up, the oldest one is lost */
-	public PlayerSnapshot[] snapshots;
+	/** Snapshots for bullet hit detection. Buffer size is set to number of snapshots required. When a new one is taken, 
+	 * it overwrites the oldest one, so no objects are created each tick */
+	public PlayerSnapshotBuffer snapshots;
 	
 	//Gun related fields
 	/** The slotID of the gun being used by the off-hand. 0 = no slot. 1 ~ 9 = hotbar slots */
@@ -99,7 +99,7 @@ public class PlayerData
 	public PlayerData(String name) 
 	{
 		username = name;	
-		snapshots = new PlayerSnapshot[FlansMod.numPlayerSnapshots];
+		snapshots = new PlayerSnapshotBuffer(FlansMod.numPlayerSnapshots);
 	}
 	
 	public void tick(EntityPlayer player)
@@ -126,10 +126,8 @@ public class PlayerData
 				shouldPlayCooldownSound = true;
 		}
 				
-		//Move all snapshots along one place
-		System.arraycopy(snapshots, 0, snapshots, 1, snapshots.length - 2 + 1);
 		//Take new snapshot
-		snapshots[0] = new PlayerSnapshot(player);
+		snapshots.takeSnapshot(player);
 	}
 	
 	public void clientTick(EntityPlayer player)
@@ -162,7 +160,7 @@ public class PlayerData
 	{
 		mountingGun = null;
 		isShootingRight = isShootingLeft = false;
-		snapshots = new PlayerSnapshot[FlansMod.numPlayerSnapshots];
+		snapshots.clear();
 	}
 	
 	public void selectOffHandWeapon(EntityPlayer player, int slot)
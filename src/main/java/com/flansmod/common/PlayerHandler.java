@@ -7,6 +7,7 @@ import java.util.Map;
 import net.minecraft.client.Minecraft;
 import net.minecraft.entity.EntityLivingBase;
 import net.minecraft.entity.player.EntityPlayer;
+import net.minecraft.entity.player.EntityPlayerMP;
 import net.minecraft.server.MinecraftServer;
 import net.minecraft.world.WorldServer;
 import net.minecraftforge.common.MinecraftForge;
@@ -23,6 +24,7 @@ import net.minecraftforge.fml.relauncher.Side;
 
 import com.flansmod.common.driveables.EntityDriveable;
 import com.flansmod.common.driveables.EntitySeat;
+import com.flansmod.common.network.PacketTypeTable;
 import com.flansmod.common.teams.TeamsManager;
 
 public class PlayerHandler
@@ -128,6 +130,10 @@ public class PlayerHandler
 				serverSideData.put(username, data);
 			if(clientsToRemoveAfterThisRound.contains(username))
 				clientsToRemoveAfterThisRound.remove(username);
+			
+			//Packets name types by ID, so make sure the client numbers them the same way
+			if(player instanceof EntityPlayerMP)
+				FlansMod.getPacketHandler().sendTo(new PacketTypeTable(), (EntityPlayerMP)player);
 		}
 		else if(event instanceof PlayerLoggedOutEvent)
 		{
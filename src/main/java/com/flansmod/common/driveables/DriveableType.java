@@ -5,7 +5,6 @@ import java.util.HashMap;
 import java.util.List;
 
 import net.minecraft.block.material.Material;
-import net.minecraft.client.model.ModelBase;
 import net.minecraft.init.Items;
 import net.minecraft.item.EnumDyeColor;
 import net.minecraft.item.ItemDye;
@@ -23,15 +22,17 @@ import com.flansmod.common.guns.BulletType;
 import com.flansmod.common.guns.EnumFireMode;
 import com.flansmod.common.parts.PartType;
 import com.flansmod.common.types.InfoType;
+import com.flansmod.common.types.ModelHandle;
 import com.flansmod.common.types.PaintableType;
 import com.flansmod.common.types.TypeFile;
+import com.flansmod.common.types.TypeParser;
 import com.flansmod.common.vector.Vector3f;
 
 public abstract class DriveableType extends PaintableType
 {
 	@SideOnly(value = Side.CLIENT)
 	/** The plane model */
-	public ModelDriveable model;
+	public ModelHandle<ModelDriveable> model;
 		
 	//Health and recipe
 	/** Health of each driveable part */
@@ -145,6 +146,30 @@ public abstract class DriveableType extends PaintableType
 	
 	public static ArrayList<DriveableType> types = new ArrayList<DriveableType>();
 	
+	static
+	{
+		TypeParser.register(DriveableType.class)
+			.custom("Model", "MaxThrottle", "MaxNegativeThrottle", "Drag", "TurretOrigin", "CollisionPoint",
+				"AddCollisionPoint", "TurretRotationSpeed", "CanRoll", "PlaceableOnLand", "PlaceableOnWater",
+				"FloatOnWater", "Boat", "Buoyancy", "Wheel", "WheelPosition", "WheelRadius", "WheelStepHeight",
+				"WheelSpringStrength", "SpringStrength", "Harvester", "HarvestMaterial", "HarvestToolType",
+				"CargoSlots", "BombSlots", "MineSlots", "MissileSlots", "ShellSlots", "FuelTankSize", "TrackFrames",
+				"BulletDetection", "AddAmmo", "AllowAllAmmo", "AcceptAllAmmo", "Primary", "Secondary",
+				"ShootDelayPrimary", "ShootDelaySecondary", "DamageModifierPrimary", "DamageModifierSecondary",
+				"AlternatePrimary", "AlternateSecondary", "ModePrimary", "ModeSecondary", "ShootPointPrimary",
+				"ShootPointSecondary", "AddGun", "BombPosition", "BarrelPosition", "ShootDelay", "ShellDelay",
+				"BombDelay", "AddRecipeParts", "AddDye", "SetupPart", "Driver", "Pilot", "RotatedDriverOffset",
+				"DriverAimSpeed", "RotatedPassengerOffset", "PassengerAimSpeed", "DriverLegacyAiming",
+				"PassengerLegacyAiming", "DriverYawBeforePitch", "PassengerYawBeforePitch", "DriverLatePitch",
+				"PassengerLatePitch", "DriverTraverseSounds", "PassengerTraverseSounds", "Passenger", "GunOrigin",
+				"YOffset", "CameraDistance", "StartSoundLength", "EngineSoundLength", "YawSoundLength",
+				"PitchSoundLength", "PassengerYawSoundLength", "PassengerPitchSoundLength", "StartSound",
+				"EngineSound", "YawSound", "PitchSound", "PassengerYawSound", "PassengerPitchSound", "ShootMainSound",
+				"ShootSoundPrimary", "ShellSound", "BombSound", "ShootSecondarySound", "ShootSoundSecondary", "OnRadar",
+				"AddParticle", "AddEmitter")
+			.ignore("Passengers", "NumWheels");
+	}
+
 	public DriveableType(TypeFile file)
 	{
 		super(file);
@@ -205,7 +230,7 @@ public abstract class DriveableType extends PaintableType
 		try
 		{
 			if(FMLCommonHandler.instance().getSide().isClient() && split[0].equals("Model"))
-				model = FlansMod.proxy.loadModel(split[1], shortName, ModelDriveable.class);
+				model = new ModelHandle<ModelDriveable>(split[1], shortName, ModelDriveable.class);
 						
 			//Movement Variables
 			else if(split[0].equals("MaxThrottle"))
@@ -699,9 +724,23 @@ public abstract class DriveableType extends PaintableType
 		public float maxHealth;
 	}
 	
+	@Override
+	public void reloadModel()
+	{
+		if(model != null)
+			model.unload();
+	}
+	
+	@Override
+	@SideOnly(Side.CLIENT)
+	public ModelDriveable GetModel()
+	{
+		return model == null ? null : model.get();
+	}
+	
 	@Override
 	@SideOnly(Side.CLIENT)
-	public ModelBase GetModel()
+	public ModelHandle<?> getModelHandle()
 	{
 		return model;
 	}
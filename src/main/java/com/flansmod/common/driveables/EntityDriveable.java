@@ -42,6 +42,7 @@ import com.flansmod.client.EntityCamera;
 import com.flansmod.client.FlansModClient;
 import com.flansmod.client.debug.EntityDebugDot;
 import com.flansmod.client.debug.EntityDebugVector;
+import com.flansmod.common.BlockEditBatcher;
 import com.flansmod.common.FlansMod;
 import com.flansmod.common.RotatedAxes;
 import com.flansmod.common.driveables.DriveableType.ParticleEmitter;
@@ -61,6 +62,7 @@ import com.flansmod.common.guns.ShotData.SpawnEntityShotData;
 import com.flansmod.common.guns.raytracing.FlansModRaytracer;
 import com.flansmod.common.guns.raytracing.FlansModRaytracer.BulletHit;
 import com.flansmod.common.guns.raytracing.FlansModRaytracer.DriveableHit;
+import com.flansmod.common.network.DriveableSyncState;
 import com.flansmod.common.network.PacketDriveableDamage;
 import com.flansmod.common.network.PacketDriveableKeyHeld;
 import com.flansmod.common.network.PacketPlaySound;
@@ -79,6 +81,16 @@ public abstract class EntityDriveable extends Entity implements IControllable, I
 	public double serverPosX, serverPosY, serverPosZ;
 	/** Server side rotation, as synced by PacketVehicleControl packets */
 	public double serverYaw, serverPitch, serverRoll;
+	/** The last control state sent and received for this driveable, which control packets are encoded against */
+	public final DriveableSyncState syncSent = new DriveableSyncState(), syncReceived = new DriveableSyncState();
+	/** The state the driver's client last sent to the server, which the server carries on simulating from until the next packet */
+	private double controlSentPosX, controlSentPosY, controlSentPosZ, controlSentMotionX, controlSentMotionY, controlSentMotionZ;
+	private float controlSentYaw, controlSentPitch, controlSentRoll, controlSentThrottle, controlSentSteering;
+	private int controlSentTick = Integer.MIN_VALUE;
+	/** Thresholds for sending a control packet early. The longest the driver's client will go without sending one is CONTROL_HEARTBEAT ticks */
+	private static final double CONTROL_POSITION_ERROR = 0.2D, CONTROL_MOTION_ERROR = 0.05D;
+	private static final float CONTROL_ANGLE_ERROR = 2F, CONTROL_THROTTLE_ERROR = 0.02F, CONTROL_STEERING_ERROR = 1F;
+	private static final int CONTROL_HEARTBEAT = 10;
 	
 	/** The driveable data which contains the inventory, the engine and the fuel */
 	public DriveableData driveableData;
@@ -417,6 +429,47 @@ public abstract class EntityDriveable extends Entity implements IControllable, I
 		throttle = throt;
 	}
 	
+	/** Called each tick on the driver's client to decide whether to send a control packet. Dead reckons where the server
+	 * thinks this driveable is from the last packet sent, and only asks for a new one once that guess is too far off, the 
+	 * controls have changed or the heartbeat is due. Records the current state as sent when it returns true */
+	protected boolean shouldSendControl(float steeringYaw)
+	{
+		int ticks = ticksExisted - controlSentTick;
+		boolean send = !FlansMod.adaptiveDriveableInput || ticks >= CONTROL_HEARTBEAT || ticks < 0;
+		if(!send)
+		{
+			double dX = controlSentPosX + controlSentMotionX * ticks - posX;
+			double dY = controlSentPosY + controlSentMotionY * ticks - posY;
+			double dZ = controlSentPosZ + controlSentMotionZ * ticks - posZ;
+			double dMotionX = controlSentMotionX - motionX;
+			double dMotionY = controlSentMotionY - motionY;
+			double dMotionZ = controlSentMotionZ - motionZ;
+			send = dX * dX + dY * dY + dZ * dZ > CONTROL_POSITION_ERROR * CONTROL_POSITION_ERROR
+					|| dMotionX * dMotionX + dMotionY * dMotionY + dMotionZ * dMotionZ > CONTROL_MOTION_ERROR * CONTROL_MOTION_ERROR
+					|| Math.abs(MathHelper.wrapAngleTo180_float(axes.getYaw() - controlSentYaw)) > CONTROL_ANGLE_ERROR
+					|| Math.abs(MathHelper.wrapAngleTo180_float(axes.getPitch() - controlSentPitch)) > CONTROL_ANGLE_ERROR
+					|| Math.abs(MathHelper.wrapAngleTo180_float(axes.getRoll() - controlSentRoll)) > CONTROL_ANGLE_ERROR
+					|| Math.abs(throttle - controlSentThrottle) > CONTROL_THROTTLE_ERROR
+					|| Math.abs(steeringYaw - controlSentSteering) > CONTROL_STEERING_ERROR;
+		}
+		if(send)
+		{
+			controlSentPosX = posX;
+			controlSentPosY = posY;
+			controlSentPosZ = posZ;
+			controlSentMotionX = motionX;
+			controlSentMotionY = motionY;
+			controlSentMotionZ = motionZ;
+			controlSentYaw = axes.getYaw();
+			controlSentPitch = axes.getPitch();
+			controlSentRoll = axes.getRoll();
+			controlSentThrottle = throttle;
+			controlSentSteering = steeringYaw;
+			controlSentTick = ticksExisted;
+		}
+		return send;
+	}
+	
 
 	@Override
 	public void setVelocity(double d, double d1, double d2)
@@ -529,16 +582,24 @@ public abstract class EntityDriveable extends Entity implements IControllable, I
 			// Instant bullets. Do a raytrace
 			if(gunType.bulletSpeed == 0.0f)
 			{
-				for(int i = 0; i < gunType.numBullets * shootableType.numBullets; i++)
+				int numPellets = gunType.numBullets * shootableType.numBullets;
+				
+				// Every pellet goes the same way, so trace them together
+				List<Vector3f> pelletMotions = new ArrayList<Vector3f>(numPellets);
+				for(int i = 0; i < numPellets; i++)
+					pelletMotions.add(lookVector);
+				List<List<BulletHit>> pelletHits = FlansModRaytracer.Raytrace(worldObj, driver, false, null, gunVec, pelletMotions, 0);
+				
+				for(int i = 0; i < numPellets; i++)
 				{					
-					List<BulletHit> hits = FlansModRaytracer.Raytrace(worldObj, driver, false, null, gunVec, lookVector, 0);
+					List<BulletHit> hits = pelletHits.get(i);
 					Entity victim = null;
 					Vector3f hitPos = Vector3f.add(gunVec, lookVector, null);
 					BulletHit firstHit = null;
 					if(!hits.isEmpty())
 					{
 						firstHit = hits.get(0);
-						hitPos = Vector3f.add(gunVec, (Vector3f)lookVector.scale(firstHit.intersectTime), null);
+						hitPos = Vector3f.add(gunVec, (Vector3f)new Vector3f(lookVector).scale(firstHit.intersectTime), null);
 						victim = firstHit.GetEntity();
 					}
 					
@@ -547,7 +608,7 @@ public abstract class EntityDriveable extends Entity implements IControllable, I
 						worldObj.spawnEntityInWorld(new EntityDebugDot(worldObj, gunVec, 100, 1.0f, 1.0f, 1.0f));
 					}
 
-					ShotData shotData = new InstantShotData(-1, type, shootableType, driver, gunVec, firstHit, hitPos, gunType.damage, i < gunType.numBullets * shootableType.numBullets - 1, false);
+					ShotData shotData = new InstantShotData(-1, type, shootableType, driver, gunVec, firstHit, hitPos, gunType.damage, i < numPellets - 1, false);
 					((ItemGun)gunType.item).ServerHandleShotData(null, -1, worldObj, this, false, shotData);
 				}
 			}
@@ -763,7 +824,7 @@ public abstract class EntityDriveable extends Entity implements IControllable, I
 						}
 						if(!cancelled)
 						{
-	  						if(type.materialsHarvested.contains(block.getMaterial()) && block.getBlockHardness(worldObj, new BlockPos(blockX, blockY, blockZ)) >= 0F)
+	  						if(type.materialsHarvested.contains(block.getMaterial()) && block.getBlockHardness(worldObj, new BlockPos(blockX, blockY, blockZ)) >= 0F && !BlockEditBatcher.isPending(worldObj, new BlockPos(blockX, blockY, blockZ)))
 	  						{
 	  							//Add the itemstack to mecha inventory
 	  							List<ItemStack> stacks = block.getDrops(worldObj, new BlockPos(blockX, blockY, blockZ), worldObj.getBlockState(new BlockPos(blockX, blockY, blockZ)), 0);
@@ -776,7 +837,7 @@ public abstract class EntityDriveable extends Entity implements IControllable, I
 	  								}
 	  							}
 	  							//Destroy block
-	  							worldObj.destroyBlock(new BlockPos(blockX, blockY, blockZ), false);
+	  							BlockEditBatcher.destroyBlock(worldObj, new BlockPos(blockX, blockY, blockZ));
 	  						}
 						}
   					}
@@ -1027,6 +1088,9 @@ public abstract class EntityDriveable extends Entity implements IControllable, I
 			if(hit != null && hit.typeOfHit == MovingObjectType.BLOCK)
 			{
 				BlockPos pos = hit.getBlockPos();
+				//Already broken by another part this tick
+				if(BlockEditBatcher.isPending(worldObj, pos))
+					continue;
 				IBlockState state =  worldObj.getBlockState(pos);
 				Block blockHit = state.getBlock();
 				
@@ -1041,7 +1105,7 @@ public abstract class EntityDriveable extends Entity implements IControllable, I
 					if(!worldObj.isRemote)
 					{	
 						blockHit.dropBlockAsItem(worldObj, pos, state, 1);		
-						worldObj.setBlockToAir(pos);
+						BlockEditBatcher.removeBlock(worldObj, pos);
 					}
 				}
 				else
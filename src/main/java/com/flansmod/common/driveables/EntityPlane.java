@@ -713,7 +713,8 @@ public class EntityPlane extends EntityDriveable
 		//Calculate movement on the client and then send position, rotation etc to the server
 		if(thePlayerIsDrivingThis)
 		{
-			FlansMod.getPacketHandler().sendToServer(new PacketPlaneControl(this));
+			if(shouldSendControl(flapsYaw))
+				FlansMod.getPacketHandler().sendToServer(new PacketPlaneControl(this));
 			serverPosX = posX;
 			serverPosY = posY;
 			serverPosZ = posZ;
@@ -502,7 +502,8 @@ public class EntityVehicle extends EntityDriveable implements IExplodeable
 		//Calculate movement on the client and then send position, rotation etc to the server
 		if(thePlayerIsDrivingThis)
 		{
-			FlansMod.getPacketHandler().sendToServer(new PacketVehicleControl(this));
+			if(shouldSendControl(wheelsYaw))
+				FlansMod.getPacketHandler().sendToServer(new PacketVehicleControl(this));
 			serverPosX = posX;
 			serverPosY = posY;
 			serverPosZ = posZ;
@@ -5,10 +5,10 @@ import java.util.ArrayList;
 import net.minecraft.item.ItemStack;
 import net.minecraft.world.World;
 
-import com.flansmod.client.model.ModelPlane;
 import com.flansmod.common.FlansMod;
 import com.flansmod.common.parts.PartType;
 import com.flansmod.common.types.TypeFile;
+import com.flansmod.common.types.TypeParser;
 import com.flansmod.common.vector.Vector3f;
 
 public class PlaneType extends DriveableType
@@ -46,6 +46,15 @@ public class PlaneType extends DriveableType
 
 	public static ArrayList<PlaneType> types = new ArrayList<PlaneType>();
 	
+	static
+	{
+		TypeParser.register(PlaneType.class)
+			.custom("Mode", "TurnLeftSpeed", "TurnRightSpeed", "LookUpSpeed", "LookDownSpeed", "RollLeftSpeed",
+				"RollRightSpeed", "Lift", "ShootDelay", "BombDelay", "Propeller", "HeliPropeller", "HeliTailPropeller",
+				"PropSoundLength", "PropSound", "ShootSound", "BombSound", "HasGear", "HasDoor", "HasWing",
+				"RestingPitch", "InflightInventory");
+	}
+
 	public PlaneType(TypeFile file)
 	{
 		super(file);
@@ -191,12 +200,6 @@ public class PlaneType extends DriveableType
 		}
 		return null;
 	}
-	
-	/** To be overriden by subtypes for model reloading */
-	public void reloadModel()
-	{
-		model = FlansMod.proxy.loadModel(modelString, shortName, ModelPlane.class);
-	}
 
 	@Override
 	public EntityDriveable createDriveable(World world, double x, double y, double z, DriveableData data) 
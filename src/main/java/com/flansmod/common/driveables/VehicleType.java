@@ -5,10 +5,10 @@ import java.util.ArrayList;
 import net.minecraft.item.ItemStack;
 import net.minecraft.world.World;
 
-import com.flansmod.client.model.ModelVehicle;
 import com.flansmod.common.FlansMod;
 import com.flansmod.common.parts.PartType;
 import com.flansmod.common.types.TypeFile;
+import com.flansmod.common.types.TypeParser;
 
 public class VehicleType extends DriveableType
 {
@@ -30,6 +30,13 @@ public class VehicleType extends DriveableType
 
 	public static ArrayList<VehicleType> types = new ArrayList<VehicleType>();
 	
+	static
+	{
+		TypeParser.register(VehicleType.class)
+			.custom("TurnLeftSpeed", "TurnRightSpeed", "SquashMobs", "FourWheelDrive", "Tank", "TankMode", "HasDoor",
+				"RotateWheels", "ShootDelay", "ShellDelay", "ShootSound", "ShellSound");
+	}
+
 	public VehicleType(TypeFile file)
 	{
 		super(file);
@@ -114,12 +121,6 @@ public class VehicleType extends DriveableType
 		return null;
 	}
 	
-	/** To be overriden by subtypes for model reloading */
-	public void reloadModel()
-	{
-		model = FlansMod.proxy.loadModel(modelString, shortName, ModelVehicle.class);
-	}
-	
 	@Override
 	public EntityDriveable createDriveable(World world, double x, double y, double z, DriveableData data) 
 	{
@@ -0,0 +1,257 @@
+package com.flansmod.common.driveables.mechas;
+
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+import net.minecraft.block.Block;
+import net.minecraft.block.state.IBlockState;
+import net.minecraft.entity.Entity;
+import net.minecraft.entity.player.EntityPlayer;
+import net.minecraft.util.BlockPos;
+import net.minecraft.world.IWorldAccess;
+import net.minecraft.world.World;
+import net.minecraft.world.chunk.Chunk;
+import net.minecraft.world.chunk.storage.ExtendedBlockStorage;
+
+/** Remembers where particular blocks are in each chunk section of a world, so that mecha detection upgrades can find
+ * the nearest one without looking at every block around them. A section is only scanned the first time it is searched
+ * after its chunk loads, and is forgotten again as soon as any block in it changes */
+public class BlockSearchIndex implements IWorldAccess
+{
+	private static final Map<World, BlockSearchIndex> indices = new WeakHashMap<World, BlockSearchIndex>();
+	/** The block state IDs belonging to each block that has been searched for */
+	private static final Map<Block, BitSet> stateIDs = new HashMap<Block, BitSet>();
+
+	/** For each section that has been scanned, keyed by {@link #sectionKey}, the positions within it of each block searched for */
+	private final HashMap<Long, HashMap<Block, short[]>> sections = new HashMap<Long, HashMap<Block, short[]>>();
+
+	/** Gets the index for this world, creating it and listening for block changes the first time */
+	private static BlockSearchIndex get(World world)
+	{
+		synchronized(indices)
+		{
+			BlockSearchIndex index = indices.get(world);
+			if(index == null)
+			{
+				index = new BlockSearchIndex();
+				indices.put(world, index);
+				world.addWorldAccess(index);
+			}
+			return index;
+		}
+	}
+
+	/** Stops listening to an unloaded world and drops its index */
+	public static void onWorldUnload(World world)
+	{
+		BlockSearchIndex index;
+		synchronized(indices)
+		{
+			index = indices.remove(world);
+		}
+		if(index != null)
+			world.removeWorldAccess(index);
+	}
+
+	/** Forgets every section of a chunk that has just been loaded or unloaded */
+	public static void onChunkChanged(World world, Chunk chunk)
+	{
+		BlockSearchIndex index;
+		synchronized(indices)
+		{
+			index = indices.get(world);
+		}
+		if(index == null)
+			return;
+		for(int sectionY = 0; sectionY < 16; sectionY++)
+			index.sections.remove(sectionKey(chunk.xPosition, sectionY, chunk.zPosition));
+	}
+
+	/** Returns the squared distance from the centre block to the nearest block of this type that is no more than range
+	 * blocks away, or -1 if there is none. Sections of chunks that are not loaded are skipped */
+	public static int findNearest(World world, Block block, BlockPos centre, int range)
+	{
+		BlockSearchIndex index = get(world);
+		int best = range * range + 1;
+		int minSX = (centre.getX() - range) >> 4, maxSX = (centre.getX() + range) >> 4;
+		int minSY = Math.max(0, (centre.getY() - range) >> 4), maxSY = Math.min(15, (centre.getY() + range) >> 4);
+		int minSZ = (centre.getZ() - range) >> 4, maxSZ = (centre.getZ() + range) >> 4;
+		for(int sX = minSX; sX <= maxSX; sX++)
+		{
+			for(int sZ = minSZ; sZ <= maxSZ; sZ++)
+			{
+				if(!world.getChunkProvider().chunkExists(sX, sZ))
+					continue;
+				for(int sY = minSY; sY <= maxSY; sY++)
+				{
+					//Skip sections that cannot hold anything closer than what has already been found
+					int dX = distanceToRange(centre.getX(), sX << 4), dY = distanceToRange(centre.getY(), sY << 4), dZ = distanceToRange(centre.getZ(), sZ << 4);
+					if(dX * dX + dY * dY + dZ * dZ >= best)
+						continue;
+					for(short packed : index.getPositions(world, block, sX, sY, sZ))
+					{
+						int x = (sX << 4) + (packed & 15) - centre.getX();
+						int y = (sY << 4) + (packed >> 8) - centre.getY();
+						int z = (sZ << 4) + ((packed >> 4) & 15) - centre.getZ();
+						int distance = x * x + y * y + z * z;
+						if(distance < best)
+							best = distance;
+					}
+				}
+			}
+		}
+		return best > range * range ? -1 : best;
+	}
+
+	/** The positions of this block within a section, scanning the section if it has not been since it last changed */
+	private short[] getPositions(World world, Block block, int sX, int sY, int sZ)
+	{
+		long key = sectionKey(sX, sY, sZ);
+		HashMap<Block, short[]> section = sections.get(key);
+		if(section == null)
+		{
+			section = new HashMap<Block, short[]>();
+			sections.put(key, section);
+		}
+		short[] positions = section.get(block);
+		if(positions == null)
+		{
+			positions = scan(block, world.getChunkFromChunkCoords(sX, sZ).getBlockStorageArray()[sY]);
+			section.put(block, positions);
+		}
+		return positions;
+	}
+
+	private static short[] scan(Block block, ExtendedBlockStorage storage)
+	{
+		if(storage == null || storage.isEmpty())
+			return new short[0];
+		BitSet matches = getStateIDs(block);
+		char[] data = storage.getData();
+		int count = 0;
+		for(char id : data)
+		{
+			if(matches.get(id))
+				count++;
+		}
+		short[] positions = new short[count];
+		count = 0;
+		for(int n = 0; n < data.length; n++)
+		{
+			if(matches.get(data[n]))
+				positions[count++] = (short)n;
+		}
+		return positions;
+	}
+
+	private static BitSet getStateIDs(Block block)
+	{
+		synchronized(stateIDs)
+		{
+			BitSet ids = stateIDs.get(block);
+			if(ids == null)
+			{
+				ids = new BitSet();
+				for(Object state : block.getBlockState().getValidStates())
+					ids.set(Block.getStateId((IBlockState)state));
+				stateIDs.put(block, ids);
+			}
+			return ids;
+		}
+	}
+
+	/** Distance along one axis from a coordinate to the 16 blocks of a section starting at min */
+	private static int distanceToRange(int coord, int min)
+	{
+		if(coord < min)
+			return min - coord;
+		if(coord > min + 15)
+			return coord - min - 15;
+		return 0;
+	}
+
+	private static long sectionKey(int sX, int sY, int sZ)
+	{
+		return ((long)sX & 0x3FFFFFF) << 30 | ((long)sZ & 0x3FFFFFF) << 4 | sY;
+	}
+
+	private void forgetSections(int minX, int minY, int minZ, int maxX, int maxY, int maxZ)
+	{
+		if(sections.isEmpty())
+			return;
+		for(int sX = minX >> 4; sX <= maxX >> 4; sX++)
+		{
+			for(int sZ = minZ >> 4; sZ <= maxZ >> 4; sZ++)
+			{
+				for(int sY = Math.max(0, minY >> 4); sY <= Math.min(15, maxY >> 4); sY++)
+					sections.remove(sectionKey(sX, sY, sZ));
+			}
+		}
+	}
+
+	//Block changes come through here on both sides. Everything else the world tells its listeners about is ignored
+
+	@Override
+	public void markBlockForUpdate(BlockPos pos)
+	{
+		forgetSections(pos.getX(), pos.getY(), pos.getZ(), pos.getX(), pos.getY(), pos.getZ());
+	}
+
+	@Override
+	public void markBlockRangeForRenderUpdate(int x1, int y1, int z1, int x2, int y2, int z2)
+	{
+		forgetSections(x1, y1, z1, x2, y2, z2);
+	}
+
+	@Override
+	public void notifyLightSet(BlockPos pos)
+	{
+	}
+
+	@Override
+	public void playSound(String soundName, double x, double y, double z, float volume, float pitch)
+	{
+	}
+
+	@Override
+	public void playSoundToNearExcept(EntityPlayer except, String soundName, double x, double y, double z, float volume, float pitch)
+	{
+	}
+
+	@Override
+	public void spawnParticle(int particleID, boolean ignoreRange, double x, double y, double z, double xOffset, double yOffset, double zOffset, int... parameters)
+	{
+	}
+
+	@Override
+	public void onEntityAdded(Entity entity)
+	{
+	}
+
+	@Override
+	public void onEntityRemoved(Entity entity)
+	{
+	}
+
+	@Override
+	public void playRecord(String recordName, BlockPos pos)
+	{
+	}
+
+	@Override
+	public void broadcastSound(int soundID, BlockPos pos, int data)
+	{
+	}
+
+	@Override
+	public void playAuxSFX(EntityPlayer player, int sfxType, BlockPos pos, int data)
+	{
+	}
+
+	@Override
+	public void sendBlockBreakProgress(int breakerId, BlockPos pos, int progress)
+	{
+	}
+}
@@ -386,8 +386,8 @@ public class EntityMecha extends EntityDriveable
 						//TODO : Move to client side and sync
 						if(worldObj.isRemote)
 						{							
-							int pumpDelay = gunType.model == null ? 0 : gunType.model.pumpDelay;
-							int pumpTime = gunType.model == null ? 1 : gunType.model.pumpTime;
+							int pumpDelay = gunType.GetModel() == null ? 0 : gunType.GetModel().pumpDelay;
+							int pumpTime = gunType.GetModel() == null ? 1 : gunType.GetModel().pumpTime;
 							if(left)
 							{
 								leftAnimations.doShoot(pumpDelay, pumpTime);
@@ -567,24 +567,8 @@ public class EntityMecha extends EntityDriveable
 
 		if(diamondDetect() != null && diamondTimer == 0 && worldObj.isRemote && seats[0] != null && seats[0].riddenByEntity instanceof EntityPlayer && FlansMod.proxy.isThePlayer((EntityPlayer)seats[0].riddenByEntity))
 		{
-			float sqDistance = 901;
-			for(float i = -30; i <= 30; i++)
-			{
-				for(float j = -30; j <= 30; j++)
-				{
-					for(float k = -30; k <= 30; k++)
-					{
-						int x = MathHelper.floor_double(i + posX);
-						int y = MathHelper.floor_double(j + posY);
-						int z = MathHelper.floor_double(k + posZ);
-						if(i * i + j * j + k * k < sqDistance && worldObj.getBlockState(new BlockPos(x, y, z)).getBlock() == (Blocks.diamond_ore))
-						{
-							sqDistance = i * i + j * j + k * k;
-						}
-					}
-				}
-			}
-			if(sqDistance < 901)
+			int sqDistance = BlockSearchIndex.findNearest(worldObj, Blocks.diamond_ore, new BlockPos(this), 30);
+			if(sqDistance >= 0)
 			{
 				PacketPlaySound.sendSoundPacket(posX, posY, posZ, FlansMod.soundRange, dimension, diamondDetect().detectSound, false);
 				diamondTimer = 1 + 2 * MathHelper.floor_float(MathHelper.sqrt_float(sqDistance));
@@ -968,7 +952,8 @@ public class EntityMecha extends EntityDriveable
 		//Calculate movement on the client and then send position, rotation etc to the server
 		if(thePlayerIsDrivingThis)
 		{
-			FlansMod.getPacketHandler().sendToServer(new PacketMechaControl(this));
+			if(shouldSendControl(legAxes.getYaw()))
+				FlansMod.getPacketHandler().sendToServer(new PacketMechaControl(this));
 			serverPosX = posX;
 			serverPosY = posY;
 			serverPosZ = posZ;
@@ -2,15 +2,15 @@ package com.flansmod.common.driveables.mechas;
 
 import java.util.ArrayList;
 
-import net.minecraft.client.model.ModelBase;
 import net.minecraftforge.fml.common.FMLCommonHandler;
 import net.minecraftforge.fml.relauncher.Side;
 import net.minecraftforge.fml.relauncher.SideOnly;
 
 import com.flansmod.client.model.ModelMechaTool;
-import com.flansmod.common.FlansMod;
 import com.flansmod.common.types.InfoType;
+import com.flansmod.common.types.ModelHandle;
 import com.flansmod.common.types.TypeFile;
+import com.flansmod.common.types.TypeParser;
 
 public class MechaItemType extends InfoType 
 {
@@ -54,8 +54,18 @@ public class MechaItemType extends InfoType
 	
 	/** The model */
 	@SideOnly(Side.CLIENT)
-	public ModelMechaTool model;
+	public ModelHandle<ModelMechaTool> model;
 	
+	static
+	{
+		TypeParser.register(MechaItemType.class)
+			.custom("Model", "Type", "ToolType", "Speed", "ToolHardness", "Reach", "AutoFuel", "Armour",
+				"CoalMultiplier", "DetectSound", "DiamondDetect", "DiamondMultiplier", "EmeraldMultiplier",
+				"FlameBurst", "Floatation", "ForceBlockFallDamage", "ForceDark", "InfiniteAmmo", "IronMultiplier",
+				"IronRefine", "ItemVacuum", "LightLevel", "Nanorepair", "RedstoneMultiplier", "RocketPack",
+				"RocketPower", "SoundEffect", "SoundTime", "SpeedMultiplier", "StopMechaFallDamage", "WasteCompact");
+	}
+
 	public MechaItemType(TypeFile file)
 	{
 		super(file);
@@ -69,7 +79,7 @@ public class MechaItemType extends InfoType
 		try
 		{
 			if(FMLCommonHandler.instance().getSide().isClient() && split[0].equals("Model"))
-				model = FlansMod.proxy.loadModel(split[1], shortName, ModelMechaTool.class);
+				model = new ModelHandle<ModelMechaTool>(split[1], shortName, ModelMechaTool.class);
 			if(split[0].equals("Type"))
 				type = EnumMechaItemType.getToolType(split[1]);
 			if(split[0].equals("ToolType"))
@@ -152,8 +162,8 @@ public class MechaItemType extends InfoType
 	
 	public void reloadModel()
 	{
-		if(modelString != null)
-			model = FlansMod.proxy.loadModel(modelString, shortName, ModelMechaTool.class);
+		if(model != null)
+			model.unload();
 	}
 
 	@Override
@@ -168,7 +178,14 @@ public class MechaItemType extends InfoType
 
 	@Override
 	@SideOnly(Side.CLIENT)
-	public ModelBase GetModel()
+	public ModelMechaTool GetModel()
+	{
+		return model == null ? null : model.get();
+	}
+	
+	@Override
+	@SideOnly(Side.CLIENT)
+	public ModelHandle<?> getModelHandle()
 	{
 		return model;
 	}
@@ -6,8 +6,6 @@ import net.minecraft.item.ItemStack;
 import net.minecraft.nbt.NBTTagCompound;
 import net.minecraft.world.World;
 
-import com.flansmod.client.model.ModelMecha;
-import com.flansmod.common.FlansMod;
 import com.flansmod.common.driveables.DriveableData;
 import com.flansmod.common.driveables.DriveablePart;
 import com.flansmod.common.driveables.DriveableType;
@@ -16,6 +14,7 @@ import com.flansmod.common.driveables.EntityPlane;
 import com.flansmod.common.driveables.EnumDriveablePart;
 import com.flansmod.common.parts.PartType;
 import com.flansmod.common.types.TypeFile;
+import com.flansmod.common.types.TypeParser;
 import com.flansmod.common.vector.Vector3f;
 
 public class MechaType extends DriveableType 
@@ -80,6 +79,17 @@ public class MechaType extends DriveableType
 
 	public static ArrayList<MechaType> types = new ArrayList<MechaType>();
 
+	static
+	{
+		TypeParser.register(MechaType.class)
+			.custom("TurnLeftSpeed", "TurnRightSpeed", "MoveSpeed", "SquashMobs", "StepHeight", "JumpHeight",
+				"RotateSpeed", "LeftArmOrigin", "RightArmOrigin", "ArmLength", "LegLength", "LegTrans",
+				"RearLegLength", "FrontLegLength", "RearLegTrans", "FrontLegTrans", "HeldItemScale", "Height", "Width",
+				"ChassisHeight", "FallDamageMultiplier", "BlockDamageFromFalling", "Reach", "TakeFallDamage",
+				"DamageBlocksFromFalling", "LegSwingLimit", "LimitHeadTurn", "LegSwingTime", "UpperArmLimit",
+				"LowerArmLimit", "LeftHandModifier", "RightHandModifier");
+	}
+
 	public MechaType(TypeFile file)
 	{
 		super(file);
@@ -191,12 +201,6 @@ public class MechaType extends DriveableType
 		}
 		return stacks;
 	}
-	
-	/** To be overriden by subtypes for model reloading */
-	public void reloadModel()
-	{
-		model = FlansMod.proxy.loadModel(modelString, shortName, ModelMecha.class);
-	}
 
 	public static MechaType getMecha(String find)
 	{
@@ -3,7 +3,6 @@ package com.flansmod.common.guns;
 import java.util.ArrayList;
 import java.util.List;
 
-import net.minecraft.client.model.ModelBase;
 import net.minecraft.item.ItemStack;
 import net.minecraftforge.fml.common.FMLCommonHandler;
 import net.minecraftforge.fml.relauncher.Side;
@@ -12,7 +11,9 @@ import net.minecraftforge.fml.relauncher.SideOnly;
 import com.flansmod.client.model.ModelAAGun;
 import com.flansmod.common.FlansMod;
 import com.flansmod.common.types.InfoType;
+import com.flansmod.common.types.ModelHandle;
 import com.flansmod.common.types.TypeFile;
+import com.flansmod.common.types.TypeParser;
 
 public class AAGunType extends InfoType
 {
@@ -29,7 +30,7 @@ public class AAGunType extends InfoType
 	public int gunnerX, gunnerY, gunnerZ;
 	public String shootSound;
 	public String reloadSound;
-	public ModelAAGun model;
+	public ModelHandle<ModelAAGun> model;
 	public float topViewLimit = 75F;
 	public float bottomViewLimit = 0F;
 	public int[] barrelX, barrelY, barrelZ;
@@ -42,6 +43,30 @@ public class AAGunType extends InfoType
 	
 	public static List<AAGunType> infoTypes = new ArrayList<AAGunType>();
 
+	static
+	{
+		TypeParser.register(AAGunType.class)
+			.field("Damage", "damage")
+			.field("ReloadTime", "reloadTime")
+			.field("Recoil", "recoil")
+			.field("Accuracy", "accuracy")
+			.field("ShootDelay", "shootDelay")
+			.field("FireAlternately", "fireAlternately")
+			.field("Health", "health")
+			.field("TopViewLimit", "topViewLimit")
+			.field("BottomViewLimit", "bottomViewLimit")
+			.field("TargetMobs", "targetMobs")
+			.field("TargetPlayers", "targetPlayers")
+			.field("TargetVehicles", "targetVehicles")
+			.field("TargetPlanes", "targetPlanes")
+			.field("TargetMechas", "targetMechas")
+			.field("ShareAmmo", "shareAmmo")
+			.field("TargetRange", "targetRange")
+			.field("BottomViewLimit", "bottomViewLimit")
+			.custom("Model", "TargetDriveables", "ShootSound", "ReloadSound", "NumBarrels", "Barrel", "Health", "Ammo",
+				"GunnerPos");
+	}
+
 	public AAGunType(TypeFile file)
 	{
 		super(file);
@@ -56,27 +81,9 @@ public class AAGunType extends InfoType
 		{
 			if (FMLCommonHandler.instance().getSide().isClient() && split[0].equals("Model"))
 			{
-				model = FlansMod.proxy.loadModel(split[1], shortName, ModelAAGun.class);
+				model = new ModelHandle<ModelAAGun>(split[1], shortName, ModelAAGun.class);
 			} 
 
-			damage = Read(split, "Damage", damage);
-			reloadTime = Read(split, "ReloadTime", reloadTime);
-			recoil = Read(split, "Recoil", recoil);
-			accuracy = Read(split, "Accuracy", accuracy);
-			shootDelay = Read(split, "ShootDelay", shootDelay);
-			fireAlternately = Read(split, "FireAlternately", fireAlternately);
-			health = Read(split, "Health", health);
-			topViewLimit = Read(split, "TopViewLimit", topViewLimit);
-			bottomViewLimit = Read(split, "BottomViewLimit", bottomViewLimit);
-			targetMobs = Read(split, "TargetMobs", targetMobs);
-			targetPlayers = Read(split, "TargetPlayers", targetPlayers);
-			targetVehicles = Read(split, "TargetVehicles", targetVehicles);
-			targetPlanes = Read(split, "TargetPlanes", targetPlanes);
-			targetMechas = Read(split, "TargetMechas", targetMechas);
-			shareAmmo = Read(split, "ShareAmmo", shareAmmo);
-			targetRange = Read(split, "TargetRange", targetRange);
-			bottomViewLimit = Read(split, "BottomViewLimit", bottomViewLimit);
-			
 			if(split[0].equals("TargetDriveables"))
 				targetMechas = targetPlanes = targetVehicles = Boolean.parseBoolean(split[1]);
 
@@ -153,7 +160,8 @@ public class AAGunType extends InfoType
 	/** To be overriden by subtypes for model reloading */
 	public void reloadModel()
 	{
-		model = FlansMod.proxy.loadModel(modelString, shortName, ModelAAGun.class);
+		if(model != null)
+			model.unload();
 	}
 	
 	@Override
@@ -174,7 +182,14 @@ public class AAGunType extends InfoType
 
 	@Override
 	@SideOnly(Side.CLIENT)
-	public ModelBase GetModel()
+	public ModelAAGun GetModel()
+	{
+		return model == null ? null : model.get();
+	}
+	
+	@Override
+	@SideOnly(Side.CLIENT)
+	public ModelHandle<?> getModelHandle()
 	{
 		return model;
 	}
@@ -2,7 +2,6 @@ package com.flansmod.common.guns;
 
 import java.util.ArrayList;
 
-import net.minecraft.client.model.ModelBase;
 import net.minecraft.item.ItemStack;
 import net.minecraft.nbt.NBTTagCompound;
 
@@ -11,10 +10,11 @@ import net.minecraftforge.fml.relauncher.Side;
 import net.minecraftforge.fml.relauncher.SideOnly;
 
 import com.flansmod.client.model.ModelAttachment;
-import com.flansmod.common.FlansMod;
 import com.flansmod.common.types.InfoType;
+import com.flansmod.common.types.ModelHandle;
 import com.flansmod.common.types.PaintableType;
 import com.flansmod.common.types.TypeFile;
+import com.flansmod.common.types.TypeParser;
 
 public class AttachmentType extends PaintableType implements IScope {
 	public static ArrayList<AttachmentType> attachments = new ArrayList<AttachmentType>();
@@ -72,12 +72,20 @@ public class AttachmentType extends PaintableType implements IScope {
 
 	@SideOnly(Side.CLIENT)
 	/** Model. Only applicable when the attachment is added to 3D guns */
-	public ModelAttachment model;
+	public ModelHandle<ModelAttachment> model;
 
 	// Some more mundane variables
 	/** The max stack size in the inventory */
 	public int maxStackSize = 1;
 
+	static
+	{
+		TypeParser.register(AttachmentType.class)
+			.custom("AttachmentType", "Model", "Silencer", "Flashlight", "FlashlightRange", "FlashlightStrength",
+				"ModeOverride", "MeleeDamageMultiplier", "DamageMultiplier", "SpreadMultiplier", "RecoilMultiplier",
+				"BulletSpeedMultiplier", "ReloadTimeMultiplier", "ZoomLevel", "FOVZoomLevel", "ZoomOverlay");
+	}
+
 	public AttachmentType(TypeFile file) {
 		super(file);
 		attachments.add(this);
@@ -91,8 +99,7 @@ public class AttachmentType extends PaintableType implements IScope {
 				type = EnumAttachmentType.get(split[1]);
 			else if (FMLCommonHandler.instance().getSide().isClient()
 					&& (split[0].equals("Model")))
-				model = FlansMod.proxy.loadModel(split[1], shortName,
-						ModelAttachment.class);
+				model = new ModelHandle<ModelAttachment>(split[1], shortName, ModelAttachment.class);
 
 			else if (split[0].equals("Silencer"))
 				silencer = Boolean.parseBoolean(split[1].toLowerCase());
@@ -141,8 +148,8 @@ public class AttachmentType extends PaintableType implements IScope {
 
 	/** To be overriden by subtypes for model reloading */
 	public void reloadModel() {
-		model = FlansMod.proxy.loadModel(modelString, shortName,
-				ModelAttachment.class);
+		if(model != null)
+			model.unload();
 	}
 
 	public static AttachmentType getFromNBT(NBTTagCompound tags) {
@@ -192,7 +199,13 @@ public class AttachmentType extends PaintableType implements IScope {
 
 	@Override
 	@SideOnly(Side.CLIENT)
-	public ModelBase GetModel() {
+	public ModelAttachment GetModel() {
+		return model == null ? null : model.get();
+	}
+
+	@Override
+	@SideOnly(Side.CLIENT)
+	public ModelHandle<?> getModelHandle() {
 		return model;
 	}
 
@@ -3,13 +3,14 @@ package com.flansmod.common.guns;
 import java.util.ArrayList;
 import java.util.List;
 
-import net.minecraft.client.model.ModelBase;
 import net.minecraft.item.Item;
 import net.minecraft.potion.PotionEffect;
 
 import com.flansmod.common.FlansMod;
 import com.flansmod.common.driveables.EnumWeaponType;
+import com.flansmod.common.types.InfoType;
 import com.flansmod.common.types.TypeFile;
+import com.flansmod.common.types.TypeParser;
 
 public class BulletType extends ShootableType
 {
@@ -43,6 +44,16 @@ public class BulletType extends ShootableType
 	/** The static bullets list */
 	public static List<BulletType> bullets = new ArrayList<BulletType>();
 	
+	static
+	{
+		TypeParser.register(BulletType.class)
+			.custom("FlakParticles", "FlakParticleType", "SetEntitiesOnFire", "HitSound", "HitSoundRange",
+				"Penetrates", "Penetration", "PenetratingPower", "Bomb", "Shell", "Missile", "WeaponType",
+				"TrailTexture", "HasLight", "LockOnToDriveables", "LockOnToVehicles", "LockOnToPlanes",
+				"LockOnToMechas", "LockOnToPlayers", "LockOnToLivings", "MaxLockOnAngle", "LockOnForce",
+				"TurningForce", "PotionEffect");
+	}
+
 	public BulletType(TypeFile file)
 	{
 		super(file);
@@ -125,6 +136,12 @@ public class BulletType extends ShootableType
 		return null;
 	}
 
+	public static BulletType getBullet(int typeID)
+	{
+		InfoType type = getType(typeID);
+		return type instanceof BulletType ? (BulletType)type : null;
+	}
+	
 	public static BulletType getBullet(Item item)
 	{
 		for(BulletType bullet : bullets)
@@ -134,10 +151,4 @@ public class BulletType extends ShootableType
 		}
 		return null;
 	}
-	
-	/** To be overriden by subtypes for model reloading */
-	public void reloadModel()
-	{
-		model = FlansMod.proxy.loadModel(modelString, shortName, ModelBase.class);
-	}
 }
@@ -372,6 +372,9 @@ public class EntityBullet extends EntityShootable implements IEntityAdditionalSp
 
 		if(!worldObj.isRemote)
 		{
+			//Ping changes over the life of a slow bullet, so compensate with the latest value
+			if (owner instanceof EntityPlayerMP)
+				pingOfShooter = ((EntityPlayerMP) owner).ping;
 			List<BulletHit> hits = FlansModRaytracer.Raytrace(worldObj, owner, ticksInAir > 20, this, origin, motion,
 					pingOfShooter);
 	
@@ -638,7 +641,7 @@ public class EntityBullet extends EntityShootable implements IEntityAdditionalSp
 		data.writeDouble(motionY);
 		data.writeDouble(motionZ);
 		data.writeInt(lockedOnTo == null ? -1 : lockedOnTo.getEntityId());
-		ByteBufUtils.writeUTF8String(data, type.shortName);
+		data.writeInt(type.typeID);
 		if (owner == null)
 			ByteBufUtils.writeUTF8String(data, "null");
 		else
@@ -654,7 +657,7 @@ public class EntityBullet extends EntityShootable implements IEntityAdditionalSp
 			int lockedOnToID = data.readInt();
 			if (lockedOnToID != -1)
 				lockedOnTo = worldObj.getEntityByID(lockedOnToID);
-			type = BulletType.getBullet(ByteBufUtils.readUTF8String(data));
+			type = BulletType.getBullet(data.readInt());
 			penetratingPower = type.penetratingPower;
 			String name = ByteBufUtils.readUTF8String(data);
 			for (Object obj : worldObj.loadedEntityList) {
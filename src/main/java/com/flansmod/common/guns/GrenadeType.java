@@ -2,14 +2,13 @@ package com.flansmod.common.guns;
 
 import java.util.ArrayList;
 
-import net.minecraft.client.model.ModelBase;
 import net.minecraft.potion.PotionEffect;
 import net.minecraftforge.fml.common.FMLCommonHandler;
 import net.minecraftforge.fml.relauncher.Side;
 import net.minecraftforge.fml.relauncher.SideOnly;
 
-import com.flansmod.common.FlansMod;
 import com.flansmod.common.types.TypeFile;
+import com.flansmod.common.types.TypeParser;
 
 public class GrenadeType extends ShootableType 
 {
@@ -92,6 +91,17 @@ public class GrenadeType extends ShootableType
 	 * TODO : Give guns a "can get ammo from bag" variable. Stops miniguns and such getting ammo */
 	public int numClips = 0;
 	
+	static
+	{
+		TypeParser.register(GrenadeType.class)
+			.custom("MeleeDamage", "ThrowDelay", "ThrowSound", "DropItemOnThrow", "CanThrow", "Bounciness",
+				"PenetratesEntities", "PenetratesBlocks", "BounceSound", "Sticky", "LivingProximityTrigger",
+				"VehicleProximityTrigger", "DamageToTriggerer", "DetonateWhenShot", "PrimeDelay", "TriggerDelay",
+				"StickToThrower", "ExplosionDamageVsLiving", "ExplosionDamageVsDrivable", "NumExplodeParticles",
+				"ExplodeParticles", "SmokeTime", "SmokeParticles", "SmokeEffect", "SmokeRadius", "SpinWhenThrown",
+				"Remote", "DeployableBag", "NumUses", "HealAmount", "AddPotionEffect", "PotionEffect", "NumClips");
+	}
+
 	public GrenadeType(TypeFile file) 
 	{
 		super(file);
@@ -200,10 +210,4 @@ public class GrenadeType extends ShootableType
 		}
 		return null;
 	}
-	
-	/** To be overriden by subtypes for model reloading */
-	public void reloadModel()
-	{
-		model = FlansMod.proxy.loadModel(modelString, shortName, ModelBase.class);
-	}
 }
@@ -0,0 +1,96 @@
+package com.flansmod.common.guns;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentMap;
+
+import net.minecraft.item.ItemStack;
+import net.minecraft.nbt.NBTTagCompound;
+
+import com.google.common.collect.MapMaker;
+
+/** The stats of one gun stack with all its attachments applied. Working these out means reading every attachment out of
+ * the stack's NBT, so they are cached against the stack's attachment tag. Anything that swaps that tag for a new one,
+ * as the gun modification table does, gets fresh stats automatically. Anything that edits it in place must call
+ * {@link #invalidate(ItemStack)} */
+public class GunStats
+{
+	/** Keyed by the attachments tag itself, compared by identity and held weakly so that dropped stacks are forgotten */
+	private static final ConcurrentMap<NBTTagCompound, GunStats> cache = new MapMaker().weakKeys().makeMap();
+
+	public final GunType type;
+	/** Every attachment on the gun, in the order their multipliers are applied */
+	public final List<AttachmentType> attachments;
+	public final float damage, meleeDamage, spread, recoil, bulletSpeed, reloadTime, shootDelay;
+	public final EnumFireMode fireMode;
+
+	private GunStats(GunType type, List<AttachmentType> attachments)
+	{
+		this.type = type;
+		this.attachments = attachments;
+
+		float damage = type.damage, meleeDamage = type.meleeDamage, spread = type.bulletSpread, recoil = type.recoil;
+		float bulletSpeed = type.bulletSpeed, reloadTime = type.reloadTime, shootDelay = type.shootDelay;
+		EnumFireMode fireMode = null;
+		for(AttachmentType attachment : attachments)
+		{
+			damage *= attachment.damageMultiplier;
+			meleeDamage *= attachment.meleeDamageMultiplier;
+			spread *= attachment.spreadMultiplier;
+			recoil *= attachment.recoilMultiplier;
+			bulletSpeed *= attachment.bulletSpeedMultiplier;
+			reloadTime *= attachment.reloadTimeMultiplier;
+			if(fireMode == null && attachment.modeOverride != null)
+				fireMode = attachment.modeOverride;
+			if(attachment.modeOverride == EnumFireMode.BURST)
+				shootDelay = Math.max(type.shootDelay, 3);
+		}
+		this.damage = damage;
+		this.meleeDamage = meleeDamage;
+		this.spread = spread;
+		this.recoil = recoil;
+		this.bulletSpeed = bulletSpeed;
+		this.reloadTime = reloadTime;
+		this.shootDelay = shootDelay;
+		this.fireMode = fireMode == null ? type.mode : fireMode;
+	}
+
+	/** Gets the stats for a gun stack, working them out if its attachments have changed since last time */
+	static GunStats get(GunType type, NBTTagCompound attachmentTags)
+	{
+		GunStats stats = cache.get(attachmentTags);
+		if(stats == null || stats.type != type)
+		{
+			stats = new GunStats(type, Collections.unmodifiableList(readAttachments(type, attachmentTags)));
+			cache.put(attachmentTags, stats);
+		}
+		return stats;
+	}
+
+	/** Forgets the stats of a stack whose attachment tag has been edited in place */
+	public static void invalidate(ItemStack gun)
+	{
+		if(gun != null && gun.hasTagCompound() && gun.getTagCompound().hasKey("attachments"))
+			cache.remove(gun.getTagCompound().getCompoundTag("attachments"));
+	}
+
+	private static List<AttachmentType> readAttachments(GunType type, NBTTagCompound attachmentTags)
+	{
+		ArrayList<AttachmentType> attachments = new ArrayList<AttachmentType>();
+		for(int i = 0; i < type.numGenericAttachmentSlots; i++)
+			addAttachment(attachmentTags, "generic_" + i, attachments);
+		addAttachment(attachmentTags, "barrel", attachments);
+		addAttachment(attachmentTags, "scope", attachments);
+		addAttachment(attachmentTags, "stock", attachments);
+		addAttachment(attachmentTags, "grip", attachments);
+		return attachments;
+	}
+
+	private static void addAttachment(NBTTagCompound attachmentTags, String name, List<AttachmentType> attachments)
+	{
+		AttachmentType attachment = AttachmentType.getFromNBT(attachmentTags.getCompoundTag(name));
+		if(attachment != null)
+			attachments.add(attachment);
+	}
+}
@@ -4,13 +4,11 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 
-import net.minecraft.client.model.ModelBase;
 import net.minecraft.init.Items;
 import net.minecraft.item.EnumDyeColor;
 import net.minecraft.item.ItemDye;
 import net.minecraft.item.ItemStack;
 import net.minecraft.nbt.NBTTagCompound;
-import net.minecraft.nbt.NBTTagList;
 import net.minecraftforge.fml.common.FMLCommonHandler;
 import net.minecraftforge.fml.relauncher.Side;
 import net.minecraftforge.fml.relauncher.SideOnly;
@@ -19,8 +17,10 @@ import com.flansmod.client.model.ModelGun;
 import com.flansmod.client.model.ModelMG;
 import com.flansmod.common.FlansMod;
 import com.flansmod.common.types.InfoType;
+import com.flansmod.common.types.ModelHandle;
 import com.flansmod.common.types.PaintableType;
 import com.flansmod.common.types.TypeFile;
+import com.flansmod.common.types.TypeParser;
 import com.flansmod.common.vector.Vector3f;
 
 public class GunType extends PaintableType implements IScope
@@ -118,20 +118,18 @@ public class GunType extends PaintableType implements IScope
 	/** Played when the player stops holding shoot */
 	public String cooldownSound;
 
-	
 	/** The sound to play upon weapon swing */
 	public String meleeSound;
 	/** The sound to play while holding the weapon in the hand*/
 	public String idleSound;
 	public int idleSoundLength;
 
-
 	//Deployable Settings
 	/** If true, then the bullet does not shoot when right clicked, but must instead be placed on the ground */
 	public boolean deployable = false;
 	/** The deployable model */
 	@SideOnly(Side.CLIENT)
-	public ModelMG deployableModel;
+	public ModelHandle<ModelMG> deployableModel;
 	/** The deployable model's texture*/
 	public String deployableTexture;
 	/** Various deployable settings controlling the player view limits and standing position */
@@ -150,7 +148,7 @@ public class GunType extends PaintableType implements IScope
 	
 	/** For guns with 3D models */
 	@SideOnly(Side.CLIENT)
-	public ModelGun model;
+	public ModelHandle<ModelGun> model;
 	
 	//Attachment settings
 	/** If this is true, then all attachments are allowed. Otherwise the list is checked */
@@ -164,7 +162,7 @@ public class GunType extends PaintableType implements IScope
 	public int numGenericAttachmentSlots = 0;
 	
 	/** The static hashmap of all guns by shortName */
-	public static HashMap<Integer, GunType> guns = new HashMap<Integer, GunType>();
+	public static HashMap<String, GunType> guns = new HashMap<String, GunType>();
 	/** The static list of all guns */
 	public static ArrayList<GunType> gunList = new ArrayList<GunType>();
 	
@@ -174,6 +172,62 @@ public class GunType extends PaintableType implements IScope
 	/** Gives knockback resistance to the player */
 	public float knockbackModifier = 0F;
 
+	static
+	{
+		TypeParser.register(GunType.class)
+			.field("Damage", "damage")
+			.field("CanForceReload", "canForceReload")
+			.field("ReloadTime", "reloadTime")
+			.field("Recoil", "recoil")
+			.field("Knockback", "knockback")
+			.field("Accuracy", "bulletSpread")
+			.field("Spread", "bulletSpread")
+			.field("NumBullets", "numBullets")
+			.field("ConsumeGunOnUse", "consumeGunUponUse")
+			.field("DropItemOnShoot", "dropItemOnShoot")
+			.field("NumBurstRounds", "numBurstRounds")
+			.field("MinigunStartSpeed", "minigunStartSpeed")
+			.field("ShowAttachments", "showAttachments")
+			.field("ShowDamage", "showDamage")
+			.field("ShowRecoil", "showRecoil")
+			.field("ShowAccuracy", "showSpread")
+			.field("ShowReloadTime", "showReloadTime")
+			.field("ShootDelay", "shootDelay")
+			.field("SoundLength", "shootSoundLength")
+			.field("DistortSound", "distortSound")
+			.field("IdleSoundLength", "idleSoundLength")
+			.field("WarmupSoundLength", "warmupSoundLength")
+			.field("LoopedSoundLength", "loopedSoundLength")
+			.field("SpinSoundLength", "loopedSoundLength")
+			.field("DeployedTexture", "deployableTexture")
+			.field("StandBackDistance", "standBackDist")
+			.field("TopViewLimit", "topViewLimit")
+			.field("BottomViewLimit", "bottomViewLimit")
+			.field("SideViewLimit", "sideViewLimit")
+			.field("PivotHeight", "pivotHeight")
+			.field("NumAmmoSlots", "numAmmoItemsInGun")
+			.field("NumAmmoItemsInGun", "numAmmoItemsInGun")
+			.field("LoadIntoGun", "numAmmoItemsInGun")
+			.field("CanShootUnderwater", "canShootUnderwater")
+			.field("OneHanded", "oneHanded")
+			.field("UsableByPlayers", "usableByPlayers")
+			.field("UsableByMechas", "usableByMechas")
+			.field("MeleeTime", "meleeTime")
+			.field("MoveSpeedModifier", "moveSpeedModifier")
+			.field("Slowness", "moveSpeedModifier")
+			.field("KnockbackReduction", "knockbackModifier")
+			.field("KnockbackModifier", "knockbackModifier")
+			.field("AllowAllAttachments", "allowAllAttachments")
+			.field("AllowBarrelAttachments", "allowBarrelAttachments")
+			.field("AllowScopeAttachments", "allowScopeAttachments")
+			.field("AllowStockAttachments", "allowStockAttachments")
+			.field("AllowGripAttachments", "allowGripAttachments")
+			.field("NumGenericAttachmentSlots", "numGenericAttachmentSlots")
+			.custom("MeleeDamage", "ShootSound", "ReloadSound", "IdleSound", "MeleeSound", "WarmupSound",
+				"LoopedSound", "SpinSound", "CooldownSound", "Mode", "Scope", "ZoomLevel", "FOVZoomLevel",
+				"Deployable", "DeployedModel", "Model", "Ammo", "BulletSpeed", "SecondaryFunction", "UseCustomMelee",
+				"AddNode", "MeleeDamagePoint", "MeleeDamageOffset", "AllowAttachments", "shield");
+	}
 
 	public GunType(TypeFile file)
 	{
@@ -185,7 +239,7 @@ public class GunType extends PaintableType implements IScope
 	{
 		super.postRead(file);
 		gunList.add(this);
-		guns.put(shortName.hashCode(), this);
+		guns.put(shortName, this);
 	}
 	
 	@Override
@@ -194,18 +248,6 @@ public class GunType extends PaintableType implements IScope
 		super.read(split, file);
 		try
 		{
-			damage = Read(split, "Damage", damage);
-			canForceReload = Read(split, "CanForceReload", canForceReload);
-			reloadTime = Read(split, "ReloadTime", reloadTime);
-			recoil = Read(split, "Recoil", recoil);
-			knockback = Read(split, "Knockback", knockback);
-			bulletSpread = Read(split, "Accuracy", bulletSpread);
-			bulletSpread = Read(split, "Spread", bulletSpread);
-			numBullets = Read(split, "NumBullets", numBullets);
-			consumeGunUponUse = Read(split, "ConsumeGunOnUse", consumeGunUponUse);
-			dropItemOnShoot = Read(split, "DropItemOnShoot", dropItemOnShoot);
-			numBurstRounds = Read(split, "NumBurstRounds", numBurstRounds);
-			minigunStartSpeed = Read(split, "MinigunStartSpeed", minigunStartSpeed);
 			if(split[0].equals("MeleeDamage"))
 			{
 				meleeDamage = Float.parseFloat(split[1]);
@@ -213,21 +255,7 @@ public class GunType extends PaintableType implements IScope
 					secondaryFunction = EnumSecondaryFunction.MELEE;
 			}
 			
-			//Information
-			showAttachments = Read(split, "ShowAttachments", showAttachments);
-			showDamage = Read(split, "ShowDamage", showDamage);
-			showRecoil = Read(split, "ShowRecoil", showRecoil);
-			showSpread = Read(split, "ShowAccuracy", showSpread);
-			showReloadTime = Read(split, "ShowReloadTime", showReloadTime);
-
 			//Sounds
-			shootDelay = Read(split, "ShootDelay", shootDelay);
-			shootSoundLength = Read(split, "SoundLength", shootSoundLength);
-			distortSound = Read(split, "DistortSound", distortSound);
-			idleSoundLength = Read(split, "IdleSoundLength", idleSoundLength);
-			warmupSoundLength = Read(split, "WarmupSoundLength", warmupSoundLength);
-			loopedSoundLength = Read(split, "LoopedSoundLength", loopedSoundLength);
-			loopedSoundLength = Read(split, "SpinSoundLength", loopedSoundLength);
 			if(split[0].equals("ShootSound"))
 			{
 				shootSound = split[1];
@@ -293,27 +321,13 @@ public class GunType extends PaintableType implements IScope
 				deployable = split[1].equals("True");
 			else if(FMLCommonHandler.instance().getSide().isClient() && deployable && split[0].equals("DeployedModel"))
 			{
-				deployableModel = FlansMod.proxy.loadModel(split[1], shortName, ModelMG.class);
+				deployableModel = new ModelHandle<ModelMG>(split[1], shortName, ModelMG.class);
 			}
 			else if(FMLCommonHandler.instance().getSide().isClient() && (split[0].equals("Model")))
 			{
-				model = FlansMod.proxy.loadModel(split[1], shortName, ModelGun.class);
+				model = new ModelHandle<ModelGun>(split[1], shortName, ModelGun.class);
 			}
 			
-			deployableTexture = Read(split, "DeployedTexture", deployableTexture);
-			standBackDist = Read(split, "StandBackDistance", standBackDist);
-			topViewLimit = Read(split, "TopViewLimit", topViewLimit);
-			bottomViewLimit = Read(split, "BottomViewLimit", bottomViewLimit);
-			sideViewLimit = Read(split, "SideViewLimit", sideViewLimit);
-			pivotHeight = Read(split, "PivotHeight", pivotHeight);
-			numAmmoItemsInGun = Read(split, "NumAmmoSlots", numAmmoItemsInGun);
-			numAmmoItemsInGun = Read(split, "NumAmmoItemsInGun", numAmmoItemsInGun);
-			numAmmoItemsInGun = Read(split, "LoadIntoGun", numAmmoItemsInGun);
-			canShootUnderwater = Read(split, "CanShootUnderwater", canShootUnderwater);
-			oneHanded = Read(split, "OneHanded", oneHanded);
-			usableByPlayers = Read(split, "UsableByPlayers", usableByPlayers);
-			usableByMechas = Read(split, "UsableByMechas", usableByMechas);
-
 			if(split[0].equals("Ammo"))
 			{
 				ShootableType type = ShootableType.getShootableType(split[1]);
@@ -345,8 +359,6 @@ public class GunType extends PaintableType implements IScope
 			else if(split[0].equals("UseCustomMelee") && Boolean.parseBoolean(split[1]))
 				secondaryFunction = EnumSecondaryFunction.CUSTOM_MELEE;
 			
-			meleeTime = Read(split, "MeleeTime", meleeTime);
-			
 			if(split[0].equals("AddNode"))
 			{
 				meleePath.add(new Vector3f(Float.parseFloat(split[1]) / 16F, Float.parseFloat(split[2]) / 16F, Float.parseFloat(split[3]) / 16F));
@@ -357,14 +369,7 @@ public class GunType extends PaintableType implements IScope
 				meleeDamagePoints.add(new Vector3f(Float.parseFloat(split[1]) / 16F, Float.parseFloat(split[2]) / 16F, Float.parseFloat(split[3]) / 16F));
 			}
 			
-			//Player modifiers
-			moveSpeedModifier = Read(split, "MoveSpeedModifier", moveSpeedModifier);
-			moveSpeedModifier = Read(split, "Slowness", moveSpeedModifier);
-			knockbackModifier = Read(split, "KnockbackReduction", knockbackModifier);
-			knockbackModifier = Read(split, "KnockbackModifier", knockbackModifier);
-						
 			//Attachment settings
-			allowAllAttachments = Read(split, "AllowAllAttachments", allowAllAttachments);
 			if(split[0].equals("AllowAttachments"))
 			{
 				for(int i = 1; i < split.length; i++)
@@ -373,12 +378,6 @@ public class GunType extends PaintableType implements IScope
 				}
 			}
 			
-			allowBarrelAttachments = Read(split, "AllowBarrelAttachments", allowBarrelAttachments);
-			allowScopeAttachments = Read(split, "AllowScopeAttachments", allowScopeAttachments);
-			allowStockAttachments = Read(split, "AllowStockAttachments", allowStockAttachments);
-			allowGripAttachments = Read(split, "AllowGripAttachments", allowGripAttachments);
-			numGenericAttachmentSlots = Read(split, "NumGenericAttachmentSlots", numGenericAttachmentSlots);
-			
 			//Shield settings
 			if(split[0].toLowerCase().equals("shield"))
 			{
@@ -418,7 +417,10 @@ public class GunType extends PaintableType implements IScope
 	/** To be overriden by subtypes for model reloading */
 	public void reloadModel()
 	{
-		model = FlansMod.proxy.loadModel(modelString, shortName, ModelGun.class);
+		if(model != null)
+			model.unload();
+		if(deployableModel != null)
+			deployableModel.unload();
 	}
 
 	@Override
@@ -457,26 +459,14 @@ public class GunType extends PaintableType implements IScope
 	/** Returns all attachments currently attached to the specified gun */
 	public ArrayList<AttachmentType> getCurrentAttachments(ItemStack gun)
 	{
-		checkForTags(gun);
-		ArrayList<AttachmentType> attachments = new ArrayList<AttachmentType>();
-		NBTTagCompound attachmentTags = gun.getTagCompound().getCompoundTag("attachments");
-		NBTTagList genericsList = attachmentTags.getTagList("generics", (byte)10); //TODO : Check this 10 is correct
-		for(int i = 0; i < numGenericAttachmentSlots; i++)
-		{
-			appendToList(gun, "generic_" + i, attachments);
-		}
-		appendToList(gun, "barrel", attachments);
-		appendToList(gun, "scope", attachments);
-		appendToList(gun, "stock", attachments);
-		appendToList(gun, "grip", attachments);
-		return attachments;
+		return new ArrayList<AttachmentType>(getStats(gun).attachments);
 	}
 	
-	/** Private method for attaching attachments to a list of attachments with a nullcheck */
-	private void appendToList(ItemStack gun, String name, ArrayList<AttachmentType> attachments)
+	/** Returns the stats of the specified gun with its attachments applied. Cached until the attachments change */
+	public GunStats getStats(ItemStack gun)
 	{
-		AttachmentType type = getAttachment(gun, name);
-		if(type != null) attachments.add(type);
+		checkForTags(gun);
+		return GunStats.get(this, gun.getTagCompound().getCompoundTag("attachments"));
 	}
 	
 	//Attachment getter methods
@@ -533,99 +523,60 @@ public class GunType extends PaintableType implements IScope
 	/** Get the melee damage of a specific gun, taking into account attachments */
 	public float getMeleeDamage(ItemStack stack)
 	{
-		float stackMeleeDamage = meleeDamage;
-		for(AttachmentType attachment : getCurrentAttachments(stack))
-		{
-			stackMeleeDamage *= attachment.meleeDamageMultiplier;
-		}
-		return stackMeleeDamage;
+		return getStats(stack).meleeDamage;
 	}
 	
 	/** Get the damage of a specific gun, taking into account attachments */
 	public float getDamage(ItemStack stack)
 	{
-		float stackDamage = damage;
-		for(AttachmentType attachment : getCurrentAttachments(stack))
-		{
-			stackDamage *= attachment.damageMultiplier;
-		}
-		return stackDamage;
+		return getStats(stack).damage;
 	}
 
 	/** Get the bullet spread of a specific gun, taking into account attachments */
 	public float getSpread(ItemStack stack)
 	{
-		float stackSpread = bulletSpread;
-		for(AttachmentType attachment : getCurrentAttachments(stack))
-		{
-			stackSpread *= attachment.spreadMultiplier;
-		}
-		return stackSpread;
+		return getStats(stack).spread;
 	}
 	
 	/** Get the recoil of a specific gun, taking into account attachments */
 	public float getRecoil(ItemStack stack)
 	{
-		float stackRecoil = recoil;
-		for(AttachmentType attachment : getCurrentAttachments(stack))
-		{
-			stackRecoil *= attachment.recoilMultiplier;
-		}
-		return stackRecoil;
+		return getStats(stack).recoil;
 	}
 	
 	/** Get the bullet speed of a specific gun, taking into account attachments */
 	public float getBulletSpeed(ItemStack stack)
 	{
-		float stackBulletSpeed = bulletSpeed;
-		for(AttachmentType attachment : getCurrentAttachments(stack))
-		{
-			stackBulletSpeed *= attachment.bulletSpeedMultiplier;
-		}
-		return stackBulletSpeed;
+		return getStats(stack).bulletSpeed;
 	}
 	
 	/** Get the reload time of a specific gun, taking into account attachments */
 	public float getReloadTime(ItemStack stack)
 	{
-		float stackReloadTime = reloadTime;
-		for(AttachmentType attachment : getCurrentAttachments(stack))
-		{
-			stackReloadTime *= attachment.reloadTimeMultiplier;
-		}
-		return stackReloadTime;
+		return getStats(stack).reloadTime;
 	}
 	
 	/** Get the firing mode of a specific gun, taking into account attachments */
 	public EnumFireMode getFireMode(ItemStack stack)
 	{
-		for(AttachmentType attachment : getCurrentAttachments(stack))
-		{
-			if(attachment.modeOverride != null)
-				return attachment.modeOverride;
-		}
-		return mode;
+		return getStats(stack).fireMode;
 	}
 	
 	public float GetShootDelay(ItemStack stack)
 	{
-		for(AttachmentType attachment : getCurrentAttachments(stack))
-		{
-			if(attachment.modeOverride == EnumFireMode.BURST)
-				return Math.max(shootDelay, 3);
-		}
-		return shootDelay;
+		return getStats(stack).shootDelay;
 	}
 
 	/** Static String to GunType method */
 	public static GunType getGun(String s)
 	{
-		return guns.get(s.hashCode());
+		return guns.get(s);
 	}
 	
-	public static GunType getGun(int hash)
+	public static GunType getGun(int typeID)
 	{
-		return guns.get(hash);
+		InfoType type = getType(typeID);
+		return type instanceof GunType ? (GunType)type : null;
 	}
 
 	@Override
@@ -635,11 +586,25 @@ public class GunType extends PaintableType implements IScope
 
 	@Override
 	@SideOnly(Side.CLIENT)
-	public ModelBase GetModel()
+	public ModelGun GetModel()
+	{
+		return model == null ? null : model.get();
+	}
+	
+	@Override
+	@SideOnly(Side.CLIENT)
+	public ModelHandle<?> getModelHandle()
 	{
 		return model;
 	}
 	
+	/** The model to render when this gun is deployed, or null if it has none */
+	@SideOnly(Side.CLIENT)
+	public ModelMG getDeployableModel()
+	{
+		return deployableModel == null ? null : deployableModel.get();
+	}
+	
 	@Override
 	public float GetRecommendedScale()
 	{
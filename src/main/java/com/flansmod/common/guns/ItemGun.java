@@ -26,7 +26,6 @@ import com.flansmod.common.guns.ShotData.SpawnEntityShotData;
 import com.flansmod.common.guns.raytracing.EnumHitboxType;
 import com.flansmod.common.guns.raytracing.FlansModRaytracer;
 import com.flansmod.common.guns.raytracing.PlayerHitbox;
-import com.flansmod.common.guns.raytracing.PlayerSnapshot;
 import com.flansmod.common.guns.raytracing.FlansModRaytracer.BlockHit;
 import com.flansmod.common.guns.raytracing.FlansModRaytracer.BulletHit;
 import com.flansmod.common.guns.raytracing.FlansModRaytracer.DriveableHit;
@@ -37,6 +36,7 @@ import com.flansmod.common.network.PacketPlaySound;
 import com.flansmod.common.network.PacketReload;
 import com.flansmod.common.network.PacketSelectOffHandGun;
 import com.flansmod.common.network.PacketShotData;
+import com.flansmod.common.network.ShotDataBroadcaster;
 import com.flansmod.common.teams.EntityFlag;
 import com.flansmod.common.teams.EntityFlagpole;
 import com.flansmod.common.teams.EntityGunItem;
@@ -119,7 +119,7 @@ public class ItemGun extends Item implements IPaintableItem
 		else return isOffHand ? lastRightMouseHeld : lastLeftMouseHeld;
 	}
 	
-	private static List<ShotData> shotsFiredClient = new ArrayList<ShotData>(), shotsFiredServer = new ArrayList<ShotData>();
+	private static List<ShotData> shotsFiredClient = new ArrayList<ShotData>();
 	
 	public ItemGun(GunType type)
 	{
@@ -391,8 +391,8 @@ public class ItemGun extends Item implements IPaintableItem
 					
 					GunAnimations animations = FlansModClient.getGunAnimations(player, isOffHand);
 
-					int pumpDelay = type.model == null ? 0 : type.model.pumpDelayAfterReload;
-					int pumpTime = type.model == null ? 1 : type.model.pumpTime;
+					int pumpDelay = type.GetModel() == null ? 0 : type.GetModel().pumpDelayAfterReload;
+					int pumpTime = type.GetModel() == null ? 1 : type.GetModel().pumpTime;
 					animations.doReload(type.reloadTime, pumpDelay, pumpTime);
 					
 					if(isOffHand)
@@ -432,9 +432,11 @@ public class ItemGun extends Item implements IPaintableItem
 					// Instant bullets. Do a raytrace
 					if(type.bulletSpeed == 0.0f)
 					{
-						for(int i = 0; i < type.numBullets * shootableType.numBullets; i++)
+						int numPellets = type.numBullets * shootableType.numBullets;
+						Vector3f rayTraceOrigin = new Vector3f(player.getPositionEyes(0.0f));
+						List<Vector3f> rayTraceDirections = new ArrayList<Vector3f>(numPellets);
+						for(int i = 0; i < numPellets; i++)
 						{
-							Vector3f rayTraceOrigin = new Vector3f(player.getPositionEyes(0.0f));
 							Vector3f rayTraceDirection = new Vector3f(player.getLookVec());
 							
 							float spread = 0.0025f * type.getSpread(gunstack) * shootableType.bulletSpread;
@@ -444,8 +446,25 @@ public class ItemGun extends Item implements IPaintableItem
 							rayTraceDirection.z += (float)world.rand.nextGaussian() * spread;
 							
 							rayTraceDirection.scale(500.0f);
-							
-							List<BulletHit> hits = FlansModRaytracer.Raytrace(world, player, false, null, rayTraceOrigin, rayTraceDirection, 0);
+							rayTraceDirections.add(rayTraceDirection);
+						}
+						
+						// Trace all the pellets together so that the world is only searched once per shot
+						List<List<BulletHit>> pelletHits = FlansModRaytracer.Raytrace(world, player, false, null, rayTraceOrigin, rayTraceDirections, 0);
+						
+						Vector3f gunOrigin = FlansModRaytracer.GetPlayerMuzzlePosition(player, isOffHand);
+						
+						if(FlansMod.DEBUG)
+						{
+							world.spawnEntityInWorld(new EntityDebugDot(world, gunOrigin, 100, 1.0f, 1.0f, 1.0f));
+						}
+						
+						boolean silenced = type.getBarrel(gunstack) != null && type.getBarrel(gunstack).silencer;
+						
+						for(int i = 0; i < numPellets; i++)
+						{
+							Vector3f rayTraceDirection = rayTraceDirections.get(i);
+							List<BulletHit> hits = pelletHits.get(i);
 							Entity victim = null;
 							Vector3f hitPos = Vector3f.add(rayTraceOrigin, rayTraceDirection, null);
 							BulletHit firstHit = null;
@@ -456,15 +475,7 @@ public class ItemGun extends Item implements IPaintableItem
 								victim = firstHit.GetEntity();
 							}
 							
-							Vector3f gunOrigin = FlansModRaytracer.GetPlayerMuzzlePosition(player, isOffHand);
-							
-							if(FlansMod.DEBUG)
-							{
-								world.spawnEntityInWorld(new EntityDebugDot(world, gunOrigin, 100, 1.0f, 1.0f, 1.0f));
-							}
-							
-							boolean silenced = type.getBarrel(gunstack) != null && type.getBarrel(gunstack).silencer;
-							ShotData shotData = new InstantShotData(gunSlot, type, shootableType, player, gunOrigin, firstHit, hitPos, type.getDamage(gunstack), i < type.numBullets * shootableType.numBullets - 1, silenced);
+							ShotData shotData = new InstantShotData(gunSlot, type, shootableType, player, gunOrigin, firstHit, hitPos, type.getDamage(gunstack), i < numPellets - 1, silenced);
 							shotsFiredClient.add(shotData);
 						}
 					}
@@ -476,8 +487,8 @@ public class ItemGun extends Item implements IPaintableItem
 					}
 
 					// Now do client side things					
-					int pumpDelay = type.model == null ? 0 : type.model.pumpDelay;
-					int pumpTime = type.model == null ? 1 : type.model.pumpTime;
+					int pumpDelay = type.GetModel() == null ? 0 : type.GetModel().pumpDelay;
+					int pumpTime = type.GetModel() == null ? 1 : type.GetModel().pumpTime;
 					animations.doShoot(pumpDelay, pumpTime);
 					FlansModClient.playerRecoil += type.getRecoil(gunstack);
 					animations.recoil += type.getRecoil(gunstack);
@@ -642,7 +653,7 @@ public class ItemGun extends Item implements IPaintableItem
 					
 					DoInstantShot(world, player, type, (BulletType)bullet, instantData.origin, instantData.hitPos, instantData.hitData, type.getDamage(gunstack), isExtraBullet, silenced);
 					
-					shotsFiredServer.add(shotData);
+					ShotDataBroadcaster.add(world, instantData);
 				}
 			}
 		}
@@ -782,12 +793,6 @@ public class ItemGun extends Item implements IPaintableItem
 			}
 			return;
 		}
-		
-		if(!shotsFiredServer.isEmpty())// && entity.ticksExisted % SERVER_TO_CLIENT_UPDATE_INTERVAL == 0)
-		{
-			FlansMod.getPacketHandler().sendToDimension(new PacketShotData(shotsFiredServer), player.dimension );
-			shotsFiredServer.clear();
-		}
 	}
 	
 	/** Generic update method. If we have an off hand weapon, it will also make calls for that 
@@ -992,26 +997,11 @@ public class ItemGun extends Item implements IPaintableItem
 									{
 										continue;
 									}
-									int snapshotToTry = player instanceof EntityPlayerMP ? ((EntityPlayerMP)player).ping / 50 : 0;
-									if(snapshotToTry >= otherData.snapshots.length)
-										snapshotToTry = otherData.snapshots.length - 1;
-									
-									PlayerSnapshot snapshot = otherData.snapshots[snapshotToTry];
-									if(snapshot == null)
-										snapshot = otherData.snapshots[0];
-									
-									//DEBUG
-									//snapshot = new PlayerSnapshot(player);
+									int ping = player instanceof EntityPlayerMP ? ((EntityPlayerMP)player).ping : 0;
 									
-									//Check one last time for a null snapshot. If this is the case, fall back to normal hit detection
-									if(snapshot == null)
+									//Raytrace. If there are no snapshots yet, fall back to normal hit detection
+									if(!FlansModRaytracer.RaytraceSnapshots(otherData, ping, data.lastMeleePositions[k] == null ? nextPosInWorldCoords : data.lastMeleePositions[k], dPos, hits))
 										shouldDoNormalHitDetect = true;
-									else
-									{
-										//Raytrace
-										ArrayList<BulletHit> playerHits = snapshot.raytrace(data.lastMeleePositions[k] == null ? nextPosInWorldCoords : data.lastMeleePositions[k], dPos);
-										hits.addAll(playerHits);
-									}
 								}
 								
 								//If we couldn't get a snapshot, use normal entity hitbox calculations
@@ -6,7 +6,9 @@ import net.minecraft.client.model.ModelBase;
 
 import com.flansmod.common.FlansMod;
 import com.flansmod.common.types.InfoType;
+import com.flansmod.common.types.ModelHandle;
 import com.flansmod.common.types.TypeFile;
+import com.flansmod.common.types.TypeParser;
 
 import net.minecraftforge.fml.common.FMLCommonHandler;
 import net.minecraftforge.fml.relauncher.Side;
@@ -17,7 +19,7 @@ public abstract class ShootableType extends InfoType
 	//Aesthetics
 	/** The model to render for this grenade in the world */
 	@SideOnly(Side.CLIENT)
-	public ModelBase model;
+	public ModelHandle<ModelBase> model;
 	/** Whether trail particles are given off */
 	public boolean trailParticles = false;
 	/** Trail particles given off by this while being thrown */
@@ -70,8 +72,19 @@ public abstract class ShootableType extends InfoType
 	public String detonateSound = "";
 	
 	/** The static list of all shootable types */
-	public static HashMap<Integer, ShootableType> shootables = new HashMap<Integer, ShootableType>();
+	public static HashMap<String, ShootableType> shootables = new HashMap<String, ShootableType>();
 	
+	static
+	{
+		TypeParser.register(ShootableType.class)
+			.custom("Model", "StackSize", "MaxStackSize", "DropItemOnShoot", "DropItemOnReload", "DropItemOnHit",
+				"RoundsPerItem", "NumBullets", "Accuracy", "Spread", "FallSpeed", "ThrowSpeed", "ShootSpeed",
+				"HitBoxSize", "HitEntityDamage", "DamageVsLiving", "DamageVsPlayer", "DamageVsVehicles", "Damage",
+				"BreaksGlass", "Fuse", "DespawnTime", "ExplodeOnImpact", "DetonateOnImpact", "FireRadius", "Fire",
+				"ExplosionRadius", "Explosion", "ExplosionBreaksBlocks", "DropItemOnDetonate", "DetonateSound",
+				"TrailParticles", "SmokeTrail", "TrailParticleType");
+	}
+
 	public ShootableType(TypeFile file) 
 	{
 		super(file);
@@ -80,7 +93,7 @@ public abstract class ShootableType extends InfoType
 	@Override
 	public void postRead(TypeFile file)
 	{
-		shootables.put(shortName.hashCode(), this);
+		shootables.put(shortName, this);
 	}
 	
 	@Override
@@ -91,7 +104,7 @@ public abstract class ShootableType extends InfoType
 		{
 			//Model and Texture
 			if(FMLCommonHandler.instance().getSide().isClient() && split[0].equals("Model"))
-				model = FlansMod.proxy.loadModel(split[1], shortName, ModelBase.class);
+				model = new ModelHandle<ModelBase>(split[1], shortName, ModelBase.class);
 			
 			//Item Stuff
 			else if(split[0].equals("StackSize") || split[0].equals("MaxStackSize"))
@@ -164,12 +177,13 @@ public abstract class ShootableType extends InfoType
 
 	public static ShootableType getShootableType(String string) 
 	{
-		return shootables.get(string.hashCode());
+		return shootables.get(string);
 	}
 	
-	public static ShootableType getShootableType(int hash) 
+	public static ShootableType getShootableType(int typeID) 
 	{
-		return shootables.get(hash);
+		InfoType type = getType(typeID);
+		return type instanceof ShootableType ? (ShootableType)type : null;
 	}
 
 	@Override
@@ -177,9 +191,23 @@ public abstract class ShootableType extends InfoType
 	{
 	}
 
+	@Override
+	public void reloadModel()
+	{
+		if(model != null)
+			model.unload();
+	}
+	
 	@Override
 	@SideOnly(Side.CLIENT)
 	public ModelBase GetModel()
+	{
+		return model == null ? null : model.get();
+	}
+	
+	@Override
+	@SideOnly(Side.CLIENT)
+	public ModelHandle<?> getModelHandle()
 	{
 		return model;
 	}
@@ -1,8 +1,8 @@
 package com.flansmod.common.guns.boxes;
 
-import com.flansmod.common.FlansMod;
 import com.flansmod.common.types.InfoType;
 import com.flansmod.common.types.TypeFile;
+import com.flansmod.common.types.TypeParser;
 
 import net.minecraft.client.model.ModelBase;
 import net.minecraftforge.fml.relauncher.Side;
@@ -14,26 +14,17 @@ public abstract class BoxType extends InfoType
 	public String sideTexturePath;
 	public String bottomTexturePath;
 	
-	public BoxType(TypeFile file) 
+	static
 	{
-		super(file);
+		TypeParser.register(BoxType.class)
+			.field("TopTexture", "topTexturePath")
+			.field("BottomTexture", "bottomTexturePath")
+			.field("SideTexture", "sideTexturePath");
 	}
 
-	@Override
-	protected void read(String[] split, TypeFile file)
+	public BoxType(TypeFile file) 
 	{
-		super.read(split, file);
-		try
-		{		
-			topTexturePath = Read(split, "TopTexture", topTexturePath);
-			bottomTexturePath = Read(split, "BottomTexture", bottomTexturePath);
-			sideTexturePath = Read(split, "SideTexture", sideTexturePath);
-		} 
-		catch (Exception e)
-		{
-			FlansMod.log("Reading box file failed : " + shortName);
-			e.printStackTrace();
-		}
+		super(file);
 	}
 
 	@Override
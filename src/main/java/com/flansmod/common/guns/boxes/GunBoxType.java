@@ -18,6 +18,7 @@ import com.flansmod.common.guns.ShootableType;
 import com.flansmod.common.guns.boxes.GunBoxType.GunBoxEntry;
 import com.flansmod.common.types.InfoType;
 import com.flansmod.common.types.TypeFile;
+import com.flansmod.common.types.TypeParser;
 
 public class GunBoxType extends BoxType
 {
@@ -35,6 +36,13 @@ public class GunBoxType extends BoxType
 	private static int lastIconIndex = 2;
 	public static HashMap<String, GunBoxType> gunBoxMap = new HashMap<String, GunBoxType>();
 	
+	static
+	{
+		TypeParser.register(GunBoxType.class)
+			.custom("SetPage", "AddGun", "AddType", "AddAmmo", "AddAltType", "AddAltAmmo", "AddAlternateAmmo")
+			.ignore("NumGuns");
+	}
+
 	public GunBoxType(TypeFile file)
 	{
 		super(file);
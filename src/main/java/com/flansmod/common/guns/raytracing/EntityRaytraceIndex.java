@@ -0,0 +1,151 @@
+package com.flansmod.common.guns.raytracing;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+import com.flansmod.common.PlayerData;
+import com.flansmod.common.PlayerHandler;
+import com.flansmod.common.driveables.EntityDriveable;
+import com.flansmod.common.guns.EntityAAGun;
+import com.flansmod.common.guns.EntityGrenade;
+import com.flansmod.common.vector.Vector3f;
+
+import net.minecraft.entity.Entity;
+import net.minecraft.entity.EntityLivingBase;
+import net.minecraft.entity.player.EntityPlayer;
+import net.minecraft.util.AxisAlignedBB;
+import net.minecraft.world.World;
+
+/** Per-world broadphase for {@link FlansModRaytracer#Raytrace}. The index is rebuilt lazily the first time a world is
+ * raytraced in a given tick, and entities that join the world part way through the tick are added as they spawn */
+public class EntityRaytraceIndex
+{
+	/** The cell size. Same as a chunk section */
+	private static final float CELL_SIZE = 16F;
+	/** Extra room around player boxes to cover the hitboxes and any shields sticking out of them */
+	private static final double PLAYER_MARGIN = 3D;
+	/** Extra room around everything else, since entities keep moving after the index is built */
+	private static final double ENTITY_MARGIN = 1D;
+
+	private static final Map<World, EntityRaytraceIndex> indices = new WeakHashMap<World, EntityRaytraceIndex>();
+
+	private final SpatialHashGrid<Entity> grid = new SpatialHashGrid<Entity>(CELL_SIZE);
+	/** The world time this index was last rebuilt at */
+	private long builtAt = Long.MIN_VALUE;
+
+	/** Gets the index for this world, rebuilding it if it was built on a previous tick */
+	public static EntityRaytraceIndex get(World world)
+	{
+		EntityRaytraceIndex index;
+		synchronized(indices)
+		{
+			index = indices.get(world);
+			if(index == null)
+			{
+				index = new EntityRaytraceIndex();
+				indices.put(world, index);
+			}
+		}
+		if(index.builtAt != world.getTotalWorldTime())
+			index.rebuild(world);
+		return index;
+	}
+
+	/** Drops the index of an unloaded world, along with the entities it still holds */
+	public static void onWorldUnload(World world)
+	{
+		synchronized(indices)
+		{
+			indices.remove(world);
+		}
+	}
+
+	/** Called when an entity joins a world so that it can be shot at in the same tick */
+	public static void onEntityJoinWorld(Entity entity)
+	{
+		EntityRaytraceIndex index;
+		synchronized(indices)
+		{
+			index = indices.get(entity.worldObj);
+		}
+		if(index != null && index.builtAt == entity.worldObj.getTotalWorldTime())
+			index.add(entity);
+	}
+
+	private void rebuild(World world)
+	{
+		grid.clear();
+		for(int i = 0; i < world.loadedEntityList.size(); i++)
+		{
+			add((Entity)world.loadedEntityList.get(i));
+		}
+		builtAt = world.getTotalWorldTime();
+	}
+
+	private void add(Entity entity)
+	{
+		if(entity.isDead)
+			return;
+
+		double speed = Math.sqrt(entity.motionX * entity.motionX + entity.motionY * entity.motionY + entity.motionZ * entity.motionZ);
+
+		if(entity instanceof EntityDriveable)
+		{
+			//Matches the bullet detection radius used by the raytracer
+			double radius = ((EntityDriveable)entity).getDriveableType().bulletDetectionRadius + speed + ENTITY_MARGIN;
+			grid.insert(entity, entity.posX - radius, entity.posY - radius, entity.posZ - radius, entity.posX + radius, entity.posY + radius, entity.posZ + radius);
+		}
+		else if(entity instanceof EntityPlayer)
+		{
+			//Lag compensated hitboxes can be anywhere the player has been in the last few snapshots, so cover all of them
+			double minX = entity.posX, minY = entity.posY, minZ = entity.posZ;
+			double maxX = minX, maxY = minY, maxZ = minZ;
+			PlayerData data = PlayerHandler.getPlayerData((EntityPlayer)entity);
+			if(data != null)
+			{
+				for(int i = 0; i < data.snapshots.size(); i++)
+				{
+					float x = data.snapshots.getPosX(i), y = data.snapshots.getPosY(i), z = data.snapshots.getPosZ(i);
+					minX = Math.min(minX, x); minY = Math.min(minY, y); minZ = Math.min(minZ, z);
+					maxX = Math.max(maxX, x); maxY = Math.max(maxY, y); maxZ = Math.max(maxZ, z);
+				}
+			}
+			double margin = PLAYER_MARGIN + speed;
+			grid.insert(entity, minX - margin, minY - margin, minZ - margin, maxX + margin, maxY + margin, maxZ + margin);
+		}
+		else if(entity instanceof EntityLivingBase || entity instanceof EntityAAGun || entity instanceof EntityGrenade)
+		{
+			AxisAlignedBB box = entity.getEntityBoundingBox();
+			if(box == null)
+				return;
+			double margin = ENTITY_MARGIN + speed;
+			grid.insert(entity, box.minX - margin, box.minY - margin, box.minZ - margin, box.maxX + margin, box.maxY + margin, box.maxZ + margin);
+		}
+	}
+
+	/** Gets all the entities that a bullet travelling from origin to origin + motion could possibly hit */
+	public List<Entity> getCandidates(Vector3f origin, Vector3f motion)
+	{
+		ArrayList<Entity> candidates = new ArrayList<Entity>();
+		grid.query(origin.x, origin.y, origin.z, motion.x, motion.y, motion.z, candidates);
+		return candidates;
+	}
+
+	/** Gets all the entities that any of several bullets from the same origin could possibly hit, each entity only once */
+	public List<Entity> getCandidates(Vector3f origin, List<Vector3f> motions)
+	{
+		float[] packed = new float[motions.size() * 3];
+		for(int i = 0; i < motions.size(); i++)
+		{
+			Vector3f motion = motions.get(i);
+			packed[i * 3] = motion.x;
+			packed[i * 3 + 1] = motion.y;
+			packed[i * 3 + 2] = motion.z;
+		}
+		ArrayList<Entity> candidates = new ArrayList<Entity>();
+		grid.query(origin.x, origin.y, origin.z, packed, candidates);
+		return candidates;
+	}
+}
@@ -15,6 +15,7 @@ import com.flansmod.common.guns.EntityGrenade;
 import com.flansmod.common.guns.GunType;
 import com.flansmod.common.guns.ItemGun;
 import com.flansmod.common.teams.Team;
+import com.flansmod.common.teams.TeamsManager;
 import com.flansmod.common.vector.Vector3f;
 
 import io.netty.buffer.ByteBuf;
@@ -37,78 +38,183 @@ public class FlansModRaytracer
 	
 	public static List<BulletHit> Raytrace(World world, Entity playerToIgnore, boolean canHitSelf, Entity entityToIgnore, Vector3f origin, Vector3f motion, int pingOfShooter)
 	{
-		//Create a list for all bullet hits
-		ArrayList<BulletHit> hits = new ArrayList<BulletHit>();
-				
-		float speed = motion.length();
+		return Raytrace(world, playerToIgnore, canHitSelf, entityToIgnore, origin, Collections.singletonList(motion), pingOfShooter).get(0);
+	}
+	
+	/** Raytraces several rays from the same origin at once, such as the pellets of a shotgun. Candidate entities are gathered
+	 * once for all of the rays, lag compensated players are only looked up once and rays in the same direction share a block trace
+	 * @return a sorted list of hits for each ray, in the same order as the motions */
+	public static List<List<BulletHit>> Raytrace(World world, Entity playerToIgnore, boolean canHitSelf, Entity entityToIgnore, Vector3f origin, List<Vector3f> motions, int pingOfShooter)
+	{
+		//Create a list for the bullet hits of each ray
+		List<List<BulletHit>> hits = new ArrayList<List<BulletHit>>(motions.size());
+		for(int i = 0; i < motions.size(); i++)
+			hits.add(new ArrayList<BulletHit>());
 		
-		//Iterate over all entities
-		for(int i = 0; i < world.loadedEntityList.size(); i++)
+		if(FlansMod.useRaytraceBroadphase)
 		{
-			Object obj = world.loadedEntityList.get(i);
-			boolean shouldDoNormalHitDetect = true;
-			//Get driveables
-			if(obj instanceof EntityDriveable)
+			//Only check entities whose broadphase cells lie along the path of one of the rays
+			EntityRaytraceIndex index = EntityRaytraceIndex.get(world);
+			List<Entity> candidates = motions.size() == 1 ? index.getCandidates(origin, motions.get(0)) : index.getCandidates(origin, motions);
+			for(int i = 0; i < candidates.size(); i++)
 			{
-				EntityDriveable driveable = (EntityDriveable)obj;
-				shouldDoNormalHitDetect = false;
-				
-				if(driveable.isDead() || driveable.isPartOfThis(playerToIgnore))
-					continue;
+				RaytraceEntity(candidates.get(i), playerToIgnore, canHitSelf, entityToIgnore, origin, motions, pingOfShooter, hits);
+			}
+		}
+		else
+		{
+			//Iterate over all entities
+			for(int i = 0; i < world.loadedEntityList.size(); i++)
+			{
+				RaytraceEntity(world.loadedEntityList.get(i), playerToIgnore, canHitSelf, entityToIgnore, origin, motions, pingOfShooter, hits);
+			}
+		}
+		
+		MovingObjectPosition[] blockHits = new MovingObjectPosition[motions.size()];
+		for(int i = 0; i < motions.size(); i++)
+		{
+			Vector3f motion = motions.get(i);
+			
+			//Pellets fired without spread go the same way, so only trace the blocks once
+			int sameAs = -1;
+			for(int j = 0; j < i && sameAs == -1; j++)
+			{
+				Vector3f other = motions.get(j);
+				if(other.x == motion.x && other.y == motion.y && other.z == motion.z)
+					sameAs = j;
+			}
+			
+			//Ray trace the bullet by comparing its next position to its current position
+			Vec3 posVec = origin.toVec3();
+			if(sameAs != -1)
+				blockHits[i] = blockHits[sameAs];
+			else
+			{
+				Vec3 nextPosVec = motion.toVec3().add(posVec);
+				blockHits[i] = world.rayTraceBlocks(posVec, nextPosVec, false, true, true);
+			}
+			MovingObjectPosition hit = blockHits[i];
+			
+			if(hit != null)
+			{
+				//Calculate the lambda value of the intercept
+				Vec3 hitVec = posVec.subtract(hit.hitVec);
+				float lambda = 1;
+				//Try each co-ordinate one at a time.
+				if(motion.x != 0)
+					lambda = (float)(hitVec.xCoord / motion.x);
+				else if(motion.y != 0)
+					lambda = (float)(hitVec.yCoord / motion.y);
+				else if(motion.z != 0)
+					lambda = (float)(hitVec.zCoord / motion.z);
 				
+				if(lambda < 0)
+					lambda = -lambda;
+				hits.get(i).add(new BlockHit(hit, lambda));
+			}
+			
+			//We hit something
+			if(!hits.get(i).isEmpty())
+			{
+				//Sort the hits according to the intercept position
+				Collections.sort(hits.get(i));
+			}
+		}
+		
+		return hits;
+	}
+	
+	/** Raytraces the lag compensated hitboxes of a player, as they were when a shooter with this ping saw them.
+	 * The rewind is capped by the current gametype, if there is one
+	 * @return false if the player has no snapshots yet */
+	public static boolean RaytraceSnapshots(PlayerData data, int pingOfShooter, Vector3f origin, Vector3f motion, List<BulletHit> hits)
+	{
+		int rewind = GetLagCompensation(pingOfShooter);
+
+		if(FlansMod.interpolateLagCompensation)
+			return data.snapshots.raytraceAtTime(System.currentTimeMillis() - rewind, origin, motion, hits);
+		return data.snapshots.raytrace(rewind / 50, origin, motion, hits);
+	}
+
+	/** Raytraces several rays from the same origin against the lag compensated hitboxes of a player, which are only looked up once */
+	public static boolean RaytraceSnapshots(PlayerData data, int pingOfShooter, Vector3f origin, List<Vector3f> motions, List<List<BulletHit>> hits)
+	{
+		int rewind = GetLagCompensation(pingOfShooter);
+
+		if(FlansMod.interpolateLagCompensation)
+			return data.snapshots.raytraceAtTime(System.currentTimeMillis() - rewind, origin, motions, hits);
+		return data.snapshots.raytrace(rewind / 50, origin, motions, hits);
+	}
+
+	/** Gets how far back to rewind players for a shooter with this ping, in milliseconds, capped by the current gametype */
+	private static int GetLagCompensation(int pingOfShooter)
+	{
+		int rewind = Math.max(pingOfShooter, 0);
+		TeamsManager teamsManager = TeamsManager.getInstance();
+		if(teamsManager != null && teamsManager.currentRound != null && teamsManager.currentRound.gametype != null)
+			rewind = Math.min(rewind, teamsManager.currentRound.gametype.maxLagCompensation);
+		return rewind;
+	}
+
+	/** Tests a single entity against each of the rays and adds anything they hit to the matching list */
+	private static void RaytraceEntity(Object obj, Entity playerToIgnore, boolean canHitSelf, Entity entityToIgnore, Vector3f origin, List<Vector3f> motions, int pingOfShooter, List<List<BulletHit>> hits)
+	{
+		boolean shouldDoNormalHitDetect = true;
+		//Get driveables
+		if(obj instanceof EntityDriveable)
+		{
+			EntityDriveable driveable = (EntityDriveable)obj;
+			shouldDoNormalHitDetect = false;
+			
+			if(driveable.isDead() || driveable.isPartOfThis(playerToIgnore))
+				return;
+			
+			for(int i = 0; i < motions.size(); i++)
+			{
+				Vector3f motion = motions.get(i);
+				float speed = motion.length();
 				//If this bullet is within the driveable's detection range
 				if(driveable.getDistanceSq(origin.x, origin.y, origin.z) <= (driveable.getDriveableType().bulletDetectionRadius + speed) * (driveable.getDriveableType().bulletDetectionRadius + speed))
 				{
 					//Raytrace the bullet
 					ArrayList<BulletHit> driveableHits = driveable.attackFromBullet(origin, motion);
-					hits.addAll(driveableHits);
+					hits.get(i).addAll(driveableHits);
 				}
 			}
-			//Get players
-			else if(obj instanceof EntityPlayer)
+		}
+		//Get players
+		else if(obj instanceof EntityPlayer)
+		{
+			EntityPlayer player = (EntityPlayer)obj;
+			PlayerData data = PlayerHandler.getPlayerData(player);
+			shouldDoNormalHitDetect = false;
+			if(data != null)
 			{
-				EntityPlayer player = (EntityPlayer)obj;
-				PlayerData data = PlayerHandler.getPlayerData(player);
-				shouldDoNormalHitDetect = false;
-				if(data != null)
+				if(player.isDead || data.team == Team.spectators)
 				{
-					if(player.isDead || data.team == Team.spectators)
-					{
-						continue;
-					}
-					if(player == playerToIgnore && !canHitSelf)
-						continue;
-					int snapshotToTry = pingOfShooter / 50;
-					if(snapshotToTry >= data.snapshots.length)
-						snapshotToTry = data.snapshots.length - 1;
-					
-					PlayerSnapshot snapshot = data.snapshots[snapshotToTry];
-					if(snapshot == null)
-						snapshot = data.snapshots[0];
-					
-					//DEBUG
-					//snapshot = new PlayerSnapshot(player);
-					
-					//Check one last time for a null snapshot. If this is the case, fall back to normal hit detection
-					if(snapshot == null)
-						shouldDoNormalHitDetect = true;
-					else
-					{
-						//Raytrace
-						ArrayList<BulletHit> playerHits = snapshot.raytrace(origin, motion);
-						hits.addAll(playerHits);
-					}
+					return;
 				}
+				if(player == playerToIgnore && !canHitSelf)
+					return;
+				//Raytrace. If there are no snapshots yet, fall back to normal hit detection
+				boolean hasSnapshots = motions.size() == 1 ? RaytraceSnapshots(data, pingOfShooter, origin, motions.get(0), hits.get(0)) 
+						: RaytraceSnapshots(data, pingOfShooter, origin, motions, hits);
+				if(!hasSnapshots)
+					shouldDoNormalHitDetect = true;
 			}
+		}
 
-			if(shouldDoNormalHitDetect)
+		if(shouldDoNormalHitDetect)
+		{
+			Entity entity = (Entity)obj;
+			if(entity != entityToIgnore && entity != playerToIgnore 
+					&& !entity.isDead 
+					&& (entity instanceof EntityLivingBase || entity instanceof EntityAAGun || entity instanceof EntityGrenade) 
+					&& entity.getEntityBoundingBox() != null)
 			{
-				Entity entity = (Entity)obj;
-				if(entity != entityToIgnore && entity != playerToIgnore 
-						&& !entity.isDead 
-						&& (entity instanceof EntityLivingBase || entity instanceof EntityAAGun || entity instanceof EntityGrenade) 
-						&& entity.getEntityBoundingBox() != null)
+				for(int i = 0; i < motions.size(); i++)
 				{
+					Vector3f motion = motions.get(i);
 					MovingObjectPosition mop = entity.getEntityBoundingBox().calculateIntercept(origin.toVec3(), new Vec3(origin.x + motion.x, origin.y + motion.y, origin.z + motion.z));
 					if(mop != null)
 					{
@@ -123,45 +229,11 @@ public class FlansModRaytracer
 						if(hitLambda < 0)
 							hitLambda = -hitLambda;
 						
-						hits.add(new EntityHit(entity, hitLambda));
+						hits.get(i).add(new EntityHit(entity, hitLambda));
 					}
 				}
 			}
 		}
-		
-		//Ray trace the bullet by comparing its next position to its current position
-		Vec3 posVec = origin.toVec3();
-		Vec3 nextPosVec = motion.toVec3().add(posVec);
-		MovingObjectPosition hit = world.rayTraceBlocks(posVec, nextPosVec, false, true, true);
-		
-		posVec = origin.toVec3();
-		
-		if(hit != null)
-		{
-			//Calculate the lambda value of the intercept
-			Vec3 hitVec = posVec.subtract(hit.hitVec);
-			float lambda = 1;
-			//Try each co-ordinate one at a time.
-			if(motion.x != 0)
-				lambda = (float)(hitVec.xCoord / motion.x);
-			else if(motion.y != 0)
-				lambda = (float)(hitVec.yCoord / motion.y);
-			else if(motion.z != 0)
-				lambda = (float)(hitVec.zCoord / motion.z);
-			
-			if(lambda < 0)
-				lambda = -lambda;
-			hits.add(new BlockHit(hit, lambda));
-		}
-		
-		//We hit something
-		if(!hits.isEmpty())
-		{
-			//Sort the hits according to the intercept position
-			Collections.sort(hits);
-		}
-		
-		return hits;
 	}
 	
 	public static Vector3f GetPlayerMuzzlePosition(EntityPlayer player, boolean isOffHand)
@@ -78,73 +78,81 @@ public class PlayerHitbox
 		origin = axes.findGlobalVectorLocally(origin);
 		motion = axes.findGlobalVectorLocally(motion);
 		
+		float intersectTime = intersect(origin.x, origin.y, origin.z, motion.x, motion.y, motion.z, o.x, o.y, o.z, d.x, d.y, d.z);
+		return Float.isNaN(intersectTime) ? null : new PlayerBulletHit(this, intersectTime);
+	}
+	
+	/** Finds where a ray, already in the local coordinates of a box, enters that box. Shared with {@link PlayerSnapshotBuffer} 
+	 * @return The time along the ray of the intersection, or NaN if there is none */
+	public static float intersect(float originX, float originY, float originZ, float motionX, float motionY, float motionZ, float oX, float oY, float oZ, float dX, float dY, float dZ)
+	{
 		//We now have an AABB starting at o and with dimensions d and our ray in the same coordinate system
 		//We are looking for a point at which the ray enters the box, so we need only consider faces that the ray can see. Partition the space into 3 areas in each axis
 		
 		//X - axis and faces x = o.x and x = o.x + d.x
-		if(motion.x != 0F)
+		if(motionX != 0F)
 		{
-			if(origin.x < o.x) //Check face x = o.x
+			if(originX < oX) //Check face x = o.x
 			{
-				float intersectTime = (o.x - origin.x) / motion.x;
-				float intersectY = origin.y + motion.y * intersectTime;
-				float intersectZ = origin.z + motion.z * intersectTime;
-				if(intersectY >= o.y && intersectY <= o.y + d.y && intersectZ >= o.z && intersectZ <= o.z + d.z)
-					return new PlayerBulletHit(this, intersectTime);
+				float intersectTime = (oX - originX) / motionX;
+				float intersectY = originY + motionY * intersectTime;
+				float intersectZ = originZ + motionZ * intersectTime;
+				if(intersectY >= oY && intersectY <= oY + dY && intersectZ >= oZ && intersectZ <= oZ + dZ)
+					return intersectTime;
 			}
-			else if(origin.x > o.x + d.x) //Check face x = o.x + d.x
+			else if(originX > oX + dX) //Check face x = o.x + d.x
 			{
-				float intersectTime = (o.x + d.x - origin.x) / motion.x;
-				float intersectY = origin.y + motion.y * intersectTime;
-				float intersectZ = origin.z + motion.z * intersectTime;
-				if(intersectY >= o.y && intersectY <= o.y + d.y && intersectZ >= o.z && intersectZ <= o.z + d.z)
-					return new PlayerBulletHit(this, intersectTime);
+				float intersectTime = (oX + dX - originX) / motionX;
+				float intersectY = originY + motionY * intersectTime;
+				float intersectZ = originZ + motionZ * intersectTime;
+				if(intersectY >= oY && intersectY <= oY + dY && intersectZ >= oZ && intersectZ <= oZ + dZ)
+					return intersectTime;
 			}
 		}
 		
 		//Z - axis and faces z = o.z and z = o.z + d.z
-		if(motion.z != 0F)
+		if(motionZ != 0F)
 		{
-			if(origin.z < o.z) //Check face z = o.z
+			if(originZ < oZ) //Check face z = o.z
 			{
-				float intersectTime = (o.z - origin.z) / motion.z;
-				float intersectX = origin.x + motion.x * intersectTime;
-				float intersectY = origin.y + motion.y * intersectTime;
-				if(intersectX >= o.x && intersectX <= o.x + d.x && intersectY >= o.y && intersectY <= o.y + d.y)
-					return new PlayerBulletHit(this, intersectTime);
+				float intersectTime = (oZ - originZ) / motionZ;
+				float intersectX = originX + motionX * intersectTime;
+				float intersectY = originY + motionY * intersectTime;
+				if(intersectX >= oX && intersectX <= oX + dX && intersectY >= oY && intersectY <= oY + dY)
+					return intersectTime;
 			}
-			else if(origin.z > o.z + d.z) //Check face z = o.z + d.z
+			else if(originZ > oZ + dZ) //Check face z = o.z + d.z
 			{
-				float intersectTime = (o.z + d.z - origin.z) / motion.z;
-				float intersectX = origin.x + motion.x * intersectTime;
-				float intersectY = origin.y + motion.y * intersectTime;
-				if(intersectX >= o.x && intersectX <= o.x + d.x && intersectY >= o.y && intersectY <= o.y + d.y)
-					return new PlayerBulletHit(this, intersectTime);
+				float intersectTime = (oZ + dZ - originZ) / motionZ;
+				float intersectX = originX + motionX * intersectTime;
+				float intersectY = originY + motionY * intersectTime;
+				if(intersectX >= oX && intersectX <= oX + dX && intersectY >= oY && intersectY <= oY + dY)
+					return intersectTime;
 			}
 		}
 		
 		//Y - axis and faces y = o.y and y = o.y + d.y
-		if(motion.y != 0F)
+		if(motionY != 0F)
 		{
-			if(origin.y < o.y) //Check face y = o.y
+			if(originY < oY) //Check face y = o.y
 			{
-				float intersectTime = (o.y - origin.y) / motion.y;
-				float intersectX = origin.x + motion.x * intersectTime;
-				float intersectZ = origin.z + motion.z * intersectTime;
-				if(intersectX >= o.x && intersectX <= o.x + d.x && intersectZ >= o.z && intersectZ <= o.z + d.z)
-					return new PlayerBulletHit(this, intersectTime);
+				float intersectTime = (oY - originY) / motionY;
+				float intersectX = originX + motionX * intersectTime;
+				float intersectZ = originZ + motionZ * intersectTime;
+				if(intersectX >= oX && intersectX <= oX + dX && intersectZ >= oZ && intersectZ <= oZ + dZ)
+					return intersectTime;
 			}
-			else if(origin.y > o.y + d.y) //Check face x = o.x + d.x
+			else if(originY > oY + dY) //Check face x = o.x + d.x
 			{
-				float intersectTime = (o.y + d.y - origin.y) / motion.y;
-				float intersectX = origin.x + motion.x * intersectTime;
-				float intersectZ = origin.z + motion.z * intersectTime;
-				if(intersectX >= o.x && intersectX <= o.x + d.x && intersectZ >= o.z && intersectZ <= o.z + d.z)
-					return new PlayerBulletHit(this, intersectTime);
+				float intersectTime = (oY + dY - originY) / motionY;
+				float intersectX = originX + motionX * intersectTime;
+				float intersectZ = originZ + motionZ * intersectTime;
+				if(intersectX >= oX && intersectX <= oX + dX && intersectZ >= oZ && intersectZ <= oZ + dZ)
+					return intersectTime;
 			}
 		}
 
-		return null;
+		return Float.NaN;
 	}
 
 	public float hitByBullet(DamageSource source, Entity damageOwner, InfoType firedFrom, BulletType bulletType, float damage, float penetratingPower) 
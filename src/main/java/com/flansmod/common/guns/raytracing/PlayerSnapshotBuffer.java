@@ -0,0 +1,565 @@
+package com.flansmod.common.guns.raytracing;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.flansmod.common.FlansMod;
+import com.flansmod.common.PlayerData;
+import com.flansmod.common.PlayerHandler;
+import com.flansmod.common.RotatedAxes;
+import com.flansmod.common.guns.AttachmentType;
+import com.flansmod.common.guns.GunType;
+import com.flansmod.common.guns.ItemGun;
+import com.flansmod.common.guns.raytracing.FlansModRaytracer.BulletHit;
+import com.flansmod.common.guns.raytracing.FlansModRaytracer.PlayerBulletHit;
+import com.flansmod.common.vector.Matrix4f;
+import com.flansmod.common.vector.Vector3f;
+
+import net.minecraft.entity.player.EntityPlayer;
+import net.minecraft.item.ItemStack;
+import net.minecraft.util.MathHelper;
+
+/** A fixed size circular buffer of player hitbox snapshots, stored in flat float arrays so that taking a snapshot
+ * every tick does not allocate anything. Slots are addressed by how many ticks ago they were taken, 0 being the newest.
+ * {@link PlayerSnapshot} and {@link PlayerHitbox} objects are only built when something asks for them, such as a hit */
+public class PlayerSnapshotBuffer
+{
+	/** Body, head, two arms and two shields */
+	private static final int MAX_HITBOXES = 6;
+
+	//Offsets into the per hitbox data
+	/** The 3x3 axes of the hitbox, as held by its RotatedAxes matrix, column major */
+	private static final int AXES = 0;
+	/** The 3x3 matrix taking global vectors into the local space of the hitbox, column major */
+	private static final int GLOBAL_TO_LOCAL = 9;
+	/** The origin of rotation */
+	private static final int ROTATION_POINT = 18;
+	/** The lower corner of the box */
+	private static final int ORIGIN = 21;
+	/** The size of the box */
+	private static final int DIMENSIONS = 24;
+	/** The yaw, pitch and roll of the axes in degrees, used to interpolate between snapshots */
+	private static final int ANGLES = 27;
+	private static final int HITBOX_STRIDE = 30;
+
+	private static final EnumHitboxType[] hitboxTypeValues = EnumHitboxType.values();
+
+	/** The player these snapshots were last taken of */
+	private EntityPlayer player;
+	private final int capacity;
+	/** The slot of the newest snapshot */
+	private int head = -1;
+	/** The number of snapshots taken since the last clear, up to the capacity */
+	private int count;
+
+	private final float[] positions;
+	/** The server time, in milliseconds, at which each snapshot was taken */
+	private final long[] times;
+	private final int[] hitboxCounts;
+	private final byte[] hitboxTypes;
+	private final float[] hitboxData;
+
+	//Scratch space for building snapshots
+	private final float[] bodyMatrix = new float[9], headMatrix = new float[9], leftArmMatrix = new float[9], rightArmMatrix = new float[9];
+	private final float[] bodyAngles = new float[3];
+
+	//The hitboxes to raytrace against, picked out of the buffer or blended between two snapshots, laid out like the hitbox data
+	private final float[] resolved = new float[MAX_HITBOXES * HITBOX_STRIDE];
+	private final byte[] resolvedTypes = new byte[MAX_HITBOXES];
+	private final float[] resolvedPosition = new float[3];
+	private int resolvedCount;
+
+	public PlayerSnapshotBuffer(int capacity)
+	{
+		this.capacity = capacity;
+		positions = new float[capacity * 3];
+		times = new long[capacity];
+		hitboxCounts = new int[capacity];
+		hitboxTypes = new byte[capacity * MAX_HITBOXES];
+		hitboxData = new float[capacity * MAX_HITBOXES * HITBOX_STRIDE];
+	}
+
+	public int capacity()
+	{
+		return capacity;
+	}
+
+	public int size()
+	{
+		return count;
+	}
+
+	/** Forgets all snapshots, such as when the player dies */
+	public void clear()
+	{
+		head = -1;
+		count = 0;
+	}
+
+	/** Gets the slot for a snapshot taken a number of ticks ago. Asking for more than the buffer holds gives the oldest,
+	 * and asking for one that has not been taken yet gives the newest. Returns -1 if there are no snapshots at all */
+	private int getSlot(int ticksAgo)
+	{
+		if(count == 0)
+			return -1;
+		if(ticksAgo >= capacity)
+			ticksAgo = capacity - 1;
+		if(ticksAgo >= count || ticksAgo < 0)
+			ticksAgo = 0;
+		return (head - ticksAgo + capacity) % capacity;
+	}
+
+	public boolean hasSnapshot(int ticksAgo)
+	{
+		return getSlot(ticksAgo) != -1;
+	}
+
+	public float getPosX(int ticksAgo) { return positions[getSlot(ticksAgo) * 3]; }
+	public float getPosY(int ticksAgo) { return positions[getSlot(ticksAgo) * 3 + 1]; }
+	public float getPosZ(int ticksAgo) { return positions[getSlot(ticksAgo) * 3 + 2]; }
+	public long getTime(int ticksAgo) { return times[getSlot(ticksAgo)]; }
+
+	/** Takes a new snapshot of the player, overwriting the oldest one if the buffer is full */
+	public void takeSnapshot(EntityPlayer p)
+	{
+		player = p;
+		head = (head + 1) % capacity;
+		if(count < capacity)
+			count++;
+
+		int slot = head;
+		times[slot] = System.currentTimeMillis();
+		positions[slot * 3] = (float)p.posX;
+		positions[slot * 3 + 1] = (float)p.posY;
+		positions[slot * 3 + 2] = (float)p.posZ;
+		hitboxCounts[slot] = 0;
+
+		//Body axes : new RotatedAxes(p.renderYawOffset, 0F, 0F)
+		setAngles(bodyMatrix, p.renderYawOffset, 0F, 0F);
+		toAngles(bodyMatrix, bodyAngles);
+
+		//Head axes : new RotatedAxes(p.rotationYawHead - p.renderYawOffset, 0F, -p.rotationPitch), then moved into body space
+		setAngles(headMatrix, p.rotationYawHead - p.renderYawOffset, 0F, -p.rotationPitch);
+		localToGlobal(headMatrix, bodyAngles);
+
+		addHitbox(slot, bodyMatrix, 0F, 0F, 0F, -0.25F, 0F, -0.15F, 0.5F, 1.4F, 0.3F, EnumHitboxType.BODY);
+		addHitbox(slot, headMatrix, 0.0F, 1.4F, 0F, -0.25F, 0F, -0.25F, 0.5F, 0.5F, 0.5F, EnumHitboxType.HEAD);
+
+		//Calculate rotation of arms using modified code from ModelBiped
+		float yHead = (p.rotationYawHead - p.renderYawOffset) / (180F / (float)Math.PI);
+		float xHead = p.rotationPitch / (180F / (float)Math.PI);
+
+		float zRight = 0.0F;
+		float zLeft = 0.0F;
+		float yRight = -0.1F + yHead - ((float)Math.PI / 2F);
+		float yLeft = 0.1F + yHead + 0.4F - ((float)Math.PI / 2F);
+		float xRight = -((float)Math.PI / 2F) + xHead;
+		float xLeft = -((float)Math.PI / 2F) + xHead;
+
+		zRight += MathHelper.cos(p.ticksExisted * 0.09F) * 0.05F + 0.05F;
+		zLeft -= MathHelper.cos(p.ticksExisted * 0.09F) * 0.05F + 0.05F;
+		xRight += MathHelper.sin(p.ticksExisted * 0.067F) * 0.05F;
+		xLeft -= MathHelper.sin(p.ticksExisted * 0.067F) * 0.05F;
+
+		identity(leftArmMatrix);
+		rotate(leftArmMatrix, xLeft, 0F, 0F, 1F);
+		rotate(leftArmMatrix, (float)Math.PI + yLeft, 0F, 1F, 0F);
+		rotate(leftArmMatrix, -zLeft, 1F, 0F, 0F);
+		localToGlobal(leftArmMatrix, bodyAngles);
+
+		identity(rightArmMatrix);
+		rotate(rightArmMatrix, xRight, 0F, 0F, 1F);
+		rotate(rightArmMatrix, (float)Math.PI + yRight, 0F, 1F, 0F);
+		rotate(rightArmMatrix, -zRight, 1F, 0F, 0F);
+		localToGlobal(rightArmMatrix, bodyAngles);
+
+		float originZRight = MathHelper.sin(-p.renderYawOffset * 3.14159265F / 180F) * 5.0F / 16F;
+		float originXRight = -MathHelper.cos(-p.renderYawOffset * 3.14159265F / 180F) * 5.0F / 16F;
+
+		float originZLeft = -MathHelper.sin(-p.renderYawOffset * 3.14159265F / 180F) * 5.0F / 16F;
+		float originXLeft  = MathHelper.cos(-p.renderYawOffset * 3.14159265F / 180F) * 5.0F / 16F;
+
+		addHitbox(slot, leftArmMatrix, originXLeft, 1.3F, originZLeft, -2F / 16F, -0.6F, -2F / 16F, 0.25F, 0.7F, 0.25F, EnumHitboxType.LEFTARM);
+		addHitbox(slot, rightArmMatrix, originXRight, 1.3F, originZRight, -2F / 16F, -0.6F, -2F / 16F, 0.25F, 0.7F, 0.25F, EnumHitboxType.RIGHTARM);
+
+		//Add box for right hand shield
+		ItemStack playerRightHandStack = p.getCurrentEquippedItem();
+		if(playerRightHandStack != null && playerRightHandStack.getItem() instanceof ItemGun)
+		{
+			GunType gunType = ((ItemGun)playerRightHandStack.getItem()).GetType();
+			if(gunType.shield)
+			{
+				addHitbox(slot, rightArmMatrix, originXRight, 1.3F, originZRight,
+						gunType.shieldOrigin.y, -1.05F + gunType.shieldOrigin.x, -1F / 16F + gunType.shieldOrigin.z,
+						gunType.shieldDimensions.y, gunType.shieldDimensions.x, gunType.shieldDimensions.z, EnumHitboxType.RIGHTITEM);
+			}
+
+			//Add left hand shield box
+			PlayerData data = PlayerHandler.getPlayerData(p);
+			if(gunType.oneHanded && data.offHandGunSlot != 0)
+			{
+				ItemStack leftHandStack = null;
+				//Client side other players
+				if(p.worldObj.isRemote && !FlansMod.proxy.isThePlayer(p))
+					leftHandStack = data.offHandGunStack;
+				else leftHandStack = p.inventory.getStackInSlot(data.offHandGunSlot - 1);
+
+				if(leftHandStack != null && leftHandStack.getItem() instanceof ItemGun)
+				{
+					GunType leftGunType = ((ItemGun)leftHandStack.getItem()).GetType();
+					if(leftGunType.shield)
+					{
+						addHitbox(slot, leftArmMatrix, originXLeft, 1.3F, originZLeft,
+								leftGunType.shieldOrigin.y, -1.05F + leftGunType.shieldOrigin.x, -1F / 16F + leftGunType.shieldOrigin.z,
+								leftGunType.shieldDimensions.y, leftGunType.shieldDimensions.x, leftGunType.shieldDimensions.z, EnumHitboxType.LEFTITEM);
+					}
+				}
+			}
+		}
+	}
+
+	private void addHitbox(int slot, float[] axes, float rPX, float rPY, float rPZ, float oX, float oY, float oZ, float dX, float dY, float dZ, EnumHitboxType type)
+	{
+		int index = slot * MAX_HITBOXES + hitboxCounts[slot]++;
+		int base = index * HITBOX_STRIDE;
+		hitboxTypes[index] = (byte)type.ordinal();
+		System.arraycopy(axes, 0, hitboxData, base + AXES, 9);
+
+		toAngles(axes, 0, hitboxData, base + ANGLES);
+		setGlobalToLocal(hitboxData, base);
+
+		hitboxData[base + ROTATION_POINT] = rPX;
+		hitboxData[base + ROTATION_POINT + 1] = rPY;
+		hitboxData[base + ROTATION_POINT + 2] = rPZ;
+		hitboxData[base + ORIGIN] = oX;
+		hitboxData[base + ORIGIN + 1] = oY;
+		hitboxData[base + ORIGIN + 2] = oZ;
+		hitboxData[base + DIMENSIONS] = dX;
+		hitboxData[base + DIMENSIONS + 1] = dY;
+		hitboxData[base + DIMENSIONS + 2] = dZ;
+	}
+
+	/** Raytraces the snapshot from some ticks ago, straight from the arrays. Hits between 0 and 1 are added to the list.
+	 * @return false if there are no snapshots to test against, in which case the caller should fall back to normal hit detection */
+	public boolean raytrace(int ticksAgo, Vector3f origin, Vector3f motion, List<BulletHit> hits)
+	{
+		if(!resolve(ticksAgo))
+			return false;
+		raytraceResolved(origin, motion, hits);
+		return true;
+	}
+
+	/** Raytraces several rays from one origin against the snapshot from some ticks ago. Hits for each ray go in the matching list */
+	public boolean raytrace(int ticksAgo, Vector3f origin, List<Vector3f> motions, List<List<BulletHit>> hits)
+	{
+		if(!resolve(ticksAgo))
+			return false;
+		for(int i = 0; i < motions.size(); i++)
+			raytraceResolved(origin, motions.get(i), hits.get(i));
+		return true;
+	}
+
+	/** Raytraces the player as they were at some server time, blending the hitboxes of the two snapshots either side of it.
+	 * Times outside of the buffer use the newest or oldest snapshot.
+	 * @return false if there are no snapshots to test against, in which case the caller should fall back to normal hit detection */
+	public boolean raytraceAtTime(long time, Vector3f origin, Vector3f motion, List<BulletHit> hits)
+	{
+		if(!resolveAtTime(time))
+			return false;
+		raytraceResolved(origin, motion, hits);
+		return true;
+	}
+
+	/** Raytraces several rays from one origin against the player as they were at some server time.
+	 * The hitboxes are only blended once for all of the rays. Hits for each ray go in the matching list */
+	public boolean raytraceAtTime(long time, Vector3f origin, List<Vector3f> motions, List<List<BulletHit>> hits)
+	{
+		if(!resolveAtTime(time))
+			return false;
+		for(int i = 0; i < motions.size(); i++)
+			raytraceResolved(origin, motions.get(i), hits.get(i));
+		return true;
+	}
+
+	/** Copies the snapshot from some ticks ago into the resolved hitboxes. Returns false if there are no snapshots */
+	private boolean resolve(int ticksAgo)
+	{
+		int slot = getSlot(ticksAgo);
+		if(slot == -1)
+			return false;
+		resolvedCount = hitboxCounts[slot];
+		System.arraycopy(positions, slot * 3, resolvedPosition, 0, 3);
+		System.arraycopy(hitboxTypes, slot * MAX_HITBOXES, resolvedTypes, 0, resolvedCount);
+		System.arraycopy(hitboxData, slot * MAX_HITBOXES * HITBOX_STRIDE, resolved, 0, resolvedCount * HITBOX_STRIDE);
+		return true;
+	}
+
+	/** Blends the two snapshots either side of a server time into the resolved hitboxes. Returns false if there are no snapshots */
+	private boolean resolveAtTime(long time)
+	{
+		if(count == 0)
+			return false;
+
+		//Find the newest snapshot taken at or before this time
+		int older = 0;
+		while(older < count && times[getSlot(older)] > time)
+			older++;
+		if(older == 0)
+			return resolve(0);
+		if(older == count)
+			return resolve(count - 1);
+
+		int olderSlot = getSlot(older), newerSlot = getSlot(older - 1);
+		long span = times[newerSlot] - times[olderSlot];
+		float alpha = span <= 0L ? 1F : (float)(time - times[olderSlot]) / (float)span;
+
+		//If the player swapped shields in between, the boxes don't line up, so just take the nearer snapshot
+		if(!hitboxesMatch(olderSlot, newerSlot))
+			return resolve(alpha < 0.5F ? older : older - 1);
+
+		resolvedCount = hitboxCounts[olderSlot];
+		for(int j = 0; j < 3; j++)
+			resolvedPosition[j] = lerp(positions[olderSlot * 3 + j], positions[newerSlot * 3 + j], alpha);
+
+		for(int i = 0; i < resolvedCount; i++)
+		{
+			int olderBase = (olderSlot * MAX_HITBOXES + i) * HITBOX_STRIDE;
+			int newerBase = (newerSlot * MAX_HITBOXES + i) * HITBOX_STRIDE;
+			int base = i * HITBOX_STRIDE;
+			for(int j = 0; j < 3; j++)
+			{
+				resolved[base + ROTATION_POINT + j] = lerp(hitboxData[olderBase + ROTATION_POINT + j], hitboxData[newerBase + ROTATION_POINT + j], alpha);
+				resolved[base + ORIGIN + j] = lerp(hitboxData[olderBase + ORIGIN + j], hitboxData[newerBase + ORIGIN + j], alpha);
+				resolved[base + DIMENSIONS + j] = lerp(hitboxData[olderBase + DIMENSIONS + j], hitboxData[newerBase + DIMENSIONS + j], alpha);
+				resolved[base + ANGLES + j] = lerpDegrees(hitboxData[olderBase + ANGLES + j], hitboxData[newerBase + ANGLES + j], alpha);
+			}
+			setAngles(resolved, base + AXES, resolved[base + ANGLES], resolved[base + ANGLES + 1], resolved[base + ANGLES + 2]);
+			setGlobalToLocal(resolved, base);
+			resolvedTypes[i] = hitboxTypes[olderSlot * MAX_HITBOXES + i];
+		}
+		return true;
+	}
+
+	/** Tests a ray against the resolved hitboxes, adding hits between 0 and 1 to the list */
+	private void raytraceResolved(Vector3f origin, Vector3f motion, List<BulletHit> hits)
+	{
+		//Get the bullet raytrace vector into local coordinates
+		float localX = origin.x - resolvedPosition[0];
+		float localY = origin.y - resolvedPosition[1];
+		float localZ = origin.z - resolvedPosition[2];
+
+		for(int i = 0; i < resolvedCount; i++)
+		{
+			float intersectTime = raytraceHitbox(resolved, i * HITBOX_STRIDE, localX, localY, localZ, motion);
+			if(intersectTime >= 0F && intersectTime <= 1F)
+			{
+				hits.add(new PlayerBulletHit(createHitbox(resolved, i * HITBOX_STRIDE, resolvedTypes[i]), intersectTime));
+			}
+		}
+	}
+
+	private boolean hitboxesMatch(int slotA, int slotB)
+	{
+		if(hitboxCounts[slotA] != hitboxCounts[slotB])
+			return false;
+		for(int i = 0; i < hitboxCounts[slotA]; i++)
+		{
+			if(hitboxTypes[slotA * MAX_HITBOXES + i] != hitboxTypes[slotB * MAX_HITBOXES + i])
+				return false;
+		}
+		return true;
+	}
+
+	/** Tests one hitbox, laid out from base in data, against a ray relative to the player position */
+	private static float raytraceHitbox(float[] data, int base, float localX, float localY, float localZ, Vector3f motion)
+	{
+		int g = base + GLOBAL_TO_LOCAL;
+
+		//Move to local coords for this hitbox
+		float x = localX - data[base + ROTATION_POINT];
+		float y = localY - data[base + ROTATION_POINT + 1];
+		float z = localZ - data[base + ROTATION_POINT + 2];
+		float oX = x * data[g] + y * data[g + 1] + z * data[g + 2];
+		float oY = x * data[g + 3] + y * data[g + 4] + z * data[g + 5];
+		float oZ = x * data[g + 6] + y * data[g + 7] + z * data[g + 8];
+		float mX = motion.x * data[g] + motion.y * data[g + 1] + motion.z * data[g + 2];
+		float mY = motion.x * data[g + 3] + motion.y * data[g + 4] + motion.z * data[g + 5];
+		float mZ = motion.x * data[g + 6] + motion.y * data[g + 7] + motion.z * data[g + 8];
+
+		return PlayerHitbox.intersect(oX, oY, oZ, mX, mY, mZ,
+				data[base + ORIGIN], data[base + ORIGIN + 1], data[base + ORIGIN + 2],
+				data[base + DIMENSIONS], data[base + DIMENSIONS + 1], data[base + DIMENSIONS + 2]);
+	}
+
+	/** Builds the hitbox object for one box, laid out from base in data */
+	private PlayerHitbox createHitbox(float[] data, int base, byte type)
+	{
+		Matrix4f mat = new Matrix4f();
+		mat.m00 = data[base + AXES]; mat.m01 = data[base + AXES + 1]; mat.m02 = data[base + AXES + 2];
+		mat.m10 = data[base + AXES + 3]; mat.m11 = data[base + AXES + 4]; mat.m12 = data[base + AXES + 5];
+		mat.m20 = data[base + AXES + 6]; mat.m21 = data[base + AXES + 7]; mat.m22 = data[base + AXES + 8];
+		return new PlayerHitbox(player, new RotatedAxes(mat),
+				new Vector3f(data[base + ROTATION_POINT], data[base + ROTATION_POINT + 1], data[base + ROTATION_POINT + 2]),
+				new Vector3f(data[base + ORIGIN], data[base + ORIGIN + 1], data[base + ORIGIN + 2]),
+				new Vector3f(data[base + DIMENSIONS], data[base + DIMENSIONS + 1], data[base + DIMENSIONS + 2]),
+				hitboxTypeValues[type]);
+	}
+
+	private PlayerHitbox createHitbox(int slot, int i)
+	{
+		return createHitbox(hitboxData, (slot * MAX_HITBOXES + i) * HITBOX_STRIDE, hitboxTypes[slot * MAX_HITBOXES + i]);
+	}
+
+	public PlayerHitbox GetHitbox(int ticksAgo, EnumHitboxType type)
+	{
+		int slot = getSlot(ticksAgo);
+		if(slot == -1)
+			return null;
+		for(int i = 0; i < hitboxCounts[slot]; i++)
+		{
+			if(hitboxTypes[slot * MAX_HITBOXES + i] == type.ordinal())
+				return createHitbox(slot, i);
+		}
+		return null;
+	}
+
+	public Vector3f GetMuzzleLocation(int ticksAgo, GunType gunType, AttachmentType barrelAttachment, boolean isOffHand)
+	{
+		PlayerHitbox hitbox = GetHitbox(ticksAgo, isOffHand ? EnumHitboxType.LEFTARM : EnumHitboxType.RIGHTARM);
+		if(hitbox == null)
+			return null;
+		return PlayerSnapshot.GetMuzzleLocation(hitbox, gunType, barrelAttachment);
+	}
+
+	/** Builds a full snapshot object, for code that wants to hold on to one. Returns null if there are no snapshots */
+	public PlayerSnapshot getSnapshot(int ticksAgo)
+	{
+		int slot = getSlot(ticksAgo);
+		if(slot == -1)
+			return null;
+		ArrayList<PlayerHitbox> hitboxes = new ArrayList<PlayerHitbox>(hitboxCounts[slot]);
+		for(int i = 0; i < hitboxCounts[slot]; i++)
+		{
+			hitboxes.add(createHitbox(slot, i));
+		}
+		return new PlayerSnapshot(player, new Vector3f(positions[slot * 3], positions[slot * 3 + 1], positions[slot * 3 + 2]), hitboxes);
+	}
+
+	//The following mirror the maths in RotatedAxes and Matrix4f on flat 3x3 column major arrays, so that snapshots match those built from objects
+
+	private static void identity(float[] m)
+	{
+		identity(m, 0);
+	}
+
+	private static void identity(float[] m, int offset)
+	{
+		m[offset] = 1F; m[offset + 1] = 0F; m[offset + 2] = 0F;
+		m[offset + 3] = 0F; m[offset + 4] = 1F; m[offset + 5] = 0F;
+		m[offset + 6] = 0F; m[offset + 7] = 0F; m[offset + 8] = 1F;
+	}
+
+	private static void rotate(float[] m, float angle, float ax, float ay, float az)
+	{
+		rotate(m, 0, angle, ax, ay, az);
+	}
+
+	/** Matrix4f.rotate on the 3x3 matrix starting at offset */
+	private static void rotate(float[] m, int offset, float angle, float ax, float ay, float az)
+	{
+		float c = (float) Math.cos(angle);
+		float s = (float) Math.sin(angle);
+		float oneminusc = 1.0f - c;
+		float xy = ax*ay;
+		float yz = ay*az;
+		float xz = ax*az;
+		float xs = ax*s;
+		float ys = ay*s;
+		float zs = az*s;
+
+		float f00 = ax*ax*oneminusc+c;
+		float f01 = xy*oneminusc+zs;
+		float f02 = xz*oneminusc-ys;
+		float f10 = xy*oneminusc-zs;
+		float f11 = ay*ay*oneminusc+c;
+		float f12 = yz*oneminusc+xs;
+		float f20 = xz*oneminusc+ys;
+		float f21 = yz*oneminusc-xs;
+		float f22 = az*az*oneminusc+c;
+
+		float m00 = m[offset], m01 = m[offset + 1], m02 = m[offset + 2];
+		float m10 = m[offset + 3], m11 = m[offset + 4], m12 = m[offset + 5];
+		float m20 = m[offset + 6], m21 = m[offset + 7], m22 = m[offset + 8];
+
+		m[offset] = m00 * f00 + m10 * f01 + m20 * f02;
+		m[offset + 1] = m01 * f00 + m11 * f01 + m21 * f02;
+		m[offset + 2] = m02 * f00 + m12 * f01 + m22 * f02;
+		m[offset + 3] = m00 * f10 + m10 * f11 + m20 * f12;
+		m[offset + 4] = m01 * f10 + m11 * f11 + m21 * f12;
+		m[offset + 5] = m02 * f10 + m12 * f11 + m22 * f12;
+		m[offset + 6] = m00 * f20 + m10 * f21 + m20 * f22;
+		m[offset + 7] = m01 * f20 + m11 * f21 + m21 * f22;
+		m[offset + 8] = m02 * f20 + m12 * f21 + m22 * f22;
+	}
+
+	/** RotatedAxes.convertAnglesToMatrix, angles in degrees */
+	private static void setAngles(float[] m, float yaw, float pitch, float roll)
+	{
+		setAngles(m, 0, yaw, pitch, roll);
+	}
+
+	private static void setAngles(float[] m, int offset, float yaw, float pitch, float roll)
+	{
+		identity(m, offset);
+		rotate(m, offset, roll * 3.14159265F / 180F, 1F, 0F, 0F);
+		rotate(m, offset, pitch * 3.14159265F / 180F, 0F, 0F, 1F);
+		rotate(m, offset, yaw * 3.14159265F / 180F, 0F, 1F, 0F);
+	}
+
+	/** RotatedAxes.convertMatrixToAngles, giving yaw, pitch and roll in degrees */
+	private static void toAngles(float[] m, float[] angles)
+	{
+		toAngles(m, 0, angles, 0);
+	}
+
+	private static void toAngles(float[] m, int offset, float[] angles, int anglesOffset)
+	{
+		angles[anglesOffset] = (float)Math.atan2(m[offset + 6], m[offset]) * 180F / 3.14159265F;
+		angles[anglesOffset + 1] = (float)Math.atan2(-m[offset + 3], Math.sqrt(m[offset + 5] * m[offset + 5] + m[offset + 4] * m[offset + 4])) * 180F / 3.14159265F;
+		angles[anglesOffset + 2] = (float)Math.atan2(m[offset + 5], m[offset + 4]) * 180F / 3.14159265F;
+	}
+
+	/** RotatedAxes.findGlobalVectorLocally undoes the yaw, pitch and roll of the axes in turn. Bake that into one matrix */
+	private static void setGlobalToLocal(float[] data, int base)
+	{
+		int g = base + GLOBAL_TO_LOCAL;
+		identity(data, g);
+		rotate(data, g, -data[base + ANGLES] * 3.14159265F / 180F, 0F, 1F, 0F);
+		rotate(data, g, -data[base + ANGLES + 1] * 3.14159265F / 180F, 0F, 0F, 1F);
+		rotate(data, g, -data[base + ANGLES + 2] * 3.14159265F / 180F, 1F, 0F, 0F);
+	}
+
+	private static float lerp(float a, float b, float alpha)
+	{
+		return a + (b - a) * alpha;
+	}
+
+	/** Interpolates angles the short way round */
+	private static float lerpDegrees(float a, float b, float alpha)
+	{
+		float difference = b - a;
+		while(difference > 180F)
+			difference -= 360F;
+		while(difference < -180F)
+			difference += 360F;
+		return a + difference * alpha;
+	}
+
+	/** RotatedAxes.findLocalAxesGlobally, where the outer axes are given by their angles */
+	private static void localToGlobal(float[] m, float[] outerAngles)
+	{
+		rotate(m, outerAngles[2] * 3.14159265F / 180F, 1F, 0F, 0F);
+		rotate(m, outerAngles[1] * 3.14159265F / 180F, 0F, 0F, 1F);
+		rotate(m, outerAngles[0] * 3.14159265F / 180F, 0F, 1F, 0F);
+	}
+}
@@ -0,0 +1,170 @@
+package com.flansmod.common.guns.raytracing;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Set;
+
+/** A uniform grid of cubic cells, keyed like chunk sections, that objects are dropped into according to their bounds.
+ * Segments are then walked cell by cell so that only objects near the path of a bullet need to be tested.
+ * Has no Minecraft dependencies so that it can be benchmarked on its own */
+public class SpatialHashGrid<T>
+{
+	/** Objects spanning more cells than this in any axis are kept in a separate list that every query checks */
+	private static final int MAX_CELLS_PER_AXIS = 8;
+	/** Stops a single huge query from walking the grid forever */
+	private static final int MAX_CELLS_PER_QUERY = 4096;
+
+	/** The side length of a cell. 16 lines the cells up with chunk sections */
+	private final float cellSize;
+	private final HashMap<Long, ArrayList<T>> cells = new HashMap<Long, ArrayList<T>>();
+	private final ArrayList<T> oversized = new ArrayList<T>();
+	/** Reused between queries to stop objects in several cells being returned twice */
+	private final Set<T> seen = Collections.newSetFromMap(new IdentityHashMap<T, Boolean>());
+	private int size;
+
+	public SpatialHashGrid(float cellSize)
+	{
+		this.cellSize = cellSize;
+	}
+
+	public void clear()
+	{
+		cells.clear();
+		oversized.clear();
+		size = 0;
+	}
+
+	public int size()
+	{
+		return size;
+	}
+
+	/** Adds an object to every cell its bounds touch */
+	public void insert(T obj, double minX, double minY, double minZ, double maxX, double maxY, double maxZ)
+	{
+		int x0 = cell(minX), y0 = cell(minY), z0 = cell(minZ);
+		int x1 = cell(maxX), y1 = cell(maxY), z1 = cell(maxZ);
+		size++;
+
+		if(x1 - x0 >= MAX_CELLS_PER_AXIS || y1 - y0 >= MAX_CELLS_PER_AXIS || z1 - z0 >= MAX_CELLS_PER_AXIS)
+		{
+			oversized.add(obj);
+			return;
+		}
+
+		for(int x = x0; x <= x1; x++)
+			for(int y = y0; y <= y1; y++)
+				for(int z = z0; z <= z1; z++)
+				{
+					Long key = key(x, y, z);
+					ArrayList<T> list = cells.get(key);
+					if(list == null)
+					{
+						list = new ArrayList<T>(4);
+						cells.put(key, list);
+					}
+					list.add(obj);
+				}
+	}
+
+	/** Collects every object whose cells are crossed by the segment from origin to origin + motion.
+	 * Candidates are not guaranteed to be hit, they still need a narrow phase check */
+	public void query(double ox, double oy, double oz, double mx, double my, double mz, Collection<T> result)
+	{
+		addOversized(result);
+		walk(ox, oy, oz, mx, my, mz, result);
+	}
+
+	/** Collects every object whose cells are crossed by any of several segments from the same origin, each object only once.
+	 * Motions are packed as x, y, z triples */
+	public void query(double ox, double oy, double oz, float[] motions, Collection<T> result)
+	{
+		addOversized(result);
+		for(int i = 0; i + 2 < motions.length; i += 3)
+		{
+			walk(ox, oy, oz, motions[i], motions[i + 1], motions[i + 2], result);
+		}
+	}
+
+	/** Starts a new query with the objects too big to put in cells */
+	private void addOversized(Collection<T> result)
+	{
+		seen.clear();
+		for(T obj : oversized)
+		{
+			if(seen.add(obj))
+				result.add(obj);
+		}
+	}
+
+	/** Adds objects along one segment that are not already in the seen set */
+	private void walk(double ox, double oy, double oz, double mx, double my, double mz, Collection<T> result)
+	{
+		if(cells.isEmpty())
+			return;
+
+		//Walk the cells along the segment (Amanatides & Woo)
+		int x = cell(ox), y = cell(oy), z = cell(oz);
+		int endX = cell(ox + mx), endY = cell(oy + my), endZ = cell(oz + mz);
+		int stepX = mx > 0 ? 1 : -1, stepY = my > 0 ? 1 : -1, stepZ = mz > 0 ? 1 : -1;
+
+		double tDeltaX = mx != 0 ? cellSize / Math.abs(mx) : Double.MAX_VALUE;
+		double tDeltaY = my != 0 ? cellSize / Math.abs(my) : Double.MAX_VALUE;
+		double tDeltaZ = mz != 0 ? cellSize / Math.abs(mz) : Double.MAX_VALUE;
+		double tMaxX = mx != 0 ? ((mx > 0 ? (x + 1) * cellSize - ox : ox - x * cellSize) / Math.abs(mx)) : Double.MAX_VALUE;
+		double tMaxY = my != 0 ? ((my > 0 ? (y + 1) * cellSize - oy : oy - y * cellSize) / Math.abs(my)) : Double.MAX_VALUE;
+		double tMaxZ = mz != 0 ? ((mz > 0 ? (z + 1) * cellSize - oz : oz - z * cellSize) / Math.abs(mz)) : Double.MAX_VALUE;
+
+		for(int i = 0; i < MAX_CELLS_PER_QUERY; i++)
+		{
+			ArrayList<T> list = cells.get(key(x, y, z));
+			if(list != null)
+			{
+				for(int j = 0; j < list.size(); j++)
+				{
+					T obj = list.get(j);
+					if(seen.add(obj))
+						result.add(obj);
+				}
+			}
+
+			if(x == endX && y == endY && z == endZ)
+				break;
+
+			if(tMaxX < tMaxY && tMaxX < tMaxZ)
+			{
+				if(tMaxX > 1D)
+					break;
+				x += stepX;
+				tMaxX += tDeltaX;
+			}
+			else if(tMaxY < tMaxZ)
+			{
+				if(tMaxY > 1D)
+					break;
+				y += stepY;
+				tMaxY += tDeltaY;
+			}
+			else
+			{
+				if(tMaxZ > 1D)
+					break;
+				z += stepZ;
+				tMaxZ += tDeltaZ;
+			}
+		}
+	}
+
+	private int cell(double d)
+	{
+		return (int)Math.floor(d / cellSize);
+	}
+
+	private static Long key(int x, int y, int z)
+	{
+		return Long.valueOf(((long)(x & 0x3FFFFF) << 42) | ((long)(y & 0xFFFFF) << 22) | (long)(z & 0x3FFFFF));
+	}
+}
@@ -0,0 +1,184 @@
+package com.flansmod.common.network;
+
+/** One end of the compact driveable sync carried by {@link PacketDriveableControl}. A driveable has one of these for the
+ * packets it sends and one for the packets it receives. Both ends hold the same quantized copy of the last state sent,
+ * so a packet only needs the fields that changed since then. Positions are sent as small steps from that copy, angles
+ * as 16 bit fractions of a turn and everything else in fixed point. Every so often a keyframe carries the full state so
+ * that players who have just come into range, or have missed packets, can catch up */
+public class DriveableSyncState
+{
+	public static final int POS_X = 0, POS_Y = 1, POS_Z = 2;
+	public static final int YAW = 3, PITCH = 4, ROLL = 5;
+	public static final int MOT_X = 6, MOT_Y = 7, MOT_Z = 8;
+	public static final int AVEL_X = 9, AVEL_Y = 10, AVEL_Z = 11;
+	public static final int THROTTLE = 12, FUEL = 13, STEERING = 14;
+	public static final int FIELDS = 15;
+	/** Set in the changed mask when the packet holds the full state */
+	public static final int KEYFRAME = 1 << 15;
+	public static final int ALL_FIELDS = (1 << FIELDS) - 1;
+
+	/** Position steps are 1/512 of a block, so a delta can move up to 64 blocks */
+	public static final double POSITION_SCALE = 512D;
+	/** 65536 steps to a full turn */
+	public static final double ANGLE_SCALE = 65536D / 360D;
+	/** Motion in 1/2048 blocks per tick, up to 16 blocks per tick */
+	public static final double MOTION_SCALE = 2048D;
+	public static final double ANGULAR_VELOCITY_SCALE = 256D;
+	public static final double THROTTLE_SCALE = 16384D;
+	/** Ticks between keyframes, and the longest gap between packets before the next one is sent as a keyframe */
+	public static final int KEYFRAME_INTERVAL = 20;
+
+	private boolean valid = false;
+	private int sequence;
+	private int lastSentTick, lastKeyframeTick;
+	private double posX, posY, posZ;
+	/** Quantized values of the other fields. The position slots are unused */
+	private final int[] values = new int[FIELDS];
+
+	/** Quantizes the state in a packet and fills in its changed mask and sequence, ready to be sent */
+	public void write(PacketDriveableControl packet, int tick)
+	{
+		quantize(packet);
+		int[] quantized = packet.quantized;
+		boolean keyframe = !valid || tick - lastKeyframeTick >= KEYFRAME_INTERVAL || tick - lastSentTick > KEYFRAME_INTERVAL || tick < lastSentTick;
+		if(!keyframe)
+		{
+			//Fall back on a keyframe if the driveable has moved too far to send as a step
+			long dx = Math.round((packet.posX - posX) * POSITION_SCALE);
+			long dy = Math.round((packet.posY - posY) * POSITION_SCALE);
+			long dz = Math.round((packet.posZ - posZ) * POSITION_SCALE);
+			if(!fitsInShort(dx) || !fitsInShort(dy) || !fitsInShort(dz))
+				keyframe = true;
+			else
+			{
+				quantized[POS_X] = (int)dx;
+				quantized[POS_Y] = (int)dy;
+				quantized[POS_Z] = (int)dz;
+			}
+		}
+
+		int changed = 0;
+		if(keyframe)
+		{
+			changed = KEYFRAME | ALL_FIELDS;
+			posX = packet.posX;
+			posY = packet.posY;
+			posZ = packet.posZ;
+			for(int i = YAW; i < FIELDS; i++)
+				values[i] = quantized[i];
+			lastKeyframeTick = tick;
+		}
+		else
+		{
+			for(int i = POS_X; i <= POS_Z; i++)
+			{
+				if(quantized[i] != 0)
+					changed |= 1 << i;
+			}
+			for(int i = YAW; i < FIELDS; i++)
+			{
+				if(quantized[i] != values[i])
+				{
+					changed |= 1 << i;
+					values[i] = quantized[i];
+				}
+			}
+			//Step from the rounded position, exactly as the receiver will, so that the two never drift apart
+			posX += quantized[POS_X] / POSITION_SCALE;
+			posY += quantized[POS_Y] / POSITION_SCALE;
+			posZ += quantized[POS_Z] / POSITION_SCALE;
+		}
+		valid = true;
+		sequence = (sequence + 1) & 0xff;
+		lastSentTick = tick;
+		packet.changed = changed;
+		packet.sequence = sequence;
+	}
+
+	/** Applies a received packet to this state and fills in the packet's position, rotation and so on from the result.
+	 * Returns false if the packet is a delta that cannot be applied, because the previous packet was never received */
+	public boolean read(PacketDriveableControl packet)
+	{
+		int[] quantized = packet.quantized;
+		if((packet.changed & KEYFRAME) != 0)
+		{
+			posX = packet.posX;
+			posY = packet.posY;
+			posZ = packet.posZ;
+			for(int i = YAW; i < FIELDS; i++)
+				values[i] = quantized[i];
+			valid = true;
+		}
+		else
+		{
+			if(!valid || packet.sequence != ((sequence + 1) & 0xff))
+			{
+				//Wait for the next keyframe
+				valid = false;
+				return false;
+			}
+			posX += quantized[POS_X] / POSITION_SCALE;
+			posY += quantized[POS_Y] / POSITION_SCALE;
+			posZ += quantized[POS_Z] / POSITION_SCALE;
+			for(int i = YAW; i < FIELDS; i++)
+			{
+				if((packet.changed & (1 << i)) != 0)
+					values[i] = quantized[i];
+			}
+		}
+		sequence = packet.sequence;
+
+		packet.posX = posX;
+		packet.posY = posY;
+		packet.posZ = posZ;
+		packet.yaw = (float)(values[YAW] / ANGLE_SCALE);
+		packet.pitch = (float)(values[PITCH] / ANGLE_SCALE);
+		packet.roll = (float)(values[ROLL] / ANGLE_SCALE);
+		packet.motX = values[MOT_X] / MOTION_SCALE;
+		packet.motY = values[MOT_Y] / MOTION_SCALE;
+		packet.motZ = values[MOT_Z] / MOTION_SCALE;
+		packet.avelx = (float)(values[AVEL_X] / ANGULAR_VELOCITY_SCALE);
+		packet.avely = (float)(values[AVEL_Y] / ANGULAR_VELOCITY_SCALE);
+		packet.avelz = (float)(values[AVEL_Z] / ANGULAR_VELOCITY_SCALE);
+		packet.throttle = (float)(values[THROTTLE] / THROTTLE_SCALE);
+		packet.fuelInTank = Float.intBitsToFloat(values[FUEL]);
+		packet.steeringYaw = (float)(values[STEERING] / ANGLE_SCALE);
+		return true;
+	}
+
+	/** Quantizes everything but the position, which is relative to a state and so is left to {@link #write} */
+	public static void quantize(PacketDriveableControl packet)
+	{
+		int[] quantized = packet.quantized;
+		quantized[YAW] = angle(packet.yaw);
+		quantized[PITCH] = angle(packet.pitch);
+		quantized[ROLL] = angle(packet.roll);
+		quantized[MOT_X] = fixed(packet.motX, MOTION_SCALE);
+		quantized[MOT_Y] = fixed(packet.motY, MOTION_SCALE);
+		quantized[MOT_Z] = fixed(packet.motZ, MOTION_SCALE);
+		quantized[AVEL_X] = fixed(packet.avelx, ANGULAR_VELOCITY_SCALE);
+		quantized[AVEL_Y] = fixed(packet.avely, ANGULAR_VELOCITY_SCALE);
+		quantized[AVEL_Z] = fixed(packet.avelz, ANGULAR_VELOCITY_SCALE);
+		quantized[THROTTLE] = fixed(packet.throttle, THROTTLE_SCALE);
+		quantized[FUEL] = Float.floatToIntBits(packet.fuelInTank);
+		quantized[STEERING] = angle(packet.steeringYaw);
+	}
+
+	/** Wraps an angle in degrees into a signed 16 bit fraction of a turn */
+	private static int angle(float degrees)
+	{
+		return (short)Math.round(degrees * ANGLE_SCALE);
+	}
+
+	/** Converts to fixed point, clamped to fit in a short */
+	private static int fixed(double value, double scale)
+	{
+		long fixed = Math.round(value * scale);
+		return (int)Math.max(Short.MIN_VALUE, Math.min(Short.MAX_VALUE, fixed));
+	}
+
+	private static boolean fitsInShort(long value)
+	{
+		return value >= Short.MIN_VALUE && value <= Short.MAX_VALUE;
+	}
+}
@@ -0,0 +1,101 @@
+package com.flansmod.common.network;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+
+import net.minecraft.entity.player.EntityPlayer;
+import net.minecraft.entity.player.EntityPlayerMP;
+import net.minecraft.network.play.server.S27PacketExplosion;
+import net.minecraft.util.BlockPos;
+import net.minecraft.util.Vec3;
+import net.minecraft.world.World;
+
+import com.flansmod.common.FlansMod;
+
+/** Collects the explosions that happen during a tick and tells clients about them at the end of it. Explosions close
+ * to one another are merged, so that a barrage landing in one place is a single packet, and each packet only goes to
+ * players within {@link FlansMod#explosionUpdateRange} or who were knocked back by it */
+public class ExplosionBroadcaster
+{
+	/** Explosions whose centres are closer than this are sent as one */
+	private static final double MERGE_DISTANCE = 8D;
+
+	private static final HashMap<World, List<MergedExplosion>> pendingExplosions = new HashMap<World, List<MergedExplosion>>();
+
+	/** Queues an explosion to be sent at the end of this tick, merging it with any queued explosion nearby */
+	public static void add(World world, double x, double y, double z, float radius, List<BlockPos> affectedBlocks, Map<EntityPlayer, Vec3> knockback)
+	{
+		List<MergedExplosion> explosions = pendingExplosions.get(world);
+		if(explosions == null)
+		{
+			explosions = new ArrayList<MergedExplosion>();
+			pendingExplosions.put(world, explosions);
+		}
+		MergedExplosion merged = null;
+		for(MergedExplosion explosion : explosions)
+		{
+			double dX = explosion.x - x, dY = explosion.y - y, dZ = explosion.z - z;
+			if(dX * dX + dY * dY + dZ * dZ < MERGE_DISTANCE * MERGE_DISTANCE)
+			{
+				merged = explosion;
+				break;
+			}
+		}
+		if(merged == null)
+		{
+			merged = new MergedExplosion(x, y, z);
+			explosions.add(merged);
+		}
+		merged.radius = Math.max(merged.radius, radius);
+		merged.blocks.addAll(affectedBlocks);
+		for(Map.Entry<EntityPlayer, Vec3> entry : knockback.entrySet())
+		{
+			Vec3 total = merged.knockback.get(entry.getKey());
+			Vec3 added = entry.getValue();
+			merged.knockback.put(entry.getKey(), total == null ? added : total.addVector(added.xCoord, added.yCoord, added.zCoord));
+		}
+	}
+
+	/** Sends every queued explosion to the players that should hear about it. Called at the end of each server tick */
+	public static void sendAll()
+	{
+		if(pendingExplosions.isEmpty())
+			return;
+		double rangeSquared = FlansMod.explosionUpdateRange * FlansMod.explosionUpdateRange;
+		for(Map.Entry<World, List<MergedExplosion>> entry : pendingExplosions.entrySet())
+		{
+			for(MergedExplosion explosion : entry.getValue())
+			{
+				List<BlockPos> blocks = new ArrayList<BlockPos>(explosion.blocks);
+				for(Object obj : entry.getKey().playerEntities)
+				{
+					if(!(obj instanceof EntityPlayerMP))
+						continue;
+					EntityPlayerMP player = (EntityPlayerMP)obj;
+					Vec3 knockback = explosion.knockback.get(player);
+					if(knockback != null || player.getDistanceSq(explosion.x, explosion.y, explosion.z) <= rangeSquared)
+						FlansMod.getPacketHandler().sendTo(new S27PacketExplosion(explosion.x, explosion.y, explosion.z, explosion.radius, blocks, knockback), player);
+				}
+			}
+		}
+		pendingExplosions.clear();
+	}
+
+	private static class MergedExplosion
+	{
+		private final double x, y, z;
+		private float radius;
+		private final LinkedHashSet<BlockPos> blocks = new LinkedHashSet<BlockPos>();
+		private final HashMap<EntityPlayer, Vec3> knockback = new HashMap<EntityPlayer, Vec3>();
+
+		private MergedExplosion(double x, double y, double z)
+		{
+			this.x = x;
+			this.y = y;
+			this.z = z;
+		}
+	}
+}
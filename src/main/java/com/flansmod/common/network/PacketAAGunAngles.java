@@ -4,7 +4,6 @@ import com.flansmod.common.guns.EntityAAGun;
 
 import io.netty.buffer.ByteBuf;
 import io.netty.channel.ChannelHandlerContext;
-import net.minecraft.entity.Entity;
 import net.minecraft.entity.player.EntityPlayer;
 import net.minecraft.entity.player.EntityPlayerMP;
 
@@ -48,10 +47,9 @@ public class PacketAAGunAngles extends PacketBase
 	@Override
 	public void handleClientSide(EntityPlayer clientPlayer) 
 	{
-		Entity entity = clientPlayer.worldObj.getEntityByID(entityID);
-		if(entity instanceof EntityAAGun)
+		EntityAAGun aa = getEntity(clientPlayer.worldObj, entityID, EntityAAGun.class);
+		if(aa != null)
 		{
-			EntityAAGun aa = (EntityAAGun)entity;
 			aa.prevGunYaw = aa.gunYaw;
 			aa.prevGunPitch = aa.gunPitch;
 			aa.gunYaw = gunYaw;
@@ -3,8 +3,10 @@ package com.flansmod.common.network;
 import io.netty.buffer.ByteBuf;
 import io.netty.channel.ChannelHandlerContext;
 
+import net.minecraft.entity.Entity;
 import net.minecraft.entity.player.EntityPlayer;
 import net.minecraft.entity.player.EntityPlayerMP;
+import net.minecraft.world.World;
 
 import net.minecraftforge.fml.common.network.ByteBufUtils;
 import net.minecraftforge.fml.relauncher.Side;
@@ -37,4 +39,14 @@ public abstract class PacketBase
 	{
 		return ByteBufUtils.readUTF8String(data);
 	}
+	
+	/** Util method for finding the entity a packet refers to. Uses the world's entity ID map rather than searching the 
+	 * loaded entity list, and returns null if the entity is not loaded or is not of the expected type */
+	public static <T extends Entity> T getEntity(World world, int entityId, Class<T> type)
+	{
+		if(world == null)
+			return null;
+		Entity entity = world.getEntityByID(entityId);
+		return type.isInstance(entity) ? type.cast(entity) : null;
+	}
 }
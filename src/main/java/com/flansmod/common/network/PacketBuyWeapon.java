@@ -13,36 +13,41 @@ import com.flansmod.common.types.InfoType;
 
 public class PacketBuyWeapon extends PacketBase
 {
-	public String boxShortName;
-	private String typeShortName;
+	public int boxID;
+	private int typeID;
 	
 	public PacketBuyWeapon() {}
 	
 	public PacketBuyWeapon(GunBoxType box, InfoType type)
 	{
-		boxShortName = box.shortName;
-		typeShortName = type.shortName;
+		boxID = box.typeID;
+		typeID = type.typeID;
 	}
 		
 	@Override
 	public void encodeInto(ChannelHandlerContext ctx, ByteBuf data) 
 	{
-		writeUTF(data, boxShortName);
-		writeUTF(data, typeShortName);
+		data.writeInt(boxID);
+		data.writeInt(typeID);
 	}
 
 	@Override
 	public void decodeInto(ChannelHandlerContext ctx, ByteBuf data) 
 	{
-		boxShortName = readUTF(data);
-		typeShortName = readUTF(data);
+		boxID = data.readInt();
+		typeID = data.readInt();
 	}
 
 	@Override
 	public void handleServerSide(EntityPlayerMP playerEntity) 
 	{
-		GunBoxType box = GunBoxType.getBox(boxShortName);
-		box.block.buyGun(InfoType.getType(typeShortName), playerEntity.inventory, box);
+		InfoType box = InfoType.getType(boxID);
+		if(!(box instanceof GunBoxType))
+		{
+			FlansMod.log("Received gun box purchase packet for unknown box " + boxID + ". Skipping.");
+			return;
+		}
+		((GunBoxType)box).block.buyGun(InfoType.getType(typeID), playerEntity.inventory, (GunBoxType)box);
 	}
 
 	@Override
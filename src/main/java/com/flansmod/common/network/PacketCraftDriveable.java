@@ -11,36 +11,42 @@ import net.minecraftforge.fml.relauncher.SideOnly;
 
 import com.flansmod.common.FlansMod;
 import com.flansmod.common.driveables.DriveableType;
+import com.flansmod.common.types.InfoType;
 
 public class PacketCraftDriveable extends PacketBase 
 {
-	public String shortName;	
+	public int typeID;	
 	
 	public PacketCraftDriveable() {}
 	
-	public PacketCraftDriveable(String s)
+	public PacketCraftDriveable(DriveableType type)
 	{
-		shortName = s;
+		typeID = type.typeID;
 	}
 	
 	@Override
 	public void encodeInto(ChannelHandlerContext ctx, ByteBuf data) 
 	{
-		writeUTF(data, shortName);
+		data.writeInt(typeID);
 	}
 
 	@Override
 	public void decodeInto(ChannelHandlerContext ctx, ByteBuf data) 
 	{
-		shortName = readUTF(data);
+		typeID = data.readInt();
 	}
 
 	@Override
 	public void handleServerSide(EntityPlayerMP playerEntity) 
 	{
-		DriveableType type = DriveableType.getDriveable(shortName);   
+		InfoType type = InfoType.getType(typeID);
+		if(!(type instanceof DriveableType))
+		{
+			FlansMod.log("Received driveable craft packet for unknown type " + typeID + ". Skipping.");
+			return;
+		}
 		//Try to craft the driveable
-		FlansMod.proxy.craftDriveable(playerEntity, type);
+		FlansMod.proxy.craftDriveable(playerEntity, (DriveableType)type);
 	}
 
 	@Override
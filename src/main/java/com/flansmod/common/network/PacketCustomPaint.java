@@ -0,0 +1,73 @@
+package com.flansmod.common.network;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.ChannelHandlerContext;
+import net.minecraft.entity.player.EntityPlayer;
+import net.minecraft.entity.player.EntityPlayerMP;
+import net.minecraftforge.fml.relauncher.Side;
+import net.minecraftforge.fml.relauncher.SideOnly;
+
+import com.flansmod.client.CustomPaintTextures;
+import com.flansmod.common.paintjob.CustomPaint;
+import com.flansmod.common.paintjob.CustomPaintStore;
+
+/**
+ * Sent from client to server with just a hash to ask for the custom paint with that hash
+ * Sent from server to client with the encoded paint, or with no data if the server does not have it
+ */
+public class PacketCustomPaint extends PacketBase
+{
+	public String hash;
+	/** The encoded paint, or null */
+	public byte[] paint;
+
+	public PacketCustomPaint() {}
+
+	public PacketCustomPaint(String hash)
+	{
+		this.hash = hash;
+	}
+
+	public PacketCustomPaint(String hash, byte[] paint)
+	{
+		this.hash = hash;
+		this.paint = paint;
+	}
+
+	@Override
+	public void encodeInto(ChannelHandlerContext ctx, ByteBuf data)
+	{
+		writeUTF(data, hash);
+		data.writeInt(paint == null ? -1 : paint.length);
+		if(paint != null)
+			data.writeBytes(paint);
+	}
+
+	@Override
+	public void decodeInto(ChannelHandlerContext ctx, ByteBuf data)
+	{
+		hash = readUTF(data);
+		int length = data.readInt();
+		if(length > data.readableBytes())
+			throw new IndexOutOfBoundsException("Custom paint of " + length + " bytes is longer than the packet");
+		if(length >= 0)
+		{
+			paint = new byte[length];
+			data.readBytes(paint);
+		}
+	}
+
+	@Override
+	public void handleServerSide(EntityPlayerMP playerEntity)
+	{
+		if(CustomPaint.isValidHash(hash))
+			CustomPaintStore.sendTo(playerEntity, hash);
+	}
+
+	@Override
+	@SideOnly(Side.CLIENT)
+	public void handleClientSide(EntityPlayer clientPlayer)
+	{
+		CustomPaintTextures.receive(hash, paint);
+	}
+}
@@ -2,7 +2,6 @@ package com.flansmod.common.network;
 
 import io.netty.buffer.ByteBuf;
 import io.netty.channel.ChannelHandlerContext;
-import net.minecraft.entity.Entity;
 import net.minecraft.entity.player.EntityPlayer;
 import net.minecraft.entity.player.EntityPlayerMP;
 import net.minecraftforge.fml.relauncher.Side;
@@ -22,6 +21,10 @@ public class PacketDriveableControl extends PacketBase
 	public float throttle;
 	public float fuelInTank;
 	public float steeringYaw;
+	/** The compact form that goes over the network. See {@link DriveableSyncState}. A changed mask of -1 means the packet
+	 * was not made from a driveable, and it is sent as a keyframe */
+	int sequence, changed = -1;
+	final int[] quantized = new int[DriveableSyncState.FIELDS];
 	
 	public PacketDriveableControl() {}
 	
@@ -52,64 +55,68 @@ public class PacketDriveableControl extends PacketBase
 			EntityPlane plane = (EntityPlane)driveable;
 			steeringYaw = plane.flapsYaw;
 		}
+		driveable.syncSent.write(this, driveable.ticksExisted);
 	}
 		
 	@Override
 	public void encodeInto(ChannelHandlerContext ctx, ByteBuf data) 
 	{
+		if(changed < 0)
+		{
+			DriveableSyncState.quantize(this);
+			changed = DriveableSyncState.KEYFRAME | DriveableSyncState.ALL_FIELDS;
+		}
 		data.writeInt(entityId);
-		data.writeDouble(posX);
-		data.writeDouble(posY);
-		data.writeDouble(posZ);
-		data.writeFloat(yaw);
-		data.writeFloat(pitch);
-		data.writeFloat(roll);
-		data.writeDouble(motX);
-		data.writeDouble(motY);
-		data.writeDouble(motZ);
-		data.writeFloat(avelx);
-		data.writeFloat(avely);
-		data.writeFloat(avelz);
-		data.writeFloat(throttle);
-		data.writeFloat(fuelInTank);
-		data.writeFloat(steeringYaw);
+		data.writeByte(sequence);
+		data.writeShort(changed);
+		if((changed & DriveableSyncState.KEYFRAME) != 0)
+		{
+			data.writeDouble(posX);
+			data.writeDouble(posY);
+			data.writeDouble(posZ);
+		}
+		for(int i = 0; i < DriveableSyncState.FIELDS; i++)
+		{
+			if((changed & DriveableSyncState.KEYFRAME) != 0 && i <= DriveableSyncState.POS_Z)
+				continue;
+			if((changed & (1 << i)) == 0)
+				continue;
+			if(i == DriveableSyncState.FUEL)
+				data.writeInt(quantized[i]);
+			else data.writeShort(quantized[i]);
+		}
 	}
 
 	@Override
 	public void decodeInto(ChannelHandlerContext ctx, ByteBuf data) 
 	{
 		entityId = data.readInt();
-		posX = data.readDouble();
-		posY = data.readDouble();
-		posZ = data.readDouble();
-		yaw = data.readFloat();
-		pitch = data.readFloat();
-		roll = data.readFloat();
-		motX = data.readDouble();
-		motY = data.readDouble();
-		motZ = data.readDouble();
-		avelx = data.readFloat();
-		avely = data.readFloat();
-		avelz = data.readFloat();
-		throttle = data.readFloat();
-		fuelInTank = data.readFloat();
-		steeringYaw = data.readFloat();
+		sequence = data.readUnsignedByte();
+		changed = data.readUnsignedShort();
+		if((changed & DriveableSyncState.KEYFRAME) != 0)
+		{
+			posX = data.readDouble();
+			posY = data.readDouble();
+			posZ = data.readDouble();
+		}
+		for(int i = 0; i < DriveableSyncState.FIELDS; i++)
+		{
+			if((changed & DriveableSyncState.KEYFRAME) != 0 && i <= DriveableSyncState.POS_Z)
+				continue;
+			if((changed & (1 << i)) == 0)
+				continue;
+			if(i == DriveableSyncState.FUEL)
+				quantized[i] = data.readInt();
+			else quantized[i] = data.readShort();
+		}
+		//The rest of the state is filled in from the driveable's sync state once the driveable is found
 	}
 
 	@Override
 	public void handleServerSide(EntityPlayerMP playerEntity) 
 	{
-		EntityDriveable driveable = null;
-		for(int i = 0; i < playerEntity.worldObj.loadedEntityList.size(); i++)
-		{
-			Object obj = playerEntity.worldObj.loadedEntityList.get(i);
-			if(obj instanceof EntityDriveable && ((Entity)obj).getEntityId() == entityId)
-			{
-				driveable = (EntityDriveable)obj;
-				break;
-			}
-		}
-		if(driveable != null)
+		EntityDriveable driveable = getEntity(playerEntity.worldObj, entityId, EntityDriveable.class);
+		if(driveable != null && driveable.syncReceived.read(this))
 			updateDriveable(driveable, false);
 	}
 	
@@ -125,19 +132,14 @@ public class PacketDriveableControl extends PacketBase
 	{
 		if(clientPlayer == null || clientPlayer.worldObj == null)
 			return;
-		EntityDriveable driveable = null;
-		for(Object obj : clientPlayer.worldObj.loadedEntityList)
+		EntityDriveable driveable = getEntity(clientPlayer.worldObj, entityId, EntityDriveable.class);
+		//Always read the packet into the sync state, even when driving, so that it stays in step with the server
+		if(driveable != null && driveable.syncReceived.read(this))
 		{
-			if(obj instanceof EntityDriveable && ((Entity)obj).getEntityId() == entityId)
-			{
-				driveable = (EntityDriveable)obj;
-				driveable.driveableData.fuelInTank = fuelInTank;
-				if(driveable.seats[0] != null && driveable.seats[0].riddenByEntity == clientPlayer)
-					return;
-				break;
-			}
-		}
-		if(driveable != null)
+			driveable.driveableData.fuelInTank = fuelInTank;
+			if(driveable.seats[0] != null && driveable.seats[0].riddenByEntity == clientPlayer)
+				return;
 			updateDriveable(driveable, true);
+		}
 	}
 }
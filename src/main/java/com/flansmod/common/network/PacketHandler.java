@@ -1,11 +1,11 @@
 package com.flansmod.common.network;
 
+import java.lang.reflect.Constructor;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.EnumMap;
 import java.util.HashMap;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.concurrent.ConcurrentLinkedQueue;
 
@@ -43,18 +43,47 @@ public class PacketHandler extends MessageToMessageCodec<FMLProxyPacket, PacketB
 	//Map of channels for each side
 	private EnumMap<Side, FMLEmbeddedChannel> channels;
 	//The list of registered packets. Should contain no more than 256 packets.
-	private LinkedList<Class<? extends PacketBase>> packets = new LinkedList<Class<? extends PacketBase>>();
+	private ArrayList<Class<? extends PacketBase>> packets = new ArrayList<Class<? extends PacketBase>>();
+	//The factory used to create each registered packet when decoding
+	private HashMap<Class<? extends PacketBase>, PacketFactory> factories = new HashMap<Class<? extends PacketBase>, PacketFactory>();
 	//Whether or not Flan's Mod has initialised yet. Once true, no more packets may be registered.
 	private boolean modInitialised = false;
 	
+	/** Discriminators by packet class and factories by discriminator. Filled in by postInitialise once the order is fixed */
+	private HashMap<Class<? extends PacketBase>, Integer> discriminators = new HashMap<Class<? extends PacketBase>, Integer>();
+	private PacketFactory[] factoriesByDiscriminator = new PacketFactory[0];
+	/** The largest payload sent so far for each discriminator. New buffers start at this size so that they rarely need to grow */
+	private int[] sizeHints = new int[0];
+	private static final int DEFAULT_SIZE_HINT = 32, MAX_SIZE_HINT = 1 << 15;
+	
 	/** Store received packets in these queues and have the main Minecraft threads use these */
 	private ConcurrentLinkedQueue<PacketBase> receivedPacketsClient = new ConcurrentLinkedQueue<PacketBase>();
 	private HashMap<String, ConcurrentLinkedQueue<PacketBase>> receivedPacketsServer = new HashMap<String, ConcurrentLinkedQueue<PacketBase>>();
 	
-	/** Registers a packet with the handler */
+	/** Creates empty packets to decode into. Registering one avoids creating hot packets by reflection */
+	public interface PacketFactory
+	{
+		public PacketBase create();
+	}
+	
+	/** Registers a packet with the handler, creating it through its no argument constructor */
 	public boolean registerPacket(Class<? extends PacketBase> cl)
 	{
-		if(packets.size() > 256)
+		try
+		{
+			return registerPacket(cl, new ConstructorFactory(cl.getDeclaredConstructor()));
+		}
+		catch(NoSuchMethodException e)
+		{
+			FlansMod.log("Tried to register packet " + cl.getCanonicalName() + " which has no empty constructor.");
+			return false;
+		}
+	}
+	
+	/** Registers a packet with the handler */
+	public boolean registerPacket(Class<? extends PacketBase> cl, PacketFactory factory)
+	{
+		if(packets.size() >= 256)
 		{
 			FlansMod.log("Packet limit exceeded in Flan's Mod packet handler by packet " + cl.getCanonicalName() + ".");
 			return false;
@@ -71,6 +100,7 @@ public class PacketHandler extends MessageToMessageCodec<FMLProxyPacket, PacketB
 		}
 		
 		packets.add(cl);
+		factories.put(cl, factory);
 		return true;
 	}
 	
@@ -79,23 +109,8 @@ public class PacketHandler extends MessageToMessageCodec<FMLProxyPacket, PacketB
 	{
 		try
 		{
-			//Define a new buffer to store our data upon encoding
-			ByteBuf encodedData = Unpooled.buffer();
-			//Get the packet class
-			Class<? extends PacketBase> cl = msg.getClass();
-			
-			//If this packet has not been registered by our handler, reject it
-			if(!packets.contains(cl))
-				throw new NullPointerException("Packet not registered : " + cl.getCanonicalName());
-			
-			//Like a packet ID. Stored as the first entry in the packet code for recognition
-			byte discriminator = (byte) packets.indexOf(cl);
-			encodedData.writeByte(discriminator);
-			//Get the packet class to encode our packet
-			msg.encodeInto(ctx, encodedData);
-	
 			//Convert our packet into a Forge packet to get it through the Netty system
-			FMLProxyPacket proxyPacket = new FMLProxyPacket(new PacketBuffer(encodedData.copy()), ctx.channel().attr(NetworkRegistry.FML_CHANNEL).get());
+			FMLProxyPacket proxyPacket = new FMLProxyPacket(new PacketBuffer(encodePayload(ctx, msg)), ctx.channel().attr(NetworkRegistry.FML_CHANNEL).get());
 			//Add our packet to the outgoing packet queue
 			out.add(proxyPacket);
 		}
@@ -111,19 +126,8 @@ public class PacketHandler extends MessageToMessageCodec<FMLProxyPacket, PacketB
 	{
 		try
 		{
-			//Get the encoded data from the incoming packet
-			ByteBuf encodedData = msg.payload();
-			//Get the class for interpreting this packet
-			byte discriminator = encodedData.readByte();
-			Class<? extends PacketBase> cl = packets.get(discriminator);
-			
-			//If this discriminator returns no class, reject it
-			if(cl == null)
-				throw new NullPointerException("Packet not registered for discriminator : " + discriminator);
-			
-			//Create an empty packet and decode our packet data into it
-			PacketBase packet = cl.newInstance();
-			packet.decodeInto(ctx, encodedData.slice());
+			//Get the encoded data from the incoming packet and decode it
+			PacketBase packet = decodePayload(ctx, msg.payload());
 			//Check the side and handle our packet accordingly
 			switch(FMLCommonHandler.instance().getEffectiveSide())
 			{
@@ -152,6 +156,45 @@ public class PacketHandler extends MessageToMessageCodec<FMLProxyPacket, PacketB
 		}
 	}
 	
+	/** Writes the discriminator and packet data into a new buffer. The buffer is used as the payload as it is, rather than copied */
+	ByteBuf encodePayload(ChannelHandlerContext ctx, PacketBase msg)
+	{
+		//Like a packet ID. Stored as the first entry in the packet code for recognition
+		Integer discriminator = discriminators.get(msg.getClass());
+		
+		//If this packet has not been registered by our handler, reject it
+		if(discriminator == null)
+			throw new NullPointerException("Packet not registered : " + msg.getClass().getCanonicalName());
+		
+		int id = discriminator;
+		ByteBuf encodedData = Unpooled.buffer(sizeHints[id]);
+		encodedData.writeByte(id);
+		//Get the packet class to encode our packet
+		msg.encodeInto(ctx, encodedData);
+		
+		//Races between threads here only cost a resize later on
+		int size = encodedData.writerIndex();
+		if(size > sizeHints[id])
+			sizeHints[id] = Math.min(size, MAX_SIZE_HINT);
+		return encodedData;
+	}
+	
+	/** Creates a packet from the factory matching its discriminator and decodes the rest of the data into it */
+	PacketBase decodePayload(ChannelHandlerContext ctx, ByteBuf encodedData)
+	{
+		//Get the factory for interpreting this packet
+		int discriminator = encodedData.readByte() & 0xff;
+		
+		//If this discriminator returns no class, reject it
+		if(discriminator >= factoriesByDiscriminator.length)
+			throw new NullPointerException("Packet not registered for discriminator : " + discriminator);
+		
+		//Create an empty packet and decode our packet data into it
+		PacketBase packet = factoriesByDiscriminator[discriminator].create();
+		packet.decodeInto(ctx, encodedData.slice());
+		return packet;
+	}
+	
 	public void handleClientPackets()
 	{
 		for(PacketBase packet = receivedPacketsClient.poll(); packet != null; packet = receivedPacketsClient.poll())
@@ -178,36 +221,40 @@ public class PacketHandler extends MessageToMessageCodec<FMLProxyPacket, PacketB
 	{
 		channels = NetworkRegistry.INSTANCE.newChannel("FlansMod", this);
 		
-		registerPacket(PacketAAGunAngles.class);
+		//Packets sent many times a second get factories, the rest are created through their constructor
+		registerPacket(PacketAAGunAngles.class, new PacketFactory() { @Override public PacketBase create() { return new PacketAAGunAngles(); } });
 		registerPacket(PacketBaseEdit.class);
 		registerPacket(PacketBreakSound.class);
 		registerPacket(PacketBuyArmour.class);
 		registerPacket(PacketBuyWeapon.class);
 		registerPacket(PacketCraftDriveable.class);	
-		registerPacket(PacketDriveableControl.class);	
-		registerPacket(PacketDriveableDamage.class);	
+		registerPacket(PacketCustomPaint.class);
+		registerPacket(PacketDriveableControl.class, new PacketFactory() { @Override public PacketBase create() { return new PacketDriveableControl(); } });
+		registerPacket(PacketDriveableDamage.class, new PacketFactory() { @Override public PacketBase create() { return new PacketDriveableDamage(); } });
 		registerPacket(PacketDriveableGUI.class);	
 		registerPacket(PacketDriveableKey.class);	
-		registerPacket(PacketDriveableKeyHeld.class);	
+		registerPacket(PacketDriveableKeyHeld.class, new PacketFactory() { @Override public PacketBase create() { return new PacketDriveableKeyHeld(); } });
 		registerPacket(PacketFlak.class);	
 		//registerPacket(PacketGunFire.class);	
 		registerPacket(PacketGunPaint.class);
 		registerPacket(PacketKillMessage.class);
-		registerPacket(PacketMechaControl.class);	
-		registerPacket(PacketMGFire.class);	
+		registerPacket(PacketMechaControl.class, new PacketFactory() { @Override public PacketBase create() { return new PacketMechaControl(); } });
+		registerPacket(PacketMGFire.class, new PacketFactory() { @Override public PacketBase create() { return new PacketMGFire(); } });
 		registerPacket(PacketMGMount.class);	
 		registerPacket(PacketOffHandGunInfo.class);	
-		registerPacket(PacketPlaneControl.class);	
-		registerPacket(PacketPlaySound.class);	
+		registerPacket(PacketPlaneControl.class, new PacketFactory() { @Override public PacketBase create() { return new PacketPlaneControl(); } });
+		registerPacket(PacketPlaySound.class, new PacketFactory() { @Override public PacketBase create() { return new PacketPlaySound(); } });
 		registerPacket(PacketReload.class);	
 		registerPacket(PacketRepairDriveable.class);
 		registerPacket(PacketRoundFinished.class);
-		registerPacket(PacketSeatUpdates.class);	
+		registerPacket(PacketSeatUpdates.class, new PacketFactory() { @Override public PacketBase create() { return new PacketSeatUpdates(); } });
 		registerPacket(PacketSelectOffHandGun.class);	
-		registerPacket(PacketShotData.class);
+		registerPacket(PacketShotData.class, new PacketFactory() { @Override public PacketBase create() { return new PacketShotData(); } });
 		registerPacket(PacketTeamInfo.class);	
+		registerPacket(PacketTeamInfoDelta.class);
 		registerPacket(PacketTeamSelect.class);	
-		registerPacket(PacketVehicleControl.class);
+		registerPacket(PacketTypeTable.class);
+		registerPacket(PacketVehicleControl.class, new PacketFactory() { @Override public PacketBase create() { return new PacketVehicleControl(); } });
 		registerPacket(PacketVoteCast.class);
 		registerPacket(PacketVoting.class);
 		registerPacket(PacketRequestDebug.class);
@@ -237,6 +284,40 @@ public class PacketHandler extends MessageToMessageCodec<FMLProxyPacket, PacketB
 				return com;
 			}
 		});
+		
+		factoriesByDiscriminator = new PacketFactory[packets.size()];
+		sizeHints = new int[packets.size()];
+		for(int i = 0; i < packets.size(); i++)
+		{
+			discriminators.put(packets.get(i), i);
+			factoriesByDiscriminator[i] = factories.get(packets.get(i));
+			sizeHints[i] = DEFAULT_SIZE_HINT;
+		}
+	}
+	
+	/** Fallback for packets registered without a factory. Looks the constructor up once rather than on every packet */
+	private static class ConstructorFactory implements PacketFactory
+	{
+		private final Constructor<? extends PacketBase> constructor;
+		
+		private ConstructorFactory(Constructor<? extends PacketBase> constructor)
+		{
+			this.constructor = constructor;
+			constructor.setAccessible(true);
+		}
+		
+		@Override
+		public PacketBase create()
+		{
+			try
+			{
+				return constructor.newInstance();
+			}
+			catch(Exception e)
+			{
+				throw new RuntimeException("Could not create packet " + constructor.getDeclaringClass().getCanonicalName(), e);
+			}
+		}
 	}
 	
 	@SideOnly(Side.CLIENT)
@@ -33,7 +33,7 @@ public class PacketKillMessage extends PacketBase
 	public void encodeInto(ChannelHandlerContext ctx, ByteBuf data) 
 	{
 		data.writeBoolean(headshot);
-		writeUTF(data, killedBy.shortName);
+		data.writeInt(killedBy.typeID);
 		writeUTF(data, killerName);
 		writeUTF(data, killedName);
 	}
@@ -42,7 +42,7 @@ public class PacketKillMessage extends PacketBase
 	public void decodeInto(ChannelHandlerContext ctx, ByteBuf data) 
 	{
 		headshot = data.readBoolean();
-		killedBy = InfoType.getType(readUTF(data));
+		killedBy = InfoType.getType(data.readInt());
 		killerName = readUTF(data);
 		killedName = readUTF(data);
 	}
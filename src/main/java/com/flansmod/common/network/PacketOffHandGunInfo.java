@@ -7,7 +7,6 @@ import com.flansmod.common.PlayerHandler;
 import net.minecraftforge.fml.relauncher.Side;
 import io.netty.buffer.ByteBuf;
 import io.netty.channel.ChannelHandlerContext;
-import net.minecraft.entity.Entity;
 import net.minecraft.entity.player.EntityPlayer;
 import net.minecraft.entity.player.EntityPlayerMP;
 import net.minecraft.item.ItemStack;
@@ -54,10 +53,10 @@ public class PacketOffHandGunInfo extends PacketBase
 	@Override
 	public void handleClientSide(EntityPlayer clientPlayer) 
 	{
-		Entity entity = clientPlayer.worldObj.getEntityByID(entityID);
-		if(entity instanceof EntityPlayer && entity != clientPlayer)
+		EntityPlayer player = getEntity(clientPlayer.worldObj, entityID, EntityPlayer.class);
+		if(player != null && player != clientPlayer)
 		{
-			PlayerData data = PlayerHandler.getPlayerData((EntityPlayer) entity, Side.CLIENT);
+			PlayerData data = PlayerHandler.getPlayerData(player, Side.CLIENT);
 			data.offHandGunStack = gunStack;
 		}
 	}
@@ -3,7 +3,6 @@ package com.flansmod.common.network;
 import io.netty.buffer.ByteBuf;
 import io.netty.channel.ChannelHandlerContext;
 
-import net.minecraft.entity.Entity;
 import net.minecraft.entity.player.EntityPlayer;
 import net.minecraft.entity.player.EntityPlayerMP;
 
@@ -50,15 +49,7 @@ public class PacketSeatUpdates extends PacketBase
 	@Override
 	public void handleServerSide(EntityPlayerMP playerEntity) 
 	{
-		EntityDriveable driveable = null;
-		for(Object obj : playerEntity.worldObj.loadedEntityList)
-		{
-			if(obj instanceof EntityDriveable && ((Entity)obj).getEntityId() == entityId)
-			{
-				driveable = (EntityDriveable)obj;
-				break;
-			}
-		}
+		EntityDriveable driveable = getEntity(playerEntity.worldObj, entityId, EntityDriveable.class);
 		if(driveable != null)
 		{
 			driveable.seats[seatId].prevLooking = driveable.seats[seatId].looking.clone();
@@ -72,16 +63,7 @@ public class PacketSeatUpdates extends PacketBase
 	@SideOnly(Side.CLIENT)
 	public void handleClientSide(EntityPlayer clientPlayer) 
 	{
-		EntityDriveable driveable = null;
-		for(int i = 0; i < clientPlayer.worldObj.loadedEntityList.size(); i++)
-		{
-			Object obj = clientPlayer.worldObj.loadedEntityList.get(i);
-			if(obj instanceof EntityDriveable && ((Entity)obj).getEntityId() == entityId)
-			{
-				driveable = (EntityDriveable)obj;
-				break;
-			}
-		}
+		EntityDriveable driveable = getEntity(clientPlayer.worldObj, entityId, EntityDriveable.class);
 		if(driveable != null)
 		{
 			//If this is the player who sent the packet in the first place, don't read it
@@ -54,8 +54,8 @@ public class PacketShotData extends PacketBase
 		{
 			ShotData current = shotData.get(i);
 			data.writeByte((byte)current.slot);
-			data.writeInt(current.shotFrom.hashCode());
-			data.writeInt(current.shotType.hashCode());
+			data.writeInt(current.shotFrom.typeID);
+			data.writeInt(current.shotType.typeID);
 			
 			if(current instanceof SpawnEntityShotData)
 			{
@@ -86,7 +86,7 @@ public class PacketShotData extends PacketBase
 		int numEntries = data.readInt();
 		for(int i = 0; i < numEntries; i++)
 		{
-			// Lookup types by hash
+			// Lookup types by ID
 			byte slot = data.readByte();
 			InfoType shotFrom = InfoType.getType(data.readInt());	
 			ShootableType shotType = ShootableType.getShootableType(data.readInt());
@@ -1,7 +1,6 @@
 package com.flansmod.common.network;
 
-import java.util.ArrayList;
-import java.util.Collections;
+import java.util.Map;
 
 import io.netty.buffer.ByteBuf;
 import io.netty.channel.ChannelHandlerContext;
@@ -12,13 +11,9 @@ import net.minecraftforge.fml.relauncher.SideOnly;
 
 import com.flansmod.client.FlansModClient;
 import com.flansmod.common.FlansMod;
-import com.flansmod.common.PlayerData;
-import com.flansmod.common.PlayerHandler;
 import com.flansmod.common.teams.PlayerClass;
-import com.flansmod.common.teams.PlayerRankData;
 import com.flansmod.common.teams.Team;
 import com.flansmod.common.teams.TeamsManager;
-import com.flansmod.common.teams.TeamsManagerRanked;
 
 public class PacketTeamInfo extends PacketBase 
 {			
@@ -33,6 +28,10 @@ public class PacketTeamInfo extends PacketBase
 	public int scoreLimit;
 	
 	public int numLines;
+	/** Which version of the server's scoreboard this is, so that later changes can be checked against it */
+	public int version;
+	/** The scoreboard being sent. Only set on the server */
+	private ScoreboardSync.Snapshot snapshot;
 	
 	public static class TeamData
 	{
@@ -75,132 +74,82 @@ public class PacketTeamInfo extends PacketBase
 	public PacketTeamInfo()
 	{
 	}
+	
+	public PacketTeamInfo(ScoreboardSync.Snapshot snapshot, int version)
+	{
+		this.snapshot = snapshot;
+		this.version = version;
+		timeLeft = snapshot.timeLeft;
+	}
 
 	@Override
 	public void encodeInto(ChannelHandlerContext ctx, ByteBuf data) 
 	{
-		data.writeBoolean(TeamsManager.canBreakGlass);
-		data.writeBoolean(TeamsManager.vehiclesNeedFuel);
-		data.writeBoolean(TeamsManager.driveablesBreakBlocks);
+		data.writeInt(version);
+		data.writeBoolean(snapshot.canBreakGlass);
+		data.writeBoolean(snapshot.vehiclesNeedFuel);
+		data.writeBoolean(snapshot.driveablesBreakBlocks);
 
-		if(TeamsManager.getInstance().currentRound == null)
-		{
-			writeUTF(data, "No Gametype");
-			data.writeInt(0);
-		}
-		else
-		{
-			writeUTF(data, TeamsManager.getInstance().currentRound.gametype.name);
-			data.writeBoolean(TeamsManager.getInstance().currentRound.gametype.showZombieScore());
-			writeUTF(data, TeamsManager.getInstance().currentRound.map.name);
-			writeUTF(data, TeamsManager.getInstance().currentRound.map.shortName);
-			data.writeInt(TeamsManager.getInstance().roundTimeLeft);
-			data.writeInt(TeamsManager.getInstance().currentRound.scoreLimit);
+		writeUTF(data, snapshot.gametype);
+		if(snapshot.gametype.equals("No Gametype"))
+			return;
+		
+		data.writeBoolean(snapshot.showZombieScore);
+		writeUTF(data, snapshot.map);
+		writeUTF(data, snapshot.mapShortName);
+		data.writeInt(timeLeft);
+		data.writeInt(snapshot.scoreLimit);
+		data.writeBoolean(snapshot.sortedByTeam);
 
-			if(TeamsManager.getInstance().currentRound.gametype.sortScoreboardByTeam())
+		if(snapshot.sortedByTeam)
+		{
+			data.writeInt(snapshot.teams.length);
+			for(int i = 0; i < snapshot.teams.length; i++)
 			{
-				data.writeBoolean(true);
-				if(TeamsManager.getInstance().currentRound.teams == null)
+				if(snapshot.teams[i] == null)
 				{
-					data.writeInt(0);
+					writeUTF(data, "none");
+					continue;
 				}
-				else
+				writeUTF(data, snapshot.teams[i]);
+				data.writeInt(snapshot.teamScores[i]);
+				data.writeBoolean(snapshot.teamWinners[i]);
+				int numPlayers = 0;
+				for(ScoreboardSync.PlayerRow row : snapshot.players.values())
 				{
-					data.writeInt(TeamsManager.getInstance().currentRound.teams.length);
-					for(int i = 0; i < TeamsManager.getInstance().currentRound.teams.length; i++)
-					{
-						Team team = TeamsManager.getInstance().currentRound.teams[i];
-						if(team == null)
-						{
-							writeUTF(data, "none");
-							continue;
-						}
-						writeUTF(data, team.shortName);
-						data.writeInt(team.score);
-						data.writeBoolean(TeamsManager.getInstance().currentRound.gametype.teamHasWon(team));
-						team.sortPlayers();
-						data.writeInt(team.members.size());
-						for(int j = 0; j < team.members.size(); j++)
-						{
-							String username = team.members.get(j);
-							PlayerData playerData = PlayerHandler.getPlayerData(username, Side.SERVER);
-							writeUTF(data, username);
-							PlayerRankData rankData = TeamsManagerRanked.GetRankData(TeamsManager.getPlayer(username));
-							if(rankData == null)
-							{
-								data.writeInt(0);
-							}
-							else
-							{
-								data.writeInt(rankData.currentLevel);
-							}
-							
-							if(playerData == null)
-							{
-								data.writeInt(0);
-								data.writeInt(0);
-								data.writeInt(0);
-								writeUTF(data, "");
-							}
-							else
-							{
-								data.writeInt(playerData.score);
-								data.writeInt(playerData.zombieScore);
-								data.writeInt(playerData.kills);
-								data.writeInt(playerData.deaths);
-								writeUTF(data, playerData.playerClass.GetShortName());
-							}
-						}
-					}
+					if(row.team == i)
+						numPlayers++;
 				}
-			}
-			else
-			{
-				data.writeBoolean(false);
-				ArrayList<String> playerNames = new ArrayList<String>();
-				for(int i = 0; i < TeamsManager.getInstance().currentRound.teams.length; i++)
+				data.writeInt(numPlayers);
+				for(Map.Entry<String, ScoreboardSync.PlayerRow> entry : snapshot.players.entrySet())
 				{
-					Team team = TeamsManager.getInstance().currentRound.teams[i];
-					if(team == null || team.members == null)
-					{
+					ScoreboardSync.PlayerRow row = entry.getValue();
+					if(row.team != i)
 						continue;
-					}
-					playerNames.addAll(team.members);
+					writeUTF(data, entry.getKey());
+					data.writeInt(row.level);
+					data.writeInt(row.score);
+					data.writeInt(row.zombieScore);
+					data.writeInt(row.kills);
+					data.writeInt(row.deaths);
+					writeUTF(data, row.playerClass);
 				}
-
-				Collections.sort(playerNames, new Team.ComparatorScore());
-				data.writeInt(playerNames.size());
-				for (String username : playerNames) {
-					PlayerData playerData = PlayerHandler.getPlayerData(username, Side.SERVER);
-					writeUTF(data, username);
-					PlayerRankData rankData = TeamsManagerRanked.GetRankData(TeamsManager.getPlayer(username));
-					if(rankData == null)
-					{
-						data.writeInt(0);
-					}
-					else
-					{
-						data.writeInt(rankData.currentLevel);
-					}
-					if (playerData == null) 
-					{
-						data.writeInt(0);
-						data.writeInt(0);
-						data.writeInt(0);
-						writeUTF(data, "");
-					} else 
-					{
-						data.writeInt(playerData.score);
-						data.writeInt(playerData.kills);
-						data.writeInt(playerData.deaths);
-						writeUTF(data, playerData.playerClass.GetShortName());
-					}
-				}
-
 			}
 		}
-
-
+		else
+		{
+			data.writeInt(snapshot.players.size());
+			for(Map.Entry<String, ScoreboardSync.PlayerRow> entry : snapshot.players.entrySet())
+			{
+				ScoreboardSync.PlayerRow row = entry.getValue();
+				writeUTF(data, entry.getKey());
+				data.writeInt(row.level);
+				data.writeInt(row.score);
+				data.writeInt(row.kills);
+				data.writeInt(row.deaths);
+				writeUTF(data, row.playerClass);
+			}
+		}
 	}
 
 	@Override
@@ -208,6 +157,7 @@ public class PacketTeamInfo extends PacketBase
 	{
 		try
 		{
+		version = data.readInt();
 		TeamsManager.canBreakGlass = data.readBoolean();
 		TeamsManager.vehiclesNeedFuel = data.readBoolean();
 		TeamsManager.driveablesBreakBlocks = data.readBoolean();
@@ -301,6 +251,7 @@ public class PacketTeamInfo extends PacketBase
 	public void handleClientSide(EntityPlayer clientPlayer) 
 	{
 		FlansModClient.teamInfo = this;
+		PacketTeamInfoDelta.awaitingResync = false;
 	}
 
 	public Team getTeam(int spawnerTeamID) 
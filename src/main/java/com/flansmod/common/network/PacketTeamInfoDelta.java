@@ -0,0 +1,238 @@
+package com.flansmod.common.network;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.ChannelHandlerContext;
+import net.minecraft.entity.player.EntityPlayer;
+import net.minecraft.entity.player.EntityPlayerMP;
+import net.minecraftforge.fml.relauncher.Side;
+import net.minecraftforge.fml.relauncher.SideOnly;
+
+import com.flansmod.client.FlansModClient;
+import com.flansmod.common.FlansMod;
+import com.flansmod.common.network.PacketTeamInfo.PlayerScoreData;
+import com.flansmod.common.network.PacketTeamInfo.TeamData;
+import com.flansmod.common.teams.PlayerClass;
+
+/**
+ * Sent from server to client with the changes to the scoreboard since the version the client should have
+ * Sent from client to server, empty, when the client's scoreboard is not the version a change was made against, to ask for the whole thing
+ */
+public class PacketTeamInfoDelta extends PacketBase
+{
+	/** Set once the client has asked for the whole scoreboard, so that it does not ask again for every change on the way */
+	static boolean awaitingResync;
+
+	public boolean resyncRequest;
+	public int baseVersion, version;
+	/** The new round timer, or -1 if it has not changed */
+	public int timeLeft = -1;
+	public List<Integer> changedTeams = new ArrayList<Integer>();
+	public int[] teamScores;
+	public boolean[] teamWinners;
+	public List<String> removedPlayers = new ArrayList<String>();
+	public LinkedHashMap<String, ScoreboardSync.PlayerRow> changedPlayers = new LinkedHashMap<String, ScoreboardSync.PlayerRow>();
+
+	public PacketTeamInfoDelta()
+	{
+		resyncRequest = true;
+	}
+
+	public PacketTeamInfoDelta(int baseVersion, int version)
+	{
+		this.baseVersion = baseVersion;
+		this.version = version;
+	}
+
+	public boolean isEmpty()
+	{
+		return timeLeft < 0 && changedTeams.isEmpty() && removedPlayers.isEmpty() && changedPlayers.isEmpty();
+	}
+
+	@Override
+	public void encodeInto(ChannelHandlerContext ctx, ByteBuf data)
+	{
+		data.writeBoolean(resyncRequest);
+		if(resyncRequest)
+			return;
+		data.writeInt(baseVersion);
+		data.writeInt(version);
+		data.writeInt(timeLeft);
+		data.writeByte(changedTeams.size());
+		for(int i : changedTeams)
+		{
+			data.writeByte(i);
+			data.writeInt(teamScores[i]);
+			data.writeBoolean(teamWinners[i]);
+		}
+		data.writeShort(removedPlayers.size());
+		for(String username : removedPlayers)
+			writeUTF(data, username);
+		data.writeShort(changedPlayers.size());
+		for(Map.Entry<String, ScoreboardSync.PlayerRow> entry : changedPlayers.entrySet())
+		{
+			ScoreboardSync.PlayerRow row = entry.getValue();
+			writeUTF(data, entry.getKey());
+			data.writeByte(row.team);
+			data.writeInt(row.level);
+			data.writeInt(row.score);
+			data.writeInt(row.zombieScore);
+			data.writeInt(row.kills);
+			data.writeInt(row.deaths);
+			writeUTF(data, row.playerClass);
+		}
+	}
+
+	@Override
+	public void decodeInto(ChannelHandlerContext ctx, ByteBuf data)
+	{
+		resyncRequest = data.readBoolean();
+		if(resyncRequest)
+			return;
+		baseVersion = data.readInt();
+		version = data.readInt();
+		timeLeft = data.readInt();
+		int numTeams = data.readUnsignedByte();
+		teamScores = new int[256];
+		teamWinners = new boolean[256];
+		for(int i = 0; i < numTeams; i++)
+		{
+			int team = data.readUnsignedByte();
+			changedTeams.add(team);
+			teamScores[team] = data.readInt();
+			teamWinners[team] = data.readBoolean();
+		}
+		int numRemoved = data.readUnsignedShort();
+		for(int i = 0; i < numRemoved; i++)
+			removedPlayers.add(readUTF(data));
+		int numChanged = data.readUnsignedShort();
+		for(int i = 0; i < numChanged; i++)
+		{
+			String username = readUTF(data);
+			ScoreboardSync.PlayerRow row = new ScoreboardSync.PlayerRow();
+			row.team = data.readUnsignedByte();
+			row.level = data.readInt();
+			row.score = data.readInt();
+			row.zombieScore = data.readInt();
+			row.kills = data.readInt();
+			row.deaths = data.readInt();
+			row.playerClass = readUTF(data);
+			changedPlayers.put(username, row);
+		}
+	}
+
+	@Override
+	public void handleServerSide(EntityPlayerMP playerEntity)
+	{
+		if(resyncRequest)
+			ScoreboardSync.sendFull(playerEntity);
+	}
+
+	@Override
+	@SideOnly(Side.CLIENT)
+	public void handleClientSide(EntityPlayer clientPlayer)
+	{
+		PacketTeamInfo teamInfo = FlansModClient.teamInfo;
+		if(teamInfo == null || teamInfo.version != baseVersion || !apply(teamInfo))
+		{
+			if(!awaitingResync)
+			{
+				awaitingResync = true;
+				FlansMod.getPacketHandler().sendToServer(new PacketTeamInfoDelta());
+			}
+			return;
+		}
+		teamInfo.version = version;
+	}
+
+	/** Applies the changes to the client's scoreboard. Returns false if they do not fit it */
+	private boolean apply(PacketTeamInfo teamInfo)
+	{
+		TeamData[] teams = teamInfo.teamData == null ? new TeamData[0] : teamInfo.teamData;
+		for(int i : changedTeams)
+		{
+			if(i >= teams.length || teams[i] == null)
+				return false;
+		}
+		for(ScoreboardSync.PlayerRow row : changedPlayers.values())
+		{
+			if(row.team >= teams.length || teams[row.team] == null)
+				return false;
+		}
+
+		for(int i : changedTeams)
+		{
+			teams[i].score = teamScores[i];
+			teams[i].winner = teamWinners[i];
+		}
+		if(timeLeft >= 0)
+			teamInfo.timeLeft = timeLeft;
+
+		//Gather every player in the order they are currently shown, then make the changes
+		LinkedHashMap<String, PlayerScoreData> players = new LinkedHashMap<String, PlayerScoreData>();
+		for(TeamData team : teams)
+		{
+			if(team == null || team.playerData == null)
+				continue;
+			for(PlayerScoreData player : team.playerData)
+			{
+				if(player != null && player.username != null)
+					players.put(player.username, player);
+			}
+		}
+		for(String username : removedPlayers)
+			players.remove(username);
+		for(Map.Entry<String, ScoreboardSync.PlayerRow> entry : changedPlayers.entrySet())
+		{
+			ScoreboardSync.PlayerRow row = entry.getValue();
+			PlayerScoreData player = players.get(entry.getKey());
+			if(player == null)
+			{
+				player = new PlayerScoreData();
+				player.username = entry.getKey();
+				players.put(player.username, player);
+			}
+			player.team = teams[row.team];
+			player.level = row.level;
+			player.score = row.score;
+			player.zombieScore = row.zombieScore;
+			player.kills = row.kills;
+			player.deaths = row.deaths;
+			player.playerClass = PlayerClass.getClass(row.playerClass);
+		}
+
+		//Rebuild each team's list, highest score first as the server sorts them
+		teamInfo.numLines = teamInfo.sortedByTeam ? 1 : 0;
+		for(TeamData team : teams)
+		{
+			if(team == null || (team.team == null && teamInfo.sortedByTeam))
+				continue;
+			List<PlayerScoreData> members = new ArrayList<PlayerScoreData>();
+			for(PlayerScoreData player : players.values())
+			{
+				if(player.team == team)
+					members.add(player);
+			}
+			Collections.sort(members, new Comparator<PlayerScoreData>()
+			{
+				@Override
+				public int compare(PlayerScoreData a, PlayerScoreData b)
+				{
+					return b.score - a.score;
+				}
+			});
+			team.playerData = members.toArray(new PlayerScoreData[members.size()]);
+			team.numPlayers = team.playerData.length;
+			if(teamInfo.sortedByTeam)
+				teamInfo.numLines = Math.max(teamInfo.numLines, team.numPlayers);
+			else teamInfo.numLines += team.numPlayers;
+		}
+		return true;
+	}
+}
@@ -0,0 +1,59 @@
+package com.flansmod.common.network;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.ChannelHandlerContext;
+import net.minecraft.client.Minecraft;
+import net.minecraft.entity.player.EntityPlayer;
+import net.minecraft.entity.player.EntityPlayerMP;
+import net.minecraft.util.ChatComponentText;
+import net.minecraftforge.fml.relauncher.Side;
+import net.minecraftforge.fml.relauncher.SideOnly;
+
+import com.flansmod.common.FlansMod;
+import com.flansmod.common.types.InfoType;
+
+/**
+ * Sent from server to client on login with the size and checksum of the server's type ID table
+ * Packets refer to types by ID, so a client whose content packs give different IDs is disconnected rather than
+ * having every gun, bullet and vehicle it is sent mixed up
+ */
+public class PacketTypeTable extends PacketBase
+{
+	public int typeCount, checksum;
+
+	public PacketTypeTable()
+	{
+		typeCount = InfoType.getTypeCount();
+		checksum = InfoType.getTypeTableChecksum();
+	}
+
+	@Override
+	public void encodeInto(ChannelHandlerContext ctx, ByteBuf data)
+	{
+		data.writeInt(typeCount);
+		data.writeInt(checksum);
+	}
+
+	@Override
+	public void decodeInto(ChannelHandlerContext ctx, ByteBuf data)
+	{
+		typeCount = data.readInt();
+		checksum = data.readInt();
+	}
+
+	@Override
+	public void handleServerSide(EntityPlayerMP playerEntity)
+	{
+		FlansMod.log("Received type table packet on server. Skipping.");
+	}
+
+	@Override
+	@SideOnly(Side.CLIENT)
+	public void handleClientSide(EntityPlayer clientPlayer)
+	{
+		if(typeCount == InfoType.getTypeCount() && checksum == InfoType.getTypeTableChecksum())
+			return;
+		FlansMod.log("Server has " + typeCount + " types with checksum " + checksum + ", but this client has " + InfoType.getTypeCount() + " with checksum " + InfoType.getTypeTableChecksum());
+		Minecraft.getMinecraft().getNetHandler().getNetworkManager().closeChannel(new ChatComponentText("Your Flan's Mod content packs do not match the server's. Install the same content packs as the server to join"));
+	}
+}
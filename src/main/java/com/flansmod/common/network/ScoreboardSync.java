@@ -0,0 +1,224 @@
+package com.flansmod.common.network;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import net.minecraft.entity.player.EntityPlayerMP;
+import net.minecraft.server.MinecraftServer;
+import net.minecraftforge.fml.relauncher.Side;
+
+import com.flansmod.common.FlansMod;
+import com.flansmod.common.PlayerData;
+import com.flansmod.common.PlayerHandler;
+import com.flansmod.common.teams.PlayerRankData;
+import com.flansmod.common.teams.Team;
+import com.flansmod.common.teams.TeamsManager;
+import com.flansmod.common.teams.TeamsManagerRanked;
+import com.flansmod.common.teams.TeamsRound;
+
+/** Keeps clients' scoreboards up to date. The server remembers the last scoreboard it sent out along with a version
+ * number, and each update only sends what has changed since then. Clients that join, or whose version does not match
+ * the one a change was made against, get the whole scoreboard instead. Changes to the gametype, map or teams also send
+ * the whole scoreboard, since they change its shape */
+public class ScoreboardSync
+{
+	/** Clients count the round timer down themselves, so it is only sent when theirs would be further out than this */
+	private static final int TIMER_TOLERANCE = 40;
+
+	/** The scoreboard as last sent to everyone, and the version it was sent as */
+	private static Snapshot lastSent;
+	private static int version;
+	/** The round timer as clients last heard it, and the server tick they heard it on */
+	private static int sentTimeLeft, sentTimeTick;
+
+	/** Sends out whatever has changed since the last update. Returns true if anything was sent */
+	public static boolean update()
+	{
+		Snapshot current = Snapshot.capture();
+		int tick = MinecraftServer.getServer().getTickCounter();
+		if(lastSent == null || !lastSent.sameLayout(current))
+		{
+			lastSent = current;
+			version++;
+			sentTimeLeft = current.timeLeft;
+			sentTimeTick = tick;
+			FlansMod.getPacketHandler().sendToAll(new PacketTeamInfo(current, version));
+			return true;
+		}
+
+		PacketTeamInfoDelta delta = new PacketTeamInfoDelta(version, version + 1);
+		delta.teamScores = current.teamScores;
+		delta.teamWinners = current.teamWinners;
+		for(int i = 0; i < current.teams.length; i++)
+		{
+			if(current.teamScores[i] != lastSent.teamScores[i] || current.teamWinners[i] != lastSent.teamWinners[i])
+				delta.changedTeams.add(i);
+		}
+		for(String username : lastSent.players.keySet())
+		{
+			if(!current.players.containsKey(username))
+				delta.removedPlayers.add(username);
+		}
+		for(Map.Entry<String, PlayerRow> entry : current.players.entrySet())
+		{
+			if(!entry.getValue().equals(lastSent.players.get(entry.getKey())))
+				delta.changedPlayers.put(entry.getKey(), entry.getValue());
+		}
+		int expectedTimeLeft = Math.max(0, sentTimeLeft - (tick - sentTimeTick));
+		if(Math.abs(expectedTimeLeft - current.timeLeft) > TIMER_TOLERANCE)
+		{
+			delta.timeLeft = current.timeLeft;
+			sentTimeLeft = current.timeLeft;
+			sentTimeTick = tick;
+		}
+		if(delta.isEmpty())
+			return false;
+
+		lastSent = current;
+		version++;
+		FlansMod.getPacketHandler().sendToAll(delta);
+		//Only the scores and membership can have changed here, and those are all that would change the team menu
+		return delta.changedPlayers.size() > 0 || delta.removedPlayers.size() > 0;
+	}
+
+	/** Sends one player the whole scoreboard, for when they join or their copy has got out of step */
+	public static void sendFull(EntityPlayerMP player)
+	{
+		if(lastSent == null)
+		{
+			update();
+			return;
+		}
+		PacketTeamInfo packet = new PacketTeamInfo(lastSent, version);
+		packet.timeLeft = TeamsManager.getInstance().roundTimeLeft;
+		FlansMod.getPacketHandler().sendTo(packet, player);
+	}
+
+	/** Everything shown on the scoreboard at one moment */
+	public static class Snapshot
+	{
+		public boolean canBreakGlass, vehiclesNeedFuel, driveablesBreakBlocks;
+		/** "No Gametype" when there is no round, in which case nothing else is filled in */
+		public String gametype = "No Gametype", map = "", mapShortName = "";
+		public boolean showZombieScore, sortedByTeam;
+		public int scoreLimit, timeLeft;
+		/** Short names of the teams, with null for empty slots. Empty unless the scoreboard is sorted by team */
+		public String[] teams = new String[0];
+		public int[] teamScores = new int[0];
+		public boolean[] teamWinners = new boolean[0];
+		/** Every player on the scoreboard, in the order they are shown */
+		public final LinkedHashMap<String, PlayerRow> players = new LinkedHashMap<String, PlayerRow>();
+
+		public static Snapshot capture()
+		{
+			Snapshot snapshot = new Snapshot();
+			snapshot.canBreakGlass = TeamsManager.canBreakGlass;
+			snapshot.vehiclesNeedFuel = TeamsManager.vehiclesNeedFuel;
+			snapshot.driveablesBreakBlocks = TeamsManager.driveablesBreakBlocks;
+			TeamsRound round = TeamsManager.getInstance().currentRound;
+			if(round == null)
+				return snapshot;
+
+			snapshot.gametype = round.gametype.name;
+			snapshot.showZombieScore = round.gametype.showZombieScore();
+			snapshot.map = round.map.name;
+			snapshot.mapShortName = round.map.shortName;
+			snapshot.timeLeft = TeamsManager.getInstance().roundTimeLeft;
+			snapshot.scoreLimit = round.scoreLimit;
+			snapshot.sortedByTeam = round.gametype.sortScoreboardByTeam();
+			Team[] teams = round.teams == null ? new Team[0] : round.teams;
+			if(snapshot.sortedByTeam)
+			{
+				snapshot.teams = new String[teams.length];
+				snapshot.teamScores = new int[teams.length];
+				snapshot.teamWinners = new boolean[teams.length];
+				for(int i = 0; i < teams.length; i++)
+				{
+					Team team = teams[i];
+					if(team == null)
+						continue;
+					snapshot.teams[i] = team.shortName;
+					snapshot.teamScores[i] = team.score;
+					snapshot.teamWinners[i] = round.gametype.teamHasWon(team);
+					team.sortPlayers();
+					for(String username : team.members)
+						snapshot.players.put(username, new PlayerRow(username, i));
+				}
+			}
+			else
+			{
+				List<String> playerNames = new ArrayList<String>();
+				for(Team team : teams)
+				{
+					if(team != null && team.members != null)
+						playerNames.addAll(team.members);
+				}
+				Collections.sort(playerNames, new Team.ComparatorScore());
+				for(String username : playerNames)
+					snapshot.players.put(username, new PlayerRow(username, 0));
+			}
+			return snapshot;
+		}
+
+		/** Whether the two scoreboards have the same gametype, map, teams and settings, so that one can be turned into
+		 * the other just by changing scores and players */
+		public boolean sameLayout(Snapshot other)
+		{
+			return canBreakGlass == other.canBreakGlass && vehiclesNeedFuel == other.vehiclesNeedFuel
+					&& driveablesBreakBlocks == other.driveablesBreakBlocks && gametype.equals(other.gametype)
+					&& map.equals(other.map) && mapShortName.equals(other.mapShortName)
+					&& showZombieScore == other.showZombieScore && sortedByTeam == other.sortedByTeam
+					&& scoreLimit == other.scoreLimit && Arrays.equals(teams, other.teams);
+		}
+	}
+
+	/** One player's line on the scoreboard */
+	public static class PlayerRow
+	{
+		/** Index of the player's team in the round, or 0 if the scoreboard is not sorted by team */
+		public int team;
+		public int level, score, zombieScore, kills, deaths;
+		public String playerClass = "";
+
+		public PlayerRow()
+		{
+		}
+
+		private PlayerRow(String username, int team)
+		{
+			this.team = team;
+			PlayerRankData rankData = TeamsManagerRanked.GetRankData(TeamsManager.getPlayer(username));
+			if(rankData != null)
+				level = rankData.currentLevel;
+			PlayerData playerData = PlayerHandler.getPlayerData(username, Side.SERVER);
+			if(playerData != null)
+			{
+				score = playerData.score;
+				zombieScore = playerData.zombieScore;
+				kills = playerData.kills;
+				deaths = playerData.deaths;
+				playerClass = playerData.playerClass.GetShortName();
+			}
+		}
+
+		@Override
+		public boolean equals(Object obj)
+		{
+			if(!(obj instanceof PlayerRow))
+				return false;
+			PlayerRow other = (PlayerRow)obj;
+			return team == other.team && level == other.level && score == other.score && zombieScore == other.zombieScore
+					&& kills == other.kills && deaths == other.deaths && playerClass.equals(other.playerClass);
+		}
+
+		@Override
+		public int hashCode()
+		{
+			return ((team * 31 + score) * 31 + kills) * 31 + deaths;
+		}
+	}
+}
@@ -0,0 +1,78 @@
+package com.flansmod.common.network;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import net.minecraft.entity.player.EntityPlayerMP;
+import net.minecraft.world.World;
+
+import com.flansmod.common.FlansMod;
+import com.flansmod.common.guns.ShotData;
+import com.flansmod.common.guns.ShotData.InstantShotData;
+import com.flansmod.common.vector.Vector3f;
+
+/** Collects the shots the server confirms during a tick and sends them out at the end of it. Each player only gets the
+ * shots whose path passes within {@link FlansMod#shotDataRange} of them, all in one packet */
+public class ShotDataBroadcaster
+{
+	private static final HashMap<World, List<InstantShotData>> pendingShots = new HashMap<World, List<InstantShotData>>();
+
+	/** Queues a shot to be sent to the players near it at the end of this tick */
+	public static void add(World world, InstantShotData shot)
+	{
+		List<InstantShotData> shots = pendingShots.get(world);
+		if(shots == null)
+		{
+			shots = new ArrayList<InstantShotData>();
+			pendingShots.put(world, shots);
+		}
+		shots.add(shot);
+	}
+
+	/** Sends every queued shot to the players that can see it. Called at the end of each server tick */
+	public static void sendAll()
+	{
+		if(pendingShots.isEmpty())
+			return;
+		float rangeSquared = FlansMod.shotDataRange * FlansMod.shotDataRange;
+		for(Map.Entry<World, List<InstantShotData>> entry : pendingShots.entrySet())
+		{
+			List<InstantShotData> shots = entry.getValue();
+			for(Object obj : entry.getKey().playerEntities)
+			{
+				if(!(obj instanceof EntityPlayerMP))
+					continue;
+				EntityPlayerMP player = (EntityPlayerMP)obj;
+				List<ShotData> playerShots = null;
+				for(int i = 0; i < shots.size(); i++)
+				{
+					InstantShotData shot = shots.get(i);
+					Vector3f hit = shot.hitPos == null ? shot.origin : shot.hitPos;
+					if(distanceSquaredToPath(shot.origin, hit, player.posX, player.posZ) <= rangeSquared)
+					{
+						if(playerShots == null)
+							playerShots = new ArrayList<ShotData>();
+						playerShots.add(shot);
+					}
+				}
+				if(playerShots != null)
+					FlansMod.getPacketHandler().sendTo(new PacketShotData(playerShots), player);
+			}
+		}
+		pendingShots.clear();
+	}
+
+	/** Horizontal distance squared from a point to the path of a shot, since players see a column of chunks around them */
+	private static double distanceSquaredToPath(Vector3f origin, Vector3f hit, double x, double z)
+	{
+		double pathX = hit.x - origin.x, pathZ = hit.z - origin.z;
+		double lengthSquared = pathX * pathX + pathZ * pathZ;
+		double t = 0D;
+		if(lengthSquared > 0D)
+			t = Math.max(0D, Math.min(1D, ((x - origin.x) * pathX + (z - origin.z) * pathZ) / lengthSquared));
+		double dX = origin.x + pathX * t - x, dZ = origin.z + pathZ * t - z;
+		return dX * dX + dZ * dZ;
+	}
+}
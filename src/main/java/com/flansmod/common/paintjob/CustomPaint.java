@@ -0,0 +1,150 @@
+package com.flansmod.common.paintjob;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/** The pixels of a player made paintjob: a skin for the model and an icon for the item, both stored as four bytes per
+ * pixel. A paint is known by the SHA-1 hash of its encoded form, which is all that items painted with it carry */
+public class CustomPaint
+{
+	private static final int BYTES_PER_PIXEL = 4;
+	/** The largest skin or icon side accepted, so that a bad packet or file cannot ask for a huge texture */
+	private static final int MAX_SIZE = 512;
+
+	public final int skinWidth, skinHeight;
+	public final byte[] skin;
+	public final int iconWidth, iconHeight;
+	public final byte[] icon;
+	private byte[] encoded;
+	private String hash;
+
+	public CustomPaint(int skinWidth, int skinHeight, byte[] skin, int iconWidth, int iconHeight, byte[] icon)
+	{
+		checkSize(skinWidth, skinHeight, skin);
+		checkSize(iconWidth, iconHeight, icon);
+		this.skinWidth = skinWidth;
+		this.skinHeight = skinHeight;
+		this.skin = skin;
+		this.iconWidth = iconWidth;
+		this.iconHeight = iconHeight;
+		this.icon = icon;
+	}
+
+	/** The form paints are sent and saved in */
+	public byte[] encode()
+	{
+		if(encoded == null)
+		{
+			try
+			{
+				ByteArrayOutputStream bytes = new ByteArrayOutputStream(skin.length + icon.length + 16);
+				DataOutputStream out = new DataOutputStream(bytes);
+				out.writeShort(skinWidth);
+				out.writeShort(skinHeight);
+				out.write(skin);
+				out.writeShort(iconWidth);
+				out.writeShort(iconHeight);
+				out.write(icon);
+				out.close();
+				encoded = bytes.toByteArray();
+			}
+			catch(IOException e)
+			{
+				throw new RuntimeException(e);
+			}
+		}
+		return encoded;
+	}
+
+	public static CustomPaint decode(byte[] data) throws IOException
+	{
+		DataInputStream in = new DataInputStream(new ByteArrayInputStream(data));
+		int skinWidth = in.readUnsignedShort(), skinHeight = in.readUnsignedShort();
+		checkSize(skinWidth, skinHeight, null);
+		byte[] skin = new byte[skinWidth * skinHeight * BYTES_PER_PIXEL];
+		in.readFully(skin);
+		int iconWidth = in.readUnsignedShort(), iconHeight = in.readUnsignedShort();
+		checkSize(iconWidth, iconHeight, null);
+		byte[] icon = new byte[iconWidth * iconHeight * BYTES_PER_PIXEL];
+		in.readFully(icon);
+		if(in.available() > 0)
+			throw new IOException("Paint has " + in.available() + " bytes too many");
+		CustomPaint paint = new CustomPaint(skinWidth, skinHeight, skin, iconWidth, iconHeight, icon);
+		paint.encoded = data;
+		return paint;
+	}
+
+	/** The hex SHA-1 hash of the encoded paint */
+	public String getHash()
+	{
+		if(hash == null)
+			hash = hash(encode());
+		return hash;
+	}
+
+	public static String hash(byte[] data)
+	{
+		try
+		{
+			byte[] digest = MessageDigest.getInstance("SHA-1").digest(data);
+			StringBuilder builder = new StringBuilder(digest.length * 2);
+			for(byte b : digest)
+				builder.append(Character.forDigit((b >> 4) & 15, 16)).append(Character.forDigit(b & 15, 16));
+			return builder.toString();
+		}
+		catch(NoSuchAlgorithmException e)
+		{
+			throw new RuntimeException(e);
+		}
+	}
+
+	/** Whether this could be a paint hash. Hashes come from item tags and packets, and are used as file names */
+	public static boolean isValidHash(String hash)
+	{
+		if(hash == null || hash.length() != 40)
+			return false;
+		for(int i = 0; i < hash.length(); i++)
+		{
+			if(Character.digit(hash.charAt(i), 16) < 0 || Character.isUpperCase(hash.charAt(i)))
+				return false;
+		}
+		return true;
+	}
+
+	/** Turns the skin into ARGB pixels, as textures take them. The skin is opaque */
+	public int[] getSkinPixels()
+	{
+		return toARGB(skin, skinWidth * skinHeight, false);
+	}
+
+	/** Turns the icon into ARGB pixels, as textures take them */
+	public int[] getIconPixels()
+	{
+		return toARGB(icon, iconWidth * iconHeight, true);
+	}
+
+	private static int[] toARGB(byte[] bytes, int numPixels, boolean alpha)
+	{
+		int[] pixels = new int[numPixels];
+		for(int i = 0; i < numPixels; i++)
+		{
+			int offset = i * BYTES_PER_PIXEL;
+			int a = alpha ? bytes[offset + 3] & 0xff : 0xff;
+			pixels[i] = a << 24 | (bytes[offset] & 0xff) << 16 | (bytes[offset + 1] & 0xff) << 8 | (bytes[offset + 2] & 0xff);
+		}
+		return pixels;
+	}
+
+	private static void checkSize(int width, int height, byte[] pixels)
+	{
+		if(width <= 0 || height <= 0 || width > MAX_SIZE || height > MAX_SIZE)
+			throw new IllegalArgumentException("Paint size " + width + "x" + height + " is out of range");
+		if(pixels != null && pixels.length != width * height * BYTES_PER_PIXEL)
+			throw new IllegalArgumentException("Paint has " + pixels.length + " bytes for " + width + "x" + height + " pixels");
+	}
+}
@@ -0,0 +1,247 @@
+package com.flansmod.common.paintjob;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+import net.minecraft.entity.player.EntityPlayerMP;
+import net.minecraft.item.ItemStack;
+import net.minecraft.nbt.NBTTagCompound;
+import net.minecraft.server.MinecraftServer;
+import net.minecraftforge.common.DimensionManager;
+
+import com.flansmod.common.FlansMod;
+import com.flansmod.common.network.PacketCustomPaint;
+
+/** Keeps the custom paints of the world being played, each in a file named after its hash in the flansmod_paints folder
+ * of the save. Items only carry the hash, and clients ask for the pixels of each paint once, when they first need them.
+ * Paints are read for clients on a worker thread, and the ones read most recently are kept in memory */
+public class CustomPaintStore
+{
+	private static final String FOLDER = "flansmod_paints";
+	private static final String EXTENSION = ".paint";
+	/** How many bytes of encoded paints are kept in memory. A paint is at most 2MB */
+	private static final int CACHE_BYTES = 16 * 1024 * 1024;
+	/** How many paints one player can be waiting on at once. Further requests are ignored until some are answered */
+	private static final int MAX_PENDING_PER_PLAYER = 16;
+
+	/** Encoded paints by hash, in order of last use */
+	private static final LinkedHashMap<String, byte[]> cache = new LinkedHashMap<String, byte[]>(16, 0.75F, true);
+	private static int cachedBytes;
+	/** The hashes each player has asked for and not yet been sent. Only touched on the server thread */
+	private static final HashMap<UUID, HashSet<String>> pending = new HashMap<UUID, HashSet<String>>();
+	private static ExecutorService reader;
+
+	/** Saves a paint, if it is not saved already, and paints the item with it */
+	public static void paint(ItemStack stack, CustomPaint paint)
+	{
+		String hash = put(paint);
+		if(hash == null)
+			return;
+		if(!stack.hasTagCompound())
+			stack.setTagCompound(new NBTTagCompound());
+		NBTTagCompound paintTags = new NBTTagCompound();
+		paintTags.setString("Hash", hash);
+		stack.getTagCompound().setTag("CustomPaint", paintTags);
+	}
+
+	/** Saves a paint, if it is not saved already. Returns its hash, or null if there is no world to save it in */
+	public static String put(CustomPaint paint)
+	{
+		File file = getFile(paint.getHash());
+		if(file == null)
+			return null;
+		if(!file.exists())
+		{
+			file.getParentFile().mkdirs();
+			try
+			{
+				writeFile(file, paint.encode());
+				cache(paint.getHash(), paint.encode());
+			}
+			catch(IOException e)
+			{
+				FlansMod.log("Failed to save custom paint " + paint.getHash());
+				e.printStackTrace();
+				return null;
+			}
+		}
+		return paint.getHash();
+	}
+
+	/** Sends a paint to a player who asked for it, or tells them there is no such paint. The paint is read on a worker
+	 * thread if it is not in memory, and the answer is sent from the server thread. Called on the server thread */
+	public static void sendTo(final EntityPlayerMP player, final String hash)
+	{
+		byte[] data;
+		synchronized(cache)
+		{
+			data = cache.get(hash);
+		}
+		if(data != null)
+		{
+			FlansMod.packetHandler.sendTo(new PacketCustomPaint(hash, data), player);
+			return;
+		}
+
+		//Ignore a player asking again for a paint they are already waiting on, or for too many at once
+		final UUID uuid = player.getUniqueID();
+		HashSet<String> hashes = pending.get(uuid);
+		if(hashes == null)
+		{
+			hashes = new HashSet<String>();
+			pending.put(uuid, hashes);
+		}
+		if(hashes.size() >= MAX_PENDING_PER_PLAYER || !hashes.add(hash))
+			return;
+
+		final File file = getFile(hash);
+		getReader().execute(new Runnable()
+		{
+			@Override
+			public void run()
+			{
+				final byte[] data = read(file, hash);
+				MinecraftServer.getServer().addScheduledTask(new Runnable()
+				{
+					@Override
+					public void run()
+					{
+						HashSet<String> hashes = pending.get(uuid);
+						if(hashes != null)
+						{
+							hashes.remove(hash);
+							if(hashes.isEmpty())
+								pending.remove(uuid);
+						}
+						//Send to the player's current entity, which changes when they respawn, if they are still here
+						EntityPlayerMP target = MinecraftServer.getServer().getConfigurationManager().getPlayerByUUID(uuid);
+						if(target != null)
+							FlansMod.packetHandler.sendTo(new PacketCustomPaint(hash, data), target);
+					}
+				});
+			}
+		});
+	}
+
+	/** Runs on the worker thread. Reads and checks a paint file, keeping it in memory if it is good. Returns null if there
+	 * is no good file */
+	private static byte[] read(File file, String hash)
+	{
+		if(file == null || !file.isFile())
+			return null;
+		try
+		{
+			byte[] data = readFile(file);
+			if(!hash.equals(CustomPaint.hash(data)))
+			{
+				FlansMod.log("Custom paint file " + file.getName() + " does not match its hash");
+				return null;
+			}
+			cache(hash, data);
+			return data;
+		}
+		catch(Exception e)
+		{
+			FlansMod.log("Failed to read custom paint " + hash);
+			e.printStackTrace();
+			return null;
+		}
+	}
+
+	/** Keeps an encoded paint in memory, dropping the ones used longest ago to stay within the limit */
+	private static void cache(String hash, byte[] data)
+	{
+		synchronized(cache)
+		{
+			byte[] previous = cache.put(hash, data);
+			if(previous != null)
+				cachedBytes -= previous.length;
+			cachedBytes += data.length;
+			for(Iterator<byte[]> iterator = cache.values().iterator(); iterator.hasNext() && cachedBytes > CACHE_BYTES; )
+			{
+				cachedBytes -= iterator.next().length;
+				iterator.remove();
+			}
+		}
+	}
+
+	private static File getFile(String hash)
+	{
+		File saveDirectory = DimensionManager.getCurrentSaveRootDirectory();
+		if(saveDirectory == null || !CustomPaint.isValidHash(hash))
+			return null;
+		return new File(new File(saveDirectory, FOLDER), hash + EXTENSION);
+	}
+
+	private static synchronized ExecutorService getReader()
+	{
+		if(reader == null)
+		{
+			reader = Executors.newSingleThreadExecutor(new ThreadFactory()
+			{
+				@Override
+				public Thread newThread(Runnable runnable)
+				{
+					Thread thread = new Thread(runnable, "Flan's Mod Paint Reader");
+					thread.setDaemon(true);
+					return thread;
+				}
+			});
+		}
+		return reader;
+	}
+
+	/** Reads a whole paint file. Also used for the client's cache of paints from servers */
+	public static byte[] readFile(File file) throws IOException
+	{
+		byte[] data = new byte[(int)file.length()];
+		FileInputStream in = new FileInputStream(file);
+		try
+		{
+			int read = 0;
+			while(read < data.length)
+			{
+				int n = in.read(data, read, data.length - read);
+				if(n < 0)
+					throw new IOException("File " + file.getName() + " ended early");
+				read += n;
+			}
+		}
+		finally
+		{
+			in.close();
+		}
+		return data;
+	}
+
+	/** Writes a paint file, through a temporary file so that a crash never leaves half of one */
+	public static void writeFile(File file, byte[] data) throws IOException
+	{
+		File temp = new File(file.getPath() + ".tmp");
+		FileOutputStream out = new FileOutputStream(temp);
+		try
+		{
+			out.write(data);
+		}
+		finally
+		{
+			out.close();
+		}
+		if(!temp.renameTo(file))
+		{
+			temp.delete();
+			if(!file.exists())
+				throw new IOException("Could not move " + temp.getName() + " into place");
+		}
+	}
+}
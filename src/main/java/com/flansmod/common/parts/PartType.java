@@ -13,6 +13,7 @@ import net.minecraftforge.fml.relauncher.SideOnly;
 import com.flansmod.common.types.EnumType;
 import com.flansmod.common.types.InfoType;
 import com.flansmod.common.types.TypeFile;
+import com.flansmod.common.types.TypeParser;
 
 public class PartType extends InfoType {
 	/** Category */
@@ -53,6 +54,13 @@ public class PartType extends InfoType {
 			partsByCategory.put(cat, new ArrayList<PartType>());
 	}
 	
+	static
+	{
+		TypeParser.register(PartType.class)
+			.custom("Category", "StackSize", "EngineSpeed", "FuelConsumption", "Fuel", "PartBoxRecipe", "WorksWith",
+				"UseRF", "UseRFPower", "RFDrawRate", "IsAIChip", "CanBeDefaultEngine");
+	}
+
 	public PartType(TypeFile file) {
 		super(file);
 		parts.add(this);
@@ -9,6 +9,7 @@ import com.flansmod.common.FlansMod;
 import com.flansmod.common.guns.boxes.BoxType;
 import com.flansmod.common.types.InfoType;
 import com.flansmod.common.types.TypeFile;
+import com.flansmod.common.types.TypeParser;
 
 import net.minecraftforge.fml.relauncher.Side;
 import net.minecraftforge.fml.relauncher.SideOnly;
@@ -22,6 +23,12 @@ public class ArmourBoxType extends BoxType
 	/** The static box map. Indexed by shortName for server ~ client syncing */
 	public static HashMap<String, ArmourBoxType> boxes = new HashMap<String, ArmourBoxType>();
 	
+	static
+	{
+		TypeParser.register(ArmourBoxType.class)
+			.custom("addarmour", "addarmor");
+	}
+
 	public ArmourBoxType(TypeFile file) 
 	{
 		super(file);
@@ -3,11 +3,11 @@ package com.flansmod.common.teams;
 import java.util.ArrayList;
 
 import com.flansmod.client.model.ModelCustomArmour;
-import com.flansmod.common.FlansMod;
 import com.flansmod.common.types.InfoType;
+import com.flansmod.common.types.ModelHandle;
 import com.flansmod.common.types.TypeFile;
+import com.flansmod.common.types.TypeParser;
 
-import net.minecraft.client.model.ModelBase;
 import net.minecraftforge.fml.common.FMLCommonHandler;
 import net.minecraftforge.fml.relauncher.Side;
 import net.minecraftforge.fml.relauncher.SideOnly;
@@ -34,8 +34,27 @@ public class ArmourType extends InfoType
 	public boolean negateFallDamage = false;
 	
 	@SideOnly(Side.CLIENT)
-	public ModelCustomArmour model;
+	public ModelHandle<ModelCustomArmour> model;
 	
+	static
+	{
+		TypeParser.register(ArmourType.class)
+			.field("DamageReduction", "defence")
+			.field("Defence", "defence")
+			.field("MoveSpeedModifier", "moveSpeedModifier")
+			.field("Slowness", "moveSpeedModifier")
+			.field("JumpModifier", "jumpModifier")
+			.field("KnockbackReduction", "knockbackModifier")
+			.field("KnockbackModifier", "knockbackModifier")
+			.field("NightVision", "nightVision")
+			.field("NegateFallDamage", "negateFallDamage")
+			.field("Overlay", "overlay")
+			.field("SmokeProtection", "smokeProtection")
+			.field("ArmourTexture", "armourTextureName")
+			.field("ArmorTexture", "armourTextureName")
+			.custom("Model", "Type");
+	}
+
 	public ArmourType(TypeFile file)
 	{
 		super(file);
@@ -50,8 +69,14 @@ public class ArmourType extends InfoType
 		{
 			if(FMLCommonHandler.instance().getSide().isClient() && split[0].equals("Model"))
 			{
-				model = FlansMod.proxy.loadModel(split[1], shortName, ModelCustomArmour.class);
-				model.type = this;
+				model = new ModelHandle<ModelCustomArmour>(split[1], shortName, ModelCustomArmour.class)
+				{
+					@Override
+					protected void onLoad(ModelCustomArmour armourModel)
+					{
+						armourModel.type = ArmourType.this;
+					}
+				};
 			}
 			if(split[0].equals("Type"))
 			{
@@ -65,19 +90,6 @@ public class ArmourType extends InfoType
 					type = 3;
 			}			
 			
-			defence = Read(split, "DamageReduction", defence);
-			defence = Read(split, "Defence", defence);
-			moveSpeedModifier = Read(split, "MoveSpeedModifier", moveSpeedModifier);
-			moveSpeedModifier = Read(split, "Slowness", moveSpeedModifier);
-			jumpModifier = Read(split, "JumpModifier", jumpModifier);
-			knockbackModifier = Read(split, "KnockbackReduction", knockbackModifier);
-			knockbackModifier = Read(split, "KnockbackModifier", knockbackModifier);
-			nightVision = Read(split, "NightVision", nightVision);
-			negateFallDamage = Read(split, "NegateFallDamage", negateFallDamage);
-			overlay = Read(split, "Overlay", overlay);
-			smokeProtection = Read(split, "SmokeProtection", smokeProtection);
-			armourTextureName = Read(split, "ArmourTexture", armourTextureName);
-			armourTextureName = Read(split, "ArmorTexture", armourTextureName);
 		} 
 		catch (Exception e)
 		{
@@ -99,9 +111,8 @@ public class ArmourType extends InfoType
 	/** To be overriden by subtypes for model reloading */
 	public void reloadModel()
 	{
-		model = FlansMod.proxy.loadModel(modelString, shortName, ModelCustomArmour.class);
 		if(model != null)
-			model.type = this;
+			model.unload();
 	}
 
 	@Override
@@ -116,7 +127,14 @@ public class ArmourType extends InfoType
 
 	@Override
 	@SideOnly(Side.CLIENT)
-	public ModelBase GetModel()
+	public ModelCustomArmour GetModel()
+	{
+		return model == null ? null : model.get();
+	}
+	
+	@Override
+	@SideOnly(Side.CLIENT)
+	public ModelHandle<?> getModelHandle()
 	{
 		return model;
 	}
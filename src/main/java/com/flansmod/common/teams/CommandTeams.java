@@ -770,6 +770,7 @@ public class CommandTeams extends CommandBase
 				if(data != null)
 				{
 					data.AddRewardBoxInstance(instance);
+					TeamsManagerRanked.markRankDataDirty(profile.getId());
 				}
 			}
 			return;
@@ -35,6 +35,8 @@ public abstract class Gametype
 	public String name;
 	public String shortName;
 	public int numTeamsRequired;
+	/** The furthest back, in milliseconds, that lag compensation will rewind players for a shooter in this gametype */
+	public int maxLagCompensation = 1000;
 	
 	public Gametype(String s, String s1, int numTeams)
 	{
@@ -86,7 +88,15 @@ public abstract class Gametype
 	public abstract Vec3 getSpawnPoint(EntityPlayerMP player);
 	
 	//Return whether or not the variable exists
-	public boolean setVariable(String variable, String value) { return false; }
+	public boolean setVariable(String variable, String value)
+	{
+		if(variable.toLowerCase().equals("maxlagcompensation"))
+		{
+			maxLagCompensation = Integer.parseInt(value);
+			return true;
+		}
+		return false;
+	}
 	
 	public abstract void readFromNBT(NBTTagCompound tags);
 	
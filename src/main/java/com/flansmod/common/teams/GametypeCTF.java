@@ -248,7 +248,7 @@ public class GametypeCTF extends Gametype
 			flagReturnTime = Integer.parseInt(value);
 			return true;
 		}
-		return false;
+		return super.setVariable(variable, value);
 	}
 
 	@Override
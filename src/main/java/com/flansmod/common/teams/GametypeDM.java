@@ -175,7 +175,7 @@ public class GametypeDM extends Gametype
 			scoreLimit = Integer.parseInt(value);
 			return true;
 		}
-		return false;
+		return super.setVariable(variable, value);
 	}
 
 	@Override
@@ -187,7 +187,7 @@ public class GametypeTDM extends Gametype
 			autoBalance = Boolean.parseBoolean(value);
 			return true;
 		}
-		return false;
+		return super.setVariable(variable, value);
 	}
 
 	@Override
@@ -257,6 +257,6 @@ public class GametypeZombies extends Gametype
 			humanPrepTime = Integer.parseInt(value) * 20;
 			return true;
 		}
-		return false;
+		return super.setVariable(variable, value);
 	}
 }
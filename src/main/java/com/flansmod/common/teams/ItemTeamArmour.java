@@ -106,7 +106,7 @@ public class ItemTeamArmour extends ItemArmor implements ISpecialArmor, IFlanIte
     @SideOnly(Side.CLIENT)
     public ModelBiped getArmorModel(EntityLivingBase entityLiving, ItemStack itemStack, int armorSlot)
     {
-        return type.model;
+        return type.GetModel();
     }
     
 	@Override
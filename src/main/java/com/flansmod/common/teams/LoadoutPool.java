@@ -10,6 +10,7 @@ import com.flansmod.common.FlansMod;
 import com.flansmod.common.guns.Paintjob;
 import com.flansmod.common.types.InfoType;
 import com.flansmod.common.types.TypeFile;
+import com.flansmod.common.types.TypeParser;
 
 public class LoadoutPool extends InfoType 
 {	
@@ -45,6 +46,16 @@ public class LoadoutPool extends InfoType
 	
 	public int[] slotUnlockLevels = new int[] { 0, 0, 5, 10, 20 };
 	
+	static
+	{
+		TypeParser.register(LoadoutPool.class)
+			.field("XPForKill", "XPForKill")
+			.field("XPForDeath", "XPForDeath")
+			.field("XPForKillstreakBonus", "XPForKillstreakBonus")
+			.custom("MaxLevel", "XPPerLevel", "SlotUnlockLevels", "DefaultLoadout", "AddRewardBox", "AddReward",
+				"AddPrimary", "AddSecondary", "AddSpecial", "AddMelee", "AddArmour");
+	}
+
 	public LoadoutPool(TypeFile file) 
 	{
 		super(file);
@@ -67,10 +78,6 @@ public class LoadoutPool extends InfoType
 	{
 		super.read(split, file);
 		
-		XPForKill = Read(split, "XPForKill", XPForKill);
-		XPForDeath = Read(split, "XPForDeath", XPForDeath);
-		XPForKillstreakBonus = Read(split, "XPForKillstreakBonus", XPForKillstreakBonus);
-		
 		if (KeyMatches(split, "MaxLevel"))
 		{
 			maxLevel = Integer.parseInt(split[1]);
@@ -18,6 +18,7 @@ import com.flansmod.common.guns.ItemGun;
 import com.flansmod.common.guns.Paintjob;
 import com.flansmod.common.types.InfoType;
 import com.flansmod.common.types.TypeFile;
+import com.flansmod.common.types.TypeParser;
 
 public class PlayerClass extends InfoType implements IPlayerClass
 {
@@ -47,6 +48,12 @@ public class PlayerClass extends InfoType implements IPlayerClass
 	@Override
 	public String GetShortName() { return name; }
 	
+	static
+	{
+		TypeParser.register(PlayerClass.class)
+			.custom("AddItem", "SkinOverride", "Hat", "Helmet", "Chest", "Top", "Legs", "Bottom", "Shoes", "Boots");
+	}
+
 	public PlayerClass(TypeFile file)
 	{
 		super(file);
@@ -140,7 +147,7 @@ public class PlayerClass extends InfoType implements IPlayerClass
 					if(item != null && item.getUnlocalizedName() != null && (item.getUnlocalizedName().equals(itemNames[0]) || (item.getUnlocalizedName().split("\\.").length > 1 && item.getUnlocalizedName().split("\\.")[1].equals(itemNames[0]))))
 						matchingItem = item;
 				}
-				for(InfoType type : InfoType.infoTypes.values())
+				for(InfoType type : InfoType.infoTypes)
 				{
 					if(type.shortName.equals(itemNames[0]) && type.item != null)
 						matchingItem = type.item;
@@ -9,6 +9,7 @@ import com.flansmod.common.types.EnumPaintjobRarity;
 import com.flansmod.common.types.InfoType;
 import com.flansmod.common.types.PaintableType;
 import com.flansmod.common.types.TypeFile;
+import com.flansmod.common.types.TypeParser;
 
 public class RewardBox extends InfoType 
 {
@@ -20,6 +21,12 @@ public class RewardBox extends InfoType
 	
 	private static HashMap<Integer, RewardBox> boxes = new HashMap<Integer, RewardBox>();
 	
+	static
+	{
+		TypeParser.register(RewardBox.class)
+			.custom("AddPaintjob", "RarityWeight");
+	}
+
 	public RewardBox(TypeFile file) 
 	{
 		super(file);
@@ -18,6 +18,7 @@ import com.flansmod.common.PlayerHandler;
 import com.flansmod.common.types.EnumType;
 import com.flansmod.common.types.InfoType;
 import com.flansmod.common.types.TypeFile;
+import com.flansmod.common.types.TypeParser;
 
 public class Team extends InfoType
 {
@@ -48,6 +49,13 @@ public class Team extends InfoType
 		teams.add(this);
 	}
 	
+	static
+	{
+		TypeParser.register(Team.class)
+			.custom("TeamColour", "TextColour", "Hat", "Helmet", "Chest", "Top", "Legs", "Bottom", "Shoes", "Boots",
+				"AddDefaultClass", "AddClass");
+	}
+
 	public Team(TypeFile file)
 	{
 		super(file);
@@ -1,10 +1,6 @@
 package com.flansmod.common.teams;
 
-import java.io.DataInputStream;
-import java.io.DataOutputStream;
 import java.io.File;
-import java.io.FileInputStream;
-import java.io.FileOutputStream;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.EnumSet;
@@ -18,7 +14,6 @@ import net.minecraft.entity.item.EntityItem;
 import net.minecraft.entity.player.EntityPlayer;
 import net.minecraft.entity.player.EntityPlayerMP;
 import net.minecraft.item.ItemStack;
-import net.minecraft.nbt.CompressedStreamTools;
 import net.minecraft.nbt.NBTTagCompound;
 import net.minecraft.network.play.server.S08PacketPlayerPosLook;
 import net.minecraft.server.MinecraftServer;
@@ -63,9 +58,9 @@ import com.flansmod.common.guns.ItemShootable;
 import com.flansmod.common.guns.ShootableType;
 import com.flansmod.common.network.PacketBase;
 import com.flansmod.common.network.PacketRoundFinished;
-import com.flansmod.common.network.PacketTeamInfo;
 import com.flansmod.common.network.PacketTeamSelect;
 import com.flansmod.common.network.PacketVoting;
+import com.flansmod.common.network.ScoreboardSync;
 import com.flansmod.common.types.InfoType;
 
 public class TeamsManager
@@ -178,12 +173,9 @@ public class TeamsManager
 	
 	public void tick()
 	{
-		//Send a full team info update to players every 2 seconds.
-		if(time % 40 == 0)
-		{
-			FlansMod.INSTANCE.getPacketHandler().sendToAll(new PacketTeamInfo());
+		//Send any changes to the scoreboard every 2 seconds, and refresh the team menu if they could affect it
+		if(time % 40 == 0 && ScoreboardSync.update())
 			showTeamsMenuToAll(true);
-		}
 		
 		if(!enabled)
 			return;
@@ -781,7 +773,11 @@ public class TeamsManager
 		if(event instanceof PlayerEvent.PlayerLoggedOutEvent)
 			onPlayerLogout(event.player);
 		if(event instanceof PlayerEvent.PlayerLoggedInEvent)
+		{
+			if(event.player instanceof EntityPlayerMP)
+				ScoreboardSync.sendFull((EntityPlayerMP)event.player);
 			onPlayerLogin(event.player);
+		}
 	}
 	
 	public void onPlayerLogin(EntityPlayer player) 
@@ -1160,14 +1156,15 @@ public class TeamsManager
 	{
 		//Reset the teams manager before loading a new world
 		reset();
+		//Records belong to the whole save rather than one dimension, so only the overworld reads and writes them
+		if(world.provider.getDimensionId() == 0)
+			readRecords(getRecordsDirectory(world));
 		//Read the teams dat file
-		File file = new File(world.getSaveHandler().getWorldDirectory(), "teams_" + world.provider.getDimensionName() + ".dat");
-		if(!checkFileExists(file))
+		NBTTagCompound tags = TeamsPersistence.read(getTeamsFile(world));
+		if(tags == null)
 			return;
 		try
 		{
-			NBTTagCompound tags = CompressedStreamTools.read(new DataInputStream(new FileInputStream(file)));
-			
 			ReadFromNBT(tags, world);
 			
 			//Start the rotation
@@ -1182,27 +1179,39 @@ public class TeamsManager
 		}
 		
 		//Reset all infotypes. Specifically, send this to player classes so that they may create itemstacks from strings regarding attachments for guns
-		for(InfoType type : InfoType.infoTypes.values())
+		for(InfoType type : InfoType.infoTypes)
 			type.onWorldLoad(world);
 	}
 	
+	/** Saves the teams data on the save thread. Records go first so that data moving out of the main file into them is never only in memory */
 	private void savePerWorldData(Event event, World world)
 	{
-		File file = new File(world.getSaveHandler().getWorldDirectory(), "teams_" + world.provider.getDimensionName() + ".dat");
-		checkFileExists(file);
-		try
-		{
-			NBTTagCompound tags = new NBTTagCompound();
-			
-			WriteToNBT(tags);
-			
-			CompressedStreamTools.write(tags, new DataOutputStream(new FileOutputStream(file)));
-		}
-		catch(Exception e)
-		{
-			FlansMod.log("Failed to save to teams.dat");
-			e.printStackTrace();
-		}
+		if(world.provider.getDimensionId() == 0)
+			writeRecords(getRecordsDirectory(world));
+		NBTTagCompound tags = new NBTTagCompound();
+		WriteToNBT(tags);
+		TeamsPersistence.write(getTeamsFile(world), tags);
+	}
+	
+	private File getTeamsFile(World world)
+	{
+		return new File(world.getSaveHandler().getWorldDirectory(), "teams_" + world.provider.getDimensionName() + ".dat");
+	}
+	
+	/** The folder that holds data saved per record rather than in the main teams file. There is one for the whole save */
+	private File getRecordsDirectory(World world)
+	{
+		return new File(world.getSaveHandler().getWorldDirectory(), "teams_records");
+	}
+	
+	/** Reads data kept in separate files so that it can be saved a piece at a time. Nothing is kept this way here */
+	protected void readRecords(File directory)
+	{
+	}
+	
+	/** Queues the separate files that have changed since the last save to be written */
+	protected void writeRecords(File directory)
+	{
 	}
 	
 	protected void ReadFromNBT(NBTTagCompound tags, World world)
@@ -1316,26 +1325,6 @@ public class TeamsManager
 		tags.setBoolean("BreakBlocks", driveablesBreakBlocks);
 	}
 	
-	private boolean checkFileExists(File file)
-	{
-		if(!file.exists())
-		{
-			try
-			{ 
-				file.createNewFile();
-				FlansMod.log("Created new file");
-			}
-			catch(Exception e)
-			{
-				FlansMod.log("Failed to create file");
-				FlansMod.log(file.getAbsolutePath());
-				e.printStackTrace();
-			}
-			return false;
-		}	
-		return true;
-	}
-	
 	//------------------------------------------------------------------------------
 	// Getters, setters, registers, loggers and the likes 
 	//------------------------------------------------------------------------------
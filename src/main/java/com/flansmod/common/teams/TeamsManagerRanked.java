@@ -1,9 +1,10 @@
 package com.flansmod.common.teams;
 
+import java.io.File;
 import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.HashMap;
-import java.util.Map;
+import java.util.HashSet;
 import java.util.UUID;
 
 import com.flansmod.client.gui.GuiDriveableMenu;
@@ -48,6 +49,8 @@ import net.minecraftforge.fml.relauncher.SideOnly;
 public class TeamsManagerRanked extends TeamsManager
 {
 	public static HashMap<UUID, PlayerRankData> rankData = new HashMap<UUID, PlayerRankData>();
+	/** Players whose rank data may have changed since it was last saved, other than those online, who are always saved */
+	private static HashSet<UUID> dirtyRankData = new HashSet<UUID>();
 	
 	public LoadoutPool currentPool;
 	
@@ -174,6 +177,7 @@ public class TeamsManagerRanked extends TeamsManager
 	public void onPlayerLogout(EntityPlayer player) 
 	{
 		super.onPlayerLogout(player);
+		markRankDataDirty(player.getUniqueID());
 	}
 	
 	@Override
@@ -376,6 +380,7 @@ public class TeamsManagerRanked extends TeamsManager
 		int iPoolHash = tags.getInteger("pool");
 		currentPool = LoadoutPool.GetPool(iPoolHash);
 		
+		//Rank data used to be kept in the main teams file. Read it if it is there and move it out into records on the next save
 		NBTTagList ranks = tags.getTagList("playerRanks", 10); // 10 = CompoundTag
 		if(ranks != null)
 		{
@@ -383,9 +388,12 @@ public class TeamsManagerRanked extends TeamsManager
 			{
 				NBTTagCompound playerTags = ranks.getCompoundTagAt(i);
 				UUID uuid = new UUID(playerTags.getLong("uuid1"), playerTags.getLong("uuid2"));
+				if(rankData.containsKey(uuid))
+					continue;
 				PlayerRankData rData = new PlayerRankData();
 				rData.readFromNBT(playerTags);
 				rankData.put(uuid, rData);
+				markRankDataDirty(uuid);
 			}
 		}
 	}
@@ -399,19 +407,61 @@ public class TeamsManagerRanked extends TeamsManager
 		{
 			tags.setInteger("pool", currentPool.shortName.hashCode());
 		}
-		
-		NBTTagList ranks = new NBTTagList();
-		for(Map.Entry<UUID, PlayerRankData> entry : rankData.entrySet())
+	}
+	
+	/** Reads each player's rank data from its own file, named after their UUID */
+	@Override
+	protected void readRecords(File directory)
+	{
+		String[] names = directory.list();
+		if(names == null)
+			return;
+		for(String name : names)
+		{
+			//Take the UUID from both finished files and ones that were about to be moved into place
+			String uuidString = name.endsWith(".dat") ? name.substring(0, name.length() - 4) : name.endsWith(".dat.tmp") ? name.substring(0, name.length() - 8) : null;
+			if(uuidString == null)
+				continue;
+			UUID uuid;
+			try
+			{
+				uuid = UUID.fromString(uuidString);
+			}
+			catch(IllegalArgumentException e)
+			{
+				continue;
+			}
+			NBTTagCompound playerTags = TeamsPersistence.read(new File(directory, uuid + ".dat"));
+			if(playerTags == null)
+				continue;
+			PlayerRankData rData = new PlayerRankData();
+			rData.readFromNBT(playerTags);
+			rankData.put(uuid, rData);
+		}
+	}
+	
+	/** Writes the rank data of everyone online, and anyone else whose data has changed, each to their own file */
+	@Override
+	protected void writeRecords(File directory)
+	{
+		for(EntityPlayer player : getPlayers())
+			dirtyRankData.add(player.getUniqueID());
+		for(UUID uuid : dirtyRankData)
 		{
+			PlayerRankData data = rankData.get(uuid);
+			if(data == null)
+				continue;
 			NBTTagCompound playerTags = new NBTTagCompound();
-			playerTags.setLong("uuid1", entry.getKey().getMostSignificantBits());
-			playerTags.setLong("uuid2", entry.getKey().getLeastSignificantBits());
-			entry.getValue().writeToNBT(playerTags);
-			
-			ranks.appendTag(playerTags);
+			data.writeToNBT(playerTags);
+			TeamsPersistence.write(new File(directory, uuid + ".dat"), playerTags);
 		}
-		
-		tags.setTag("playerRanks", ranks);
+		dirtyRankData.clear();
+	}
+	
+	/** Makes sure a player's rank data is written on the next save, for changes made while they are offline */
+	public static void markRankDataDirty(UUID uuid)
+	{
+		dirtyRankData.add(uuid);
 	}
 	
 	@Override
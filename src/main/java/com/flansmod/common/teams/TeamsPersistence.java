@@ -0,0 +1,161 @@
+package com.flansmod.common.teams;
+
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+import net.minecraft.nbt.CompressedStreamTools;
+import net.minecraft.nbt.NBTTagCompound;
+
+import com.flansmod.common.FlansMod;
+
+/** Writes teams data to disk on a background thread, so that saving the world does not wait on it. Tags are copied on
+ * the main thread when they are handed over, and each file is written out in full under a temporary name before being
+ * moved into place, so a crash part way through a save leaves either the old file or the new one, never half of one */
+public class TeamsPersistence
+{
+	private static ExecutorService writer;
+
+	/** Reads a file written by {@link #write}, or returns null if there is none. If the server stopped just after
+	 * finishing a new copy but before moving it into place, the new copy is read instead */
+	public static NBTTagCompound read(File file)
+	{
+		File source = file.exists() ? file : getTempFile(file);
+		if(!source.exists())
+			return null;
+		DataInputStream in = null;
+		try
+		{
+			in = new DataInputStream(new FileInputStream(source));
+			return CompressedStreamTools.read(in);
+		}
+		catch(IOException e)
+		{
+			FlansMod.log("Failed to read " + source.getName());
+			e.printStackTrace();
+			return null;
+		}
+		finally
+		{
+			close(in);
+		}
+	}
+
+	/** Copies the tags and queues them to be written to the file. Writes happen in the order they are queued */
+	public static void write(final File file, NBTTagCompound tags)
+	{
+		final NBTTagCompound snapshot = (NBTTagCompound)tags.copy();
+		getWriter().execute(new Runnable()
+		{
+			@Override
+			public void run()
+			{
+				writeNow(file, snapshot);
+			}
+		});
+	}
+
+	/** Waits for every queued write to finish. Called when the server stops, since the writer thread will not keep it running */
+	public static void flush()
+	{
+		try
+		{
+			getWriter().submit(new Runnable()
+			{
+				@Override
+				public void run()
+				{
+				}
+			}).get();
+		}
+		catch(InterruptedException e)
+		{
+			Thread.currentThread().interrupt();
+		}
+		catch(ExecutionException e)
+		{
+			e.printStackTrace();
+		}
+	}
+
+	private static void writeNow(File file, NBTTagCompound tags)
+	{
+		File temp = getTempFile(file);
+		File directory = file.getParentFile();
+		if(directory != null && !directory.exists())
+			directory.mkdirs();
+		FileOutputStream out = null;
+		try
+		{
+			out = new FileOutputStream(temp);
+			DataOutputStream data = new DataOutputStream(out);
+			CompressedStreamTools.write(tags, data);
+			data.flush();
+			out.getFD().sync();
+			out.close();
+			out = null;
+
+			//Renaming over an existing file is atomic where the file system allows it. Where it does not, the complete
+			//temporary file is left behind until the rename, and read picks it up if the old file has already gone
+			if(!temp.renameTo(file))
+			{
+				file.delete();
+				if(!temp.renameTo(file))
+					throw new IOException("Could not move " + temp.getName() + " to " + file.getName());
+			}
+		}
+		catch(IOException e)
+		{
+			FlansMod.log("Failed to save to " + file.getName());
+			e.printStackTrace();
+		}
+		finally
+		{
+			close(out);
+		}
+	}
+
+	private static File getTempFile(File file)
+	{
+		return new File(file.getParentFile(), file.getName() + ".tmp");
+	}
+
+	private static void close(Closeable stream)
+	{
+		if(stream == null)
+			return;
+		try
+		{
+			stream.close();
+		}
+		catch(IOException e)
+		{
+		}
+	}
+
+	private static synchronized ExecutorService getWriter()
+	{
+		if(writer == null)
+		{
+			writer = Executors.newSingleThreadExecutor(new ThreadFactory()
+			{
+				@Override
+				public Thread newThread(Runnable runnable)
+				{
+					Thread thread = new Thread(runnable, "Flan's Mod Teams Save");
+					thread.setDaemon(true);
+					return thread;
+				}
+			});
+		}
+		return writer;
+	}
+}
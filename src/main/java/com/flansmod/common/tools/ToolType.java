@@ -13,7 +13,9 @@ import net.minecraftforge.fml.relauncher.SideOnly;
 
 import com.flansmod.common.FlansMod;
 import com.flansmod.common.types.InfoType;
+import com.flansmod.common.types.ModelHandle;
 import com.flansmod.common.types.TypeFile;
+import com.flansmod.common.types.TypeParser;
 
 public class ToolType extends InfoType 
 {
@@ -21,7 +23,7 @@ public class ToolType extends InfoType
 	
 	@SideOnly(value = Side.CLIENT)
 	/** The parachute model */
-	public ModelBase model;
+	public ModelHandle<ModelBase> model;
 	
 	/** Boolean switches that decide whether the tool should heal players and / or driveables */
 	public boolean healPlayers = false, healDriveables = false;
@@ -42,6 +44,14 @@ public class ToolType extends InfoType
 	/** If > 0, then the player can eat this and recover this much hunger */
 	public int foodness = 0;
 	
+	static
+	{
+		TypeParser.register(ToolType.class)
+			.custom("Model", "Parachute", "ExplosiveRemote", "Heal", "HealPlayers", "Repair", "RepairVehicles",
+				"HealAmount", "RepairAmount", "ToolLife", "ToolUses", "EUPerCharge", "RechargeRecipe",
+				"DestroyOnEmpty", "Food", "Foodness");
+	}
+
 	public ToolType(TypeFile file) 
 	{
 		super(file);
@@ -61,7 +71,7 @@ public class ToolType extends InfoType
 		try
 		{
 			if(FMLCommonHandler.instance().getSide().isClient() && split[0].equals("Model"))
-				model = FlansMod.proxy.loadModel(split[1], shortName, ModelBase.class);
+				model = new ModelHandle<ModelBase>(split[1], shortName, ModelBase.class);
 			else if(split[0].equals("Parachute"))
 				parachute = Boolean.parseBoolean(split[1].toLowerCase());
 			else if(split[0].equals("ExplosiveRemote"))
@@ -124,6 +134,13 @@ public class ToolType extends InfoType
 	@SideOnly(Side.CLIENT)
 	public ModelBase GetModel()
 	{
-		return null;
+		return model == null ? null : model.get();
+	}
+	
+	@Override
+	@SideOnly(Side.CLIENT)
+	public ModelHandle<?> getModelHandle()
+	{
+		return model;
 	}
 }
@@ -0,0 +1,272 @@
+package com.flansmod.common.types;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+import com.flansmod.common.FlansMod;
+
+/** Binary cache of the type files read out of each content pack, kept in the .cache folder of the Flan folder.
+ * Each pack gets its own file, holding every line of every type file along with its words, all pointing into a
+ * table of unique strings. The file is tagged with a fingerprint of the pack contents, so changing a pack only
+ * throws away that pack's cache. Unchanged packs are memory mapped and skip unzipping, reading and splitting */
+public class ContentCache
+{
+	public static final String CACHE_FOLDER = ".cache";
+
+	private static final int MAGIC = 0x464C4E43;
+	/** Bump this whenever the format, or the way lines are split, changes */
+	private static final int VERSION = 1;
+	private static final Charset UTF8 = Charset.forName("UTF-8");
+
+	/** Whether this file is the cache folder, which should not be loaded as a content pack */
+	public static boolean isCacheFolder(File file)
+	{
+		return file.isDirectory() && file.getName().equals(CACHE_FOLDER);
+	}
+
+	/** Works out the fingerprint of a content pack without reading its files. For zips, this hashes the name, size and CRC
+	 * of every entry from the zip directory. For folders, it hashes the name, size and modification time of each type file */
+	public static long getFingerprint(File contentPack) throws IOException
+	{
+		long hash = 0xcbf29ce484222325L;
+		hash = hash(hash, VERSION);
+		if(contentPack.isDirectory())
+		{
+			for(EnumType type : EnumType.values())
+			{
+				File[] typeFiles = new File(contentPack, "/" + type.folderName + "/").listFiles();
+				if(typeFiles == null)
+					continue;
+				Arrays.sort(typeFiles);
+				for(File file : typeFiles)
+				{
+					hash = hash(hash, type.folderName + "/" + file.getName());
+					hash = hash(hash, file.length());
+					hash = hash(hash, file.lastModified());
+				}
+			}
+		}
+		else
+		{
+			ZipFile zip = new ZipFile(contentPack);
+			try
+			{
+				Enumeration<? extends ZipEntry> entries = zip.entries();
+				while(entries.hasMoreElements())
+				{
+					ZipEntry entry = entries.nextElement();
+					hash = hash(hash, entry.getName());
+					hash = hash(hash, entry.getSize());
+					hash = hash(hash, entry.getCrc());
+				}
+			}
+			finally
+			{
+				zip.close();
+			}
+		}
+		return hash;
+	}
+
+	/** Loads the type files of a content pack from its cache, or returns null if there is no up to date cache */
+	public static List<TypeFile> load(File contentPack, String packName, long fingerprint)
+	{
+		File cacheFile = getCacheFile(contentPack);
+		if(!cacheFile.exists())
+			return null;
+
+		RandomAccessFile file = null;
+		try
+		{
+			file = new RandomAccessFile(cacheFile, "r");
+			//Check the header before mapping, so that a stale cache can still be overwritten on systems that lock mapped files
+			if(file.length() < 16 || file.readInt() != MAGIC || file.readInt() != VERSION || file.readLong() != fingerprint)
+				return null;
+			MappedByteBuffer buffer = file.getChannel().map(FileChannel.MapMode.READ_ONLY, 16, file.length() - 16);
+
+			String[] strings = new String[buffer.getInt()];
+			for(int i = 0; i < strings.length; i++)
+			{
+				byte[] bytes = new byte[buffer.getInt()];
+				buffer.get(bytes);
+				strings[i] = new String(bytes, UTF8);
+			}
+
+			EnumType[] types = EnumType.values();
+			List<TypeFile> files = new ArrayList<TypeFile>();
+			int numFiles = buffer.getInt();
+			for(int i = 0; i < numFiles; i++)
+			{
+				TypeFile typeFile = new TypeFile(packName, types[buffer.get()], strings[buffer.getInt()], false);
+				int numLines = buffer.getInt();
+				typeFile.lines.ensureCapacity(numLines);
+				String[][] splitLines = new String[numLines][];
+				for(int j = 0; j < numLines; j++)
+				{
+					typeFile.lines.add(strings[buffer.getInt()]);
+					splitLines[j] = new String[buffer.getShort() & 0xffff];
+					for(int k = 0; k < splitLines[j].length; k++)
+						splitLines[j][k] = strings[buffer.getInt()];
+				}
+				typeFile.setSplitLines(splitLines);
+				files.add(typeFile);
+			}
+			return files;
+		}
+		catch(Exception e)
+		{
+			FlansMod.log("Could not read the content cache for " + contentPack.getName() + ". It will be rebuilt");
+			return null;
+		}
+		finally
+		{
+			close(file);
+		}
+	}
+
+	/** Writes the cache for a content pack. The type files must already be split */
+	public static void save(File contentPack, long fingerprint, List<TypeFile> files)
+	{
+		File cacheFile = getCacheFile(contentPack);
+		File tempFile = new File(cacheFile.getPath() + ".tmp");
+		DataOutputStream out = null;
+		try
+		{
+			cacheFile.getParentFile().mkdirs();
+
+			//Build the string table
+			HashMap<String, Integer> stringIDs = new HashMap<String, Integer>();
+			List<String> strings = new ArrayList<String>();
+			for(TypeFile typeFile : files)
+			{
+				addString(typeFile.name, stringIDs, strings);
+				for(int i = 0; i < typeFile.lines.size(); i++)
+				{
+					addString(typeFile.lines.get(i), stringIDs, strings);
+					for(String word : typeFile.getSplitLine(i))
+						addString(word, stringIDs, strings);
+				}
+			}
+
+			out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(tempFile)));
+			out.writeInt(MAGIC);
+			out.writeInt(VERSION);
+			out.writeLong(fingerprint);
+			out.writeInt(strings.size());
+			for(String string : strings)
+			{
+				byte[] bytes = string.getBytes(UTF8);
+				out.writeInt(bytes.length);
+				out.write(bytes);
+			}
+			out.writeInt(files.size());
+			for(TypeFile typeFile : files)
+			{
+				out.writeByte(typeFile.type.ordinal());
+				out.writeInt(stringIDs.get(typeFile.name));
+				out.writeInt(typeFile.lines.size());
+				for(int i = 0; i < typeFile.lines.size(); i++)
+				{
+					String[] split = typeFile.getSplitLine(i);
+					out.writeInt(stringIDs.get(typeFile.lines.get(i)));
+					out.writeShort(split.length);
+					for(String word : split)
+						out.writeInt(stringIDs.get(word));
+				}
+			}
+			out.close();
+			out = null;
+
+			//Swap the new file in, so that a crash part way through writing never leaves a broken cache behind
+			if(cacheFile.exists() && !cacheFile.delete())
+			{
+				FlansMod.log("Could not replace the content cache for " + contentPack.getName());
+				tempFile.delete();
+				return;
+			}
+			if(!tempFile.renameTo(cacheFile))
+				tempFile.delete();
+		}
+		catch(Exception e)
+		{
+			FlansMod.log("Could not write the content cache for " + contentPack.getName());
+			e.printStackTrace();
+			close(out);
+			tempFile.delete();
+		}
+	}
+
+	/** Whether these files fit in the cache format. A pack with a line of more than 65535 words is read as text every time */
+	public static boolean canCache(List<TypeFile> files)
+	{
+		for(TypeFile typeFile : files)
+			for(int i = 0; i < typeFile.lines.size(); i++)
+				if(typeFile.getSplitLine(i).length > 0xffff)
+					return false;
+		return files.size() > 0;
+	}
+
+	private static File getCacheFile(File contentPack)
+	{
+		return new File(new File(FlansMod.flanDir, CACHE_FOLDER), contentPack.getName() + ".bin");
+	}
+
+	private static void addString(String string, HashMap<String, Integer> stringIDs, List<String> strings)
+	{
+		if(!stringIDs.containsKey(string))
+		{
+			stringIDs.put(string, strings.size());
+			strings.add(string);
+		}
+	}
+
+	/** FNV-1a, a byte at a time */
+	private static long hash(long hash, long value)
+	{
+		for(int i = 0; i < 8; i++)
+		{
+			hash ^= (value >>> (i * 8)) & 0xff;
+			hash *= 0x100000001b3L;
+		}
+		return hash;
+	}
+
+	private static long hash(long hash, String value)
+	{
+		for(byte b : value.getBytes(UTF8))
+		{
+			hash ^= b & 0xff;
+			hash *= 0x100000001b3L;
+		}
+		return hash(hash, value.length());
+	}
+
+	private static void close(Closeable closeable)
+	{
+		if(closeable == null)
+			return;
+		try
+		{
+			closeable.close();
+		}
+		catch(IOException e)
+		{
+			e.printStackTrace();
+		}
+	}
+}
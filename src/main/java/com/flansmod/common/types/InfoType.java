@@ -1,9 +1,12 @@
 package com.flansmod.common.types;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Random;
+import java.util.zip.CRC32;
 
 import net.minecraft.block.material.Material;
 import net.minecraft.client.model.ModelBase;
@@ -25,11 +28,21 @@ import net.minecraftforge.fml.relauncher.SideOnly;
 
 import com.flansmod.common.FlansMod;
 import com.flansmod.common.guns.Paintjob;
+import com.google.common.base.Charsets;
 
 public class InfoType
 {
-	/** infoTypes */
-	public static HashMap<Integer, InfoType> infoTypes = new HashMap<Integer, InfoType>();
+	/** All loaded types. Once {@link #assignTypeIDs()} has run, each type sits at the index of its typeID */
+	public static ArrayList<InfoType> infoTypes = new ArrayList<InfoType>();
+	/** Types by shortName, for content pack files and commands */
+	private static HashMap<String, InfoType> typesByShortName = new HashMap<String, InfoType>();
+	/** Types by typeID, for packets */
+	private static InfoType[] typesByID = new InfoType[0];
+	/** A checksum of every shortName in typeID order. Clients compare it with the server's to make sure their IDs agree */
+	private static int typeTableChecksum;
+
+	/** A small sequential ID, assigned once all content packs are loaded. Sent over the network in place of the shortName */
+	public int typeID = -1;
 
 	public String contentPack;
 	public Item item;
@@ -59,6 +72,24 @@ public class InfoType
 	/** Used for scaling */
 	public static int totalDungeonChance = 0;
 	
+	static
+	{
+		TypeParser.register(InfoType.class)
+			.field("ShortName", "shortName")
+			.text("Name", "name")
+			.text("Description", "description")
+			.field("Model", "modelString")
+			.field("ModelScale", "modelScale")
+			.field("Texture", "texture")
+			.field("Icon", "iconPath")
+			.field("DungeonProbability", "dungeonChance")
+			.field("DungeonLootChance", "dungeonChance")
+			.field("RecipeOutput", "recipeOutput")
+			.field("SmeltableFrom", "smeltableFrom")
+			.field("CanDrop", "canDrop")
+			.custom("Colour", "Color", "Recipe", "ShapelessRecipe");
+	}
+
 	public InfoType(TypeFile file)
 	{
 		contentPack = file.contentPack;
@@ -66,26 +97,71 @@ public class InfoType
 	
 	public void read(TypeFile file)
 	{
+		TypeParser parser = TypeParser.get(getClass());
 		preRead(file);
 		for(;;)
 		{
-			String line = null;
-			line = file.readLine();
-			if(line == null)
+			String[] split = file.readSplitLine();
+			if(split == null)
 				break;
-			if(line.startsWith("//"))
-				continue;
-			String[] split = line.split(" ");
 			if(split.length < 2)
 				continue;
-			read(split, file);
+			parser.read(this, split, file);
 		}
 		postRead(file);
 
-		infoTypes.put(shortName.hashCode(), this);
+		register();
 		totalDungeonChance += dungeonChance;
 	}
 	
+	/** Adds this type to the registry. A type with the same shortName as one already loaded replaces it */
+	private void register()
+	{
+		InfoType existing = typesByShortName.get(shortName);
+		if(existing != null)
+		{
+			LogError(shortName, "Duplicate short name. The " + existing.getClass().getSimpleName() + " from " + existing.contentPack + " will be replaced by the " + getClass().getSimpleName() + " from " + contentPack);
+			infoTypes.remove(existing);
+		}
+		typesByShortName.put(shortName, this);
+		infoTypes.add(this);
+	}
+	
+	/** Numbers every loaded type, and should be called once all content packs are read. Types are sorted by shortName first, 
+	 * so a client and server with the same content packs agree on every ID no matter what order the packs were read in */
+	public static void assignTypeIDs()
+	{
+		Collections.sort(infoTypes, new Comparator<InfoType>()
+		{
+			@Override
+			public int compare(InfoType a, InfoType b)
+			{
+				return a.shortName.compareTo(b.shortName);
+			}
+		});
+		typesByID = infoTypes.toArray(new InfoType[infoTypes.size()]);
+		CRC32 checksum = new CRC32();
+		HashMap<Integer, InfoType> typesByHash = new HashMap<Integer, InfoType>();
+		for(int i = 0; i < typesByID.length; i++)
+		{
+			InfoType type = typesByID[i];
+			type.typeID = i;
+			checksum.update(type.shortName.getBytes(Charsets.UTF_8));
+			checksum.update(0);
+			
+			InfoType sameHash = typesByHash.get(type.hashCode());
+			if(sameHash != null)
+			{
+				LogError(type.shortName, "Short name has the same hash as " + sameHash.shortName + " from " + sameHash.contentPack 
+						+ ". Items and paintjobs saved by hash may load as the wrong one. Rename one of them to fix this");
+			}
+			else typesByHash.put(type.hashCode(), type);
+		}
+		typeTableChecksum = (int)checksum.getValue();
+		
+		FlansMod.log("Assigned IDs to " + typesByID.length + " types.");
+	}
+	
 	/** Method for performing actions prior to reading the type file */
 	protected void preRead(TypeFile file) {}
 	
@@ -94,31 +170,16 @@ public class InfoType
 	
 	@SideOnly(Side.CLIENT)
 	public ModelBase GetModel() { return null; }
+	
+	/** The handle to this type's model, or null if it has none. Lets models be built before they are first rendered */
+	@SideOnly(Side.CLIENT)
+	public ModelHandle<?> getModelHandle() { return null; }
 
-	/** Pack reader */
+	/** Pack reader for the keys registered as custom with {@link TypeParser}. Keys that only set a field are bound there instead */
 	protected void read(String[] split, TypeFile file)
 	{
 		try
 		{
-			// Standard line reads
-			shortName = Read(split, "ShortName", shortName);
-			name = ReadAndConcatenateMultipleStrings(split, "Name", name);
-			description = ReadAndConcatenateMultipleStrings(split, "Description", description);
-			
-			modelString = Read(split, "Model", modelString);
-			modelScale = Read(split, "ModelScale", modelScale);
-			texture = Read(split, "Texture", texture);
-			
-			iconPath = Read(split, "Icon", iconPath);
-
-			dungeonChance = Read(split, "DungeonProbability", dungeonChance);
-			dungeonChance = Read(split, "DungeonLootChance", dungeonChance);
-			
-			recipeOutput = Read(split, "RecipeOutput", recipeOutput);
-			
-			smeltableFrom = Read(split, "SmeltableFrom", smeltableFrom);
-			canDrop = Read(split, "CanDrop", canDrop);
-
 			// More complicated line reads
 			if (split[0].equals("Colour") || split[0].equals("Color"))
 			{
@@ -164,7 +225,7 @@ public class InfoType
 	/** -------------------------------------------------------------------------------------------------------- */
 	protected boolean KeyMatches(String[] split, String key)
 	{
-		return split != null && split.length > 1 && key != null && split[0].toLowerCase().equals(key.toLowerCase());
+		return split != null && split.length > 1 && key != null && split[0].equalsIgnoreCase(key);
 	}
 	
 	protected int Read(String[] split, String key, int currentValue)
@@ -485,11 +546,9 @@ public class InfoType
 				return new ItemStack(item, amount, damage);
 			}
 		}
-		for(InfoType type : infoTypes.values())
-		{
-			if(type.shortName.equals(s))
-				return new ItemStack(type.item, amount, damage);
-		}
+		InfoType type = getType(s);
+		if(type != null)
+			return new ItemStack(type.item, amount, damage);
 		if (s.equals("gunpowder"))
 		{
 			return new ItemStack(Items.gunpowder, amount);
@@ -516,12 +575,24 @@ public class InfoType
 	
 	public static InfoType getType(String s)
 	{
-		return infoTypes.get(s.hashCode());
+		return typesByShortName.get(s);
+	}
+	
+	/** Gets a type by the ID given to it by {@link #assignTypeIDs()} */
+	public static InfoType getType(int typeID)
+	{
+		return typeID >= 0 && typeID < typesByID.length ? typesByID[typeID] : null;
+	}
+	
+	/** The number of types given IDs by {@link #assignTypeIDs()} */
+	public static int getTypeCount()
+	{
+		return typesByID.length;
 	}
 	
-	public static InfoType getType(int hash)
+	public static int getTypeTableChecksum()
 	{
-		return infoTypes.get(hash);
+		return typeTableChecksum;
 	}
 
 	public void onWorldLoad(World world) 
@@ -0,0 +1,167 @@
+package com.flansmod.common.types;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+import com.flansmod.common.FlansMod;
+
+/** A model named in a type file. Reading the file only makes the handle. The model itself is built the first time
+ * something asks for it, or earlier on a background thread if it is prefetched, and models that have not been used for
+ * a while are dropped again when the loaded ones go over the memory budget. A dropped model is built again the next
+ * time it is asked for. Handles are only made on the client, since the server has no models */
+public class ModelHandle<T>
+{
+	/** Every handle whose model is currently built */
+	private static final Set<ModelHandle<?>> loaded = Collections.newSetFromMap(new ConcurrentHashMap<ModelHandle<?>, Boolean>());
+	private static ExecutorService prefetcher;
+
+	/** The model name from the type file and the type it belongs to, as passed to {@link com.flansmod.common.CommonProxy#loadModel} */
+	public final String modelName, shortName;
+	private final Class<T> modelClass;
+	private volatile T model;
+	/** Set if the model could not be built, so that it is not tried again every frame */
+	private volatile boolean failed;
+	private volatile boolean queued;
+	private volatile long lastUsed;
+	/** Rough size of the built model in bytes */
+	private long size;
+
+	public ModelHandle(String modelName, String shortName, Class<T> modelClass)
+	{
+		this.modelName = modelName;
+		this.shortName = shortName;
+		this.modelClass = modelClass;
+	}
+
+	/** Gets the model, building it first if it is not built. Returns null if it cannot be built */
+	public T get()
+	{
+		lastUsed = System.currentTimeMillis();
+		T current = model;
+		if(current == null && !failed)
+			current = load();
+		return current;
+	}
+
+	/** Gets the model only if it is already built */
+	public T getIfLoaded()
+	{
+		return model;
+	}
+
+	/** Builds the model on the background thread, unless it is already built or on its way */
+	public void prefetch()
+	{
+		//Counts as a use, so that models of things being carried are not dropped and then fetched straight back
+		lastUsed = System.currentTimeMillis();
+		if(model != null || failed || queued)
+			return;
+		queued = true;
+		getPrefetcher().execute(new Runnable()
+		{
+			@Override
+			public void run()
+			{
+				try
+				{
+					load();
+				}
+				finally
+				{
+					queued = false;
+				}
+			}
+		});
+	}
+
+	/** Called once each time the model is built, before anything else can get it. For types that need to set things on their models */
+	protected void onLoad(T model)
+	{
+	}
+
+	private synchronized T load()
+	{
+		if(model == null && !failed)
+		{
+			T built = FlansMod.proxy.loadModel(modelName, shortName, modelClass);
+			if(built == null)
+				failed = true;
+			else
+			{
+				onLoad(built);
+				size = FlansMod.proxy.getModelSize(built);
+				lastUsed = System.currentTimeMillis();
+				model = built;
+				loaded.add(this);
+			}
+		}
+		return model;
+	}
+
+	/** Drops the model and frees what it has drawn with, so that it is built again next time it is asked for. Must be
+	 * called from the client thread */
+	public synchronized void unload()
+	{
+		T old = model;
+		model = null;
+		failed = false;
+		loaded.remove(this);
+		if(old != null)
+			FlansMod.proxy.unloadModel(old);
+	}
+
+	/** Drops the least recently used models, among those that have not been used for at least minIdle milliseconds, until
+	 * the loaded models fit in the budget. Must be called from the client thread */
+	public static void evictUnused(long budget, long minIdle)
+	{
+		long total = 0;
+		List<ModelHandle<?>> handles = new ArrayList<ModelHandle<?>>(loaded);
+		for(ModelHandle<?> handle : handles)
+			total += handle.size;
+		if(total <= budget)
+			return;
+
+		Collections.sort(handles, new Comparator<ModelHandle<?>>()
+		{
+			@Override
+			public int compare(ModelHandle<?> a, ModelHandle<?> b)
+			{
+				return a.lastUsed < b.lastUsed ? -1 : (a.lastUsed > b.lastUsed ? 1 : 0);
+			}
+		});
+		long idleBefore = System.currentTimeMillis() - minIdle;
+		for(ModelHandle<?> handle : handles)
+		{
+			if(total <= budget || handle.lastUsed > idleBefore)
+				break;
+			total -= handle.size;
+			handle.unload();
+		}
+	}
+
+	private static synchronized ExecutorService getPrefetcher()
+	{
+		if(prefetcher == null)
+		{
+			prefetcher = Executors.newSingleThreadExecutor(new ThreadFactory()
+			{
+				@Override
+				public Thread newThread(Runnable runnable)
+				{
+					Thread thread = new Thread(runnable, "Flan's Mod Model Loader");
+					thread.setDaemon(true);
+					thread.setPriority(Thread.MIN_PRIORITY);
+					return thread;
+				}
+			});
+		}
+		return prefetcher;
+	}
+}
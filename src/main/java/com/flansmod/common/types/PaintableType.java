@@ -26,6 +26,12 @@ public abstract class PaintableType extends InfoType
 	public static PaintableType GetPaintableType(int iHash) { return paintableTypes.get(iHash); }
 	public static PaintableType GetPaintableType(String name) { return paintableTypes.get(name.hashCode()); }
 	
+	static
+	{
+		TypeParser.register(PaintableType.class)
+			.custom("Paintjob");
+	}
+
 	public PaintableType(TypeFile file)
 	{
 		super(file);
@@ -41,11 +47,6 @@ public abstract class PaintableType extends InfoType
 		newPaintjobList.add(defaultPaintjob);
 		newPaintjobList.addAll(paintjobs);
 		paintjobs = newPaintjobList;
-		if(infoTypes.containsKey(shortName.hashCode()))
-		{
-			FlansMod.Assert(false, "Duplicate info type name " + shortName);
-		}
-		
 		// Add all custom paintjobs to dungeon loot. Equal chance for each
 		totalDungeonChance += dungeonChance * (paintjobs.size() - 1);
 		
@@ -126,7 +127,7 @@ public abstract class PaintableType extends InfoType
 	
 	public static boolean HasCustomPaintjob(ItemStack stack)
 	{
-		if(stack == null)
+		if(stack == null || !stack.hasTagCompound())
 		{
 			return false;
 		}
@@ -138,31 +139,21 @@ public abstract class PaintableType extends InfoType
 		return false;
 	}
 	
+	/** The hash of the item's custom paint, which is all the item carries. The pixels are kept in the paint store */
+	public static String GetCustomPaintjobHash(ItemStack stack)
+	{
+		return stack.getTagCompound().getCompoundTag("CustomPaint").getString("Hash");
+	}
+	
+	/** Returns null until the paint has been fetched and loaded, so callers should draw the normal paintjob until then */
 	public static ResourceLocation GetCustomPaintjobSkinResource(ItemStack stack)
 	{
-		NBTTagCompound tags = stack.getTagCompound().getCompoundTag("CustomPaint");
-		int customPaintHash = tags.getInteger("Hash");
-		
-		if(!FlansModResourceHandler.HasResourceForHash(customPaintHash))
-		{
-			FlansModResourceHandler.CreateSkinResourceFromByteArray(tags.getByteArray("Skin"), tags.getInteger("SkinWidth"), tags.getInteger("SkinHeight"), customPaintHash);
-			FlansModResourceHandler.CreateIconResourceFromByteArray(tags.getByteArray("Icon"), tags.getInteger("IconWidth"), tags.getInteger("IconHeight"), customPaintHash);
-		}
-		
-		return FlansModResourceHandler.GetSkinResourceFromHash(customPaintHash);
+		return FlansModResourceHandler.getCustomPaintSkin(GetCustomPaintjobHash(stack));
 	}
 	
+	/** Returns null until the paint has been fetched and loaded, so callers should draw the normal icon until then */
 	public static ResourceLocation GetCustomPaintjobIconResource(ItemStack stack)
 	{
-		NBTTagCompound tags = stack.getTagCompound().getCompoundTag("CustomPaint");
-		int customPaintHash = tags.getInteger("Hash");
-		
-		if(!FlansModResourceHandler.HasResourceForHash(customPaintHash))
-		{
-			FlansModResourceHandler.CreateSkinResourceFromByteArray(tags.getByteArray("Skin"), tags.getInteger("SkinWidth"), tags.getInteger("SkinHeight"), customPaintHash);
-			FlansModResourceHandler.CreateIconResourceFromByteArray(tags.getByteArray("Icon"), tags.getInteger("IconWidth"), tags.getInteger("IconHeight"), customPaintHash);
-		}
-		
-		return FlansModResourceHandler.GetIconResourceFromHash(customPaintHash);
+		return FlansModResourceHandler.getCustomPaintIcon(GetCustomPaintjobHash(stack));
 	}
 }
@@ -10,6 +10,10 @@ public class TypeFile
 	public ArrayList<String> lines;
 	public static HashMap<EnumType, ArrayList<TypeFile>> files;
 	private int readerPosition = 0;
+	/** Each line split into words, so that this can be done ahead of time off the main thread. Comments are left empty */
+	private String[][] splitLines;
+	
+	private static final String[] EMPTY_LINE = new String[0];
 	
 	static
 	{
@@ -42,4 +46,40 @@ public class TypeFile
 			return null;
 		return lines.get(readerPosition++);
 	}
+	
+	/** Reads the next line split into words, or null at the end of the file. Comments come back as an empty array */
+	public String[] readSplitLine()
+	{
+		if(readerPosition == lines.size())
+			return null;
+		return getSplitLine(readerPosition++);
+	}
+	
+	/** Splits every line into words ahead of reading. Called by {@link TypeFileLoader} */
+	public void split()
+	{
+		if(splitLines != null)
+			return;
+		String[][] result = new String[lines.size()][];
+		for(int i = 0; i < result.length; i++)
+			result[i] = splitLine(lines.get(i));
+		splitLines = result;
+	}
+	
+	/** Gets one line split into words, without moving the reader */
+	String[] getSplitLine(int i)
+	{
+		return splitLines != null ? splitLines[i] : splitLine(lines.get(i));
+	}
+	
+	/** Used by {@link ContentCache} to fill in lines that were split on a previous run */
+	void setSplitLines(String[][] splitLines)
+	{
+		this.splitLines = splitLines;
+	}
+	
+	private static String[] splitLine(String line)
+	{
+		return line.startsWith("//") ? EMPTY_LINE : line.split(" ");
+	}
 }
\ No newline at end of file
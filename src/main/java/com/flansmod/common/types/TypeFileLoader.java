@@ -0,0 +1,286 @@
+package com.flansmod.common.types;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+import com.flansmod.common.FlansMod;
+
+/** Reads the type files out of content packs. Packs are read and their lines split into words on a pool of worker threads.
+ * The results are then added to {@link TypeFile#files} in pack order on the calling thread, so that types are always
+ * created and registered in the same order, on the main thread, no matter which pack finished reading first */
+public class TypeFileLoader
+{
+	/** Splitting is handed out in batches of this many files, so that tiny files do not cost a task each */
+	private static final int SPLIT_BATCH_SIZE = 32;
+
+	/** Reads every type file in these content packs and adds them to {@link TypeFile#files}. If useCache is true, 
+	 * packs that have not changed since the last run are loaded from the {@link ContentCache} instead */
+	public static void loadTypeFiles(List<File> contentPacks, boolean parallel, final boolean useCache)
+	{
+		long startTime = System.currentTimeMillis();
+		List<List<TypeFile>> packFiles = new ArrayList<List<TypeFile>>(contentPacks.size());
+		int threads = Math.min(contentPacks.size(), Runtime.getRuntime().availableProcessors());
+		if(parallel && threads > 1)
+		{
+			ExecutorService executor = Executors.newFixedThreadPool(threads, new LoaderThreadFactory());
+			try
+			{
+				//Read and decompress each pack
+				List<Future<List<TypeFile>>> reads = new ArrayList<Future<List<TypeFile>>>(contentPacks.size());
+				for(final File contentPack : contentPacks)
+				{
+					reads.add(executor.submit(new Callable<List<TypeFile>>()
+					{
+						@Override
+						public List<TypeFile> call()
+						{
+							return readContentPack(contentPack, useCache);
+						}
+					}));
+				}
+				for(int i = 0; i < reads.size(); i++)
+					packFiles.add(waitFor(reads.get(i), contentPacks.get(i).getName(), new ArrayList<TypeFile>()));
+
+				//Then split the lines of every file, so that big packs are shared out across threads too
+				final List<TypeFile> allFiles = new ArrayList<TypeFile>();
+				for(List<TypeFile> files : packFiles)
+					allFiles.addAll(files);
+				List<Future<Object>> splits = new ArrayList<Future<Object>>();
+				for(int i = 0; i < allFiles.size(); i += SPLIT_BATCH_SIZE)
+				{
+					final int start = i, end = Math.min(i + SPLIT_BATCH_SIZE, allFiles.size());
+					splits.add(executor.submit(new Callable<Object>()
+					{
+						@Override
+						public Object call()
+						{
+							for(int j = start; j < end; j++)
+								allFiles.get(j).split();
+							return null;
+						}
+					}));
+				}
+				for(Future<Object> split : splits)
+					waitFor(split, "type files", null);
+			}
+			finally
+			{
+				executor.shutdown();
+			}
+		}
+		else
+		{
+			for(File contentPack : contentPacks)
+			{
+				List<TypeFile> files = readContentPack(contentPack, useCache);
+				for(TypeFile file : files)
+					file.split();
+				packFiles.add(files);
+			}
+		}
+
+		int count = 0;
+		for(List<TypeFile> files : packFiles)
+		{
+			for(TypeFile file : files)
+			{
+				TypeFile.files.get(file.type).add(file);
+				count++;
+			}
+		}
+		FlansMod.log("Read " + count + " type files from " + contentPacks.size() + " content packs in " + (System.currentTimeMillis() - startTime) + "ms.");
+	}
+
+	/** Waits for a task to finish. If it failed, the problem is logged and the fallback is returned instead */
+	private static <T> T waitFor(Future<T> future, String name, T fallback)
+	{
+		try
+		{
+			return future.get();
+		}
+		catch(InterruptedException e)
+		{
+			Thread.currentThread().interrupt();
+			FlansMod.log("Interrupted while reading " + name);
+		}
+		catch(ExecutionException e)
+		{
+			FlansMod.log("Failed to read " + name);
+			e.getCause().printStackTrace();
+		}
+		return fallback;
+	}
+
+	/** Reads the type files in one content pack, from the cache if it is up to date. Safe to call from any thread */
+	private static List<TypeFile> readContentPack(File contentPack, boolean useCache)
+	{
+		//Zips have always been named by their path and folders by their name
+		String packName = contentPack.isDirectory() ? contentPack.getName() : contentPack.getPath();
+		long fingerprint = 0L;
+		if(useCache)
+		{
+			try
+			{
+				fingerprint = ContentCache.getFingerprint(contentPack);
+				List<TypeFile> cached = ContentCache.load(contentPack, packName, fingerprint);
+				if(cached != null)
+					return cached;
+			}
+			catch(IOException e)
+			{
+				useCache = false;
+			}
+		}
+		
+		List<TypeFile> files = new ArrayList<TypeFile>();
+		boolean readAll = readTypeFiles(contentPack, packName, files);
+		//Only cache packs that were read without problems, otherwise a file that failed once would stay missing
+		if(useCache && readAll)
+		{
+			for(TypeFile file : files)
+				file.split();
+			if(ContentCache.canCache(files))
+				ContentCache.save(contentPack, fingerprint, files);
+		}
+		return files;
+	}
+
+	/** Reads the type files in one content pack as text, in a fixed order. Returns false if anything could not be read */
+	private static boolean readTypeFiles(File contentPack, String packName, List<TypeFile> files)
+	{
+		boolean readAll = true;
+		if(contentPack.isDirectory())
+		{
+			for(EnumType type : EnumType.values())
+			{
+				File typesDir = new File(contentPack, "/" + type.folderName + "/");
+				File[] typeFiles = typesDir.listFiles();
+				if(typeFiles == null)
+					continue;
+				//Sorted, since the order listFiles returns depends on the file system
+				Arrays.sort(typeFiles);
+				for(File file : typeFiles)
+				{
+					if(file.isDirectory())
+						continue;
+					try
+					{
+						TypeFile typeFile = new TypeFile(packName, type, getShortName(file.getName()), false);
+						readLines(new BufferedReader(new FileReader(file)), typeFile);
+						files.add(typeFile);
+					}
+					catch(IOException e)
+					{
+						FlansMod.log("Failed to read " + file + " in " + contentPack.getName());
+						e.printStackTrace();
+						readAll = false;
+					}
+				}
+			}
+		}
+		else
+		{
+			ZipFile zip = null;
+			try
+			{
+				zip = new ZipFile(contentPack);
+				Enumeration<? extends ZipEntry> entries = zip.entries();
+				while(entries.hasMoreElements())
+				{
+					ZipEntry entry = entries.nextElement();
+					if(entry.isDirectory())
+						continue;
+					EnumType type = getType(entry.getName());
+					if(type == null)
+						continue;
+					TypeFile typeFile = new TypeFile(packName, type, getShortName(entry.getName()), false);
+					readLines(new BufferedReader(new InputStreamReader(zip.getInputStream(entry))), typeFile);
+					files.add(typeFile);
+				}
+			}
+			catch(IOException e)
+			{
+				FlansMod.log("Failed to read " + contentPack.getName());
+				e.printStackTrace();
+				readAll = false;
+			}
+			finally
+			{
+				if(zip != null)
+				{
+					try
+					{
+						zip.close();
+					}
+					catch(IOException e)
+					{
+						e.printStackTrace();
+					}
+				}
+			}
+		}
+		return readAll;
+	}
+
+	/** Works out which type folder a zip entry is in, if any */
+	private static EnumType getType(String entryName)
+	{
+		EnumType result = null;
+		for(EnumType type : EnumType.values())
+		{
+			String folder = type.folderName + "/";
+			if(entryName.startsWith(folder) && entryName.length() > folder.length())
+				result = type;
+		}
+		return result;
+	}
+
+	/** Strips the folders and extension off a file name */
+	private static String getShortName(String fileName)
+	{
+		String[] splitName = fileName.split("/");
+		return splitName[splitName.length - 1].split("\\.")[0];
+	}
+
+	private static void readLines(BufferedReader reader, TypeFile typeFile) throws IOException
+	{
+		try
+		{
+			for(String line = reader.readLine(); line != null; line = reader.readLine())
+				typeFile.lines.add(line);
+		}
+		finally
+		{
+			reader.close();
+		}
+	}
+
+	private static class LoaderThreadFactory implements ThreadFactory
+	{
+		private final AtomicInteger count = new AtomicInteger();
+
+		@Override
+		public Thread newThread(Runnable runnable)
+		{
+			Thread thread = new Thread(runnable, "Flan's Mod Content Loader " + count.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		}
+	}
+}
@@ -0,0 +1,262 @@
+package com.flansmod.common.types;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Map;
+
+/** Keyword table for reading type files. Each InfoType class registers the keys it understands once, in a static block.
+ * Keys that just set a field are bound straight to that field, and anything more involved is registered as a custom key
+ * and handed to {@link InfoType#read(String[], TypeFile)}. Each line then costs one lookup, rather than going through
+ * every key check of every class in the hierarchy */
+public class TypeParser
+{
+	private static final HashMap<Class<?>, TypeParser> parsers = new HashMap<Class<?>, TypeParser>();
+
+	private final Class<?> typeClass;
+	private final TypeParser parent;
+	/** Field bindings and custom keys registered by this class alone, by lower case key */
+	private final HashMap<String, Handler> ownHandlers = new HashMap<String, Handler>();
+	/** Handlers for this class and all of its parents. Merged on first use */
+	private volatile HashMap<String, Handler> handlers;
+	/** Unknown keys that have already been reported for this class, so that each is only logged once */
+	private final HashSet<String> reportedKeys = new HashSet<String>();
+
+	private TypeParser(Class<?> typeClass, TypeParser parent)
+	{
+		this.typeClass = typeClass;
+		this.parent = parent;
+	}
+
+	/** Creates the keyword table for a type class. Its parent class must have been registered first, which static blocks
+	 * guarantee since a superclass is always initialised before its subclasses */
+	public static synchronized TypeParser register(Class<? extends InfoType> typeClass)
+	{
+		TypeParser parser = new TypeParser(typeClass, typeClass == InfoType.class ? null : get(typeClass.getSuperclass()));
+		parsers.put(typeClass, parser);
+		return parser;
+	}
+
+	/** Gets the keyword table for a class, or for its nearest parent if it did not register one of its own */
+	public static synchronized TypeParser get(Class<?> typeClass)
+	{
+		for(Class<?> c = typeClass; c != null; c = c.getSuperclass())
+		{
+			TypeParser parser = parsers.get(c);
+			if(parser != null)
+				return parser;
+		}
+		return null;
+	}
+
+	/** Binds a key to an int, float, double, boolean or String field of this class or one of its parents.
+	 * The value must be a single word and is checked the same way as {@link InfoType#Read} */
+	public TypeParser field(String key, String fieldName)
+	{
+		getOwnHandler(key).bindings.add(new Binding(key, findField(fieldName), false));
+		return this;
+	}
+
+	/** Binds a key to a String field, joining every word after the key with spaces */
+	public TypeParser text(String key, String fieldName)
+	{
+		Field field = findField(fieldName);
+		if(field.getType() != String.class)
+			throw new IllegalArgumentException(typeClass.getSimpleName() + "." + fieldName + " is not a String");
+		getOwnHandler(key).bindings.add(new Binding(key, field, true));
+		return this;
+	}
+
+	/** Marks keys as handled by the read method of this class */
+	public TypeParser custom(String... keys)
+	{
+		for(String key : keys)
+			getOwnHandler(key).custom = true;
+		return this;
+	}
+
+	/** Marks keys that are read somewhere else, such as in preRead, so that they are not reported as unknown */
+	public TypeParser ignore(String... keys)
+	{
+		for(String key : keys)
+			getOwnHandler(key);
+		return this;
+	}
+
+	/** Reads one line of a type file, already split into words */
+	void read(InfoType type, String[] split, TypeFile file)
+	{
+		String key = split[0].toLowerCase(Locale.ENGLISH);
+		Handler handler = getHandlers().get(key);
+		if(handler == null)
+		{
+			boolean report;
+			synchronized(reportedKeys)
+			{
+				report = reportedKeys.add(key);
+			}
+			if(report)
+				InfoType.LogError(type.shortName, "Unknown key " + split[0] + " for " + typeClass.getSimpleName() + ". It will be ignored");
+			return;
+		}
+		for(int i = 0; i < handler.bindings.size(); i++)
+			handler.bindings.get(i).set(type, split);
+		if(handler.custom)
+			type.read(split, file);
+	}
+
+	private Handler getOwnHandler(String key)
+	{
+		String lowerKey = key.toLowerCase(Locale.ENGLISH);
+		Handler handler = ownHandlers.get(lowerKey);
+		if(handler == null)
+		{
+			handler = new Handler();
+			ownHandlers.put(lowerKey, handler);
+		}
+		return handler;
+	}
+
+	/** Merges the parent tables into this one. Parent bindings come first, just as super.read used to run first */
+	private HashMap<String, Handler> getHandlers()
+	{
+		HashMap<String, Handler> merged = handlers;
+		if(merged == null)
+		{
+			synchronized(this)
+			{
+				merged = handlers;
+				if(merged == null)
+				{
+					merged = new HashMap<String, Handler>();
+					if(parent != null)
+					{
+						for(Map.Entry<String, Handler> entry : parent.getHandlers().entrySet())
+							merged.put(entry.getKey(), entry.getValue().copy());
+					}
+					for(Map.Entry<String, Handler> entry : ownHandlers.entrySet())
+					{
+						Handler handler = merged.get(entry.getKey());
+						if(handler == null)
+						{
+							handler = new Handler();
+							merged.put(entry.getKey(), handler);
+						}
+						handler.bindings.addAll(entry.getValue().bindings);
+						handler.custom |= entry.getValue().custom;
+					}
+					handlers = merged;
+				}
+			}
+		}
+		return merged;
+	}
+
+	private Field findField(String fieldName)
+	{
+		for(Class<?> c = typeClass; c != null; c = c.getSuperclass())
+		{
+			try
+			{
+				Field field = c.getDeclaredField(fieldName);
+				Class<?> fieldType = field.getType();
+				if(fieldType != int.class && fieldType != float.class && fieldType != double.class && fieldType != boolean.class && fieldType != String.class)
+					throw new IllegalArgumentException(c.getSimpleName() + "." + fieldName + " cannot be read from a type file");
+				field.setAccessible(true);
+				return field;
+			}
+			catch(NoSuchFieldException e)
+			{
+				//Try the parent class
+			}
+		}
+		throw new IllegalArgumentException(typeClass.getSimpleName() + " has no field called " + fieldName);
+	}
+
+	private static class Handler
+	{
+		private final ArrayList<Binding> bindings = new ArrayList<Binding>(1);
+		/** Whether the line should also be passed to the read method of the type */
+		private boolean custom;
+
+		private Handler copy()
+		{
+			Handler handler = new Handler();
+			handler.bindings.addAll(bindings);
+			handler.custom = custom;
+			return handler;
+		}
+	}
+
+	/** Sets one field from a line. Reports the same problems as the Read helpers in InfoType */
+	private static class Binding
+	{
+		private final String key;
+		private final Field field;
+		private final Class<?> fieldType;
+		/** Join all remaining words, as ReadAndConcatenateMultipleStrings does */
+		private final boolean concatenate;
+
+		private Binding(String key, Field field, boolean concatenate)
+		{
+			this.key = key;
+			this.field = field;
+			this.fieldType = field.getType();
+			this.concatenate = concatenate;
+		}
+
+		private void set(InfoType type, String[] split)
+		{
+			try
+			{
+				if(concatenate)
+				{
+					StringBuilder builder = new StringBuilder(split[1]);
+					for(int i = 2; i < split.length; i++)
+						builder.append(' ').append(split[i]);
+					field.set(type, builder.toString());
+					return;
+				}
+				if(split.length != 2)
+				{
+					InfoType.LogError(type.shortName, "Incorrect format for " + key + ". Should be \"" + key + " <" + getFormat() + ">\"");
+					return;
+				}
+				try
+				{
+					if(fieldType == int.class)
+						field.setInt(type, Integer.parseInt(split[1]));
+					else if(fieldType == float.class)
+						field.setFloat(type, Float.parseFloat(split[1]));
+					else if(fieldType == double.class)
+						field.setDouble(type, Double.parseDouble(split[1]));
+					else if(fieldType == boolean.class)
+						field.setBoolean(type, Boolean.parseBoolean(split[1]));
+					else field.set(type, split[1]);
+				}
+				catch(NumberFormatException e)
+				{
+					InfoType.LogError(type.shortName, "Incorrect format for " + key + ". Passed in value is not an " + (fieldType == int.class ? "integer" : "float"));
+				}
+			}
+			catch(IllegalAccessException e)
+			{
+				//Fields are made accessible when they are bound, so this should not happen
+				InfoType.LogError(type.shortName, "Could not set " + field.getName() + " for " + key);
+			}
+		}
+
+		private String getFormat()
+		{
+			if(fieldType == int.class)
+				return "integer value";
+			if(fieldType == float.class || fieldType == double.class)
+				return "float value";
+			if(fieldType == boolean.class)
+				return "true/false";
+			return "singleWord";
+		}
+	}
+}